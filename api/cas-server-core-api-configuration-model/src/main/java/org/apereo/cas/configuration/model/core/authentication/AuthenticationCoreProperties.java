@@ -0,0 +1,41 @@
+package org.apereo.cas.configuration.model.core.authentication;
+
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+/**
+ * This is {@link AuthenticationCoreProperties}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@RequiresModule(name = "cas-server-core-authentication", automated = true)
+@Getter
+@Setter
+public class AuthenticationCoreProperties implements Serializable {
+
+    private static final long serialVersionUID = 7203514381296043762L;
+
+    /**
+     * Run the authentication handlers that support a credential concurrently, rather than one after another.
+     * Results are still collected and evaluated against authentication policies in the order of handlers,
+     * and handlers that are not needed to satisfy the authentication policies are cancelled.
+     */
+    private boolean concurrentHandlerExecution;
+
+    /**
+     * Number of threads shared by all authentication requests to run handlers concurrently.
+     */
+    private int handlerExecutionThreads = 20;
+
+    /**
+     * Amount of time allowed for the authentication handlers of a credential to complete
+     * when they run concurrently. Handlers that do not complete in time are cancelled,
+     * and are recorded as authentication failures.
+     */
+    private String handlerExecutionTimeout = "PT10S";
+}
@@ -162,6 +162,12 @@ public class AuthenticationProperties implements Serializable {
     @NestedConfigurationProperty
     private AuthenticationExceptionsProperties exceptions = new AuthenticationExceptionsProperties();
 
+    /**
+     * Core authentication engine settings.
+     */
+    @NestedConfigurationProperty
+    private AuthenticationCoreProperties core = new AuthenticationCoreProperties();
+
     /**
      * Authentication policy settings.
      */
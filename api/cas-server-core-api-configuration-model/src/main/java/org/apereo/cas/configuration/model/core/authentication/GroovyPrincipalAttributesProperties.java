@@ -31,4 +31,16 @@ public class GroovyPrincipalAttributesProperties extends SpringResourcePropertie
      * merging strategies.
      */
     private int order;
+
+    /**
+     * Maximum amount of time to wait on this attribute repository, when repositories are queried in parallel.
+     * If left blank, the repository may take as long as the overall {@code aggregationTimeout} allows.
+     */
+    private String timeout;
+
+    /**
+     * Whether attribute resolution should fail when this attribute repository fails or times out.
+     * If not required, attributes from the remaining repositories are used instead.
+     */
+    private boolean required;
 }
@@ -89,6 +89,18 @@ public class JdbcPrincipalAttributesProperties extends AbstractJpaProperties {
      */
     private int order;
 
+    /**
+     * Maximum amount of time to wait on this attribute repository, when repositories are queried in parallel.
+     * If left blank, the repository may take as long as the overall {@code aggregationTimeout} allows.
+     */
+    private String timeout;
+
+    /**
+     * Whether attribute resolution should fail when this attribute repository fails or times out.
+     * If not required, attributes from the remaining repositories are used instead.
+     */
+    private boolean required;
+
     /**
      * Map of attributes to fetch from the database.
      * Attributes are defined using a key-value structure
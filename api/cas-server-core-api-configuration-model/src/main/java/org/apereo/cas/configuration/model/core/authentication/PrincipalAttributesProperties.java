@@ -70,6 +70,18 @@ public class PrincipalAttributesProperties implements Serializable {
      */
     private String merger = "REPLACE";
 
+    /**
+     * Maximum amount of time to wait for all attribute repositories, which are queried in parallel,
+     * to produce attributes. Repositories that do not respond in time are skipped,
+     * unless they are marked as required in which case attribute resolution fails.
+     */
+    private String aggregationTimeout = "PT10S";
+
+    /**
+     * Maximum number of threads used to query attribute repositories in parallel.
+     */
+    private int aggregationThreads = 8;
+
     /**
      * CAS provides the ability to release a bundle of principal attributes to all services by default.
      * This bundle is not defined on a per-service basis and is always combined with attributes
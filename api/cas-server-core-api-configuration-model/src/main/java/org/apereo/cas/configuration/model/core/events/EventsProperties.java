@@ -52,6 +52,75 @@ public class EventsProperties implements Serializable {
      */
     private MongoDb mongo = new MongoDb();
 
+    /**
+     * Control how authentication events are queued
+     * and persisted into the events repository asynchronously.
+     */
+    private Queue queue = new Queue();
+
+    @RequiresModule(name = "cas-server-core-events", automated = true)
+    @Getter
+    @Setter
+    public static class Queue implements Serializable {
+
+        private static final long serialVersionUID = 2834215712345926181L;
+
+        /**
+         * Whether events should be placed onto a bounded queue and saved
+         * into the events repository in batches by a background writer,
+         * rather than on the request thread.
+         */
+        private boolean enabled;
+
+        /**
+         * Maximum number of events that can be held by the queue
+         * before the overflow policy kicks in.
+         */
+        private int capacity = 10_000;
+
+        /**
+         * Maximum number of events that are handed over to the events
+         * repository in a single batch.
+         */
+        private int batchSize = 100;
+
+        /**
+         * Maximum amount of time the background writer waits for new events
+         * before checking the queue again.
+         */
+        private String flushInterval = "PT1S";
+
+        /**
+         * Amount of time the request thread is allowed to wait for room
+         * in the queue when the overflow policy is set to block.
+         */
+        private String offerTimeout = "PT0.5S";
+
+        /**
+         * Decide what should happen to new events when the queue is full.
+         */
+        private OverflowPolicies overflowPolicy = OverflowPolicies.DROP_NEWEST;
+
+        public enum OverflowPolicies {
+            /**
+             * Discard the event that is about to be queued.
+             */
+            DROP_NEWEST,
+            /**
+             * Discard the oldest event in the queue to make room for the new one.
+             */
+            DROP_OLDEST,
+            /**
+             * Wait for room in the queue for up to the offer timeout and then discard the event.
+             */
+            BLOCK,
+            /**
+             * Save the event synchronously on the request thread.
+             */
+            CALLER_RUNS
+        }
+    }
+
     @RequiresModule(name = "cas-server-support-events-jpa")
     @Getter
     @Setter
@@ -35,6 +35,14 @@ public class ViewProperties implements Serializable {
      */
     private List<String> templatePrefixes = new ArrayList<>();
 
+    /**
+     * Whether CAS2 and CAS3 service validation responses in XML should be written
+     * directly into the response, without going through the template engine.
+     * The output matches that of the default validation templates. Customized success
+     * and failure validation templates are ignored when this setting is turned on.
+     */
+    private boolean templateFreeValidationResponses;
+
     /**
      * CAS2 views and locations.
      */
@@ -7,6 +7,9 @@ import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.NestedConfigurationProperty;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Configuration properties class for tgc.
  *
@@ -31,7 +34,42 @@ public class TicketGrantingCookieProperties extends CookieProperties {
     @NestedConfigurationProperty
     private EncryptionJwtSigningJwtCryptographyProperties crypto = new EncryptionJwtSigningJwtCryptographyProperties();
 
+    /**
+     * Format in which the cookie value is signed and encrypted, when crypto operations are enabled.
+     * Accepted values are:
+     * <ul>
+     * <li>{@code COMPACT}: Versioned encoding of the cookie value that is encrypted and authenticated in a single
+     * AES-GCM operation with a key derived from the encryption key, and that binds the cookie to a short keyed hash
+     * of the client address and user-agent.</li>
+     * <li>{@code JWT}: Cookie value that is encrypted and then signed as a JWT, as written by earlier CAS versions.</li>
+     * </ul>
+     * Cookies in the {@code JWT} format can still be read when the {@code COMPACT} format is used,
+     * so cookies issued before the switch remain valid.
+     */
+    private CookieValueFormats valueFormat = CookieValueFormats.COMPACT;
+
+    /**
+     * Encryption keys that were used before the current encryption key was rotated.
+     * Cookies in the {@code COMPACT} format that were encrypted with any of these keys can still be read,
+     * while new cookies are always encrypted with the current encryption key.
+     */
+    private List<String> previousEncryptionKeys = new ArrayList<>();
+
     public TicketGrantingCookieProperties() {
         super.setName("TGC");
     }
+
+    /**
+     * Formats of the cookie value.
+     */
+    public enum CookieValueFormats {
+        /**
+         * Versioned encoding that is encrypted and authenticated in a single pass.
+         */
+        COMPACT,
+        /**
+         * Encrypted and signed JWT.
+         */
+        JWT
+    }
 }
@@ -45,6 +45,18 @@ public class DynamoDbTicketRegistryProperties extends AbstractDynamoDbProperties
      */
     private String transientSessionTicketsTableName = "transientSessionTicketsTable";
 
+    /**
+     * Number of segments in which each table is scanned in parallel
+     * when all tickets are read.
+     */
+    private int scanTotalSegments = 4;
+
+    /**
+     * Whether time-to-live should be enabled on ticket tables,
+     * so that DynamoDb removes expired ticket items on its own.
+     */
+    private boolean timeToLiveEnabled = true;
+
     /**
      * Crypto settings for the registry.
      */
@@ -7,6 +7,9 @@ import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.NestedConfigurationProperty;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Encapsulates hazelcast properties exposed by CAS via properties file property source in a type-safe manner.
  *
@@ -25,6 +28,14 @@ public class HazelcastTicketRegistryProperties extends BaseHazelcastProperties {
      */
     private long pageSize = 500;
 
+    /**
+     * Ticket prefixes (i.e. {@code TGT}) whose maps should be fronted by a near cache on each CAS node.
+     * Entries in the near cache are invalidated when changed elsewhere in the cluster, yet invalidation
+     * is asynchronous and a node may briefly see a stale copy. Tickets that are consumed once,
+     * such as service tickets, should not be listed here, as a stale copy could allow the ticket to be replayed.
+     */
+    private List<String> nearCacheTicketPrefixes = new ArrayList<>();
+
     /**
      * Crypto settings for the registry.
      */
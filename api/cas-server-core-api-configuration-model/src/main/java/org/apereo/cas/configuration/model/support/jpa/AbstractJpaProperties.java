@@ -160,4 +160,13 @@ public abstract class AbstractJpaProperties implements Serializable {
      * or returned back verbatim.
      */
     private boolean dataSourceProxy;
+
+    /**
+     * Whether the connection pool should be shared with other CAS components
+     * that connect to the same database using the same url, credentials, driver and connection settings.
+     * A shared pool grows to the largest {@code pool.maxSize} of the components that use it,
+     * while each component may only hold up to its own {@code pool.maxSize} connections at a time.
+     * Remaining pool settings, such as timeouts, are taken from the first component that creates the pool.
+     */
+    private boolean dataSourceShared = true;
 }
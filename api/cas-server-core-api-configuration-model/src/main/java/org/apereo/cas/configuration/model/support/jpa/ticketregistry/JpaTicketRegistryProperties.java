@@ -35,6 +35,14 @@ public class JpaTicketRegistryProperties extends AbstractJpaProperties {
      */
     private LockModeType ticketLockType = LockModeType.NONE;
 
+    /**
+     * Maximum number of attempts to apply a change to a ticket when the update
+     * fails the optimistic version check because the ticket was concurrently modified.
+     * Each attempt applies the change again to the latest state of the ticket.
+     * A value of {@code 1} disables retries.
+     */
+    private int ticketUpdateAttempts = 3;
+
     /**
      * Indicates the lock duration when one is about to be acquired by the cleaner.
      */
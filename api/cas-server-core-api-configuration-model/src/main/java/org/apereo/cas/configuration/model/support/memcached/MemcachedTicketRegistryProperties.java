@@ -20,6 +20,21 @@ public class MemcachedTicketRegistryProperties extends BaseMemcachedProperties {
 
     private static final long serialVersionUID = 509520518053691786L;
 
+    /**
+     * Comma-separated list of memcached servers to which tickets are also written.
+     * When defined, tickets that cannot be found on the primary servers are read from these replicas,
+     * allowing CAS to survive the loss of a memcached node. Leave blank to disable replication.
+     */
+    private String replicaServers;
+
+    /**
+     * Number of index entries kept per ticket type in order to enumerate and count tickets.
+     * Each entry is a single memcached item that lists ticket ids, and is compacted
+     * when tickets are enumerated. Increase this value for very large deployments so that
+     * entries stay well below the item size limit of memcached.
+     */
+    private int ticketIndexShards = 32;
+
     /**
      * Crypto settings for the registry.
      */
@@ -30,6 +30,8 @@ public class OidcProperties implements Serializable {
 
     /**
      * Timeout that indicates how long should the JWKS file be kept in cache.
+     * The published JWKS document is rebuilt once this timeout passes, and
+     * clients are allowed to cache the document for the same amount of time.
      */
     private int jwksCacheInMinutes = 60;
 
@@ -50,6 +52,21 @@ public class OidcProperties implements Serializable {
     @RequiredProperty
     private transient Resource jwksFile = new FileSystemResource("/etc/cas/keystore.jwks");
 
+    /**
+     * The type of key generated into the JWKS file, if one does not exist.
+     * Accepted values are {@code RSA} and {@code EC}.
+     * Elliptic-curve keys are considerably cheaper to sign with.
+     */
+    private String jwksType = "RSA";
+
+    /**
+     * The size of the key generated into the JWKS file, if one does not exist.
+     * For {@code RSA} keys, this is the modulus length in bits.
+     * For {@code EC} keys, this selects the curve: {@code 256} for {@code P-256},
+     * {@code 384} for {@code P-384} and {@code 521} for {@code P-521}.
+     */
+    private int jwksKeySize = 2048;
+
     /**
      * Whether dynamic registration operates in {@code OPEN} or {@code PROTECTED} mode.
      */
@@ -107,7 +124,8 @@ public class OidcProperties implements Serializable {
     private List<String> grantTypesSupported = Stream.of("authorization_code", "password", "client_credentials", "refresh_token").collect(Collectors.toList());
 
     /**
-     * Supported grant types.
+     * Supported id token signing algorithms.
+     * Elliptic-curve keystores would typically list {@code ES256}, {@code ES384} or {@code ES512}.
      */
     private List<String> idTokenSigningAlgValuesSupported = Stream.of("none", "RS256").collect(Collectors.toList());
 
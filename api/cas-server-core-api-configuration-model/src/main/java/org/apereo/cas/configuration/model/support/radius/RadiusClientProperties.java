@@ -47,4 +47,28 @@ public class RadiusClientProperties implements Serializable {
      * The accounting port.
      */
     private int accountingPort = 1813;
+
+    /**
+     * Maximum number of idle client sockets kept open per RADIUS server
+     * so they may be reused by subsequent requests.
+     */
+    private int maxIdleSockets = 8;
+
+    /**
+     * Number of consecutive failures, such as timeouts, after which a RADIUS server
+     * is considered unavailable and is skipped in favor of other servers.
+     */
+    private int failureThreshold = 3;
+
+    /**
+     * Amount of time an unavailable RADIUS server is skipped before it is tried again.
+     */
+    private String failureCooldown = "PT30S";
+
+    /**
+     * Determines the order in which available RADIUS servers are tried.
+     * Accepted values are {@code ORDERED}, to try servers in the order in which they are defined,
+     * and {@code LEAST_LATENCY} to try the server with the lowest average response time first.
+     */
+    private String selectionStrategy = "ORDERED";
 }
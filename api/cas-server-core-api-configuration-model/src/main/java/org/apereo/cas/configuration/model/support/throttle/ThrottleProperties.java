@@ -2,6 +2,7 @@ package org.apereo.cas.configuration.model.support.throttle;
 
 import org.apereo.cas.configuration.model.support.jpa.AbstractJpaProperties;
 import org.apereo.cas.configuration.model.support.quartz.SchedulingProperties;
+import org.apereo.cas.configuration.model.support.redis.BaseRedisProperties;
 import org.apereo.cas.configuration.support.RequiresModule;
 
 import lombok.Getter;
@@ -43,6 +44,11 @@ public class ThrottleProperties implements Serializable {
      */
     private Jdbc jdbc = new Jdbc();
 
+    /**
+     * Keep authentication throttling counters in Redis, shared by all CAS nodes.
+     */
+    private Redis redis = new Redis();
+
     /**
      * Username parameter to use in order to extract the username from the request.
      */
@@ -83,8 +89,10 @@ public class ThrottleProperties implements Serializable {
 
         /**
          * Number of failed login attempts permitted in the above period.
-         * All login throttling components that ship with CAS limit successive failed
-         * login attempts that exceed a threshold rate in failures per second.
+         * In-memory and Redis throttling count failed login attempts over a sliding window
+         * of the above period, and throttle once this many failures are counted. Components
+         * backed by the audit log limit successive failed login attempts that exceed a threshold
+         * rate in failures per second.
          */
         private int threshold = -1;
 
@@ -114,4 +122,12 @@ public class ThrottleProperties implements Serializable {
          */
         private String auditQuery = SQL_AUDIT_QUERY;
     }
+
+    @RequiresModule(name = "cas-server-support-throttle-redis")
+    @Getter
+    @Setter
+    public static class Redis extends BaseRedisProperties {
+
+        private static final long serialVersionUID = -6120471624329472891L;
+    }
 }
@@ -67,9 +67,22 @@ public class X509Properties implements Serializable {
     private boolean checkAll;
     /**
      * The refresh interval of the internal scheduler in cases where CRL revocation checking
-     * is done via resources.
+     * is done via resources. When CRL revocation checking is done via distribution points,
+     * the maximum amount of time between background refreshes of a cached CRL.
      */
     private int refreshIntervalSeconds = 3_600;
+    /**
+     * When CRL revocation checking is done via distribution points, the amount of time
+     * in seconds before the next update of a cached CRL at which it is fetched again in the background.
+     */
+    private int crlPrefetchSeconds = 300;
+    /**
+     * When CRL revocation checking is done via distribution points, the amount of time
+     * in seconds past the next update of a cached CRL during which it continues to be served
+     * while a fresh copy is fetched in the background. Past this period, the CRL is fetched
+     * before the certificate is checked. Expired CRLs remain subject to the CRL expiration policy.
+     */
+    private int crlGracePeriodSeconds;
     /**
      * The principal descriptor used for principal resolution
      * when type is set to {@link PrincipalTypes#SUBJECT}.
@@ -49,10 +49,37 @@ public class WebflowSessionManagementProperties implements Serializable {
      */
     private boolean storage;
 
+    /**
+     * Format in which flow execution state is encoded when session storage is kept on the client.
+     * Accepted values are:
+     * <ul>
+     * <li>{@code COMPACT}: Versioned encoding of the state that is compressed against a dictionary of common names,
+     * and that refers to registered services by their identifier instead of carrying their definition.</li>
+     * <li>{@code SERIALIZED}: Compressed serialization stream of the state, as written by earlier CAS versions.</li>
+     * </ul>
+     * State in either format can be read, so nodes of a cluster may be upgraded one at a time with the {@code SERIALIZED}
+     * format before all nodes switch to the {@code COMPACT} format.
+     */
+    private ClientStateFormats clientStateFormat = ClientStateFormats.COMPACT;
+
     /**
      * If sessions are to be replicated via Hazelcast, defines the location of a {@code hazelcast.xml}
      * file that defines how state should be replicated.
      * Only relevant if session storage is done on the server.
      */
     private transient Resource hzLocation = new ClassPathResource("hazelcast.xml");
+
+    /**
+     * Formats of flow execution state kept on the client.
+     */
+    public enum ClientStateFormats {
+        /**
+         * Versioned and dictionary-compressed encoding.
+         */
+        COMPACT,
+        /**
+         * Compressed serialization stream.
+         */
+        SERIALIZED
+    }
 }
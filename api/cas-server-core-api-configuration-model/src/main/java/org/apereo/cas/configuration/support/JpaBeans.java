@@ -47,6 +47,9 @@ public class JpaBeans {
      * If user wants to do lookup as resource, they may include {@code java:/comp/env}
      * in {@code dataSourceName} and put resource reference in web.xml
      * otherwise {@code dataSourceName} is used as JNDI name.
+     * <p>
+     * Unless sharing is turned off, the Hikari pool is obtained from the {@link SharedDataSourceRegistry}
+     * and shared with all other components that connect to the same database with the same settings.
      *
      * @param jpaProperties the jpa properties
      * @return the data source
@@ -70,6 +73,19 @@ public class JpaBeans {
             }
         }
 
+        if (jpaProperties.isDataSourceShared()) {
+            return SharedDataSourceRegistry.getInstance().lease(jpaProperties);
+        }
+        return newHikariDataSource(jpaProperties);
+    }
+
+    /**
+     * New Hikari connection pool, configured from the jpa properties.
+     *
+     * @param jpaProperties the jpa properties
+     * @return the data source
+     */
+    static HikariDataSource newHikariDataSource(final AbstractJpaProperties jpaProperties) {
         val bean = new HikariDataSource();
         if (StringUtils.isNotBlank(jpaProperties.getDriverClass())) {
             bean.setDriverClassName(jpaProperties.getDriverClass());
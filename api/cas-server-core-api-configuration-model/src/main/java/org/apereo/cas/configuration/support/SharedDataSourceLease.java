@@ -0,0 +1,159 @@
+package org.apereo.cas.configuration.support;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.Getter;
+import lombok.val;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import java.io.Closeable;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * This is {@link SharedDataSourceLease} that hands out connections of a pool
+ * shared through {@link SharedDataSourceRegistry}. The number of connections that may be
+ * in use through a single lease at any given time is limited, so that one component
+ * is not able to starve others that share the same pool.
+ * Closing the lease releases it back to the registry.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class SharedDataSourceLease extends AbstractDataSource implements Closeable {
+    @Getter
+    private final HikariDataSource dataSource;
+
+    @Getter
+    private final int maximumConnections;
+
+    private final long maxWait;
+
+    private final Semaphore permits;
+
+    private final Runnable releaseAction;
+
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    SharedDataSourceLease(final HikariDataSource dataSource, final int maximumConnections,
+                          final long maxWait, final Runnable releaseAction) {
+        this.dataSource = dataSource;
+        this.maximumConnections = maximumConnections;
+        this.maxWait = maxWait;
+        this.permits = new Semaphore(maximumConnections);
+        this.releaseAction = releaseAction;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquirePermit();
+        try {
+            return wrapConnection(this.dataSource.getConnection());
+        } catch (final SQLException | RuntimeException e) {
+            this.permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(final String username, final String password) throws SQLException {
+        acquirePermit();
+        try {
+            return wrapConnection(this.dataSource.getConnection(username, password));
+        } catch (final SQLException | RuntimeException e) {
+            this.permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Gets the number of connections currently in use through this lease.
+     *
+     * @return the connections in use
+     */
+    public int getConnectionsInUse() {
+        return this.maximumConnections - this.permits.availablePermits();
+    }
+
+    /**
+     * Gets the number of active connections of the shared pool.
+     *
+     * @return the active connections, or -1 if the pool is not started
+     */
+    public int getActiveConnections() {
+        val pool = this.dataSource.getHikariPoolMXBean();
+        return pool != null ? pool.getActiveConnections() : -1;
+    }
+
+    /**
+     * Gets the number of idle connections of the shared pool.
+     *
+     * @return the idle connections, or -1 if the pool is not started
+     */
+    public int getIdleConnections() {
+        val pool = this.dataSource.getHikariPoolMXBean();
+        return pool != null ? pool.getIdleConnections() : -1;
+    }
+
+    /**
+     * Gets the number of threads waiting on a connection of the shared pool.
+     *
+     * @return the waiting threads, or -1 if the pool is not started
+     */
+    public int getThreadsAwaitingConnection() {
+        val pool = this.dataSource.getHikariPoolMXBean();
+        return pool != null ? pool.getThreadsAwaitingConnection() : -1;
+    }
+
+    @Override
+    public void close() {
+        if (this.closed.compareAndSet(false, true)) {
+            this.releaseAction.run();
+        }
+    }
+
+    private void acquirePermit() throws SQLException {
+        if (this.closed.get()) {
+            throw new SQLException("Data source lease on pool " + this.dataSource.getPoolName() + " is closed");
+        }
+        try {
+            if (!this.permits.tryAcquire(this.maxWait, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException("All " + this.maximumConnections + " connection(s) leased from pool "
+                    + this.dataSource.getPoolName() + " are in use; timed out after " + this.maxWait + "ms");
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a connection of pool " + this.dataSource.getPoolName(), e);
+        }
+    }
+
+    private Connection wrapConnection(final Connection connection) {
+        val released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{Connection.class}, (proxy, method, args) -> {
+            if ("equals".equals(method.getName())) {
+                return proxy == args[0];
+            }
+            if ("hashCode".equals(method.getName())) {
+                return System.identityHashCode(proxy);
+            }
+            if ("close".equals(method.getName()) && released.compareAndSet(false, true)) {
+                try {
+                    connection.close();
+                } finally {
+                    this.permits.release();
+                }
+                return null;
+            }
+            try {
+                return method.invoke(connection, args);
+            } catch (final InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        });
+    }
+}
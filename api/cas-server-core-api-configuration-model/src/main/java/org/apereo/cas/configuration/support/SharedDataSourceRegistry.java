@@ -0,0 +1,145 @@
+package org.apereo.cas.configuration.support;
+
+import org.apereo.cas.configuration.model.support.jpa.AbstractJpaProperties;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This is {@link SharedDataSourceRegistry} that hands out leases on connection pools.
+ * Components that connect to the same database with the same connection settings
+ * share a single pool, which is closed once the last lease is released.
+ * The pool grows to the largest maximum size requested by its leases, while each lease
+ * is limited to the maximum size requested by its own component.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+public class SharedDataSourceRegistry {
+    private static final SharedDataSourceRegistry INSTANCE = new SharedDataSourceRegistry();
+
+    private final Map<DataSourceKey, SharedPool> pools = new HashMap<>();
+
+    private final AtomicInteger poolSequence = new AtomicInteger();
+
+    /**
+     * Gets the shared registry instance.
+     *
+     * @return the instance
+     */
+    public static SharedDataSourceRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    private static DataSourceKey buildKey(final AbstractJpaProperties jpaProperties) {
+        return new DataSourceKey(
+            StringUtils.trimToEmpty(jpaProperties.getUrl()),
+            StringUtils.trimToEmpty(jpaProperties.getUser()),
+            StringUtils.defaultString(jpaProperties.getPassword()),
+            StringUtils.trimToEmpty(jpaProperties.getDriverClass()),
+            StringUtils.trimToEmpty(jpaProperties.getHealthQuery()),
+            jpaProperties.isAutocommit(),
+            jpaProperties.isIsolateInternalQueries(),
+            jpaProperties.getPool().isSuspension());
+    }
+
+    /**
+     * Lease a data source for the given settings, creating the shared pool if needed.
+     *
+     * @param jpaProperties the jpa properties
+     * @return the leased data source
+     */
+    public synchronized SharedDataSourceLease lease(final AbstractJpaProperties jpaProperties) {
+        val key = buildKey(jpaProperties);
+        val pool = this.pools.computeIfAbsent(key, k -> {
+            val poolName = "CasPool-" + this.poolSequence.incrementAndGet();
+            LOGGER.debug("Creating shared connection pool [{}] for [{}]", poolName, k);
+            val dataSource = JpaBeans.newHikariDataSource(jpaProperties);
+            dataSource.setPoolName(poolName);
+            return new SharedPool(k, dataSource);
+        });
+        pool.acquire(jpaProperties.getPool().getMaxSize(), jpaProperties.getPool().getMinSize());
+        val maxWait = Beans.newDuration(jpaProperties.getPool().getMaxWait()).toMillis();
+        LOGGER.debug("Leased [{}] connection(s) of pool [{}], now shared by [{}] lease(s)",
+            jpaProperties.getPool().getMaxSize(), pool.getDataSource().getPoolName(), pool.getReferences());
+        return new SharedDataSourceLease(pool.getDataSource(), jpaProperties.getPool().getMaxSize(), maxWait, () -> release(pool));
+    }
+
+    /**
+     * Gets the number of pools currently open.
+     *
+     * @return the pool count
+     */
+    public synchronized int getPoolCount() {
+        return this.pools.size();
+    }
+
+    private synchronized void release(final SharedPool pool) {
+        if (pool.release() == 0) {
+            LOGGER.debug("Closing shared connection pool [{}] as it has no more leases", pool.getDataSource().getPoolName());
+            this.pools.remove(pool.getKey(), pool);
+            pool.getDataSource().close();
+        }
+    }
+
+    @EqualsAndHashCode
+    @ToString(exclude = "password")
+    @RequiredArgsConstructor
+    private static class DataSourceKey {
+        private final String url;
+
+        private final String user;
+
+        private final String password;
+
+        private final String driverClass;
+
+        private final String healthQuery;
+
+        private final boolean autocommit;
+
+        private final boolean isolateInternalQueries;
+
+        private final boolean suspension;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static class SharedPool {
+        private final DataSourceKey key;
+
+        private final HikariDataSource dataSource;
+
+        private int references;
+
+        void acquire(final int maxSize, final int minSize) {
+            this.references++;
+            if (this.references == 1) {
+                return;
+            }
+            val config = this.dataSource.getHikariConfigMXBean();
+            if (maxSize > config.getMaximumPoolSize()) {
+                LOGGER.debug("Growing shared connection pool [{}] to [{}] connection(s)", this.dataSource.getPoolName(), maxSize);
+                config.setMaximumPoolSize(maxSize);
+            }
+            if (minSize > config.getMinimumIdle()) {
+                config.setMinimumIdle(Math.min(minSize, config.getMaximumPoolSize()));
+            }
+        }
+
+        int release() {
+            return --this.references;
+        }
+    }
+}
@@ -19,6 +19,16 @@ public interface CasEventRepository {
      */
     void save(CasEvent event);
 
+    /**
+     * Save all events as a single batch.
+     * Repositories that support bulk writes should override this operation.
+     *
+     * @param events the events
+     */
+    default void saveAll(final Collection<CasEvent> events) {
+        events.forEach(this::save);
+    }
+
     /**
      * Load collection.
      *
@@ -5,6 +5,9 @@ import com.fasterxml.jackson.annotation.JsonTypeInfo;
 
 import java.io.Serializable;
 import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * This is {@link RegisteredServiceDelegatedAuthenticationPolicy}.
@@ -35,4 +38,19 @@ public interface RegisteredServiceDelegatedAuthenticationPolicy extends Serializ
     default boolean isProviderAllowed(final String provider, final RegisteredService registeredService) {
         return true;
     }
+
+    /**
+     * Select the providers that are allowed to process the request for this service,
+     * evaluating the policy once for the entire collection of providers.
+     *
+     * @param providers         the providers
+     * @param registeredService the registered service
+     * @return the allowed providers, in the order of the given providers
+     */
+    @JsonIgnore
+    default Set<String> getAllowedProviders(final Collection<String> providers, final RegisteredService registeredService) {
+        return providers.stream()
+            .filter(provider -> isProviderAllowed(provider, registeredService))
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
 }
@@ -0,0 +1,37 @@
+package org.apereo.cas.web.support;
+
+/**
+ * This is {@link ThrottledSubmissionStore} that keeps track of failed submissions per throttling key,
+ * counted over a sliding window of time.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public interface ThrottledSubmissionStore {
+
+    /**
+     * Record a failed submission for the given key.
+     *
+     * @param key       the throttling key
+     * @param timestamp the time of the failure in milliseconds
+     */
+    void recordFailure(String key, long timestamp);
+
+    /**
+     * Gets the number of failed submissions recorded for the given key within the window that ends at the given time.
+     * Implementations may estimate the number of failures, in which case the result may be fractional.
+     *
+     * @param key       the throttling key
+     * @param timestamp the end of the window in milliseconds
+     * @return the number of failed submissions
+     */
+    double getFailures(String key, long timestamp);
+
+    /**
+     * Remove keys whose failed submissions have all fallen out of the window that ends at the given time.
+     *
+     * @param timestamp the end of the window in milliseconds
+     */
+    default void expire(final long timestamp) {
+    }
+}
@@ -0,0 +1,111 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketState;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.val;
+
+import java.io.Serializable;
+import java.time.ZonedDateTime;
+
+/**
+ * This is {@link TicketHeader}, a lightweight projection of a ticket
+ * that carries only the ticket metadata, without the authentication graph
+ * and the rest of the ticket state. Registries may store the header next to the
+ * (possibly encrypted) ticket payload, allowing tickets to be filtered without
+ * having to deserialize and decode each and every one of them.
+ * <p>
+ * Headers handed back by {@link TicketRegistry#getTicketHeaders(TicketHeaderCriteria)} carry
+ * the actual ids of the ticket and its parent. Headers stored by registries are instead keyed by the ids
+ * under which tickets are stored, which will not match the original ticket ids if ticket
+ * encryption is turned on. Registries that store headers keep the principal id normalized and,
+ * if ticket encryption is turned on, only as a keyed hash, so that principals are not exposed next to encrypted tickets.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Getter
+@ToString
+@EqualsAndHashCode(of = "id")
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketHeader implements Serializable {
+
+    private static final long serialVersionUID = 5361281412245631582L;
+
+    private String id;
+
+    private String prefix;
+
+    private String principal;
+
+    private ZonedDateTime creationTime;
+
+    private ZonedDateTime lastTimeUsed;
+
+    private ZonedDateTime expirationTime;
+
+    private String parentId;
+
+    /**
+     * Build a header from the given ticket.
+     *
+     * @param ticket the ticket
+     * @return the ticket header
+     */
+    public static TicketHeader of(final Ticket ticket) {
+        val parent = ticket.getTicketGrantingTicket();
+        return of(ticket, ticket.getId(), parent != null ? parent.getId() : null);
+    }
+
+    /**
+     * Build a header from the given ticket, using the ticket and parent ids
+     * under which the ticket is stored.
+     *
+     * @param ticket   the ticket
+     * @param id       the ticket id
+     * @param parentId the parent ticket id
+     * @return the ticket header
+     */
+    public static TicketHeader of(final Ticket ticket, final String id, final String parentId) {
+        var lastTimeUsed = ticket.getCreationTime();
+        String principal = null;
+        if (ticket instanceof TicketState) {
+            val state = (TicketState) ticket;
+            if (state.getLastTimeUsed() != null) {
+                lastTimeUsed = state.getLastTimeUsed();
+            }
+            val authentication = state.getAuthentication();
+            if (authentication != null && authentication.getPrincipal() != null) {
+                principal = authentication.getPrincipal().getId();
+            }
+        }
+        return new TicketHeader(id, ticket.getPrefix(), principal, ticket.getCreationTime(),
+            lastTimeUsed, getExpirationTime(ticket, lastTimeUsed), parentId);
+    }
+
+    /**
+     * Estimate the instant at which the ticket expires, based on the time-to-live
+     * reported by its expiration policy. The estimate is only meant for filtering
+     * and may not account for usage limits or explicit expiration of the ticket;
+     * {@link Ticket#isExpired()} remains the authority.
+     */
+    private static ZonedDateTime getExpirationTime(final Ticket ticket, final ZonedDateTime lastTimeUsed) {
+        val policy = ticket.getExpirationPolicy();
+        if (policy == null || lastTimeUsed == null) {
+            return null;
+        }
+        val ttl = ticket instanceof TicketState
+            ? policy.getTimeToLive((TicketState) ticket)
+            : policy.getTimeToLive();
+        if (ttl == null || ttl < 1) {
+            return null;
+        }
+        return lastTimeUsed.plusSeconds(ttl);
+    }
+}
@@ -0,0 +1,58 @@
+package org.apereo.cas.ticket.registry;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Singular;
+import lombok.ToString;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.Serializable;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * This is {@link TicketHeaderCriteria} that describes which tickets should be selected
+ * based on their {@link TicketHeader}. Criteria are declarative so that registries
+ * are able to translate them into native queries and filter tickets server-side.
+ * Unspecified fields match any ticket.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Getter
+@ToString
+@Builder(toBuilder = true)
+public class TicketHeaderCriteria implements Predicate<TicketHeader>, Serializable {
+
+    private static final long serialVersionUID = -1295382047221586102L;
+
+    /**
+     * Ticket prefixes to match, such as {@code TGT}.
+     */
+    @Singular
+    private final Set<String> prefixes;
+
+    /**
+     * Principal id to match, ignoring case.
+     */
+    private final String principal;
+
+    /**
+     * Parent ticket id to match.
+     */
+    private final String parentId;
+
+    @Override
+    public boolean test(final TicketHeader header) {
+        if (header == null) {
+            return false;
+        }
+        if (!prefixes.isEmpty() && !prefixes.contains(header.getPrefix())) {
+            return false;
+        }
+        if (StringUtils.isNotBlank(principal) && !StringUtils.equalsIgnoreCase(principal, header.getPrincipal())) {
+            return false;
+        }
+        return StringUtils.isBlank(parentId) || StringUtils.equals(parentId, header.getParentId());
+    }
+}
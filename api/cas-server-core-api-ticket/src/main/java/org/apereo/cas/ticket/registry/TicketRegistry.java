@@ -3,6 +3,7 @@ package org.apereo.cas.ticket.registry;
 import org.apereo.cas.ticket.Ticket;
 
 import java.util.Collection;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 
@@ -77,6 +78,29 @@ public interface TicketRegistry {
         return getTicketsStream().filter(predicate);
     }
 
+    /**
+     * Gets headers of tickets that match the given criteria.
+     * Registries that keep ticket headers next to the ticket payload should override
+     * this operation to avoid deserializing and decoding whole tickets.
+     *
+     * @param criteria the criteria
+     * @return the ticket headers
+     */
+    default Stream<TicketHeader> getTicketHeaders(final TicketHeaderCriteria criteria) {
+        return getTicketsStream().map(TicketHeader::of).filter(criteria);
+    }
+
+    /**
+     * Gets tickets whose headers match the given criteria.
+     * Only tickets that match are expected to be fully materialized by the registry.
+     *
+     * @param criteria the criteria
+     * @return the tickets
+     */
+    default Stream<Ticket> getTickets(final TicketHeaderCriteria criteria) {
+        return getTicketsStream().filter(ticket -> criteria.test(TicketHeader.of(ticket)));
+    }
+
     /**
      * Update the received ticket.
      *
@@ -85,6 +109,23 @@ public interface TicketRegistry {
      */
     Ticket updateTicket(Ticket ticket);
 
+    /**
+     * Update the ticket by applying the given change to it.
+     * Registries that detect concurrent updates re-read the ticket and apply the change
+     * again to its latest state when the ticket was modified by someone else in the meantime,
+     * so the change may run more than once and should only depend on the ticket it is given.
+     *
+     * @param <T>    the ticket type
+     * @param ticket the ticket
+     * @param update the change to apply to the ticket
+     * @return the updated ticket, or null if the ticket no longer exists
+     */
+    default <T extends Ticket> T updateTicket(final T ticket, final Consumer<T> update) {
+        update.accept(ticket);
+        updateTicket(ticket);
+        return ticket;
+    }
+
     /**
      * Computes the number of SSO sessions stored in the ticket registry.
      *
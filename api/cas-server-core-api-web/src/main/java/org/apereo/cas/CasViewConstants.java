@@ -56,6 +56,11 @@ public interface CasViewConstants {
      */
     String MODEL_ATTRIBUTE_NAME_SERVICE = "service";
 
+    /**
+     * The constant representing the registered service matched for the validated service.
+     */
+    String MODEL_ATTRIBUTE_NAME_REGISTERED_SERVICE = "registeredService";
+
     /**
      * The constant representing the PGTIOU in the response.
      */
@@ -11,6 +11,7 @@ import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.ticket.proxy.ProxyGrantingTicket;
 import org.apereo.cas.ticket.proxy.ProxyTicket;
+import org.apereo.cas.ticket.registry.TicketHeaderCriteria;
 import org.apereo.cas.validation.Assertion;
 
 import java.util.Collection;
@@ -126,6 +127,19 @@ public interface CentralAuthenticationService {
      */
     Collection<Ticket> getTickets(Predicate<Ticket> predicate);
 
+    /**
+     * Retrieve a collection of tickets from the underlying ticket registry
+     * whose headers match the given criteria, having applied the predicate.
+     * Only tickets whose headers match the criteria are fully materialized
+     * and passed onto the predicate.
+     *
+     * @param criteria  the ticket header criteria
+     * @param predicate the predicate
+     * @return the tickets
+     * @since 6.0.0
+     */
+    Collection<Ticket> getTickets(TicketHeaderCriteria criteria, Predicate<Ticket> predicate);
+
     /**
      * Grant a {@link ServiceTicket} that may be used to access the given service
      * by authenticating the given credentials.
@@ -0,0 +1,67 @@
+package org.apereo.cas.benchmark;
+
+import org.apereo.cas.authentication.AcceptUsersAuthenticationHandler;
+import org.apereo.cas.authentication.Authentication;
+import org.apereo.cas.authentication.AuthenticationManager;
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.authentication.DefaultAuthenticationEventExecutionPlan;
+import org.apereo.cas.authentication.DefaultAuthenticationHandlerResolver;
+import org.apereo.cas.authentication.DefaultAuthenticationTransaction;
+import org.apereo.cas.authentication.PolicyBasedAuthenticationManager;
+import org.apereo.cas.authentication.UsernamePasswordCredential;
+import org.apereo.cas.authentication.policy.AnyAuthenticationPolicy;
+import org.apereo.cas.util.CollectionUtils;
+
+import lombok.val;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link AuthenticationManagerBenchmark} that measures
+ * {@link PolicyBasedAuthenticationManager#authenticate} with stub handlers,
+ * where only the last handler is able to validate the credential.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class AuthenticationManagerBenchmark {
+
+    @Param({"1", "4"})
+    private int numberOfHandlers;
+
+    private AuthenticationManager authenticationManager;
+
+    private UsernamePasswordCredential credential;
+
+    @Setup
+    public void setup() {
+        val plan = new DefaultAuthenticationEventExecutionPlan();
+        for (var i = 0; i < numberOfHandlers; i++) {
+            val user = i == numberOfHandlers - 1 ? "casuser" : "user" + i;
+            val handler = new AcceptUsersAuthenticationHandler("Handler" + i);
+            handler.setUsers(CollectionUtils.wrap(user, "Mellon"));
+            plan.registerAuthenticationHandler(handler);
+        }
+        plan.registerAuthenticationHandlerResolver(new DefaultAuthenticationHandlerResolver());
+        plan.registerAuthenticationPolicy(new AnyAuthenticationPolicy(false));
+        this.authenticationManager = new PolicyBasedAuthenticationManager(plan, false, event -> {
+        });
+        this.credential = new UsernamePasswordCredential("casuser", "Mellon");
+    }
+
+    @Benchmark
+    public Authentication authenticate() throws Exception {
+        return authenticationManager.authenticate(DefaultAuthenticationTransaction.of(CoreAuthenticationTestUtils.getService(), credential));
+    }
+}
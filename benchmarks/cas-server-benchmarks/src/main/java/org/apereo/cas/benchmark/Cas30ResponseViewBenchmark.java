@@ -0,0 +1,142 @@
+package org.apereo.cas.benchmark;
+
+import org.apereo.cas.CasViewConstants;
+import org.apereo.cas.CipherExecutor;
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.authentication.DefaultAuthenticationAttributeReleasePolicy;
+import org.apereo.cas.authentication.DefaultAuthenticationServiceSelectionPlan;
+import org.apereo.cas.authentication.DefaultAuthenticationServiceSelectionStrategy;
+import org.apereo.cas.authentication.principal.Service;
+import org.apereo.cas.authentication.support.DefaultCasProtocolAttributeEncoder;
+import org.apereo.cas.services.DefaultServicesManager;
+import org.apereo.cas.services.InMemoryServiceRegistry;
+import org.apereo.cas.services.RegexRegisteredService;
+import org.apereo.cas.services.ReturnAllAttributeReleasePolicy;
+import org.apereo.cas.util.CollectionUtils;
+import org.apereo.cas.validation.ImmutableAssertion;
+import org.apereo.cas.web.view.Cas30ResponseView;
+import org.apereo.cas.web.view.CasValidationResponseXmlView;
+import org.apereo.cas.web.view.CasProtocolView;
+import org.apereo.cas.web.view.attributes.DefaultCas30ProtocolAttributesRenderer;
+
+import lombok.val;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.boot.autoconfigure.thymeleaf.ThymeleafProperties;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.context.support.GenericWebApplicationContext;
+import org.springframework.web.servlet.support.RequestContext;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+import org.thymeleaf.spring5.templateresolver.SpringResourceTemplateResolver;
+import org.thymeleaf.templatemode.TemplateMode;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link Cas30ResponseViewBenchmark} that measures rendering of
+ * CAS 3.0 service validation responses, from the validation model
+ * to the final XML document produced by the protocol template
+ * or written directly by {@link CasValidationResponseXmlView}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class Cas30ResponseViewBenchmark {
+
+    private static final String SERVICE_ID = "https://app.example.org/login";
+
+    private Cas30ResponseView view;
+
+    private Cas30ResponseView templateFreeView;
+
+    private MockServletContext servletContext;
+
+    private GenericWebApplicationContext applicationContext;
+
+    private Map<String, Object> model;
+
+    @Setup
+    public void setup() {
+        val registeredService = new RegexRegisteredService();
+        registeredService.setId(1);
+        registeredService.setName("Application");
+        registeredService.setServiceId("^https://app\\.example\\.org/.*");
+        registeredService.setAttributeReleasePolicy(new ReturnAllAttributeReleasePolicy());
+        val servicesManager = new DefaultServicesManager(new InMemoryServiceRegistry(CollectionUtils.wrapList(registeredService)), event -> {
+        });
+        servicesManager.load();
+
+        this.servletContext = new MockServletContext();
+        this.applicationContext = new GenericWebApplicationContext(servletContext);
+        this.applicationContext.refresh();
+        servletContext.setAttribute(WebApplicationContext.ROOT_WEB_APPLICATION_CONTEXT_ATTRIBUTE, applicationContext);
+
+        val resolver = new SpringResourceTemplateResolver();
+        resolver.setApplicationContext(applicationContext);
+        resolver.setPrefix("classpath:/templates/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCacheable(true);
+        val templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(resolver);
+
+        val protocolView = new CasProtocolView("protocol/3.0/casServiceValidationSuccess",
+            applicationContext, templateEngine, new ThymeleafProperties());
+        protocolView.setServletContext(servletContext);
+
+        val encoder = new DefaultCasProtocolAttributeEncoder(servicesManager, CipherExecutor.noOpOfStringToString());
+        this.view = new Cas30ResponseView(true, encoder, servicesManager, "authnContextClass",
+            protocolView, true, new DefaultAuthenticationAttributeReleasePolicy(),
+            new DefaultAuthenticationServiceSelectionPlan(new DefaultAuthenticationServiceSelectionStrategy()),
+            new DefaultCas30ProtocolAttributesRenderer());
+        this.templateFreeView = new Cas30ResponseView(true, encoder, servicesManager, "authnContextClass",
+            new CasValidationResponseXmlView(true), true, new DefaultAuthenticationAttributeReleasePolicy(),
+            new DefaultAuthenticationServiceSelectionPlan(new DefaultAuthenticationServiceSelectionStrategy()),
+            new DefaultCas30ProtocolAttributesRenderer());
+
+        val attributes = new HashMap<String, Object>();
+        attributes.put("cn", "CAS User");
+        attributes.put("mail", "casuser@example.org");
+        attributes.put("memberOf", CollectionUtils.wrapList("faculty", "staff", "<admins & operators>"));
+        val principal = CoreAuthenticationTestUtils.getPrincipal("casuser", attributes);
+        val authentication = CoreAuthenticationTestUtils.getAuthentication(principal);
+        final Service service = CoreAuthenticationTestUtils.getWebApplicationService(SERVICE_ID);
+        val assertion = new ImmutableAssertion(authentication, CollectionUtils.wrapList(authentication), true, service);
+
+        this.model = new HashMap<>();
+        this.model.put(CasViewConstants.MODEL_ATTRIBUTE_NAME_ASSERTION, assertion);
+        this.model.put(CasViewConstants.MODEL_ATTRIBUTE_NAME_SERVICE, service);
+        this.model.put(CasViewConstants.MODEL_ATTRIBUTE_NAME_REGISTERED_SERVICE, registeredService);
+    }
+
+    @Benchmark
+    public String renderSuccessResponse() throws Exception {
+        return render(view);
+    }
+
+    @Benchmark
+    public String renderTemplateFreeSuccessResponse() throws Exception {
+        return render(templateFreeView);
+    }
+
+    private String render(final Cas30ResponseView responseView) throws Exception {
+        val request = new MockHttpServletRequest(servletContext);
+        request.setAttribute(RequestContext.WEB_APPLICATION_CONTEXT_ATTRIBUTE, applicationContext);
+        val response = new MockHttpServletResponse();
+        responseView.render(new HashMap<>(model), request, response);
+        return response.getContentAsString();
+    }
+}
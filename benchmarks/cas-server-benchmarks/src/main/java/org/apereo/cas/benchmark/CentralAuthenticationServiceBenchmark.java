@@ -0,0 +1,116 @@
+package org.apereo.cas.benchmark;
+
+import org.apereo.cas.CentralAuthenticationService;
+import org.apereo.cas.authentication.AuthenticationResult;
+import org.apereo.cas.authentication.AuthenticationSystemSupport;
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.authentication.principal.Service;
+import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.validation.Assertion;
+
+import lombok.val;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link CentralAuthenticationServiceBenchmark} that measures
+ * ticket operations of the {@link CentralAuthenticationService} against the in-memory ticket registry.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CentralAuthenticationServiceBenchmark {
+
+    private static final String SERVICE_ID = "https://github.com/apereo/cas";
+
+    private ConfigurableApplicationContext applicationContext;
+
+    private CentralAuthenticationService centralAuthenticationService;
+
+    private TicketRegistry ticketRegistry;
+
+    private AuthenticationResult authenticationResult;
+
+    private Service service;
+
+    private TicketGrantingTicket ticketGrantingTicket;
+
+    @Setup(Level.Trial)
+    public void setupTrial() throws Exception {
+        this.applicationContext = CasBenchmarkConfiguration.start();
+        this.centralAuthenticationService = applicationContext.getBean("centralAuthenticationService", CentralAuthenticationService.class);
+        this.ticketRegistry = applicationContext.getBean("ticketRegistry", TicketRegistry.class);
+        val support = applicationContext.getBean("defaultAuthenticationSystemSupport", AuthenticationSystemSupport.class);
+        this.service = CoreAuthenticationTestUtils.getWebApplicationService(SERVICE_ID);
+        this.authenticationResult = CoreAuthenticationTestUtils.getAuthenticationResult(support, service);
+    }
+
+    /**
+     * A fresh ticket-granting ticket per iteration keeps the
+     * list of granted services from growing across the whole trial.
+     *
+     * @throws Exception the exception
+     */
+    @Setup(Level.Iteration)
+    public void setupIteration() throws Exception {
+        this.ticketGrantingTicket = centralAuthenticationService.createTicketGrantingTicket(authenticationResult);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.applicationContext.close();
+    }
+
+    /**
+     * Create and remove a ticket-granting ticket, so the registry does not grow over the trial.
+     *
+     * @return the ticket granting ticket
+     * @throws Exception the exception
+     */
+    @Benchmark
+    public TicketGrantingTicket createTicketGrantingTicket() throws Exception {
+        val ticket = centralAuthenticationService.createTicketGrantingTicket(authenticationResult);
+        ticketRegistry.deleteSingleTicket(ticket.getId());
+        return ticket;
+    }
+
+    /**
+     * Grant a service ticket and remove it from the registry.
+     *
+     * @return the service ticket
+     * @throws Exception the exception
+     */
+    @Benchmark
+    public ServiceTicket grantServiceTicket() throws Exception {
+        val serviceTicket = centralAuthenticationService.grantServiceTicket(ticketGrantingTicket.getId(), service, authenticationResult);
+        ticketRegistry.deleteSingleTicket(serviceTicket.getId());
+        return serviceTicket;
+    }
+
+    /**
+     * Grant a service ticket and validate it; validation removes the service ticket from the registry.
+     *
+     * @return the assertion
+     * @throws Exception the exception
+     */
+    @Benchmark
+    public Assertion grantAndValidateServiceTicket() throws Exception {
+        val serviceTicket = centralAuthenticationService.grantServiceTicket(ticketGrantingTicket.getId(), service, authenticationResult);
+        return centralAuthenticationService.validateServiceTicket(serviceTicket.getId(), service);
+    }
+}
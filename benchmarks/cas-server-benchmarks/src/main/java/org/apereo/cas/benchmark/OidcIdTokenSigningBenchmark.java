@@ -0,0 +1,96 @@
+package org.apereo.cas.benchmark;
+
+import org.apereo.cas.oidc.token.OidcIdTokenSigningAndEncryptionService;
+import org.apereo.cas.services.OidcRegisteredService;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.val;
+import org.jose4j.jwk.EcJwkGenerator;
+import org.jose4j.jwk.PublicJsonWebKey;
+import org.jose4j.jwk.RsaJwkGenerator;
+import org.jose4j.jws.AlgorithmIdentifiers;
+import org.jose4j.jwt.JwtClaims;
+import org.jose4j.keys.EllipticCurves;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link OidcIdTokenSigningBenchmark} that measures the number of id tokens
+ * signed per second on a single thread, for RSA and elliptic-curve signing keys.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(1)
+public class OidcIdTokenSigningBenchmark {
+
+    private static final int RSA_KEY_SIZE = 2048;
+
+    @Param({AlgorithmIdentifiers.RSA_USING_SHA256,
+        AlgorithmIdentifiers.ECDSA_USING_P256_CURVE_AND_SHA256,
+        AlgorithmIdentifiers.ECDSA_USING_P384_CURVE_AND_SHA384,
+        AlgorithmIdentifiers.ECDSA_USING_P521_CURVE_AND_SHA512})
+    private String algorithm;
+
+    private OidcIdTokenSigningAndEncryptionService signingService;
+
+    private OidcRegisteredService registeredService;
+
+    private JwtClaims claims;
+
+    @Setup
+    public void setup() throws Exception {
+        val jsonWebKey = generateJsonWebKey(algorithm);
+        jsonWebKey.setKeyId("benchmark");
+        this.signingService = new OidcIdTokenSigningAndEncryptionService(
+            Caffeine.newBuilder().build(issuer -> Optional.of(jsonWebKey)),
+            Caffeine.newBuilder().build(service -> Optional.<PublicJsonWebKey>empty()),
+            "https://sso.example.org/cas/oidc");
+
+        this.registeredService = new OidcRegisteredService();
+        registeredService.setClientId("benchmark");
+        registeredService.setServiceId("https://app.example.org.*");
+        registeredService.setSignIdToken(true);
+        registeredService.setEncryptIdToken(false);
+        registeredService.setIdTokenSigningAlg(algorithm);
+
+        this.claims = new JwtClaims();
+        claims.setIssuer("https://sso.example.org/cas/oidc");
+        claims.setAudience(registeredService.getClientId());
+        claims.setSubject("casuser");
+        claims.setExpirationTimeMinutesInTheFuture(5);
+        claims.setIssuedAtToNow();
+        claims.setGeneratedJwtId();
+    }
+
+    @Benchmark
+    public String signIdToken() {
+        return signingService.encode(registeredService, claims);
+    }
+
+    private static PublicJsonWebKey generateJsonWebKey(final String algorithm) throws Exception {
+        switch (algorithm) {
+            case AlgorithmIdentifiers.ECDSA_USING_P256_CURVE_AND_SHA256:
+                return EcJwkGenerator.generateJwk(EllipticCurves.P256);
+            case AlgorithmIdentifiers.ECDSA_USING_P384_CURVE_AND_SHA384:
+                return EcJwkGenerator.generateJwk(EllipticCurves.P384);
+            case AlgorithmIdentifiers.ECDSA_USING_P521_CURVE_AND_SHA512:
+                return EcJwkGenerator.generateJwk(EllipticCurves.P521);
+            default:
+                return RsaJwkGenerator.generateJwk(RSA_KEY_SIZE);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package org.apereo.cas.benchmark;
+
+import org.apereo.cas.util.CollectionUtils;
+import org.apereo.cas.util.ScriptingUtils;
+
+import lombok.SneakyThrows;
+import lombok.val;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+import java.io.File;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link ScriptingUtilsBenchmark} that measures Groovy script execution
+ * through {@link ScriptingUtils}, both for inline and external scripts.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ScriptingUtilsBenchmark {
+
+    private static final String INLINE_SCRIPT = "return principal.toUpperCase() + ':' + attributes.size()";
+
+    private final Map<String, Object> attributes = CollectionUtils.wrap("cn", "casuser", "mail", "casuser@example.org");
+
+    private Resource externalScript;
+
+    private File scriptFile;
+
+    @Setup
+    @SneakyThrows
+    public void setup() {
+        this.scriptFile = File.createTempFile("BenchmarkScript", ".groovy");
+        try (val is = new ClassPathResource("scripts/BenchmarkScript.groovy").getInputStream()) {
+            FileUtils.copyInputStreamToFile(is, scriptFile);
+        }
+        this.externalScript = new FileSystemResource(scriptFile);
+    }
+
+    @TearDown
+    public void tearDown() {
+        FileUtils.deleteQuietly(scriptFile);
+    }
+
+    @Benchmark
+    public String executeGroovyShellScript() {
+        return ScriptingUtils.executeGroovyShellScript(INLINE_SCRIPT,
+            CollectionUtils.wrap("principal", "casuser", "attributes", attributes), String.class);
+    }
+
+    @Benchmark
+    public String executeGroovyScriptEngine() {
+        return ScriptingUtils.executeGroovyScriptEngine(INLINE_SCRIPT,
+            CollectionUtils.wrap("principal", "casuser", "attributes", attributes), String.class);
+    }
+
+    @Benchmark
+    public String executeExternalGroovyScript() {
+        return ScriptingUtils.executeGroovyScript(externalScript, new Object[]{"casuser", attributes}, String.class);
+    }
+}
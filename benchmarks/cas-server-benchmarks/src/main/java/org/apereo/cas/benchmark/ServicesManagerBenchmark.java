@@ -0,0 +1,73 @@
+package org.apereo.cas.benchmark;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.authentication.principal.Service;
+import org.apereo.cas.services.DefaultServicesManager;
+import org.apereo.cas.services.InMemoryServiceRegistry;
+import org.apereo.cas.services.RegexRegisteredService;
+import org.apereo.cas.services.RegisteredService;
+import org.apereo.cas.services.ServicesManager;
+
+import lombok.val;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link ServicesManagerBenchmark} that measures service lookups
+ * of the {@link DefaultServicesManager} with a varying number of regex-based services.
+ * The matching service is always registered last, which is the worst case for the lookup.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ServicesManagerBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int numberOfServices;
+
+    private ServicesManager servicesManager;
+
+    private Service matchingService;
+
+    private Service unknownService;
+
+    @Setup
+    public void setup() {
+        val services = new ArrayList<RegisteredService>(numberOfServices);
+        for (var i = 0; i < numberOfServices; i++) {
+            val svc = new RegexRegisteredService();
+            svc.setId(i);
+            svc.setName("Service" + i);
+            svc.setEvaluationOrder(i);
+            svc.setServiceId("^https://app" + i + "\\.example\\.org/.*");
+            services.add(svc);
+        }
+        this.servicesManager = new DefaultServicesManager(new InMemoryServiceRegistry(services), event -> {
+        });
+        this.servicesManager.load();
+        this.matchingService = CoreAuthenticationTestUtils.getService("https://app" + (numberOfServices - 1) + ".example.org/login");
+        this.unknownService = CoreAuthenticationTestUtils.getService("https://unknown.example.net/login");
+    }
+
+    @Benchmark
+    public RegisteredService findMatchingService() {
+        return servicesManager.findServiceBy(matchingService);
+    }
+
+    @Benchmark
+    public RegisteredService findUnknownService() {
+        return servicesManager.findServiceBy(unknownService);
+    }
+}
@@ -0,0 +1,91 @@
+package org.apereo.cas.benchmark;
+
+import org.apereo.cas.util.EncodingUtils;
+import org.apereo.cas.util.cipher.TicketGrantingCookieCipherExecutor;
+import org.apereo.cas.web.support.CompactCasCookieValueManager;
+import org.apereo.cas.web.support.CookieValueManager;
+import org.apereo.cas.web.support.DefaultCasCookieValueManager;
+
+import lombok.val;
+import org.apereo.inspektr.common.web.ClientInfo;
+import org.apereo.inspektr.common.web.ClientInfoHolder;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import javax.servlet.http.Cookie;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link TicketGrantingCookieValueBenchmark} that measures the time it takes to build and read
+ * the value of the ticket-granting cookie, along with the size of the cookie value, for each of the
+ * cookie value formats.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TicketGrantingCookieValueBenchmark {
+
+    private static final String TICKET_GRANTING_TICKET_ID = "TGT-1-bBfNqeH4sdjc1DEUdO2p9Gv4nGxz1EaQI5ITf2FMkR8dHtnpBK-cas01";
+
+    private static final String USER_AGENT = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 "
+        + "(KHTML, like Gecko) Chrome/69.0.3497.100 Safari/537.36";
+
+    @Param({"COMPACT", "JWT"})
+    private String format;
+
+    private CookieValueManager cookieValueManager;
+
+    private MockHttpServletRequest request;
+
+    private Cookie cookie;
+
+    @Setup
+    public void setup() {
+        this.request = new MockHttpServletRequest();
+        request.setRemoteAddr("10.0.0.1");
+        request.setLocalAddr("10.0.0.2");
+        request.addHeader("User-Agent", USER_AGENT);
+        ClientInfoHolder.setClientInfo(new ClientInfo(request));
+
+        val encryptionKey = EncodingUtils.generateJsonWebKey(256);
+        val cipher = new TicketGrantingCookieCipherExecutor(encryptionKey, EncodingUtils.generateJsonWebKey(512));
+        val jwtCookieValueManager = new DefaultCasCookieValueManager(cipher);
+        this.cookieValueManager = "COMPACT".equals(format)
+            ? new CompactCasCookieValueManager(Collections.singletonList(encryptionKey), jwtCookieValueManager)
+            : jwtCookieValueManager;
+        this.cookie = new Cookie("TGC", cookieValueManager.buildCookieValue(TICKET_GRANTING_TICKET_ID, request));
+    }
+
+    @Benchmark
+    public String buildCookieValue(final CookieValue value) {
+        val cookieValue = cookieValueManager.buildCookieValue(TICKET_GRANTING_TICKET_ID, request);
+        value.cookieSize = cookieValue.length();
+        return cookieValue;
+    }
+
+    @Benchmark
+    public String obtainCookieValue() {
+        return cookieValueManager.obtainCookieValue(cookie, request);
+    }
+
+    /**
+     * Reports the length of the cookie value alongside the time it takes to build it.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class CookieValue {
+        public long cookieSize;
+    }
+}
@@ -0,0 +1,69 @@
+package org.apereo.cas.benchmark;
+
+import org.apereo.cas.util.serialization.TicketIdSanitizationUtils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link TicketIdSanitizationBenchmark} that measures the cost of removing ticket ids
+ * from log messages, for messages with and without ticket ids.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TicketIdSanitizationBenchmark {
+
+    private static final String TICKET_GRANTING_TICKET_ID = "TGT-1-bBfNqeH4sdjc1DEUdO2p9Gv4nGxz1EaQI5ITf2FMkR8dHtnpBK-cas01";
+
+    @Param({"none", "single", "multiple"})
+    private String ticketIds;
+
+    private String message;
+
+    private StringBuilder buffer;
+
+    @Setup
+    public void setup() {
+        switch (ticketIds) {
+            case "single":
+                this.message = "Granted ticket [ST-1-fRvDOUQ8tcmJbSHV2nb5-cas01] for service [https://app.example.org/login] "
+                    + "for user [casuser] with ticket-granting ticket [" + TICKET_GRANTING_TICKET_ID + ']';
+                break;
+            case "multiple":
+                this.message = "Destroyed ticket-granting ticket [" + TICKET_GRANTING_TICKET_ID + "] along with "
+                    + "proxy-granting tickets [PGT-2-lmpO2m1i8Ct9fsKgC4Wy6I7lSf1EMkR8dHtnpBK-cas01], "
+                    + "[PGT-3-aX9VbtMsmkEuhzH0cR1AMbJqk7xlRHkvEW9R1ceQ-cas01] and [PGTIOU-4-sdjc1DEUdO2p9Gv4nGxz1EaQI5ITf2-cas01]";
+                break;
+            default:
+                this.message = "Authentication of [casuser] succeeded via [AcceptUsersAuthenticationHandler] "
+                    + "for service [https://app.example.org/login] from client [10.0.0.1] with user agent [Mozilla/5.0]";
+                break;
+        }
+        this.buffer = new StringBuilder(this.message.length() * 2);
+    }
+
+    @Benchmark
+    public String sanitizeMessage() {
+        return TicketIdSanitizationUtils.sanitize(message);
+    }
+
+    @Benchmark
+    public StringBuilder sanitizeLayoutBuffer() {
+        buffer.setLength(0);
+        buffer.append(message);
+        TicketIdSanitizationUtils.sanitize(buffer, 0);
+        return buffer;
+    }
+}
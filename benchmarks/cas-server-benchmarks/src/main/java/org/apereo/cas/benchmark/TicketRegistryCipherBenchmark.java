@@ -0,0 +1,77 @@
+package org.apereo.cas.benchmark;
+
+import org.apereo.cas.CipherExecutor;
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.configuration.model.core.util.EncryptionRandomizedSigningJwtCryptographyProperties;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.registry.DefaultTicketRegistry;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
+import org.apereo.cas.util.CoreTicketUtils;
+
+import lombok.val;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link TicketRegistryCipherBenchmark} that measures the cost of encoding
+ * and decoding tickets when ticket registry encryption and signing are turned on.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TicketRegistryCipherBenchmark {
+
+    private EncodingTicketRegistry ticketRegistry;
+
+    private Ticket ticket;
+
+    private Ticket encodedTicket;
+
+    @Setup
+    public void setup() {
+        val cipher = CoreTicketUtils.newTicketRegistryCipherExecutor(
+            new EncryptionRandomizedSigningJwtCryptographyProperties(), true, "benchmark");
+        this.ticketRegistry = new EncodingTicketRegistry(cipher);
+        this.ticket = new TicketGrantingTicketImpl("TGT-1-benchmark",
+            CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+        this.encodedTicket = ticketRegistry.encode(ticket);
+    }
+
+    @Benchmark
+    public Ticket encodeTicket() {
+        return ticketRegistry.encode(ticket);
+    }
+
+    @Benchmark
+    public Ticket decodeTicket() {
+        return ticketRegistry.decode(encodedTicket);
+    }
+
+    /**
+     * Exposes the encoding operations of the registry to the benchmark.
+     */
+    private static class EncodingTicketRegistry extends DefaultTicketRegistry {
+        EncodingTicketRegistry(final CipherExecutor cipherExecutor) {
+            super(cipherExecutor);
+        }
+
+        Ticket encode(final Ticket ticket) {
+            return encodeTicket(ticket);
+        }
+
+        Ticket decode(final Ticket ticket) {
+            return decodeTicket(ticket);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package org.apereo.cas.benchmark;
+
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.UniqueTicketIdGenerator;
+import org.apereo.cas.util.DefaultUniqueTicketIdGenerator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link UniqueTicketIdGeneratorBenchmark} that measures
+ * ticket id generation of {@link DefaultUniqueTicketIdGenerator},
+ * both single-threaded and under contention on the shared random source.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class UniqueTicketIdGeneratorBenchmark {
+
+    private final UniqueTicketIdGenerator generator = new DefaultUniqueTicketIdGenerator();
+
+    @Benchmark
+    public String getNewTicketId() {
+        return generator.getNewTicketId(TicketGrantingTicket.PREFIX);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String getNewTicketIdConcurrently() {
+        return generator.getNewTicketId(TicketGrantingTicket.PREFIX);
+    }
+}
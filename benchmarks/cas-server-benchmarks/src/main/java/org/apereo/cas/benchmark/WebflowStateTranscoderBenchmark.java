@@ -0,0 +1,100 @@
+package org.apereo.cas.benchmark;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.authentication.DefaultAuthenticationResultBuilder;
+import org.apereo.cas.services.DefaultServicesManager;
+import org.apereo.cas.services.InMemoryServiceRegistry;
+import org.apereo.cas.services.RegisteredService;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.util.cipher.WebflowConversationStateCipherExecutor;
+import org.apereo.cas.web.flow.executor.WebflowCipherBean;
+import org.apereo.cas.web.flow.executor.WebflowStateTranscoder;
+
+import lombok.val;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.webflow.core.collection.LocalAttributeMap;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link WebflowStateTranscoderBenchmark} that measures the time it takes to encode and decode
+ * flow execution state kept on the client, along with the size of the encoded state, as the state
+ * grows through the steps of a login.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WebflowStateTranscoderBenchmark {
+
+    @Param({"COMPACT", "SERIALIZED"})
+    private String format;
+
+    @Param({"loginForm", "credentialSubmitted", "authenticated"})
+    private String step;
+
+    private WebflowStateTranscoder transcoder;
+
+    private LocalAttributeMap<Object> state;
+
+    private byte[] encodedState;
+
+    @Setup
+    public void setup() throws Exception {
+        val cipher = new WebflowConversationStateCipherExecutor(null, null, "AES", 512, 16, "benchmark");
+        val registeredService = RegisteredServiceTestUtils.getRegisteredService("^https://app.example.org/.*");
+        registeredService.setId(1000);
+        val services = new ArrayList<RegisteredService>();
+        services.add(registeredService);
+        val servicesManager = new DefaultServicesManager(new InMemoryServiceRegistry(services), event -> {
+        });
+        servicesManager.load();
+        this.transcoder = new WebflowStateTranscoder(new WebflowCipherBean(cipher), servicesManager, "COMPACT".equals(format));
+
+        this.state = new LocalAttributeMap<>();
+        state.put("service", RegisteredServiceTestUtils.getService("https://app.example.org/login"));
+        state.put("registeredService", registeredService);
+        if (!"loginForm".equals(step)) {
+            state.put("credential", CoreAuthenticationTestUtils.getCredentialsWithSameUsernameAndPassword());
+        }
+        if ("authenticated".equals(step)) {
+            val builder = new DefaultAuthenticationResultBuilder();
+            builder.collect(CoreAuthenticationTestUtils.getCredentialsWithSameUsernameAndPassword());
+            builder.collect(CoreAuthenticationTestUtils.getAuthentication());
+            state.put("authenticationResultBuilder", builder);
+        }
+        this.encodedState = transcoder.encode(state);
+    }
+
+    @Benchmark
+    public byte[] encodeState(final EncodedState encoded) throws Exception {
+        val bytes = transcoder.encode(state);
+        encoded.stateSize = bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public Object decodeState() throws Exception {
+        return transcoder.decode(encodedState);
+    }
+
+    /**
+     * Reports the size in bytes of the encoded state alongside the time it takes to encode it.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class EncodedState {
+        public long stateSize;
+    }
+}
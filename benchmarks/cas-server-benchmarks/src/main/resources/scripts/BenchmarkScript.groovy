@@ -0,0 +1,5 @@
+def run(Object... args) {
+    def principal = args[0]
+    def attributes = args[1]
+    return principal.toUpperCase() + ":" + attributes.size()
+}
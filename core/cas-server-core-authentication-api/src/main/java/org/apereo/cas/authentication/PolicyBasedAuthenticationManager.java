@@ -13,26 +13,45 @@ import org.apereo.cas.support.events.authentication.CasAuthenticationTransaction
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apereo.inspektr.audit.annotation.Audit;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.context.ApplicationEvent;
 import org.springframework.context.ApplicationEventPublisher;
 
 import java.lang.reflect.UndeclaredThrowableException;
 import java.security.GeneralSecurityException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedHashSet;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 /**
  * This is {@link PolicyBasedAuthenticationManager}, which provides common operations
  * around an authentication manager implementation.
+ * <p>Authentication handlers that support a credential are tried one after another by default.
+ * When configured with a number of handler execution threads, the handlers run concurrently instead,
+ * and their results are collected in the order of handlers, as if they had run one after another.
+ * Handlers wait in a bounded queue for a thread to become available, and their execution timeout only starts
+ * once they run. A handler that cannot be queued, or that waits in the queue for longer than the timeout,
+ * fails the same way as a handler that times out.</p>
  *
  * @author Misagh Moayyed
  * @since 5.0.0
@@ -40,7 +59,8 @@ import java.util.stream.Collectors;
 @Slf4j
 @RequiredArgsConstructor
 @Getter
-public class PolicyBasedAuthenticationManager implements AuthenticationManager {
+public class PolicyBasedAuthenticationManager implements AuthenticationManager, DisposableBean {
+    private static final int QUEUED_HANDLERS_PER_THREAD = 64;
 
     private final AuthenticationEventExecutionPlan authenticationEventExecutionPlan;
 
@@ -48,6 +68,26 @@ public class PolicyBasedAuthenticationManager implements AuthenticationManager {
 
     private final ApplicationEventPublisher eventPublisher;
 
+    private ExecutorService handlerExecutor;
+
+    private long handlerExecutionTimeout;
+
+    public PolicyBasedAuthenticationManager(final AuthenticationEventExecutionPlan authenticationEventExecutionPlan,
+                                            final boolean principalResolutionFailureFatal,
+                                            final ApplicationEventPublisher eventPublisher,
+                                            final int handlerExecutionThreads,
+                                            final long handlerExecutionTimeout) {
+        this(authenticationEventExecutionPlan, principalResolutionFailureFatal, eventPublisher);
+        if (handlerExecutionThreads > 0) {
+            val pool = new ThreadPoolExecutor(handlerExecutionThreads, handlerExecutionThreads, 1, TimeUnit.MINUTES,
+                new ArrayBlockingQueue<>(handlerExecutionThreads * QUEUED_HANDLERS_PER_THREAD),
+                new BasicThreadFactory.Builder().namingPattern("cas-authn-handler-%d").daemon(true).build());
+            pool.allowCoreThreadTimeOut(true);
+            this.handlerExecutor = pool;
+            this.handlerExecutionTimeout = handlerExecutionTimeout;
+        }
+    }
+
     /**
      * Populate authentication metadata attributes.
      *
@@ -335,31 +375,10 @@ public class PolicyBasedAuthenticationManager implements AuthenticationManager {
                 val credential = it.next();
                 LOGGER.debug("Attempting to authenticate credential [{}]", credential);
 
-                val itHandlers = handlerSet.iterator();
-                var proceedWithNextHandler = true;
-                while (proceedWithNextHandler && itHandlers.hasNext()) {
-                    val handler = itHandlers.next();
-                    if (handler.supports(credential)) {
-                        try {
-                            val resolver = getPrincipalResolverLinkedToHandlerIfAny(handler, transaction);
-                            LOGGER.debug("Attempting authentication of [{}] using [{}]", credential.getId(), handler.getName());
-                            authenticateAndResolvePrincipal(builder, credential, resolver, handler);
-                            val authnResult = builder.build();
-                            AuthenticationCredentialsThreadLocalBinder.bindInProgress(authnResult);
-                            val failures = evaluateAuthenticationPolicies(authnResult, transaction);
-                            proceedWithNextHandler = !failures.getKey();
-                        } catch (final Exception e) {
-                            LOGGER.error("Authentication has failed. Credentials may be incorrect or CAS cannot "
-                                + "find authentication handler that supports [{}] of type [{}]. Examine the configuration to "
-                                + "ensure a method of authentication is defined and analyze CAS logs at DEBUG level to trace "
-                                + "the authentication event.", credential, credential.getClass().getSimpleName());
-
-                            handleAuthenticationException(e, handler.getName(), builder);
-                            proceedWithNextHandler = true;
-                        }
-                    } else {
-                        LOGGER.debug("Authentication handler [{}] does not support the credential type [{}]. Trying next...", handler.getName(), credential);
-                    }
+                if (this.handlerExecutor == null) {
+                    authenticateCredential(builder, credential, handlerSet, transaction);
+                } else {
+                    authenticateCredentialConcurrently(builder, credential, handlerSet, transaction);
                 }
             }
             evaluateFinalAuthentication(builder, transaction);
@@ -369,6 +388,173 @@ public class PolicyBasedAuthenticationManager implements AuthenticationManager {
         }
     }
 
+    /**
+     * Authenticate the credential with each handler that supports it, one after another,
+     * until the authentication policies are satisfied.
+     *
+     * @param builder     the builder
+     * @param credential  the credential
+     * @param handlers    the handlers
+     * @param transaction the transaction
+     */
+    protected void authenticateCredential(final AuthenticationBuilder builder, final Credential credential,
+                                          final Collection<AuthenticationHandler> handlers,
+                                          final AuthenticationTransaction transaction) {
+        val itHandlers = handlers.iterator();
+        var proceedWithNextHandler = true;
+        while (proceedWithNextHandler && itHandlers.hasNext()) {
+            val handler = itHandlers.next();
+            if (handler.supports(credential)) {
+                try {
+                    val resolver = getPrincipalResolverLinkedToHandlerIfAny(handler, transaction);
+                    LOGGER.debug("Attempting authentication of [{}] using [{}]", credential.getId(), handler.getName());
+                    authenticateAndResolvePrincipal(builder, credential, resolver, handler);
+                    val authnResult = builder.build();
+                    AuthenticationCredentialsThreadLocalBinder.bindInProgress(authnResult);
+                    val failures = evaluateAuthenticationPolicies(authnResult, transaction);
+                    proceedWithNextHandler = !failures.getKey();
+                } catch (final Exception e) {
+                    LOGGER.error("Authentication has failed. Credentials may be incorrect or CAS cannot "
+                        + "find authentication handler that supports [{}] of type [{}]. Examine the configuration to "
+                        + "ensure a method of authentication is defined and analyze CAS logs at DEBUG level to trace "
+                        + "the authentication event.", credential, credential.getClass().getSimpleName());
+
+                    handleAuthenticationException(e, handler.getName(), builder);
+                    proceedWithNextHandler = true;
+                }
+            } else {
+                LOGGER.debug("Authentication handler [{}] does not support the credential type [{}]. Trying next...", handler.getName(), credential);
+            }
+        }
+    }
+
+    /**
+     * Authenticate the credential with the handlers that support it concurrently.
+     * Results are merged in the order of handlers, and authentication policies are evaluated after each success
+     * once all handlers ordered before it have completed, which produces the same outcome as running handlers
+     * one after another. Handlers that are no longer needed, or that do not complete in time, are cancelled.
+     * Handlers do not see the in-progress authentication produced by handlers ordered before them.
+     *
+     * @param builder     the builder
+     * @param credential  the credential
+     * @param handlerSet  the handlers
+     * @param transaction the transaction
+     */
+    protected void authenticateCredentialConcurrently(final AuthenticationBuilder builder, final Credential credential,
+                                                      final Collection<AuthenticationHandler> handlerSet,
+                                                      final AuthenticationTransaction transaction) {
+        val handlers = handlerSet.stream().filter(handler -> handler.supports(credential)).collect(Collectors.toList());
+        if (handlers.size() < 2) {
+            authenticateCredential(builder, credential, handlers, transaction);
+            return;
+        }
+
+        LOGGER.debug("Attempting authentication of [{}] concurrently using [{}]", credential.getId(), handlers);
+        val inProgress = AuthenticationCredentialsThreadLocalBinder.getInProgressAuthentication();
+        val executions = new ArrayList<HandlerExecution>(handlers.size());
+        handlers.forEach(handler -> {
+            val resolver = getPrincipalResolverLinkedToHandlerIfAny(handler, transaction);
+            val execution = new HandlerExecution();
+            try {
+                execution.setFuture(this.handlerExecutor.submit(() -> {
+                    execution.setStartedAt(System.nanoTime());
+                    return executeHandler(transaction, inProgress, credential, resolver, handler);
+                }));
+            } catch (final RejectedExecutionException e) {
+                LOGGER.warn("Authentication handler [{}] cannot be queued for execution", handler.getName());
+                execution.setFuture(CompletableFuture.failedFuture(
+                    new PreventedException("Authentication handler " + handler.getName() + " cannot be queued for execution", e)));
+            }
+            executions.add(execution);
+        });
+
+        try {
+            for (var i = 0; i < handlers.size(); i++) {
+                val handler = handlers.get(i);
+                val result = awaitHandler(executions.get(i), handler);
+                result.getBuilder().getSuccesses().forEach(builder::addSuccess);
+                if (result.getError() != null) {
+                    LOGGER.error("Authentication has failed. Credentials may be incorrect or CAS cannot "
+                        + "find authentication handler that supports [{}] of type [{}]. Examine the configuration to "
+                        + "ensure a method of authentication is defined and analyze CAS logs at DEBUG level to trace "
+                        + "the authentication event.", credential, credential.getClass().getSimpleName());
+                    handleAuthenticationException(result.getError(), handler.getName(), builder);
+                } else {
+                    val principal = result.getBuilder().getPrincipal();
+                    if (!(principal instanceof NullPrincipal)) {
+                        builder.setPrincipal(principal);
+                    }
+                    val authnResult = builder.build();
+                    AuthenticationCredentialsThreadLocalBinder.bindInProgress(authnResult);
+                    val failures = evaluateAuthenticationPolicies(authnResult, transaction);
+                    if (failures.getKey()) {
+                        LOGGER.debug("Authentication policies are satisfied after [{}]; remaining handlers are cancelled", handler.getName());
+                        return;
+                    }
+                }
+            }
+        } finally {
+            executions.forEach(execution -> execution.getFuture().cancel(true));
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (this.handlerExecutor != null) {
+            this.handlerExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * Wait for the handler to complete. The execution timeout runs from the moment the handler starts,
+     * so that the time a handler spends waiting in the queue does not count against it; the wait in the
+     * queue is limited by the same timeout.
+     */
+    private HandlerExecutionResult awaitHandler(final HandlerExecution execution, final AuthenticationHandler handler) {
+        val future = execution.getFuture();
+        val timeout = TimeUnit.MILLISECONDS.toNanos(this.handlerExecutionTimeout);
+        try {
+            while (true) {
+                val startedAt = execution.getStartedAt();
+                val deadline = (startedAt != null ? startedAt : execution.getSubmittedAt()) + timeout;
+                try {
+                    return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                } catch (final TimeoutException e) {
+                    if (startedAt != null || execution.getStartedAt() == null) {
+                        future.cancel(true);
+                        LOGGER.warn("Authentication handler [{}] did not {} within [{}] ms and is cancelled",
+                            handler.getName(), startedAt != null ? "complete" : "start", this.handlerExecutionTimeout);
+                        return new HandlerExecutionResult(new DefaultAuthenticationBuilder(NullPrincipal.getInstance()),
+                            new PreventedException("Authentication handler " + handler.getName() + " timed out", e));
+                    }
+                    LOGGER.trace("Authentication handler [{}] started after waiting in the queue", handler.getName());
+                }
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new HandlerExecutionResult(new DefaultAuthenticationBuilder(NullPrincipal.getInstance()), new PreventedException(e));
+        } catch (final ExecutionException e) {
+            return new HandlerExecutionResult(new DefaultAuthenticationBuilder(NullPrincipal.getInstance()), e.getCause());
+        }
+    }
+
+    private HandlerExecutionResult executeHandler(final AuthenticationTransaction transaction, final Authentication inProgress,
+                                                  final Credential credential, final PrincipalResolver resolver,
+                                                  final AuthenticationHandler handler) {
+        val handlerBuilder = new DefaultAuthenticationBuilder(NullPrincipal.getInstance());
+        try {
+            AuthenticationCredentialsThreadLocalBinder.bindCurrent(transaction.getCredentials());
+            AuthenticationCredentialsThreadLocalBinder.bindInProgress(inProgress);
+            LOGGER.debug("Attempting authentication of [{}] using [{}]", credential.getId(), handler.getName());
+            authenticateAndResolvePrincipal(handlerBuilder, credential, resolver, handler);
+            return new HandlerExecutionResult(handlerBuilder, null);
+        } catch (final Exception e) {
+            return new HandlerExecutionResult(handlerBuilder, e);
+        } finally {
+            AuthenticationCredentialsThreadLocalBinder.clear();
+        }
+    }
+
     /**
      * Evaluate produced authentication context.
      * We apply an implicit security policy of at least one successful authentication.
@@ -450,4 +636,28 @@ public class PolicyBasedAuthenticationManager implements AuthenticationManager {
             builder.addFailure(name, e);
         }
     }
+
+    /**
+     * Authentication handler that is submitted for execution, along with the time it started running.
+     */
+    @Getter
+    @Setter
+    private static class HandlerExecution {
+        private final long submittedAt = System.nanoTime();
+
+        private Future<HandlerExecutionResult> future;
+
+        private volatile Long startedAt;
+    }
+
+    /**
+     * Outcome of an authentication handler that ran concurrently.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    private static class HandlerExecutionResult {
+        private final AuthenticationBuilder builder;
+
+        private final Throwable error;
+    }
 }
@@ -3,8 +3,8 @@ package org.apereo.cas.authentication.policy;
 import org.apereo.cas.authentication.Authentication;
 import org.apereo.cas.authentication.AuthenticationPolicy;
 import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.registry.TicketHeaderCriteria;
 import org.apereo.cas.ticket.registry.TicketRegistry;
-import org.apereo.cas.util.function.FunctionUtils;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -31,16 +31,13 @@ public class UniquePrincipalAuthenticationPolicy implements AuthenticationPolicy
     public boolean isSatisfiedBy(final Authentication authentication) throws Exception {
         try {
             val authPrincipal = authentication.getPrincipal();
-            val count = this.ticketRegistry.getTickets(t -> {
-                var pass = FunctionUtils.doIf(TicketGrantingTicket.class.isInstance(t) && !t.isExpired(),
-                    () -> {
-                        val principal = TicketGrantingTicket.class.cast(t).getAuthentication().getPrincipal();
-                        return principal.getId().equalsIgnoreCase(authPrincipal.getId());
-                    },
-                    () -> Boolean.TRUE)
-                    .get();
-                return pass;
-            }).count();
+            val criteria = TicketHeaderCriteria.builder()
+                .prefix(TicketGrantingTicket.PREFIX)
+                .principal(authPrincipal.getId())
+                .build();
+            val count = this.ticketRegistry.getTickets(criteria)
+                .filter(t -> TicketGrantingTicket.class.isInstance(t) && !t.isExpired())
+                .count();
             if (count == 0) {
                 LOGGER.debug("Authentication policy is satisfied with [{}]", authPrincipal.getId());
                 return true;
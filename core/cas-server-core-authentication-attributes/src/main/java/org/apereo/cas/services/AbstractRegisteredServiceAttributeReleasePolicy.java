@@ -8,6 +8,8 @@ import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.services.consent.DefaultRegisteredServiceConsentPolicy;
 import org.apereo.cas.util.spring.ApplicationContextProvider;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -15,23 +17,32 @@ import lombok.Setter;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
-import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.context.ApplicationContext;
 
 import javax.persistence.PostLoad;
+import javax.persistence.Transient;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.function.Supplier;
 
 /**
  * Abstract release policy for attributes, provides common shared settings such as loggers and attribute filter config.
  * Subclasses are to provide the behavior for attribute retrieval.
+ * <p>The policy is compiled into a {@link RegisteredServiceAttributeReleasePlan} the first time
+ * attributes are released, which resolves the principal attribute repository and the names of released
+ * attributes once rather than per request. The plan is rebuilt when the settings it depends on are changed.
+ * Attributes released by default are read from the CAS configuration as it stands when attributes are released.</p>
  *
  * @author Misagh Moayyed
  * @since 4.1.0
  */
 @Slf4j
-@ToString
+@ToString(exclude = "attributeReleasePlan")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -56,6 +67,12 @@ public abstract class AbstractRegisteredServiceAttributeReleasePolicy implements
 
     private String principalIdAttribute;
 
+    @JsonIgnore
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient RegisteredServiceAttributeReleasePlan attributeReleasePlan;
+
     /**
      * Post load, after having loaded the bean via JPA, etc.
      */
@@ -67,6 +84,92 @@ public abstract class AbstractRegisteredServiceAttributeReleasePolicy implements
         if (consentPolicy == null) {
             this.consentPolicy = new DefaultRegisteredServiceConsentPolicy();
         }
+        resetAttributeReleasePlan();
+    }
+
+    /**
+     * Sets the principal attributes repository and discards the compiled attribute release plan.
+     *
+     * @param principalAttributesRepository the principal attributes repository
+     */
+    public void setPrincipalAttributesRepository(final PrincipalAttributesRepository principalAttributesRepository) {
+        this.principalAttributesRepository = principalAttributesRepository;
+        resetAttributeReleasePlan();
+    }
+
+    /**
+     * Sets whether default attributes are excluded and discards the compiled attribute release plan.
+     *
+     * @param excludeDefaultAttributes the exclude default attributes
+     */
+    public void setExcludeDefaultAttributes(final boolean excludeDefaultAttributes) {
+        this.excludeDefaultAttributes = excludeDefaultAttributes;
+        resetAttributeReleasePlan();
+    }
+
+    /**
+     * Gets the attribute release plan, compiling it if needed.
+     * A plan compiled without an application context is not kept, so that the global principal attribute
+     * repository and the attributes released by default are picked up once the context is available.
+     *
+     * @return the attribute release plan
+     */
+    @JsonIgnore
+    public RegisteredServiceAttributeReleasePlan getAttributeReleasePlan() {
+        var plan = this.attributeReleasePlan;
+        if (plan == null) {
+            val applicationContext = ApplicationContextProvider.getApplicationContext();
+            LOGGER.trace("Compiling attribute release plan for policy [{}]", getClass().getSimpleName());
+            plan = compileAttributeReleasePlan(applicationContext);
+            if (applicationContext != null) {
+                this.attributeReleasePlan = plan;
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * Discard the compiled attribute release plan so that it is compiled again on next use.
+     * Subclasses should call this when the settings that go into the plan change.
+     */
+    protected void resetAttributeReleasePlan() {
+        this.attributeReleasePlan = null;
+    }
+
+    /**
+     * Compile attribute release plan.
+     *
+     * @param applicationContext the application context, if any
+     * @return the attribute release plan
+     */
+    protected RegisteredServiceAttributeReleasePlan compileAttributeReleasePlan(final ApplicationContext applicationContext) {
+        val repository = this.principalAttributesRepository != null
+            ? this.principalAttributesRepository
+            : getPrincipalAttributesRepositoryFromApplicationContext(applicationContext);
+        final Supplier<List<String>> defaultAttributes = isExcludeDefaultAttributes()
+            ? Collections::emptyList
+            : getDefaultAttributesToReleaseFromApplicationContext(applicationContext);
+        return new RegisteredServiceAttributeReleasePlan(repository, defaultAttributes,
+            compileReleasedAttributeNames(), compileScriptedAttributeNames());
+    }
+
+    /**
+     * Compile the names under which principal attributes are released by this policy,
+     * keyed by the name of the principal attribute.
+     *
+     * @return the released attribute names
+     */
+    protected Map<String, ? extends Collection<String>> compileReleasedAttributeNames() {
+        return new LinkedHashMap<>(0);
+    }
+
+    /**
+     * Compile the script definitions that produce released attributes, keyed by the name of the released attribute.
+     *
+     * @return the scripted attribute definitions
+     */
+    protected Map<String, ? extends Collection<String>> compileScriptedAttributeNames() {
+        return new LinkedHashMap<>(0);
     }
 
     @Override
@@ -140,8 +243,7 @@ public abstract class AbstractRegisteredServiceAttributeReleasePolicy implements
      * @return the map
      */
     protected Map<String, Object> resolveAttributesFromPrincipalAttributeRepository(final Principal principal) {
-        val repository = ObjectUtils.defaultIfNull(this.principalAttributesRepository,
-            getPrincipalAttributesRepositoryFromApplicationContext());
+        val repository = getAttributeReleasePlan().getPrincipalAttributesRepository();
         if (repository != null) {
             LOGGER.debug("Using principal attribute repository [{}] to retrieve attributes", repository);
             return repository.getAttributes(principal);
@@ -149,8 +251,7 @@ public abstract class AbstractRegisteredServiceAttributeReleasePolicy implements
         return principal.getAttributes();
     }
 
-    private PrincipalAttributesRepository getPrincipalAttributesRepositoryFromApplicationContext() {
-        val applicationContext = ApplicationContextProvider.getApplicationContext();
+    private static PrincipalAttributesRepository getPrincipalAttributesRepositoryFromApplicationContext(final ApplicationContext applicationContext) {
         if (applicationContext != null) {
             if (applicationContext.containsBean("globalPrincipalAttributeRepository")) {
                 LOGGER.debug("Loading global principal attribute repository with caching policies...");
@@ -201,22 +302,22 @@ public abstract class AbstractRegisteredServiceAttributeReleasePolicy implements
      * @return the released by default attributes
      */
     protected Map<String, Object> getReleasedByDefaultAttributes(final Principal p, final Map<String, Object> attributes) {
-        val ctx = ApplicationContextProvider.getApplicationContext();
-        if (ctx != null) {
+        val defaultAttributesToRelease = getAttributeReleasePlan().getDefaultAttributes(attributes);
+        LOGGER.debug("Found and added default attributes for release: [{}]", defaultAttributesToRelease.keySet());
+        return defaultAttributesToRelease;
+    }
+
+    /**
+     * Default attributes are read through the configuration properties each time they are released,
+     * since the properties are rebound in place when the configuration is refreshed.
+     */
+    private static Supplier<List<String>> getDefaultAttributesToReleaseFromApplicationContext(final ApplicationContext applicationContext) {
+        if (applicationContext != null) {
             LOGGER.debug("Located application context. Retrieving default attributes for release, if any");
-            val props = ctx.getAutowireCapableBeanFactory().getBean(CasConfigurationProperties.class);
-            val defaultAttrs = props.getAuthn().getAttributeRepository().getDefaultAttributesToRelease();
-            LOGGER.debug("Default attributes for release are: [{}]", defaultAttrs);
-            val defaultAttributesToRelease = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
-            defaultAttrs.forEach(key -> {
-                if (attributes.containsKey(key)) {
-                    LOGGER.debug("Found and added default attribute for release: [{}]", key);
-                    defaultAttributesToRelease.put(key, attributes.get(key));
-                }
-            });
-            return defaultAttributesToRelease;
+            val props = applicationContext.getAutowireCapableBeanFactory().getBean(CasConfigurationProperties.class);
+            return () -> props.getAuthn().getAttributeRepository().getDefaultAttributesToRelease();
         }
-        return new TreeMap<>();
+        return Collections::emptyList;
     }
 
     /**
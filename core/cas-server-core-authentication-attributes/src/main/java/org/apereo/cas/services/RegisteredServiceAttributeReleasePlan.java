@@ -0,0 +1,112 @@
+package org.apereo.cas.services;
+
+import org.apereo.cas.authentication.principal.PrincipalAttributesRepository;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.val;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+/**
+ * This is {@link RegisteredServiceAttributeReleasePlan}, the compiled form of an attribute release policy.
+ * A plan is built once per policy from the policy's settings, and holds the principal attribute repository
+ * that is used to retrieve attributes and the names under which each principal attribute is released by the policy.
+ * The attributes that are released by default are read from the CAS configuration each time they are released,
+ * so that they follow changes to the configuration when it is refreshed.
+ * Plans are immutable and may be shared across threads.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Getter
+@ToString(exclude = "defaultAttributes")
+public class RegisteredServiceAttributeReleasePlan {
+
+    private final PrincipalAttributesRepository principalAttributesRepository;
+
+    @Getter(AccessLevel.NONE)
+    private final Supplier<? extends Collection<String>> defaultAttributes;
+
+    private final Map<String, List<String>> releasedAttributes;
+
+    private final Map<String, List<String>> scriptedAttributes;
+
+    public RegisteredServiceAttributeReleasePlan(final PrincipalAttributesRepository principalAttributesRepository,
+                                                 final Supplier<? extends Collection<String>> defaultAttributes,
+                                                 final Map<String, ? extends Collection<String>> releasedAttributes,
+                                                 final Map<String, ? extends Collection<String>> scriptedAttributes) {
+        this.principalAttributesRepository = principalAttributesRepository;
+        this.defaultAttributes = defaultAttributes;
+
+        val released = new TreeMap<String, List<String>>(String.CASE_INSENSITIVE_ORDER);
+        releasedAttributes.forEach((name, names) -> released.computeIfAbsent(name, k -> new ArrayList<>()).addAll(names));
+        released.replaceAll((name, names) -> Collections.unmodifiableList(names));
+        this.releasedAttributes = Collections.unmodifiableMap(released);
+
+        val scripted = new LinkedHashMap<String, List<String>>();
+        scriptedAttributes.forEach((name, scripts) -> scripted.put(name, Collections.unmodifiableList(new ArrayList<>(scripts))));
+        this.scriptedAttributes = Collections.unmodifiableMap(scripted);
+    }
+
+    /**
+     * Gets the names of the attributes that are currently released by default.
+     *
+     * @return the default attributes
+     */
+    public List<String> getDefaultAttributes() {
+        return Collections.unmodifiableList(new ArrayList<>(this.defaultAttributes.get()));
+    }
+
+    /**
+     * Collect the attributes that are released by default and are present in the given attributes.
+     * Default attribute names are matched as they are defined.
+     *
+     * @param attributes the principal attributes
+     * @return the attributes released by default
+     */
+    public Map<String, Object> getDefaultAttributes(final Map<String, Object> attributes) {
+        val names = this.defaultAttributes.get();
+        val defaultAttributesToRelease = new HashMap<String, Object>(names.size());
+        for (val name : names) {
+            if (attributes.containsKey(name)) {
+                defaultAttributesToRelease.put(name, attributes.get(name));
+            }
+        }
+        return defaultAttributesToRelease;
+    }
+
+    /**
+     * Collect the attributes released by the policy in a single pass over the given attributes.
+     * Attribute names are matched regardless of case, and each attribute that carries a value is
+     * released under every name that is defined for it.
+     *
+     * @param attributes the principal attributes
+     * @return the released attributes
+     */
+    public Map<String, Object> getReleasedAttributes(final Map<String, Object> attributes) {
+        val attributesToRelease = new HashMap<String, Object>();
+        if (this.releasedAttributes.isEmpty()) {
+            return attributesToRelease;
+        }
+        for (val entry : attributes.entrySet()) {
+            val value = entry.getValue();
+            if (value != null) {
+                val names = this.releasedAttributes.get(entry.getKey());
+                if (names != null) {
+                    names.forEach(name -> attributesToRelease.put(name, value));
+                }
+            }
+        }
+        return attributesToRelease;
+    }
+}
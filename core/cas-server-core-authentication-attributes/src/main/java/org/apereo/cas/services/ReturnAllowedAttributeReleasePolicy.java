@@ -12,14 +12,16 @@ import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.TreeMap;
 
 /**
  * Return only the collection of allowed attributes out of what's resolved
  * for the principal.
+ * The allowed attributes are looked up from the compiled attribute release plan
+ * in a single pass over the principal attributes.
  *
  * @author Misagh Moayyed
  * @since 4.1.0
@@ -37,6 +39,16 @@ public class ReturnAllowedAttributeReleasePolicy extends AbstractRegisteredServi
 
     private List<String> allowedAttributes = new ArrayList<>();
 
+    /**
+     * Sets the allowed attributes and discards the compiled attribute release plan.
+     *
+     * @param allowedAttributes the allowed attributes
+     */
+    public void setAllowedAttributes(final List<String> allowedAttributes) {
+        this.allowedAttributes = allowedAttributes;
+        resetAttributeReleasePlan();
+    }
+
     @Override
     public Map<String, Object> getAttributesInternal(final Principal principal, final Map<String, Object> attrs, final RegisteredService service) {
         return authorizeReleaseOfAllowedAttributes(attrs);
@@ -49,18 +61,19 @@ public class ReturnAllowedAttributeReleasePolicy extends AbstractRegisteredServi
      * @return the map
      */
     protected Map<String, Object> authorizeReleaseOfAllowedAttributes(final Map<String, Object> attrs) {
-        val resolvedAttributes = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
-        resolvedAttributes.putAll(attrs);
-        val attributesToRelease = new HashMap<String, Object>();
-        getAllowedAttributes()
-            .stream()
-            .map(attr -> new Object[]{attr, resolvedAttributes.get(attr)})
-            .filter(pair -> pair[1] != null)
-            .forEach(attribute -> {
-                LOGGER.debug("Found attribute [{}] in the list of allowed attributes", attribute[0]);
-                attributesToRelease.put((String) attribute[0], attribute[1]);
-            });
+        val attributesToRelease = getAttributeReleasePlan().getReleasedAttributes(attrs);
+        LOGGER.debug("Found attributes [{}] in the list of allowed attributes", attributesToRelease.keySet());
         return attributesToRelease;
     }
 
+    @Override
+    protected Map<String, ? extends Collection<String>> compileReleasedAttributeNames() {
+        val allowed = getAllowedAttributes();
+        val names = new LinkedHashMap<String, List<String>>();
+        if (allowed != null) {
+            allowed.forEach(attr -> names.computeIfAbsent(attr, k -> new ArrayList<>()).add(attr));
+        }
+        return names;
+    }
+
 }
@@ -16,7 +16,10 @@ import org.apache.commons.io.FileUtils;
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
 import java.util.regex.Matcher;
@@ -24,6 +27,9 @@ import java.util.regex.Matcher;
 /**
  * Return a collection of allowed attributes for the principal, but additionally,
  * offers the ability to rename attributes on a per-service level.
+ * Mapped attribute names are compiled into the attribute release plan once, and are looked up
+ * in a single pass over the principal attributes; only attributes that are mapped to
+ * groovy scripts are evaluated against the full collection of principal attributes.
  *
  * @author Misagh Moayyed
  * @since 4.1.0
@@ -40,31 +46,27 @@ public class ReturnMappedAttributeReleasePolicy extends AbstractRegisteredServic
 
     private Map<String, Object> allowedAttributes = new TreeMap<>();
 
-    private static void mapSingleAttributeDefinition(final String attributeName, final String mappedAttributeName,
-                                                     final Object attributeValue, final Map<String, Object> resolvedAttributes,
-                                                     final Map<String, Object> attributesToRelease) {
+    private static void mapScriptedAttributeDefinition(final String attributeName, final String mappedAttributeName,
+                                                       final Map<String, Object> resolvedAttributes,
+                                                       final Map<String, Object> attributesToRelease) {
         val matcherInline = ScriptingUtils.getMatcherForInlineGroovyScript(mappedAttributeName);
-        val matcherFile = ScriptingUtils.getMatcherForExternalGroovyScript(mappedAttributeName);
         if (matcherInline.find()) {
             LOGGER.debug("Mapped attribute [{}] is an inlined groovy script", mappedAttributeName);
             processInlineGroovyAttribute(resolvedAttributes, attributesToRelease, matcherInline, attributeName);
-        } else if (matcherFile.find()) {
+            return;
+        }
+        val matcherFile = ScriptingUtils.getMatcherForExternalGroovyScript(mappedAttributeName);
+        if (matcherFile.find()) {
             LOGGER.debug("Mapped attribute [{}] is an external groovy script", mappedAttributeName);
             processFileBasedGroovyAttributes(resolvedAttributes, attributesToRelease, matcherFile, attributeName);
-        } else {
-            if (attributeValue != null) {
-                LOGGER.debug("Found attribute [{}] in the list of allowed attributes, mapped to the name [{}]",
-                    attributeName, mappedAttributeName);
-                attributesToRelease.put(mappedAttributeName, attributeValue);
-            } else {
-                LOGGER.warn("Could not find value for mapped attribute [{}] that is based off of [{}] in the allowed attributes list. "
-                        + "Ensure the original attribute [{}] is retrieved and contains at least a single value. Attribute [{}] "
-                        + "will and can not be released without the presence of a value.", mappedAttributeName, attributeName,
-                    attributeName, mappedAttributeName);
-            }
         }
     }
 
+    private static boolean isScriptedAttributeDefinition(final String mappedAttributeName) {
+        return ScriptingUtils.getMatcherForInlineGroovyScript(mappedAttributeName).find()
+            || ScriptingUtils.getMatcherForExternalGroovyScript(mappedAttributeName).find();
+    }
+
     private static void processFileBasedGroovyAttributes(final Map<String, Object> resolvedAttributes,
                                                          final Map<String, Object> attributesToRelease,
                                                          final Matcher matcherFile, final String key) {
@@ -111,28 +113,65 @@ public class ReturnMappedAttributeReleasePolicy extends AbstractRegisteredServic
         return new TreeMap<>(this.allowedAttributes);
     }
 
+    /**
+     * Sets the allowed attributes and discards the compiled attribute release plan.
+     *
+     * @param allowedAttributes the allowed attributes
+     */
+    public void setAllowedAttributes(final Map<String, Object> allowedAttributes) {
+        this.allowedAttributes = allowedAttributes;
+        resetAttributeReleasePlan();
+    }
+
     @Override
     public Map<String, Object> getAttributesInternal(final Principal principal, final Map<String, Object> attrs, final RegisteredService service) {
-        val resolvedAttributes = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
-        resolvedAttributes.putAll(attrs);
-        val attributesToRelease = new HashMap<String, Object>();
-        /*
-         * Map each entry in the allowed list into an array first
-         * by the original key, value and the original entry itself.
-         * Then process the array to populate the map for allowed attributes
-         */
-        this.allowedAttributes.entrySet().forEach(entry -> {
-            val attributeName = entry.getKey();
-            val mappedAttributes = CollectionUtils.wrap(entry.getValue());
-            LOGGER.debug("Attempting to map allowed attribute name [{}]", attributeName);
-            val attributeValue = resolvedAttributes.get(attributeName);
-            mappedAttributes.forEach(mapped -> {
-                val mappedAttributeName = mapped.toString();
-                LOGGER.debug("Mapping attribute [{}] to [{}] with value [{}]", attributeName, mappedAttributeName, attributeValue);
-                mapSingleAttributeDefinition(attributeName, mappedAttributeName, attributeValue, resolvedAttributes, attributesToRelease);
-            });
-        });
+        val plan = getAttributeReleasePlan();
+        val attributesToRelease = plan.getReleasedAttributes(attrs);
+        LOGGER.debug("Mapped allowed attributes to [{}]", attributesToRelease.keySet());
+        plan.getReleasedAttributes().forEach((attributeName, mappedAttributeNames) -> mappedAttributeNames.stream()
+            .filter(mappedAttributeName -> !attributesToRelease.containsKey(mappedAttributeName))
+            .forEach(mappedAttributeName -> LOGGER.warn("Could not find value for mapped attribute [{}] that is based off of [{}] "
+                    + "in the allowed attributes list. Ensure the original attribute [{}] is retrieved and contains at least a single value. "
+                    + "Attribute [{}] will and can not be released without the presence of a value.", mappedAttributeName, attributeName,
+                attributeName, mappedAttributeName)));
+        if (!plan.getScriptedAttributes().isEmpty()) {
+            val resolvedAttributes = new TreeMap<String, Object>(String.CASE_INSENSITIVE_ORDER);
+            resolvedAttributes.putAll(attrs);
+            plan.getScriptedAttributes().forEach((attributeName, scripts) ->
+                scripts.forEach(script -> mapScriptedAttributeDefinition(attributeName, script, resolvedAttributes, attributesToRelease)));
+        }
         return attributesToRelease;
     }
 
+    @Override
+    protected Map<String, ? extends Collection<String>> compileReleasedAttributeNames() {
+        val names = new LinkedHashMap<String, List<String>>();
+        compileAllowedAttributes(false, names);
+        return names;
+    }
+
+    @Override
+    protected Map<String, ? extends Collection<String>> compileScriptedAttributeNames() {
+        val scripts = new LinkedHashMap<String, List<String>>();
+        compileAllowedAttributes(true, scripts);
+        return scripts;
+    }
+
+    /**
+     * Split each entry in the allowed list by whether it is mapped to a groovy script
+     * or to a plain attribute name, keyed by the original attribute name.
+     */
+    private void compileAllowedAttributes(final boolean scripted, final Map<String, List<String>> results) {
+        if (this.allowedAttributes == null) {
+            return;
+        }
+        this.allowedAttributes.forEach((attributeName, value) -> CollectionUtils.wrap(value).forEach(mapped -> {
+            val mappedAttributeName = mapped.toString();
+            if (isScriptedAttributeDefinition(mappedAttributeName) == scripted) {
+                LOGGER.trace("Mapping allowed attribute name [{}] to [{}]", attributeName, mappedAttributeName);
+                results.computeIfAbsent(attributeName, k -> new ArrayList<>()).add(mappedAttributeName);
+            }
+        }));
+    }
+
 }
@@ -4,8 +4,10 @@ import org.apereo.cas.CoreAttributesTestUtils;
 import org.apereo.cas.authentication.principal.DefaultPrincipalFactory;
 import org.apereo.cas.authentication.principal.Principal;
 import org.apereo.cas.authentication.principal.cache.CachingPrincipalAttributesRepository;
+import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.util.CollectionUtils;
 import org.apereo.cas.util.serialization.SerializationUtils;
+import org.apereo.cas.util.spring.ApplicationContextProvider;
 
 import com.google.common.collect.ArrayListMultimap;
 import lombok.val;
@@ -14,6 +16,7 @@ import org.apereo.services.persondir.support.StubPersonAttributeDao;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
+import org.springframework.context.support.StaticApplicationContext;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -202,4 +205,50 @@ public class RegisteredServiceAttributeReleasePolicyTests {
             CoreAttributesTestUtils.getRegisteredService());
         assertEquals(attr.size(), attributes.size());
     }
+
+    @Test
+    public void verifyAttributeReleasePlanIsCompiledOnce() {
+        val properties = new CasConfigurationProperties();
+        properties.getAuthn().getAttributeRepository().getDefaultAttributesToRelease().add(ATTR_2);
+        val applicationContext = new StaticApplicationContext();
+        applicationContext.getBeanFactory().registerSingleton("casConfigurationProperties", properties);
+        applicationContext.refresh();
+        new ApplicationContextProvider().setApplicationContext(applicationContext);
+        try {
+            val policy = new ReturnAllowedAttributeReleasePolicy();
+            policy.setAllowedAttributes(Arrays.asList(ATTR_1, ATTR_3));
+            val plan = policy.getAttributeReleasePlan();
+            assertSame(plan, policy.getAttributeReleasePlan());
+            assertEquals(Collections.singletonList(ATTR_2), plan.getDefaultAttributes());
+
+            val p = mock(Principal.class);
+            val map = new HashMap<String, Object>();
+            map.put("ATTR1", VALUE_1);
+            map.put(ATTR_2, VALUE_2);
+            when(p.getAttributes()).thenReturn(map);
+            when(p.getId()).thenReturn(PRINCIPAL_ID);
+
+            val attr = policy.getAttributes(p, CoreAttributesTestUtils.getService(), CoreAttributesTestUtils.getRegisteredService());
+            assertEquals(2, attr.size());
+            assertEquals(VALUE_1, attr.get(ATTR_1));
+            assertEquals(VALUE_2, attr.get(ATTR_2));
+            assertSame(plan, policy.getAttributeReleasePlan());
+
+            properties.getAuthn().getAttributeRepository().getDefaultAttributesToRelease().clear();
+            val refreshed = policy.getAttributes(p, CoreAttributesTestUtils.getService(), CoreAttributesTestUtils.getRegisteredService());
+            assertEquals(1, refreshed.size());
+            assertTrue(refreshed.containsKey(ATTR_1));
+            assertSame(plan, policy.getAttributeReleasePlan());
+            properties.getAuthn().getAttributeRepository().getDefaultAttributesToRelease().add(ATTR_2);
+
+            policy.setExcludeDefaultAttributes(true);
+            assertNotSame(plan, policy.getAttributeReleasePlan());
+            assertTrue(policy.getAttributeReleasePlan().getDefaultAttributes().isEmpty());
+            val filtered = policy.getAttributes(p, CoreAttributesTestUtils.getService(), CoreAttributesTestUtils.getRegisteredService());
+            assertEquals(1, filtered.size());
+            assertTrue(filtered.containsKey(ATTR_1));
+        } finally {
+            new ApplicationContextProvider().setApplicationContext(null);
+        }
+    }
 }
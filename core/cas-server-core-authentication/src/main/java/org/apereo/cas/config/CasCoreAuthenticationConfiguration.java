@@ -12,6 +12,7 @@ import org.apereo.cas.authentication.DefaultAuthenticationTransactionManager;
 import org.apereo.cas.authentication.PolicyBasedAuthenticationManager;
 import org.apereo.cas.authentication.RememberMeCredential;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.util.CollectionUtils;
 
 import lombok.extern.slf4j.Slf4j;
@@ -55,6 +56,16 @@ public class CasCoreAuthenticationConfiguration {
     @Autowired
     @Bean
     public AuthenticationManager casAuthenticationManager(@Qualifier("authenticationEventExecutionPlan") final AuthenticationEventExecutionPlan authenticationEventExecutionPlan) {
+        val core = casProperties.getAuthn().getCore();
+        if (core.isConcurrentHandlerExecution()) {
+            return new PolicyBasedAuthenticationManager(
+                authenticationEventExecutionPlan,
+                casProperties.getPersonDirectory().isPrincipalResolutionFailureFatal(),
+                applicationEventPublisher,
+                core.getHandlerExecutionThreads(),
+                Beans.newDuration(core.getHandlerExecutionTimeout()).toMillis()
+            );
+        }
         return new PolicyBasedAuthenticationManager(
             authenticationEventExecutionPlan,
             casProperties.getPersonDirectory().isPrincipalResolutionFailureFatal(),
@@ -220,6 +220,77 @@ public class PolicyBasedAuthenticationManagerTests {
         assertEquals(2, auth.getCredentials().size());
     }
 
+    @Test
+    public void verifyConcurrentAuthenticateFollowsHandlerOrder() throws Exception {
+        val map = new LinkedHashMap<AuthenticationHandler, PrincipalResolver>();
+        map.put(newDelayedMockHandler(HANDLER_A, 1, "casuser", 300), null);
+        map.put(newDelayedMockHandler(HANDLER_B, 2, "otheruser", 0), null);
+
+        val authenticationExecutionPlan = getAuthenticationExecutionPlan(map);
+        authenticationExecutionPlan.registerAuthenticationPolicy(new AnyAuthenticationPolicy());
+        val manager = new PolicyBasedAuthenticationManager(authenticationExecutionPlan, false,
+            mock(ApplicationEventPublisher.class), 4, 5_000);
+
+        val auth = manager.authenticate(transaction);
+        assertEquals("casuser", auth.getPrincipal().getId());
+        assertEquals(1, auth.getSuccesses().size());
+        assertTrue(auth.getSuccesses().containsKey(HANDLER_A));
+        assertTrue(auth.getFailures().isEmpty());
+    }
+
+    @Test
+    public void verifyConcurrentAuthenticateCancelsSlowHandler() throws Exception {
+        val map = new LinkedHashMap<AuthenticationHandler, PrincipalResolver>();
+        map.put(newDelayedMockHandler(HANDLER_A, 1, "casuser", 10_000), null);
+        map.put(newDelayedMockHandler(HANDLER_B, 2, "otheruser", 0), null);
+
+        val authenticationExecutionPlan = getAuthenticationExecutionPlan(map);
+        authenticationExecutionPlan.registerAuthenticationPolicy(new AnyAuthenticationPolicy());
+        val manager = new PolicyBasedAuthenticationManager(authenticationExecutionPlan, false,
+            mock(ApplicationEventPublisher.class), 4, 200);
+
+        val started = System.currentTimeMillis();
+        val auth = manager.authenticate(transaction);
+        assertTrue(System.currentTimeMillis() - started < 5_000);
+        assertEquals("otheruser", auth.getPrincipal().getId());
+        assertTrue(auth.getSuccesses().containsKey(HANDLER_B));
+        assertTrue(auth.getFailures().get(HANDLER_A) instanceof PreventedException);
+    }
+
+    @Test
+    public void verifyConcurrentAuthenticateTimesHandlerFromStart() throws Exception {
+        val map = new LinkedHashMap<AuthenticationHandler, PrincipalResolver>();
+        map.put(newDelayedMockHandler(HANDLER_A, 1, "casuser", 300), null);
+        map.put(newDelayedMockHandler(HANDLER_B, 2, "casuser", 300), null);
+
+        val authenticationExecutionPlan = getAuthenticationExecutionPlan(map);
+        authenticationExecutionPlan.registerAuthenticationPolicy(new AllAuthenticationPolicy());
+        val manager = new PolicyBasedAuthenticationManager(authenticationExecutionPlan, false,
+            mock(ApplicationEventPublisher.class), 1, 500);
+
+        val auth = manager.authenticate(transaction);
+        assertEquals(2, auth.getSuccesses().size());
+        assertTrue(auth.getFailures().isEmpty());
+
+        manager.destroy();
+        assertTrue(manager.getHandlerExecutor().isShutdown());
+    }
+
+    private static AuthenticationHandler newDelayedMockHandler(final String name, final int order,
+                                                               final String principal, final long delay) throws Exception {
+        val mock = mock(AuthenticationHandler.class);
+        when(mock.getName()).thenReturn(name);
+        when(mock.getOrder()).thenReturn(order);
+        when(mock.supports(any(Credential.class))).thenReturn(true);
+        val result = new DefaultAuthenticationHandlerExecutionResult(mock, mock(CredentialMetaData.class),
+            new DefaultPrincipalFactory().createPrincipal(principal));
+        when(mock.authenticate(any(Credential.class))).thenAnswer(invocation -> {
+            Thread.sleep(delay);
+            return result;
+        });
+        return mock;
+    }
+
     private AuthenticationEventExecutionPlan getAuthenticationExecutionPlan(final Map<AuthenticationHandler, PrincipalResolver> map) {
         val plan = new DefaultAuthenticationEventExecutionPlan();
         plan.registerAuthenticationHandlerWithPrincipalResolver(map);
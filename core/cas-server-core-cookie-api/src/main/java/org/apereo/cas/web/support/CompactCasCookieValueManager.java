@@ -0,0 +1,248 @@
+package org.apereo.cas.web.support;
+
+import org.apereo.cas.util.EncodingUtils;
+import org.apereo.cas.util.HttpRequestUtils;
+import org.apereo.cas.util.RandomUtils;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.apereo.inspektr.common.web.ClientInfoHolder;
+
+import javax.crypto.AEADBadTagException;
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The {@link CompactCasCookieValueManager} is responsible for creating the CAS SSO cookie
+ * in a compact format that is encrypted and authenticated in a single AES-GCM operation.
+ * <p>The cookie value is the URL-safe base64 encoding of a header that carries the version of the format
+ * and the identifier of the key the cookie is encrypted with, followed by the initialization vector and
+ * the encrypted cookie value. The header is authenticated along with the value. Rather than the client
+ * address and user-agent themselves, the encrypted value carries a short keyed hash of both, which is
+ * compared with the hash of the current request when the cookie is read.</p>
+ * <p>Cookies are always encrypted with the first of the configured keys; the others are only used to read
+ * cookies that were issued before a key rotation. Cookies that are not in the compact format are handed
+ * to the given legacy cookie value manager, so that cookies issued before the switch remain readable.</p>
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+public class CompactCasCookieValueManager implements CookieValueManager {
+    /**
+     * Version of the compact format that is written by this manager.
+     */
+    public static final byte VERSION = 1;
+
+    private static final long serialVersionUID = 4218356281834946117L;
+
+    private static final String CIPHER_ALGORITHM = "AES/GCM/NoPadding";
+
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+
+    private static final int KEY_ID_LENGTH = 2;
+
+    private static final int HEADER_LENGTH = 1 + KEY_ID_LENGTH;
+
+    private static final int IV_LENGTH = 12;
+
+    private static final int TAG_LENGTH = 16;
+
+    private static final int BINDING_LENGTH = 8;
+
+    private static final int MIN_LENGTH = HEADER_LENGTH + IV_LENGTH + BINDING_LENGTH + TAG_LENGTH;
+
+    private static final char LEGACY_FORMAT_SEPARATOR = '.';
+
+    private static final SecureRandom RANDOM = RandomUtils.getNativeInstance();
+
+    private final transient List<CookieKey> keys;
+
+    private final CookieValueManager legacyCookieValueManager;
+
+    public CompactCasCookieValueManager(final List<String> keys, final CookieValueManager legacyCookieValueManager) {
+        if (keys.isEmpty()) {
+            throw new IllegalArgumentException("At least one key is required to encrypt the cookie value");
+        }
+        val cookieKeys = new ArrayList<CookieKey>(keys.size());
+        keys.forEach(key -> cookieKeys.add(new CookieKey(EncodingUtils.generateJsonWebKey(key).getEncoded())));
+        this.keys = Collections.unmodifiableList(cookieKeys);
+        this.legacyCookieValueManager = legacyCookieValueManager;
+    }
+
+    @Override
+    @SneakyThrows
+    public String buildCookieValue(final String givenCookieValue, final HttpServletRequest request) {
+        val key = this.keys.get(0);
+        val value = givenCookieValue.getBytes(StandardCharsets.UTF_8);
+        val binding = key.bind(getClientIpAddress(), getUserAgent(request));
+
+        val cookie = new byte[HEADER_LENGTH + IV_LENGTH + BINDING_LENGTH + value.length + TAG_LENGTH];
+        cookie[0] = VERSION;
+        System.arraycopy(key.getId(), 0, cookie, 1, KEY_ID_LENGTH);
+        val iv = new byte[IV_LENGTH];
+        RANDOM.nextBytes(iv);
+        System.arraycopy(iv, 0, cookie, HEADER_LENGTH, IV_LENGTH);
+
+        val plaintext = new byte[BINDING_LENGTH + value.length];
+        System.arraycopy(binding, 0, plaintext, 0, BINDING_LENGTH);
+        System.arraycopy(value, 0, plaintext, BINDING_LENGTH, value.length);
+
+        val cipher = key.newCipher(Cipher.ENCRYPT_MODE, iv);
+        cipher.updateAAD(cookie, 0, HEADER_LENGTH);
+        cipher.doFinal(plaintext, 0, plaintext.length, cookie, HEADER_LENGTH + IV_LENGTH);
+        return EncodingUtils.encodeUrlSafeBase64(cookie);
+    }
+
+    @Override
+    public String obtainCookieValue(final Cookie cookie, final HttpServletRequest request) {
+        val cookieValue = cookie.getValue();
+        if (StringUtils.isBlank(cookieValue)) {
+            LOGGER.debug("Cookie [{}] carries no value", cookie.getName());
+            return null;
+        }
+        if (cookieValue.indexOf(LEGACY_FORMAT_SEPARATOR) >= 0) {
+            LOGGER.debug("Cookie [{}] is not in the compact format and is handed to [{}]",
+                cookie.getName(), this.legacyCookieValueManager.getClass().getSimpleName());
+            return this.legacyCookieValueManager.obtainCookieValue(cookie, request);
+        }
+
+        val bytes = EncodingUtils.decodeUrlSafeBase64(cookieValue);
+        if (bytes.length < MIN_LENGTH) {
+            throw new IllegalStateException("Invalid cookie. Cookie value is truncated");
+        }
+        if (bytes[0] != VERSION) {
+            throw new IllegalStateException("Invalid cookie. Cookie is encoded with version " + bytes[0]
+                + " of the compact format, which is not supported by this version of CAS");
+        }
+
+        val plaintext = decrypt(bytes);
+        val clientIpAddress = getClientIpAddress();
+        val userAgent = HttpRequestUtils.getHttpServletRequestUserAgent(request);
+        val binding = plaintext.getKey().bind(clientIpAddress, StringUtils.defaultString(userAgent));
+        if (!MessageDigest.isEqual(Arrays.copyOf(plaintext.getValue(), BINDING_LENGTH), binding)) {
+            throw new IllegalStateException("Invalid cookie. Cookie was not issued to the client at remote address "
+                + clientIpAddress + " with user-agent " + userAgent);
+        }
+        return new String(plaintext.getValue(), BINDING_LENGTH, plaintext.getValue().length - BINDING_LENGTH, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Decrypt the cookie with the keys that carry the identifier found in its header.
+     * Key identifiers are short, so more than one key may carry the same identifier.
+     */
+    @SneakyThrows
+    private DecryptedCookie decrypt(final byte[] bytes) {
+        val iv = Arrays.copyOfRange(bytes, HEADER_LENGTH, HEADER_LENGTH + IV_LENGTH);
+        for (val key : this.keys) {
+            if (key.matches(bytes)) {
+                try {
+                    val cipher = key.newCipher(Cipher.DECRYPT_MODE, iv);
+                    cipher.updateAAD(bytes, 0, HEADER_LENGTH);
+                    val value = cipher.doFinal(bytes, HEADER_LENGTH + IV_LENGTH, bytes.length - HEADER_LENGTH - IV_LENGTH);
+                    return new DecryptedCookie(key, value);
+                } catch (final AEADBadTagException e) {
+                    LOGGER.trace("Cookie cannot be decrypted with key [{}]", EncodingUtils.encodeUrlSafeBase64(key.getId()));
+                }
+            }
+        }
+        throw new IllegalStateException("Invalid cookie. Cookie cannot be decrypted with any of the configured keys");
+    }
+
+    private static String getClientIpAddress() {
+        val clientInfo = ClientInfoHolder.getClientInfo();
+        return clientInfo != null ? StringUtils.defaultString(clientInfo.getClientIpAddress()) : StringUtils.EMPTY;
+    }
+
+    private static String getUserAgent(final HttpServletRequest request) {
+        val userAgent = HttpRequestUtils.getHttpServletRequestUserAgent(request);
+        if (StringUtils.isBlank(userAgent)) {
+            throw new IllegalStateException("Request does not specify a user-agent");
+        }
+        return userAgent;
+    }
+
+    /**
+     * Keys derived from a configured key: one to encrypt cookies, one to compute the hash of the client
+     * the cookie is issued to, and the identifier of the configured key.
+     */
+    private static class CookieKey {
+        private static final byte[] ENCRYPTION_LABEL = "cas-tgc-encryption".getBytes(StandardCharsets.UTF_8);
+
+        private static final byte[] BINDING_LABEL = "cas-tgc-binding".getBytes(StandardCharsets.UTF_8);
+
+        private static final byte[] ID_LABEL = "cas-tgc-key-id".getBytes(StandardCharsets.UTF_8);
+
+        private final SecretKeySpec encryptionKey;
+
+        private final SecretKeySpec bindingKey;
+
+        @Getter
+        private final byte[] id;
+
+        CookieKey(final byte[] key) {
+            this.encryptionKey = new SecretKeySpec(derive(key, ENCRYPTION_LABEL), "AES");
+            this.bindingKey = new SecretKeySpec(derive(key, BINDING_LABEL), MAC_ALGORITHM);
+            this.id = Arrays.copyOf(derive(key, ID_LABEL), KEY_ID_LENGTH);
+        }
+
+        boolean matches(final byte[] cookie) {
+            for (var i = 0; i < KEY_ID_LENGTH; i++) {
+                if (cookie[1 + i] != this.id[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        Cipher newCipher(final int mode, final byte[] iv) throws GeneralSecurityException {
+            val cipher = Cipher.getInstance(CIPHER_ALGORITHM);
+            cipher.init(mode, this.encryptionKey, new GCMParameterSpec(TAG_LENGTH * Byte.SIZE, iv));
+            return cipher;
+        }
+
+        @SneakyThrows
+        byte[] bind(final String clientIpAddress, final String userAgent) {
+            val mac = Mac.getInstance(MAC_ALGORITHM);
+            mac.init(this.bindingKey);
+            mac.update(clientIpAddress.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            mac.update(userAgent.getBytes(StandardCharsets.UTF_8));
+            return Arrays.copyOf(mac.doFinal(), BINDING_LENGTH);
+        }
+
+        @SneakyThrows
+        private static byte[] derive(final byte[] key, final byte[] label) {
+            val mac = Mac.getInstance(MAC_ALGORITHM);
+            mac.init(new SecretKeySpec(key, MAC_ALGORITHM));
+            return mac.doFinal(label);
+        }
+    }
+
+    /**
+     * The decrypted cookie, along with the key that decrypted it.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    private static class DecryptedCookie {
+        private final CookieKey key;
+
+        private final byte[] value;
+    }
+}
@@ -0,0 +1,128 @@
+package org.apereo.cas.web.support;
+
+import org.apereo.cas.CipherExecutor;
+import org.apereo.cas.util.EncodingUtils;
+import org.apereo.cas.util.cipher.TicketGrantingCookieCipherExecutor;
+
+import lombok.val;
+import org.apereo.inspektr.common.web.ClientInfo;
+import org.apereo.inspektr.common.web.ClientInfoHolder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link CompactCasCookieValueManagerTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class CompactCasCookieValueManagerTests {
+    private static final String CLIENT_IP = "127.0.0.1";
+    private static final String USER_AGENT = "Mozilla/5.0 (X11; Linux x86_64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/69.0.3497.100 Safari/537.36";
+    private static final String VALUE = "TGT-1-dQw4w9WgXcQ5tHjKlMnOpQrStUvWxYzAbCdEfGhIjKlMnOpQrStUvWxYz-cas.example.org";
+
+    private static final String KEY = EncodingUtils.generateJsonWebKey(256);
+    private static final String PREVIOUS_KEY = EncodingUtils.generateJsonWebKey(256);
+
+    @Mock
+    private HttpServletRequest request;
+    @Mock
+    private ClientInfo clientInfo;
+    @Mock
+    private Cookie cookie;
+
+    private CompactCasCookieValueManager cookieValueManager;
+
+    @Before
+    public void initialize() {
+        MockitoAnnotations.initMocks(this);
+        ClientInfoHolder.setClientInfo(clientInfo);
+        when(clientInfo.getClientIpAddress()).thenReturn(CLIENT_IP);
+        when(request.getHeader(matches(Pattern.compile("User-Agent", Pattern.CASE_INSENSITIVE)))).thenReturn(USER_AGENT);
+        cookieValueManager = new CompactCasCookieValueManager(Collections.singletonList(KEY),
+            new DefaultCasCookieValueManager(CipherExecutor.noOp()));
+    }
+
+    @After
+    public void cleanup() {
+        ClientInfoHolder.clear();
+    }
+
+    @Test
+    public void verifyEncodeAndDecodeCookie() {
+        val encoded = cookieValueManager.buildCookieValue(VALUE, request);
+        assertFalse(encoded.contains(VALUE));
+        assertFalse(encoded.contains(CLIENT_IP));
+        assertNotEquals(encoded, cookieValueManager.buildCookieValue(VALUE, request));
+
+        when(cookie.getValue()).thenReturn(encoded);
+        assertEquals(VALUE, cookieValueManager.obtainCookieValue(cookie, request));
+    }
+
+    @Test
+    public void verifyCookieIsSmallerThanJwt() {
+        val cipher = new TicketGrantingCookieCipherExecutor(KEY, EncodingUtils.generateJsonWebKey(512));
+        val jwt = new DefaultCasCookieValueManager(cipher).buildCookieValue(VALUE, request);
+        val compact = cookieValueManager.buildCookieValue(VALUE, request);
+        assertTrue(compact.length() * 2 < jwt.length());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void verifyCookieFromOtherUserAgentFails() {
+        when(cookie.getValue()).thenReturn(cookieValueManager.buildCookieValue(VALUE, request));
+        when(request.getHeader(matches(Pattern.compile("User-Agent", Pattern.CASE_INSENSITIVE)))).thenReturn("Test-Client/1.0.0");
+        cookieValueManager.obtainCookieValue(cookie, request);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void verifyCookieFromOtherAddressFails() {
+        when(cookie.getValue()).thenReturn(cookieValueManager.buildCookieValue(VALUE, request));
+        when(clientInfo.getClientIpAddress()).thenReturn("10.0.0.1");
+        cookieValueManager.obtainCookieValue(cookie, request);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void verifyTamperedCookieFails() {
+        val bytes = EncodingUtils.decodeUrlSafeBase64(cookieValueManager.buildCookieValue(VALUE, request));
+        bytes[bytes.length - 20] ^= 1;
+        when(cookie.getValue()).thenReturn(EncodingUtils.encodeUrlSafeBase64(bytes));
+        cookieValueManager.obtainCookieValue(cookie, request);
+    }
+
+    @Test
+    public void verifyCookieWithPreviousKey() {
+        val previous = new CompactCasCookieValueManager(Collections.singletonList(PREVIOUS_KEY), mock(CookieValueManager.class));
+        when(cookie.getValue()).thenReturn(previous.buildCookieValue(VALUE, request));
+
+        val rotated = new CompactCasCookieValueManager(Arrays.asList(KEY, PREVIOUS_KEY), mock(CookieValueManager.class));
+        assertEquals(VALUE, rotated.obtainCookieValue(cookie, request));
+        try {
+            cookieValueManager.obtainCookieValue(cookie, request);
+            fail("Cookie encrypted with a key that is not configured should not be decrypted");
+        } catch (final IllegalStateException e) {
+            assertNotNull(e.getMessage());
+        }
+    }
+
+    @Test
+    public void verifyLegacyCookieIsRead() {
+        val cipher = new TicketGrantingCookieCipherExecutor(KEY, EncodingUtils.generateJsonWebKey(512));
+        val legacy = new DefaultCasCookieValueManager(cipher);
+        when(cookie.getValue()).thenReturn(legacy.buildCookieValue(VALUE, request));
+
+        val manager = new CompactCasCookieValueManager(Collections.singletonList(KEY), legacy);
+        assertEquals(VALUE, manager.obtainCookieValue(cookie, request));
+    }
+}
@@ -2,9 +2,13 @@ package org.apereo.cas.web.config;
 
 import org.apereo.cas.CipherExecutor;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.model.support.cookie.TicketGrantingCookieProperties;
 import org.apereo.cas.configuration.support.Beans;
+import org.apereo.cas.util.EncodingUtils;
+import org.apereo.cas.util.ResourceUtils;
 import org.apereo.cas.util.cipher.TicketGrantingCookieCipherExecutor;
 import org.apereo.cas.web.WarningCookieRetrievingCookieGenerator;
+import org.apereo.cas.web.support.CompactCasCookieValueManager;
 import org.apereo.cas.web.support.CookieRetrievingCookieGenerator;
 import org.apereo.cas.web.support.CookieValueManager;
 import org.apereo.cas.web.support.DefaultCasCookieValueManager;
@@ -21,6 +25,9 @@ import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * This is {@link CasCookieConfiguration}.
  *
@@ -31,7 +38,7 @@ import org.springframework.context.annotation.Configuration;
 @EnableConfigurationProperties(CasConfigurationProperties.class)
 @Slf4j
 public class CasCookieConfiguration {
-
+    private static final int COMPACT_COOKIE_ENCRYPTION_KEY_SIZE = 256;
 
     @Autowired
     private CasConfigurationProperties casProperties;
@@ -47,8 +54,16 @@ public class CasCookieConfiguration {
     @ConditionalOnMissingBean(name = "cookieValueManager")
     @Bean
     public CookieValueManager cookieValueManager() {
-        if (casProperties.getTgc().getCrypto().isEnabled()) {
-            return new DefaultCasCookieValueManager(cookieCipherExecutor());
+        val tgc = casProperties.getTgc();
+        if (tgc.getCrypto().isEnabled()) {
+            val cookieValueManager = new DefaultCasCookieValueManager(cookieCipherExecutor());
+            if (tgc.getValueFormat() == TicketGrantingCookieProperties.CookieValueFormats.COMPACT) {
+                val keys = getCompactCookieValueKeys(tgc);
+                if (!keys.isEmpty()) {
+                    return new CompactCasCookieValueManager(keys, cookieValueManager);
+                }
+            }
+            return cookieValueManager;
         }
         return new NoOpCookieValueManager();
     }
@@ -76,6 +91,24 @@ public class CasCookieConfiguration {
         return CipherExecutor.noOp();
     }
 
+    private static List<String> getCompactCookieValueKeys(final TicketGrantingCookieProperties tgc) {
+        var encryptionKey = tgc.getCrypto().getEncryption().getKey();
+        if (StringUtils.isBlank(encryptionKey)) {
+            LOGGER.warn("Secret key for encryption is not defined for ticket-granting cookies; CAS will attempt to auto-generate the encryption key");
+            encryptionKey = EncodingUtils.generateJsonWebKey(COMPACT_COOKIE_ENCRYPTION_KEY_SIZE);
+            LOGGER.warn("Generated encryption key [{}] of size [{}] for ticket-granting cookies. The generated key MUST be added to CAS settings "
+                + "under setting [cas.tgc.crypto.encryption.key].", encryptionKey, COMPACT_COOKIE_ENCRYPTION_KEY_SIZE);
+        } else if (ResourceUtils.doesResourceExist(encryptionKey)) {
+            LOGGER.warn("Encryption key for ticket-granting cookies is a key resource, which cannot be used with the compact cookie value format. "
+                + "CAS will proceed to sign and encrypt ticket-granting cookies as JWTs.");
+            return new ArrayList<>(0);
+        }
+        val keys = new ArrayList<String>();
+        keys.add(encryptionKey);
+        keys.addAll(tgc.getPreviousEncryptionKeys());
+        return keys;
+    }
+
     @ConditionalOnMissingBean(name = "ticketGrantingTicketCookieGenerator")
     @Bean
     @RefreshScope
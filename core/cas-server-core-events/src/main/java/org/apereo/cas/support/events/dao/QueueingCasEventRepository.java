@@ -0,0 +1,244 @@
+package org.apereo.cas.support.events.dao;
+
+import org.apereo.cas.configuration.model.core.events.EventsProperties;
+import org.apereo.cas.configuration.support.Beans;
+import org.apereo.cas.support.events.CasEventRepository;
+import org.apereo.cas.util.CollectionUtils;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This is {@link QueueingCasEventRepository} that places events onto a bounded queue
+ * and hands them over to the underlying {@link CasEventRepository} in batches,
+ * using a single background writer. Event storage is thus decoupled from the request thread,
+ * and a slow or unavailable repository no longer affects authentication requests.
+ * Read operations are delegated as-is, and only observe events that are already persisted.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+@Getter
+public class QueueingCasEventRepository implements CasEventRepository, AutoCloseable {
+
+    private final CasEventRepository delegate;
+
+    private final BlockingQueue<CasEvent> queue;
+
+    private final int batchSize;
+
+    private final long flushIntervalMillis;
+
+    private final long offerTimeoutMillis;
+
+    private final EventsProperties.Queue.OverflowPolicies overflowPolicy;
+
+    private final ExecutorService executorService = Executors.newSingleThreadExecutor(r -> {
+        val thread = new Thread(r, "cas-event-repository-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicLong queuedEvents = new AtomicLong();
+
+    private final AtomicLong droppedEvents = new AtomicLong();
+
+    private final AtomicLong persistedEvents = new AtomicLong();
+
+    private final AtomicLong failedEvents = new AtomicLong();
+
+    private final AtomicLong persistedBatches = new AtomicLong();
+
+    private volatile boolean running = true;
+
+    public QueueingCasEventRepository(final CasEventRepository delegate, final EventsProperties.Queue properties) {
+        this.delegate = delegate;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, properties.getCapacity()));
+        this.batchSize = Math.max(1, properties.getBatchSize());
+        this.flushIntervalMillis = Beans.newDuration(properties.getFlushInterval()).toMillis();
+        this.offerTimeoutMillis = Beans.newDuration(properties.getOfferTimeout()).toMillis();
+        this.overflowPolicy = properties.getOverflowPolicy();
+        this.executorService.execute(this::drainQueue);
+    }
+
+    @Override
+    public void save(final CasEvent event) {
+        if (!running) {
+            LOGGER.debug("Event queue is closed; saving event [{}] directly", event.getType());
+            saveBatch(CollectionUtils.wrap(event));
+            return;
+        }
+        if (queue.offer(event)) {
+            queuedEvents.incrementAndGet();
+            return;
+        }
+        switch (overflowPolicy) {
+            case DROP_OLDEST:
+                val discarded = queue.poll();
+                if (discarded != null) {
+                    droppedEvents.incrementAndGet();
+                }
+                if (queue.offer(event)) {
+                    queuedEvents.incrementAndGet();
+                } else {
+                    recordDroppedEvent(event);
+                }
+                break;
+            case BLOCK:
+                try {
+                    if (queue.offer(event, offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                        queuedEvents.incrementAndGet();
+                    } else {
+                        recordDroppedEvent(event);
+                    }
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    recordDroppedEvent(event);
+                }
+                break;
+            case CALLER_RUNS:
+                saveBatch(CollectionUtils.wrap(event));
+                break;
+            case DROP_NEWEST:
+            default:
+                recordDroppedEvent(event);
+                break;
+        }
+    }
+
+    @Override
+    public void saveAll(final Collection<CasEvent> events) {
+        events.forEach(this::save);
+    }
+
+    @Override
+    public Collection<? extends CasEvent> load() {
+        return delegate.load();
+    }
+
+    @Override
+    public Collection<CasEvent> load(final ZonedDateTime dateTime) {
+        return delegate.load(dateTime);
+    }
+
+    @Override
+    public Collection<CasEvent> getEventsOfTypeForPrincipal(final String type, final String principal) {
+        return delegate.getEventsOfTypeForPrincipal(type, principal);
+    }
+
+    @Override
+    public Collection<CasEvent> getEventsOfTypeForPrincipal(final String type, final String principal, final ZonedDateTime dateTime) {
+        return delegate.getEventsOfTypeForPrincipal(type, principal, dateTime);
+    }
+
+    @Override
+    public Collection<CasEvent> getEventsOfType(final String type) {
+        return delegate.getEventsOfType(type);
+    }
+
+    @Override
+    public Collection<CasEvent> getEventsOfType(final String type, final ZonedDateTime dateTime) {
+        return delegate.getEventsOfType(type, dateTime);
+    }
+
+    @Override
+    public Collection<CasEvent> getEventsForPrincipal(final String id) {
+        return delegate.getEventsForPrincipal(id);
+    }
+
+    @Override
+    public Collection<CasEvent> getEventsForPrincipal(final String id, final ZonedDateTime dateTime) {
+        return delegate.getEventsForPrincipal(id, dateTime);
+    }
+
+    /**
+     * Gets the number of events currently waiting in the queue.
+     *
+     * @return the pending event count
+     */
+    public int getPendingEvents() {
+        return queue.size();
+    }
+
+    /**
+     * Stop accepting events into the queue, and flush
+     * whatever remains in the queue into the repository.
+     */
+    @Override
+    public void close() {
+        running = false;
+        executorService.shutdown();
+        try {
+            if (!executorService.awaitTermination(flushIntervalMillis * 2, TimeUnit.MILLISECONDS)) {
+                LOGGER.warn("Timed out waiting for the event repository writer to stop");
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        LOGGER.info("Event queue is closed. Queued [{}], persisted [{}] in [{}] batch(es), failed [{}] and dropped [{}] event(s)",
+            queuedEvents.get(), persistedEvents.get(), persistedBatches.get(), failedEvents.get(), droppedEvents.get());
+    }
+
+    /**
+     * Drain the queue and save all pending events in batches.
+     */
+    public void flush() {
+        val batch = new ArrayList<CasEvent>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            saveBatch(batch);
+            batch.clear();
+        }
+    }
+
+    private void drainQueue() {
+        val batch = new ArrayList<CasEvent>(batchSize);
+        while (running && !Thread.currentThread().isInterrupted()) {
+            try {
+                val event = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (event != null) {
+                    batch.add(event);
+                    queue.drainTo(batch, batchSize - 1);
+                    saveBatch(batch);
+                    batch.clear();
+                }
+            } catch (final InterruptedException e) {
+                LOGGER.trace("Event repository writer is interrupted");
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (!batch.isEmpty()) {
+            saveBatch(batch);
+        }
+    }
+
+    private void saveBatch(final Collection<CasEvent> batch) {
+        try {
+            LOGGER.trace("Saving [{}] event(s) into [{}]", batch.size(), delegate.getClass().getSimpleName());
+            delegate.saveAll(batch);
+            persistedEvents.addAndGet(batch.size());
+            persistedBatches.incrementAndGet();
+        } catch (final Exception e) {
+            failedEvents.addAndGet(batch.size());
+            LOGGER.error("Unable to save [{}] event(s): [{}]", batch.size(), e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+        }
+    }
+
+    private void recordDroppedEvent(final CasEvent event) {
+        droppedEvents.incrementAndGet();
+        LOGGER.warn("Event queue is full; dropping event [{}] for principal [{}]", event.getType(), event.getPrincipalId());
+    }
+}
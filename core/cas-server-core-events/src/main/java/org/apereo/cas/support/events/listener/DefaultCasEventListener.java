@@ -6,6 +6,7 @@ import org.apereo.cas.support.events.authentication.CasAuthenticationPolicyFailu
 import org.apereo.cas.support.events.authentication.CasAuthenticationTransactionFailureEvent;
 import org.apereo.cas.support.events.authentication.adaptive.CasRiskyAuthenticationDetectedEvent;
 import org.apereo.cas.support.events.dao.CasEvent;
+import org.apereo.cas.support.events.dao.QueueingCasEventRepository;
 import org.apereo.cas.support.events.ticket.CasTicketGrantingTicketCreatedEvent;
 import org.apereo.cas.util.AsciiArtUtils;
 import org.apereo.cas.util.DateTimeUtils;
@@ -19,6 +20,7 @@ import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 import org.apereo.inspektr.common.web.ClientInfoHolder;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.ContextClosedEvent;
 import org.springframework.context.event.EventListener;
 
 /**
@@ -65,6 +67,22 @@ public class DefaultCasEventListener {
         LOGGER.info("Ready to process requests @ [{}]", DateTimeUtils.zonedDateTimeOf(event.getTimestamp()));
     }
 
+    /**
+     * Handle context closed event, and flush
+     * events that are queued for persistence, if any.
+     * This runs before singletons are destroyed, so the
+     * underlying repository is still available.
+     *
+     * @param event the event
+     */
+    @EventListener
+    public void handleContextClosedEvent(final ContextClosedEvent event) {
+        if (this.casEventRepository instanceof QueueingCasEventRepository) {
+            LOGGER.debug("Flushing queued events before shutdown");
+            QueueingCasEventRepository.class.cast(this.casEventRepository).close();
+        }
+    }
+
     /**
      * Handle TGT creation event.
      *
@@ -0,0 +1,124 @@
+package org.apereo.cas.support.events;
+
+import org.apereo.cas.configuration.model.core.events.EventsProperties;
+import org.apereo.cas.support.events.dao.AbstractCasEventRepository;
+import org.apereo.cas.support.events.dao.CasEvent;
+import org.apereo.cas.support.events.dao.QueueingCasEventRepository;
+
+import lombok.val;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link QueueingCasEventRepositoryTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class QueueingCasEventRepositoryTests {
+
+    private static CasEvent getCasEvent() {
+        val dto = new CasEvent();
+        dto.setType(CasEvent.class.getName());
+        dto.setPrincipalId("casuser");
+        dto.putTimestamp(System.currentTimeMillis());
+        return dto;
+    }
+
+    private static EventsProperties.Queue getQueueProperties(final int capacity,
+                                                             final EventsProperties.Queue.OverflowPolicies policy) {
+        val props = new EventsProperties.Queue();
+        props.setEnabled(true);
+        props.setCapacity(capacity);
+        props.setBatchSize(10);
+        props.setFlushInterval("PT0.1S");
+        props.setOverflowPolicy(policy);
+        return props;
+    }
+
+    @Test
+    public void verifyEventsAreFlushedInBatchesOnClose() {
+        val delegate = new BatchRecordingCasEventRepository();
+        val repository = new QueueingCasEventRepository(delegate,
+            getQueueProperties(100, EventsProperties.Queue.OverflowPolicies.DROP_NEWEST));
+        for (var i = 0; i < 25; i++) {
+            repository.save(getCasEvent());
+        }
+        repository.close();
+        assertEquals(25, delegate.load().size());
+        assertEquals(25, repository.getPersistedEvents().get());
+        assertTrue(delegate.getBatches().stream().allMatch(size -> size <= 10));
+        assertEquals(0, repository.getPendingEvents());
+    }
+
+    @Test
+    public void verifyFailingRepositoryDoesNotFailCaller() {
+        val delegate = new BatchRecordingCasEventRepository() {
+            @Override
+            public void saveAll(final Collection<CasEvent> events) {
+                throw new IllegalStateException("Repository is down");
+            }
+        };
+        val repository = new QueueingCasEventRepository(delegate,
+            getQueueProperties(100, EventsProperties.Queue.OverflowPolicies.DROP_NEWEST));
+        repository.save(getCasEvent());
+        repository.close();
+        assertEquals(1, repository.getFailedEvents().get());
+    }
+
+    @Test
+    public void verifyCallerRunsWhenQueueIsFull() {
+        val delegate = new BatchRecordingCasEventRepository();
+        val repository = new QueueingCasEventRepository(delegate,
+            getQueueProperties(1, EventsProperties.Queue.OverflowPolicies.CALLER_RUNS));
+        for (var i = 0; i < 50; i++) {
+            repository.save(getCasEvent());
+        }
+        repository.close();
+        assertEquals(50, delegate.load().size());
+        assertEquals(0, repository.getDroppedEvents().get());
+    }
+
+    @Test
+    public void verifyEventsAreDroppedWhenQueueIsFull() {
+        val delegate = new BatchRecordingCasEventRepository();
+        val repository = new QueueingCasEventRepository(delegate,
+            getQueueProperties(1, EventsProperties.Queue.OverflowPolicies.DROP_NEWEST));
+        for (var i = 0; i < 1000; i++) {
+            repository.save(getCasEvent());
+        }
+        repository.close();
+        assertEquals(1000, delegate.load().size() + repository.getDroppedEvents().get());
+    }
+
+    private static class BatchRecordingCasEventRepository extends AbstractCasEventRepository {
+        private final List<CasEvent> events = new CopyOnWriteArrayList<>();
+        private final List<Integer> batches = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void save(final CasEvent event) {
+            events.add(event);
+        }
+
+        @Override
+        public void saveAll(final Collection<CasEvent> events) {
+            batches.add(events.size());
+            this.events.addAll(events);
+        }
+
+        @Override
+        public Collection<? extends CasEvent> load() {
+            return new ArrayList<>(events);
+        }
+
+        public List<Integer> getBatches() {
+            return batches;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package org.apereo.cas.logging;
 
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.core.Appender;
 import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.appender.AbstractAppender;
 import org.apache.logging.log4j.core.config.AppenderRef;
@@ -25,6 +26,7 @@ public class CasAppender extends AbstractAppender {
 
     private final Configuration config;
     private final AppenderRef appenderRef;
+    private transient volatile Appender appender;
 
     /**
      * Instantiates a new Cas appender.
@@ -56,17 +58,24 @@ public class CasAppender extends AbstractAppender {
 
     @Override
     public void append(final LogEvent logEvent) {
-        val newLogEvent = LoggingUtils.prepareLogEvent(logEvent);
-        val refName = this.appenderRef.getRef();
-        if (StringUtils.isNotBlank(refName)) {
-            val appender = this.config.getAppender(refName);
-            if (appender != null) {
-                appender.append(newLogEvent);
+        val referencedAppender = getReferencedAppender();
+        if (referencedAppender != null) {
+            referencedAppender.append(LoggingUtils.prepareLogEvent(logEvent));
+        }
+    }
+
+    private Appender getReferencedAppender() {
+        if (this.appender == null) {
+            val refName = this.appenderRef.getRef();
+            if (StringUtils.isNotBlank(refName)) {
+                this.appender = this.config.getAppender(refName);
+                if (this.appender == null) {
+                    LOGGER.warn("No log appender could be found for [{}]", refName);
+                }
             } else {
-                LOGGER.warn("No log appender could be found for [{}]", refName);
+                LOGGER.warn("No log appender reference could be located in logging configuration.");
             }
-        } else {
-            LOGGER.warn("No log appender reference could be located in logging configuration.");
         }
+        return this.appender;
     }
 }
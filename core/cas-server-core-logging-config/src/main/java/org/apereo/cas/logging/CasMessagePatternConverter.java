@@ -0,0 +1,54 @@
+package org.apereo.cas.logging;
+
+import org.apereo.cas.util.serialization.TicketIdSanitizationUtils;
+
+import lombok.val;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.pattern.ConverterKeys;
+import org.apache.logging.log4j.core.pattern.LogEventPatternConverter;
+import org.apache.logging.log4j.core.pattern.PatternConverter;
+import org.apache.logging.log4j.util.StringBuilderFormattable;
+
+/**
+ * This is {@link CasMessagePatternConverter} that renders the message of a log event in a pattern layout,
+ * using {@code %casMessage}, with ticket ids sanitized. The message is written and sanitized in place
+ * in the buffer of the layout, so appenders may use it instead of being wrapped by {@link CasAppender}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Plugin(name = "CasMessagePatternConverter", category = PatternConverter.CATEGORY)
+@ConverterKeys({"casMessage", "casMsg"})
+public final class CasMessagePatternConverter extends LogEventPatternConverter {
+    private static final CasMessagePatternConverter INSTANCE = new CasMessagePatternConverter();
+
+    private CasMessagePatternConverter() {
+        super("CasMessage", "message");
+    }
+
+    /**
+     * Obtains an instance of the converter.
+     *
+     * @param options the options, which are ignored
+     * @return the converter
+     */
+    public static CasMessagePatternConverter newInstance(final String[] options) {
+        return INSTANCE;
+    }
+
+    @Override
+    public void format(final LogEvent event, final StringBuilder toAppendTo) {
+        val message = event.getMessage();
+        if (message == null) {
+            return;
+        }
+        val start = toAppendTo.length();
+        if (message instanceof StringBuilderFormattable) {
+            ((StringBuilderFormattable) message).formatTo(toAppendTo);
+        } else {
+            toAppendTo.append(message.getFormattedMessage());
+        }
+        TicketIdSanitizationUtils.sanitize(toAppendTo, start);
+    }
+}
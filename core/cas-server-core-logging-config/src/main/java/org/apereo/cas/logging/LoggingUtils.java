@@ -3,6 +3,7 @@ package org.apereo.cas.logging;
 import org.apereo.cas.util.serialization.TicketIdSanitizationUtils;
 
 import lombok.val;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.impl.Log4jLogEvent;
 import org.apache.logging.log4j.message.SimpleMessage;
@@ -21,12 +22,17 @@ public final class LoggingUtils {
 
     /**
      * Prepare log event log event.
+     * The log event is returned as is, unless its message carries ticket ids that need to be sanitized.
      *
      * @param logEvent the log event
      * @return the log event
      */
     public static LogEvent prepareLogEvent(final LogEvent logEvent) {
-        val messageModified = TicketIdSanitizationUtils.sanitize(logEvent.getMessage().getFormattedMessage());
+        val formattedMessage = logEvent.getMessage().getFormattedMessage();
+        val messageModified = TicketIdSanitizationUtils.sanitize(formattedMessage);
+        if (StringUtils.equals(formattedMessage, messageModified)) {
+            return logEvent;
+        }
         val message = new SimpleMessage(messageModified);
         val newLogEvent = Log4jLogEvent.newBuilder()
             .setLevel(logEvent.getLevel())
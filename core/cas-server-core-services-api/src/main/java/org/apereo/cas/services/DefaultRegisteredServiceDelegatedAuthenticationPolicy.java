@@ -1,19 +1,24 @@
 package org.apereo.cas.services;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
-import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
+import lombok.val;
 
 import java.util.Collection;
 import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * This is {@link DefaultRegisteredServiceDelegatedAuthenticationPolicy}.
+ * The allowed providers are kept as a set, in the order in which they are defined,
+ * so that checking large numbers of providers does not rescan the collection. The same set
+ * is handed out by {@link #getAllowedProviders()}, so changes made to it take effect right away.
  *
  * @author Misagh Moayyed
  * @since 5.2.0
@@ -23,22 +28,69 @@ import java.util.LinkedHashSet;
 @Getter
 @Setter
 @EqualsAndHashCode(exclude = {"allowedProviders"})
-@AllArgsConstructor
 @NoArgsConstructor
 public class DefaultRegisteredServiceDelegatedAuthenticationPolicy implements RegisteredServiceDelegatedAuthenticationPolicy {
     private static final long serialVersionUID = -784106970642770923L;
 
     private Collection<String> allowedProviders = new LinkedHashSet<>();
 
+    public DefaultRegisteredServiceDelegatedAuthenticationPolicy(final Collection<String> allowedProviders) {
+        setAllowedProviders(allowedProviders);
+    }
+
+    /**
+     * Sets the allowed providers. The providers are copied into a set.
+     *
+     * @param allowedProviders the allowed providers
+     */
+    public void setAllowedProviders(final Collection<String> allowedProviders) {
+        this.allowedProviders = allowedProviders != null ? new LinkedHashSet<>(allowedProviders) : null;
+    }
+
     @Override
     @JsonIgnore
     public boolean isProviderAllowed(final String provider, final RegisteredService registeredService) {
         if (this.allowedProviders == null || this.allowedProviders.isEmpty()) {
-            LOGGER.warn("Registered service [{}] does not define any authorized/supported delegated authentication providers. "
-                + "It is STRONGLY recommended that you authorize and assign providers to the service definition. "
-                + "While just a warning for now, this behavior will be enforced by CAS in future versions.", registeredService.getName());
+            warnNoProvidersDefined(registeredService);
             return true;
         }
-        return this.allowedProviders.contains(provider);
+        return getAllowedProviderSet().contains(provider);
+    }
+
+    @Override
+    @JsonIgnore
+    public Set<String> getAllowedProviders(final Collection<String> providers, final RegisteredService registeredService) {
+        if (this.allowedProviders == null || this.allowedProviders.isEmpty()) {
+            warnNoProvidersDefined(registeredService);
+            return new LinkedHashSet<>(providers);
+        }
+        val allowed = getAllowedProviderSet();
+        return providers.stream()
+            .filter(allowed::contains)
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    /**
+     * Gets the allowed providers as a set.
+     * Policies that were serialized with the providers held in another type of collection
+     * have their providers turned into a set the first time they are evaluated.
+     *
+     * @return the allowed provider set
+     */
+    @JsonIgnore
+    public Set<String> getAllowedProviderSet() {
+        val providers = this.allowedProviders;
+        if (providers instanceof Set) {
+            return (Set<String>) providers;
+        }
+        val set = new LinkedHashSet<String>(providers);
+        this.allowedProviders = set;
+        return set;
+    }
+
+    private static void warnNoProvidersDefined(final RegisteredService registeredService) {
+        LOGGER.warn("Registered service [{}] does not define any authorized/supported delegated authentication providers. "
+            + "It is STRONGLY recommended that you authorize and assign providers to the service definition. "
+            + "While just a warning for now, this behavior will be enforced by CAS in future versions.", registeredService.getName());
     }
 }
@@ -0,0 +1,159 @@
+package org.apereo.cas.services.util;
+
+import org.apereo.cas.services.RegisteredServicePublicKey;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.util.ResourceUtils;
+
+import javax.crypto.Cipher;
+import java.io.File;
+import java.security.GeneralSecurityException;
+import java.security.Provider;
+import java.security.PublicKey;
+import java.time.Duration;
+
+/**
+ * This is {@link RegisteredServicePublicKeyCache} that holds on to public keys
+ * parsed from registered service public key definitions. Entries are keyed by the key location,
+ * algorithm and the version of the key file, so that a change in the service definition
+ * or an update to the key file on disk produces a fresh key.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+public class RegisteredServicePublicKeyCache {
+    private static final long DEFAULT_MAXIMUM_SIZE = 1_000;
+
+    private static final Duration DEFAULT_EXPIRE_AFTER_ACCESS = Duration.ofHours(1);
+
+    private static final RegisteredServicePublicKeyCache INSTANCE = new RegisteredServicePublicKeyCache();
+
+    private final Cache<CacheKey, CachedPublicKey> cache;
+
+    public RegisteredServicePublicKeyCache() {
+        this(DEFAULT_MAXIMUM_SIZE, DEFAULT_EXPIRE_AFTER_ACCESS);
+    }
+
+    public RegisteredServicePublicKeyCache(final long maximumSize, final Duration expireAfterAccess) {
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterAccess(expireAfterAccess)
+            .recordStats()
+            .build();
+    }
+
+    /**
+     * Gets the shared cache instance.
+     *
+     * @return the instance
+     */
+    public static RegisteredServicePublicKeyCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Gets the cached public key for the given definition,
+     * parsing the key and resolving its cipher provider if needed.
+     *
+     * @param publicKey the public key definition
+     * @return the cached public key, or null if no key instance could be created
+     */
+    public CachedPublicKey get(final RegisteredServicePublicKey publicKey) {
+        val key = new CacheKey(publicKey.getClass().getName(), publicKey.getLocation(),
+            publicKey.getAlgorithm(), getKeyVersion(publicKey.getLocation()));
+        return cache.get(key, k -> {
+            LOGGER.debug("Loading public key from [{}] using [{}]", k.getLocation(), k.getAlgorithm());
+            val instance = publicKey.createInstance();
+            return instance != null ? new CachedPublicKey(instance) : null;
+        });
+    }
+
+    /**
+     * Gets cache statistics, including hit and miss counts.
+     *
+     * @return the stats
+     */
+    public CacheStats getStatistics() {
+        return cache.stats();
+    }
+
+    /**
+     * Invalidate all cached keys.
+     */
+    public void invalidate() {
+        cache.invalidateAll();
+    }
+
+    private static long getKeyVersion(final String location) {
+        if (StringUtils.isBlank(location) || location.startsWith(ResourceUtils.CLASSPATH_URL_PREFIX)) {
+            return 0;
+        }
+        return new File(location).lastModified();
+    }
+
+    @EqualsAndHashCode
+    @Getter
+    @RequiredArgsConstructor
+    private static class CacheKey {
+        private final String type;
+
+        private final String location;
+
+        private final String algorithm;
+
+        private final long version;
+    }
+
+    /**
+     * Public key parsed from a registered service definition,
+     * along with the provider that supplies its cipher.
+     * {@link Cipher} instances are not thread-safe; a new one is handed out for every operation.
+     */
+    @Getter
+    @ToString(of = "publicKey")
+    public static class CachedPublicKey {
+        private final PublicKey publicKey;
+
+        private final Provider provider;
+
+        CachedPublicKey(final PublicKey publicKey) {
+            this.publicKey = publicKey;
+            this.provider = resolveProvider(publicKey);
+        }
+
+        /**
+         * Create a cipher initialized in encrypt-mode for this key.
+         *
+         * @return the cipher
+         * @throws GeneralSecurityException the security exception
+         */
+        public Cipher newEncryptionCipher() throws GeneralSecurityException {
+            val cipher = provider != null
+                ? Cipher.getInstance(publicKey.getAlgorithm(), provider)
+                : Cipher.getInstance(publicKey.getAlgorithm());
+            cipher.init(Cipher.ENCRYPT_MODE, publicKey);
+            return cipher;
+        }
+
+        private static Provider resolveProvider(final PublicKey publicKey) {
+            try {
+                val cipher = Cipher.getInstance(publicKey.getAlgorithm());
+                cipher.init(Cipher.ENCRYPT_MODE, publicKey);
+                return cipher.getProvider();
+            } catch (final Exception e) {
+                LOGGER.debug("Unable to resolve cipher provider for [{}]: [{}]", publicKey.getAlgorithm(), e.getMessage());
+                return null;
+            }
+        }
+    }
+}
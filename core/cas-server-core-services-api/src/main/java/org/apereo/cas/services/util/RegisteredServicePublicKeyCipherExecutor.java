@@ -4,6 +4,8 @@ import org.apereo.cas.services.RegisteredService;
 import org.apereo.cas.services.RegisteredServiceCipherExecutor;
 import org.apereo.cas.util.EncodingUtils;
 
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
@@ -14,19 +16,34 @@ import java.nio.charset.StandardCharsets;
 import java.security.PublicKey;
 import java.security.Security;
 import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Default cipher implementation based on public keys.
+ * Parsed keys are kept in a {@link RegisteredServicePublicKeyCache}
+ * and the number of operations and time spent encrypting are recorded.
  *
  * @author Misagh Moayyed
  * @since 4.1
  */
 @Slf4j
+@Getter
+@RequiredArgsConstructor
 public class RegisteredServicePublicKeyCipherExecutor implements RegisteredServiceCipherExecutor {
     static {
         Security.addProvider(new BouncyCastleProvider());
     }
 
+    private final RegisteredServicePublicKeyCache publicKeyCache;
+
+    private final LongAdder encryptionCount = new LongAdder();
+
+    private final LongAdder encryptionTimeNanos = new LongAdder();
+
+    public RegisteredServicePublicKeyCipherExecutor() {
+        this(RegisteredServicePublicKeyCache.getInstance());
+    }
+
     /**
      * Encode internally, meant to be called by extensions.
      * Default behavior will encode the data based on the
@@ -49,17 +66,40 @@ public class RegisteredServicePublicKeyCipherExecutor implements RegisteredServi
     }
 
     /**
-     * Create registered service public key defined.
+     * Encode internally using the cached public key of the registered service.
+     *
+     * @param data              the data
+     * @param publicKey         the cached public key
+     * @param registeredService the registered service
+     * @return a byte[] that contains the encrypted result
+     */
+    @SneakyThrows
+    protected byte[] encodeInternal(final String data, final RegisteredServicePublicKeyCache.CachedPublicKey publicKey,
+                                    final RegisteredService registeredService) {
+        val startTime = System.nanoTime();
+        try {
+            val cipher = publicKey.newEncryptionCipher();
+            LOGGER.debug("Initialized cipher in encrypt-mode via the public key algorithm [{}] for service [{}]",
+                publicKey.getPublicKey().getAlgorithm(), registeredService.getServiceId());
+            return cipher.doFinal(data.getBytes(StandardCharsets.UTF_8));
+        } finally {
+            encryptionCount.increment();
+            encryptionTimeNanos.add(System.nanoTime() - startTime);
+        }
+    }
+
+    /**
+     * Gets registered service public key from the cache.
      *
      * @param registeredService the registered service
      * @return the public key
      */
-    private static PublicKey createRegisteredServicePublicKey(final RegisteredService registeredService) {
+    protected RegisteredServicePublicKeyCache.CachedPublicKey getRegisteredServicePublicKey(final RegisteredService registeredService) {
         if (registeredService.getPublicKey() == null) {
             LOGGER.debug("No public key is defined for service [{}]. No encoding will take place.", registeredService);
             return null;
         }
-        val publicKey = registeredService.getPublicKey().createInstance();
+        val publicKey = publicKeyCache.get(registeredService.getPublicKey());
         if (publicKey == null) {
             LOGGER.debug("No public key instance created for service [{}]. No encoding will take place.", registeredService);
             return null;
@@ -106,10 +146,9 @@ public class RegisteredServicePublicKeyCipherExecutor implements RegisteredServi
         try {
             if (service.isPresent()) {
                 val registeredService = service.get();
-                val publicKey = createRegisteredServicePublicKey(registeredService);
-                val result = encodeInternal(data, publicKey, registeredService);
-                if (result != null) {
-                    return EncodingUtils.encodeBase64(result);
+                val publicKey = getRegisteredServicePublicKey(registeredService);
+                if (publicKey != null) {
+                    return EncodingUtils.encodeBase64(encodeInternal(data, publicKey, registeredService));
                 }
             }
         } catch (final Exception e) {
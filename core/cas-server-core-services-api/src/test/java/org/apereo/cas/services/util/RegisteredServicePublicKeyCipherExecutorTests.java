@@ -42,6 +42,19 @@ public class RegisteredServicePublicKeyCipherExecutorTests {
         assertNotNull(e.encode(ticketId, Optional.of(svc)));
     }
 
+    @Test
+    public void verifyPublicKeyIsCached() {
+        val svc = getService("classpath:keys/RSA4096Public.key");
+        val cache = new RegisteredServicePublicKeyCache();
+        val e = new RegisteredServicePublicKeyCipherExecutor(cache);
+        assertNotNull(e.encode("ST-1", Optional.of(svc)));
+        assertNotNull(e.encode("ST-2", Optional.of(svc)));
+        assertEquals(1, cache.getStatistics().missCount());
+        assertEquals(1, cache.getStatistics().hitCount());
+        assertEquals(2, e.getEncryptionCount().sum());
+        assertTrue(e.getEncryptionTimeNanos().sum() > 0);
+    }
+
     private AbstractRegisteredService getService(final String keyLocation) {
         val svc = new RegexRegisteredService();
         svc.setServiceId("Testing");
@@ -0,0 +1,32 @@
+package org.apereo.cas.services;
+
+import org.apereo.cas.util.CollectionUtils;
+
+import lombok.val;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link DefaultRegisteredServiceDelegatedAuthenticationPolicyTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class DefaultRegisteredServiceDelegatedAuthenticationPolicyTests {
+
+    @Test
+    public void verifyProvidersReplacedInPlaceAreAuthorized() {
+        val registeredService = mock(RegisteredService.class);
+        val policy = new DefaultRegisteredServiceDelegatedAuthenticationPolicy(CollectionUtils.wrapList("CasClient", "SAML2Client"));
+        assertTrue(policy.isProviderAllowed("SAML2Client", registeredService));
+
+        policy.getAllowedProviders().remove("SAML2Client");
+        policy.getAllowedProviders().add("FacebookClient");
+        assertFalse(policy.isProviderAllowed("SAML2Client", registeredService));
+        assertTrue(policy.isProviderAllowed("FacebookClient", registeredService));
+        assertEquals(CollectionUtils.wrapSet("CasClient", "FacebookClient"),
+            policy.getAllowedProviders(CollectionUtils.wrapList("CasClient", "SAML2Client", "FacebookClient"), registeredService));
+    }
+}
@@ -16,6 +16,7 @@ import javax.persistence.Column;
 import javax.persistence.Id;
 import javax.persistence.Lob;
 import javax.persistence.MappedSuperclass;
+import javax.persistence.Version;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 
@@ -95,6 +96,15 @@ public abstract class AbstractTicket implements Ticket, TicketState {
     @Column(name = "EXPIRED", nullable = false)
     private Boolean expired = Boolean.FALSE;
 
+    /**
+     * The version of this ticket, used for optimistic concurrency
+     * control when the ticket is stored in a relational database.
+     */
+    @Version
+    @Column(name = "VERSION", columnDefinition = "integer default 0 not null")
+    @JsonIgnore
+    @Getter
+    private Integer version;
 
     public AbstractTicket(final String id, final ExpirationPolicy expirationPolicy) {
         this.id = id;
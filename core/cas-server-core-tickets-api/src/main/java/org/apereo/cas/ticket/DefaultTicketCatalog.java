@@ -6,13 +6,21 @@ import lombok.val;
 import org.springframework.core.OrderComparator;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
  * This is {@link DefaultTicketCatalog}.
+ * <p>Registered definitions are indexed by their prefix, which is matched against the portion of a ticket id
+ * that precedes the first {@code -} separator, so that definitions are located without scanning the catalog.
+ * The index is rebuilt whenever a definition is registered or updated.</p>
  *
  * @author Misagh Moayyed
  * @since 5.1.0
@@ -21,18 +29,16 @@ import java.util.stream.Collectors;
 @NoArgsConstructor
 public class DefaultTicketCatalog implements TicketCatalog {
 
-    private final Map<String, TicketDefinition> ticketMetadataMap = new HashMap<>();
+    private final Map<String, TicketDefinition> ticketMetadataMap = new LinkedHashMap<>();
+
+    private volatile TicketDefinitionIndex index = new TicketDefinitionIndex(Collections.emptyList());
 
     @Override
     public TicketDefinition find(final String ticketId) {
-        val defn = ticketMetadataMap.values()
-            .stream()
-            .filter(md -> ticketId.startsWith(md.getPrefix()))
-            .findFirst()
-            .orElse(null);
+        val defn = this.index.find(ticketId);
         if (defn == null) {
             LOGGER.error("Ticket definition for [{}] cannot be found in the ticket catalog "
-                + "which only contains the following ticket types: [{}]", ticketId, ticketMetadataMap.keySet());
+                + "which only contains the following ticket types: [{}]", ticketId, this.index.getPrefixes());
         }
         return defn;
     }
@@ -45,18 +51,14 @@ public class DefaultTicketCatalog implements TicketCatalog {
 
     @Override
     public Collection<TicketDefinition> find(final Class<Ticket> ticketClass) {
-        val list = ticketMetadataMap.values().stream()
-            .filter(t -> t.getImplementationClass().isAssignableFrom(ticketClass))
-            .collect(Collectors.toList());
-        OrderComparator.sort(list);
-        LOGGER.debug("Located all registered and known sorted ticket definitions [{}] that match [{}]", list, ticketClass);
-        return list;
+        return this.index.find(ticketClass);
     }
 
     @Override
-    public void register(final TicketDefinition ticketDefinition) {
+    public synchronized void register(final TicketDefinition ticketDefinition) {
         LOGGER.debug("Registering/Updating ticket definition [{}]", ticketDefinition);
         ticketMetadataMap.put(ticketDefinition.getPrefix(), ticketDefinition);
+        this.index = new TicketDefinitionIndex(ticketMetadataMap.values());
     }
 
     @Override
@@ -67,14 +69,127 @@ public class DefaultTicketCatalog implements TicketCatalog {
     @Override
     public boolean contains(final String ticketId) {
         LOGGER.debug("Locating ticket definition for [{}]", ticketId);
-        return ticketMetadataMap.containsKey(ticketId);
+        return this.index.get(ticketId, ticketId.length()) != null;
     }
 
     @Override
     public Collection<TicketDefinition> findAll() {
-        val list = new ArrayList<TicketDefinition>(ticketMetadataMap.values());
-        OrderComparator.sort(list);
-        LOGGER.debug("Located all registered and known sorted ticket definitions [{}]", list);
-        return list;
+        return this.index.getDefinitions();
+    }
+
+    /**
+     * Immutable index of the registered definitions. Prefixes are kept in an open-addressing table
+     * that is probed with the hash of the ticket id prefix, computed in place.
+     */
+    private static class TicketDefinitionIndex {
+        private static final char SEPARATOR = '-';
+
+        private static final int MIN_CAPACITY = 16;
+
+        private final String[] prefixes;
+
+        private final TicketDefinition[] definitionsByPrefix;
+
+        private final int mask;
+
+        private final TicketDefinition[] definitionsByPrefixLength;
+
+        private final TicketDefinition[] definitionsWithSeparator;
+
+        private final List<TicketDefinition> definitions;
+
+        private final Map<Class<?>, Collection<TicketDefinition>> definitionsByClass = new ConcurrentHashMap<>();
+
+        TicketDefinitionIndex(final Collection<TicketDefinition> registeredDefinitions) {
+            var capacity = MIN_CAPACITY;
+            while (capacity < registeredDefinitions.size() * 2) {
+                capacity <<= 1;
+            }
+            this.prefixes = new String[capacity];
+            this.definitionsByPrefix = new TicketDefinition[capacity];
+            this.mask = capacity - 1;
+            for (val definition : registeredDefinitions) {
+                var slot = definition.getPrefix().hashCode() & this.mask;
+                while (this.prefixes[slot] != null) {
+                    slot = (slot + 1) & this.mask;
+                }
+                this.prefixes[slot] = definition.getPrefix();
+                this.definitionsByPrefix[slot] = definition;
+            }
+            this.definitionsByPrefixLength = registeredDefinitions.stream()
+                .sorted(Comparator.comparingInt((TicketDefinition definition) -> definition.getPrefix().length()).reversed())
+                .toArray(TicketDefinition[]::new);
+            this.definitionsWithSeparator = Arrays.stream(this.definitionsByPrefixLength)
+                .filter(definition -> definition.getPrefix().indexOf(SEPARATOR) >= 0)
+                .toArray(TicketDefinition[]::new);
+
+            val sorted = new ArrayList<TicketDefinition>(registeredDefinitions);
+            OrderComparator.sort(sorted);
+            this.definitions = Collections.unmodifiableList(sorted);
+        }
+
+        /**
+         * Find the definition whose prefix precedes the first separator of the ticket id.
+         * Prefixes that carry the separator themselves, and ids whose prefix is not registered,
+         * are matched against the longest registered prefix the id starts with.
+         */
+        TicketDefinition find(final String ticketId) {
+            for (val candidate : this.definitionsWithSeparator) {
+                if (ticketId.startsWith(candidate.getPrefix())) {
+                    return candidate;
+                }
+            }
+            val separator = ticketId.indexOf(SEPARATOR);
+            val definition = get(ticketId, separator < 0 ? ticketId.length() : separator);
+            if (definition != null) {
+                return definition;
+            }
+            for (val candidate : this.definitionsByPrefixLength) {
+                if (ticketId.startsWith(candidate.getPrefix())) {
+                    return candidate;
+                }
+            }
+            return null;
+        }
+
+        TicketDefinition get(final String ticketId, final int length) {
+            var hash = 0;
+            for (var i = 0; i < length; i++) {
+                hash = 31 * hash + ticketId.charAt(i);
+            }
+            var slot = hash & this.mask;
+            while (this.prefixes[slot] != null) {
+                val prefix = this.prefixes[slot];
+                if (prefix.length() == length && ticketId.startsWith(prefix)) {
+                    return this.definitionsByPrefix[slot];
+                }
+                slot = (slot + 1) & this.mask;
+            }
+            return null;
+        }
+
+        Collection<TicketDefinition> find(final Class<?> ticketClass) {
+            val found = this.definitionsByClass.get(ticketClass);
+            if (found != null) {
+                return found;
+            }
+            return this.definitionsByClass.computeIfAbsent(ticketClass, this::collectDefinitions);
+        }
+
+        Collection<TicketDefinition> getDefinitions() {
+            return this.definitions;
+        }
+
+        Collection<String> getPrefixes() {
+            return this.definitions.stream().map(TicketDefinition::getPrefix).collect(Collectors.toList());
+        }
+
+        private Collection<TicketDefinition> collectDefinitions(final Class<?> ticketClass) {
+            val list = this.definitions.stream()
+                .filter(t -> t.getImplementationClass().isAssignableFrom(ticketClass))
+                .collect(Collectors.toList());
+            LOGGER.debug("Located all registered and known sorted ticket definitions [{}] that match [{}]", list, ticketClass);
+            return Collections.unmodifiableList(list);
+        }
     }
 }
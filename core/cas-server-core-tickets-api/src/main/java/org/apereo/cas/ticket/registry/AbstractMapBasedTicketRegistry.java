@@ -11,6 +11,8 @@ import org.apache.commons.lang3.StringUtils;
 
 import java.util.Collection;
 import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
 
 /**
  * This is {@link AbstractMapBasedTicketRegistry}.
@@ -80,6 +82,28 @@ public abstract class AbstractMapBasedTicketRegistry extends AbstractTicketRegis
         return decodeTickets(getMapInstance().values());
     }
 
+    @Override
+    public Stream<TicketHeader> getTicketHeaders(final TicketHeaderCriteria criteria) {
+        if (isCipherExecutorEnabled()) {
+            return getDecodedTicketHeaders(criteria);
+        }
+        val encodedCriteria = encodeTicketHeaderCriteria(criteria);
+        return getMapInstance().values()
+            .stream()
+            .map(this::getTicketHeader)
+            .filter(encodedCriteria);
+    }
+
+    @Override
+    public Stream<Ticket> getTickets(final TicketHeaderCriteria criteria) {
+        val encodedCriteria = encodeTicketHeaderCriteria(criteria);
+        return getMapInstance().values()
+            .stream()
+            .filter(ticket -> encodedCriteria.test(getTicketHeader(ticket)))
+            .map(this::decodeTicket)
+            .filter(Objects::nonNull);
+    }
+
     @Override
     public Ticket updateTicket(final Ticket ticket) {
         addTicket(ticket);
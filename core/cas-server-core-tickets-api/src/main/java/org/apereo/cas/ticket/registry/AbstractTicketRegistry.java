@@ -6,6 +6,7 @@ import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.ticket.proxy.ProxyGrantingTicket;
 import org.apereo.cas.util.DigestUtils;
+import org.apereo.cas.util.cipher.AbstractCipherExecutor;
 import org.apereo.cas.util.serialization.SerializationUtils;
 
 import com.google.common.io.ByteSource;
@@ -19,6 +20,7 @@ import org.apache.commons.lang3.StringUtils;
 
 import java.util.Collection;
 import java.util.LinkedHashSet;
+import java.util.Locale;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
@@ -215,7 +217,7 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
         LOGGER.debug("Encoding ticket [{}]", ticket);
         val encodedTicketObject = SerializationUtils.serializeAndEncodeObject(this.cipherExecutor, ticket);
         val encodedTicketId = encodeTicketId(ticket.getId());
-        val encodedTicket = new EncodedTicket(encodedTicketId, ByteSource.wrap(encodedTicketObject).read());
+        val encodedTicket = new EncodedTicket(encodedTicketId, ByteSource.wrap(encodedTicketObject).read(), buildTicketHeader(ticket));
         LOGGER.debug("Created encoded ticket [{}]", encodedTicket);
         return encodedTicket;
     }
@@ -261,6 +263,112 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
         return items.stream().map(this::decodeTicket).collect(Collectors.toSet());
     }
 
+    /**
+     * Build the header of a ticket, keyed by the (possibly encoded) ids
+     * under which the ticket and its parent are stored in the registry.
+     * The principal is kept in its encoded form; see {@link #encodeTicketPrincipal(String)}.
+     *
+     * @param ticket the ticket
+     * @return the ticket header
+     */
+    protected TicketHeader buildTicketHeader(final Ticket ticket) {
+        val parent = ticket.getTicketGrantingTicket();
+        return buildTicketHeader(ticket, encodeTicketId(ticket.getId()), parent != null ? encodeTicketId(parent.getId()) : null);
+    }
+
+    /**
+     * Build the header of a ticket as it is handed back to callers,
+     * with the actual ids of the ticket and its parent. The principal is kept in its encoded form.
+     *
+     * @param ticket the ticket
+     * @return the ticket header
+     */
+    protected TicketHeader buildDecodedTicketHeader(final Ticket ticket) {
+        val parent = ticket.getTicketGrantingTicket();
+        return buildTicketHeader(ticket, ticket.getId(), parent != null ? parent.getId() : null);
+    }
+
+    /**
+     * Gets the headers of tickets that match the given criteria by decoding the tickets.
+     * When the cipher is enabled, ticket ids are only kept as one-way digests,
+     * so headers that carry the actual ticket ids are built from the decoded tickets instead.
+     *
+     * @param criteria the criteria
+     * @return the ticket headers
+     */
+    protected Stream<TicketHeader> getDecodedTicketHeaders(final TicketHeaderCriteria criteria) {
+        return getTickets(criteria).map(this::buildDecodedTicketHeader);
+    }
+
+    private TicketHeader buildTicketHeader(final Ticket ticket, final String id, final String parentId) {
+        val header = TicketHeader.of(ticket, id, parentId);
+        return new TicketHeader(header.getId(), header.getPrefix(), encodeTicketPrincipal(header.getPrincipal()),
+            header.getCreationTime(), header.getLastTimeUsed(), header.getExpirationTime(), header.getParentId());
+    }
+
+    /**
+     * Encode the principal id that is kept in ticket headers.
+     * The principal id is normalized so that it can be matched by equality regardless of case.
+     * If the cipher is enabled, only a hash of the normalized principal id keyed with the signing key
+     * of the cipher is kept, so that principals are not stored in the clear next to encrypted tickets.
+     *
+     * @param principal the principal id
+     * @return the encoded principal id
+     */
+    protected String encodeTicketPrincipal(final String principal) {
+        if (StringUtils.isBlank(principal)) {
+            return principal;
+        }
+        val normalized = principal.trim().toLowerCase(Locale.ENGLISH);
+        if (!isCipherExecutorEnabled()) {
+            return normalized;
+        }
+        if (this.cipherExecutor instanceof AbstractCipherExecutor) {
+            val hash = ((AbstractCipherExecutor) this.cipherExecutor).hash(normalized);
+            if (hash != null) {
+                return hash;
+            }
+        }
+        LOGGER.trace("Cipher [{}] does not provide a signing key; principal ids in ticket headers are digested without a key",
+            this.cipherExecutor.getName());
+        return DigestUtils.sha512(normalized);
+    }
+
+    /**
+     * Gets the header of a ticket as it is stored in the registry.
+     * Encoded tickets carry their header; those that were stored
+     * without one are decoded first.
+     *
+     * @param ticket the stored ticket
+     * @return the ticket header
+     */
+    protected TicketHeader getTicketHeader(final Ticket ticket) {
+        if (ticket instanceof EncodedTicket) {
+            val header = ((EncodedTicket) ticket).getHeader();
+            if (header != null) {
+                return header;
+            }
+            val decoded = decodeTicket(ticket);
+            return decoded != null ? buildTicketHeader(decoded) : null;
+        }
+        return buildTicketHeader(ticket);
+    }
+
+    /**
+     * Encode the ticket ids and principal referenced by the criteria,
+     * so they match the values that are kept in ticket headers.
+     *
+     * @param criteria the criteria
+     * @return the criteria
+     */
+    protected TicketHeaderCriteria encodeTicketHeaderCriteria(final TicketHeaderCriteria criteria) {
+        val encoded = criteria.toBuilder().principal(encodeTicketPrincipal(criteria.getPrincipal()));
+        if (isCipherExecutorEnabled() && StringUtils.isNotBlank(criteria.getParentId())) {
+            encoded.parentId(encodeTicketId(criteria.getParentId()));
+        }
+        return encoded.build();
+    }
+
     protected boolean isCipherExecutorEnabled() {
         return this.cipherExecutor != null && this.cipherExecutor.isEnabled();
     }
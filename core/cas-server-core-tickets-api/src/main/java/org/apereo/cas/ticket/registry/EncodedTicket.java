@@ -40,6 +40,22 @@ public class EncodedTicket implements Ticket {
 
     private byte[] encodedTicket;
 
+    /**
+     * Unencrypted ticket metadata, stored alongside the encoded ticket
+     * so the ticket can be filtered without having to decode it.
+     */
+    private TicketHeader header;
+
+    /**
+     * Instantiates a new Encoded ticket.
+     *
+     * @param id            the encoded ticket id
+     * @param encodedTicket the encoded ticket
+     */
+    public EncodedTicket(final String id, final byte[] encodedTicket) {
+        this(id, encodedTicket, null);
+    }
+
     /**
      * Instantiates a new Encoded ticket.
      *
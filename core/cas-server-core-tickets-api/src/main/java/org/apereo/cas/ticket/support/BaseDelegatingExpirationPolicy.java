@@ -109,6 +109,25 @@ public abstract class BaseDelegatingExpirationPolicy extends AbstractCasExpirati
         return policy.getTimeToLive(ticketState);
     }
 
+    /**
+     * Checks the given ticketState and gets the idle time for the relevant expiration policy.
+     *
+     * @param ticketState The ticketState to get the delegated expiration policy for
+     * @return The idle time for the relevant expiration policy
+     */
+    @Override
+    public Long getTimeToIdle(final TicketState ticketState) {
+        val match = getExpirationPolicyFor(ticketState);
+        if (!match.isPresent()) {
+            LOGGER.warn("No expiration policy was found for ticket state [{}]. "
+                + "Consider configuring a predicate that delegates to an expiration policy.", ticketState);
+            return getTimeToIdle();
+        }
+        val policy = match.get();
+        LOGGER.debug("Getting idle time from policy [{}] for ticket [{}]", policy, ticketState);
+        return policy.getTimeToIdle(ticketState);
+    }
+
     @JsonIgnore
     @Override
     public Long getTimeToLive() {
@@ -0,0 +1,80 @@
+package org.apereo.cas.ticket;
+
+import org.apereo.cas.ticket.proxy.ProxyGrantingTicket;
+
+import lombok.val;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link DefaultTicketCatalogTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class DefaultTicketCatalogTests {
+    private DefaultTicketCatalog catalog;
+
+    private TicketDefinition tgt;
+
+    private TicketDefinition st;
+
+    private TicketDefinition sts;
+
+    private TicketDefinition pgt;
+
+    private TicketDefinition pgtiou;
+
+    @Before
+    public void initialize() {
+        this.catalog = new DefaultTicketCatalog();
+        this.tgt = new DefaultTicketDefinition(TicketGrantingTicketImpl.class, TicketGrantingTicket.PREFIX, 0);
+        this.st = new DefaultTicketDefinition(ServiceTicketImpl.class, ServiceTicket.PREFIX, 1);
+        this.sts = new DefaultTicketDefinition(ServiceTicketImpl.class, "STS", 2);
+        this.pgt = new DefaultTicketDefinition(ProxyGrantingTicketImpl.class, ProxyGrantingTicket.PROXY_GRANTING_TICKET_PREFIX, 3);
+        this.pgtiou = new DefaultTicketDefinition(ServiceTicketImpl.class, "PGT-IOU", 4);
+        Arrays.asList(pgtiou, sts, pgt, st, tgt).forEach(catalog::register);
+    }
+
+    @Test
+    public void verifyFindByTicketId() {
+        assertSame(tgt, catalog.find("TGT-1-3b0a8f0e54b7"));
+        assertSame(st, catalog.find("ST-1-3b0a8f0e54b7"));
+        assertSame(sts, catalog.find("STS-1-3b0a8f0e54b7"));
+        assertSame(pgt, catalog.find("PGT-1-3b0a8f0e54b7"));
+        assertSame(pgtiou, catalog.find("PGT-IOU-1-3b0a8f0e54b7"));
+        assertSame(tgt, catalog.find(TicketGrantingTicket.PREFIX));
+        assertNull(catalog.find("XYZ-1-3b0a8f0e54b7"));
+    }
+
+    @Test
+    public void verifyContainsPrefix() {
+        assertTrue(catalog.contains(ServiceTicket.PREFIX));
+        assertTrue(catalog.contains("PGT-IOU"));
+        assertFalse(catalog.contains("ST-1-3b0a8f0e54b7"));
+        assertFalse(catalog.contains("XYZ"));
+    }
+
+    @Test
+    public void verifyFindAllSorted() {
+        assertEquals(Arrays.asList(tgt, st, sts, pgt, pgtiou), catalog.findAll());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void verifyFindByClass() {
+        val ticketClass = (Class<Ticket>) (Class<?>) ProxyGrantingTicketImpl.class;
+        val definitions = catalog.find(ticketClass);
+        assertEquals(Arrays.asList(tgt, pgt), definitions);
+        assertSame(definitions, catalog.find(ticketClass));
+
+        val updated = new DefaultTicketDefinition(ProxyGrantingTicketImpl.class, ProxyGrantingTicket.PROXY_GRANTING_TICKET_PREFIX, -1);
+        catalog.update(updated);
+        assertEquals(Arrays.asList(updated, tgt), catalog.find(ticketClass));
+        assertSame(updated, catalog.find("PGT-2-3b0a8f0e54b7"));
+    }
+}
@@ -12,6 +12,7 @@ import org.apereo.cas.ticket.TicketGrantingTicketImpl;
 import org.apereo.cas.ticket.proxy.ProxyGrantingTicket;
 import org.apereo.cas.ticket.support.AlwaysExpiresExpirationPolicy;
 import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
+import org.apereo.cas.util.CollectionUtils;
 import org.apereo.cas.util.CoreTicketUtils;
 
 import lombok.val;
@@ -23,6 +24,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import static org.junit.Assert.*;
@@ -283,6 +285,55 @@ public abstract class BaseTicketRegistryTests {
         }
     }
 
+    @Test
+    public void verifyGetTicketsByHeaderCriteria() {
+        Assume.assumeTrue(isIterableRegistry());
+        val tgt1 = new TicketGrantingTicketImpl("TGT-1", CoreAuthenticationTestUtils.getAuthentication("casuser"),
+            new NeverExpiresExpirationPolicy());
+        val tgt2 = new TicketGrantingTicketImpl("TGT-2", CoreAuthenticationTestUtils.getAuthentication("otheruser"),
+            new NeverExpiresExpirationPolicy());
+        val st = tgt1.grantServiceTicket("ST-1", RegisteredServiceTestUtils.getService(),
+            new NeverExpiresExpirationPolicy(), false, true);
+        this.ticketRegistry.addTicket(tgt1);
+        this.ticketRegistry.addTicket(tgt2);
+        this.ticketRegistry.addTicket(st);
+
+        val byPrincipal = this.ticketRegistry.getTickets(TicketHeaderCriteria.builder()
+            .prefix(TicketGrantingTicket.PREFIX)
+            .principal("CASUSER")
+            .build())
+            .collect(Collectors.toList());
+        assertEquals(1, byPrincipal.size());
+        assertEquals(tgt1, byPrincipal.get(0));
+
+        val byParent = this.ticketRegistry.getTickets(TicketHeaderCriteria.builder()
+            .parentId(tgt1.getId())
+            .build())
+            .collect(Collectors.toList());
+        assertEquals(1, byParent.size());
+        assertEquals(st, byParent.get(0));
+
+        val headers = this.ticketRegistry.getTicketHeaders(TicketHeaderCriteria.builder()
+            .prefix(TicketGrantingTicket.PREFIX)
+            .build())
+            .collect(Collectors.toList());
+        assertEquals(2, headers.size());
+        assertTrue(headers.stream().allMatch(header -> TicketGrantingTicket.PREFIX.equals(header.getPrefix())));
+        assertEquals(CollectionUtils.wrapSet(tgt1.getId(), tgt2.getId()),
+            headers.stream().map(TicketHeader::getId).collect(Collectors.toSet()));
+
+        val childHeaders = this.ticketRegistry.getTicketHeaders(TicketHeaderCriteria.builder()
+            .parentId(tgt1.getId())
+            .build())
+            .collect(Collectors.toList());
+        assertEquals(1, childHeaders.size());
+        assertEquals(st.getId(), childHeaders.get(0).getId());
+        assertEquals(tgt1.getId(), childHeaders.get(0).getParentId());
+        if (!this.useEncryption) {
+            assertTrue(headers.stream().anyMatch(header -> "otheruser".equals(header.getPrincipal())));
+        }
+    }
+
     @Test
     @Transactional
     public void verifyDeleteTicketWithChildren() {
@@ -1,9 +1,15 @@
 package org.apereo.cas.ticket.registry;
 
 import org.apereo.cas.CipherExecutor;
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
 import org.apereo.cas.config.CasCoreTicketCatalogConfiguration;
 import org.apereo.cas.config.CasCoreTicketsConfiguration;
+import org.apereo.cas.configuration.model.core.util.EncryptionRandomizedSigningJwtCryptographyProperties;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
+import org.apereo.cas.util.CoreTicketUtils;
 
+import lombok.val;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
@@ -11,6 +17,8 @@ import org.springframework.boot.test.context.SpringBootTest;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Locale;
+import java.util.stream.Collectors;
 
 import static org.junit.Assert.*;
 
@@ -46,4 +54,23 @@ public class DefaultTicketRegistryTests extends BaseSpringRunnableTicketRegistry
     public void verifyOtherConstructor() {
         assertNotNull(new DefaultTicketRegistry(10, 10, 5, CipherExecutor.noOp()));
     }
+
+    @Test
+    public void verifyPrincipalNotKeptInTheClearWithEncryption() {
+        val registry = new DefaultTicketRegistry();
+        registry.setCipherExecutor(CoreTicketUtils.newTicketRegistryCipherExecutor(
+            new EncryptionRandomizedSigningJwtCryptographyProperties(), true, "[tests]"));
+        registry.addTicket(new TicketGrantingTicketImpl("TGT-1", CoreAuthenticationTestUtils.getAuthentication("casuser"),
+            new NeverExpiresExpirationPolicy()));
+        registry.addTicket(new TicketGrantingTicketImpl("TGT-2", CoreAuthenticationTestUtils.getAuthentication("otheruser"),
+            new NeverExpiresExpirationPolicy()));
+
+        val headers = registry.getTicketHeaders(TicketHeaderCriteria.builder().principal(" CasUser ").build())
+            .collect(Collectors.toList());
+        assertEquals(1, headers.size());
+        val principal = headers.get(0).getPrincipal();
+        assertNotNull(principal);
+        assertFalse(principal.toLowerCase(Locale.ENGLISH).contains("casuser"));
+        assertEquals(1, registry.getTickets(TicketHeaderCriteria.builder().principal("CASUSER").build()).count());
+    }
 }
@@ -87,6 +87,22 @@ public class RememberMeDelegatingExpirationPolicyTests {
         assertEquals(DEFAULT_TTL, p.getTimeToLive(t));
     }
 
+    @Test
+    public void verifyTicketTTIWithRememberMe() {
+        val rememberMe = new TicketGrantingTicketExpirationPolicy(REMEMBER_ME_TTL, REMEMBER_ME_TTL);
+        val policy = new RememberMeDelegatingExpirationPolicy(rememberMe);
+        policy.addPolicy(RememberMeDelegatingExpirationPolicy.PolicyTypes.REMEMBER_ME, rememberMe);
+        policy.addPolicy(RememberMeDelegatingExpirationPolicy.PolicyTypes.DEFAULT,
+            new TicketGrantingTicketExpirationPolicy(DEFAULT_TTL, DEFAULT_TTL));
+        val authentication = CoreAuthenticationTestUtils.getAuthentication(
+            this.principalFactory.createPrincipal("test"),
+            Collections.singletonMap(
+                RememberMeCredential.AUTHENTICATION_ATTRIBUTE_REMEMBER_ME, true));
+        assertEquals(REMEMBER_ME_TTL, policy.getTimeToIdle(new TicketGrantingTicketImpl("111", authentication, policy)));
+        assertEquals(DEFAULT_TTL, policy.getTimeToIdle(
+            new TicketGrantingTicketImpl("222", CoreAuthenticationTestUtils.getAuthentication(), policy)));
+    }
+
     @Test
     public void verifySerializeATimeoutExpirationPolicyToJson() throws IOException {
         MAPPER.writeValue(JSON_FILE, p);
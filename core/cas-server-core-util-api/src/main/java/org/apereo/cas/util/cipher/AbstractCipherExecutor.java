@@ -11,10 +11,13 @@ import lombok.Setter;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.apache.commons.codec.binary.Hex;
 import org.bouncycastle.jce.provider.BouncyCastleProvider;
 import org.jose4j.keys.AesKey;
 import org.jose4j.keys.RsaKeyUtil;
 
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.security.PrivateKey;
@@ -31,6 +34,7 @@ import java.security.Security;
 @Setter
 @NoArgsConstructor
 public abstract class AbstractCipherExecutor<T, R> implements CipherExecutor<T, R> {
+    private static final String HASH_ALGORITHM = "HmacSHA256";
 
     static {
         Security.addProvider(new BouncyCastleProvider());
@@ -89,6 +93,24 @@ public abstract class AbstractCipherExecutor<T, R> implements CipherExecutor<T,
 
     }
 
+    /**
+     * Compute a keyed hash of the given value with the signing key, so that values
+     * can be matched by equality without being kept in the clear. Unlike signed values,
+     * the hash does not carry the value itself.
+     *
+     * @param value the value
+     * @return the hex-encoded hash, or null if no signing key is defined
+     */
+    @SneakyThrows
+    public String hash(final String value) {
+        if (this.signingKey == null || this.signingKey.getEncoded() == null) {
+            return null;
+        }
+        val mac = Mac.getInstance(HASH_ALGORITHM);
+        mac.init(new SecretKeySpec(this.signingKey.getEncoded(), HASH_ALGORITHM));
+        return Hex.encodeHexString(mac.doFinal(value.getBytes(StandardCharsets.UTF_8)));
+    }
+
     /**
      * Sets signing key. If the key provided is resolved as a private key,
      * then will create use the private key as is, and will sign values
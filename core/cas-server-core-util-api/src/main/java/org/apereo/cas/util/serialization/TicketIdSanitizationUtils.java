@@ -8,8 +8,6 @@ import lombok.experimental.UtilityClass;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 
-import java.util.regex.Pattern;
-
 /**
  * This is {@link TicketIdSanitizationUtils} which attempts to remove
  * sensitive ticket ids from a given String.
@@ -19,9 +17,16 @@ import java.util.regex.Pattern;
  */
 @UtilityClass
 public class TicketIdSanitizationUtils {
-    private static final Pattern TICKET_ID_PATTERN = Pattern.compile("(?:(?:" + TicketGrantingTicket.PREFIX + '|'
-        + ProxyGrantingTicket.PROXY_GRANTING_TICKET_IOU_PREFIX + '|' + ProxyGrantingTicket.PROXY_GRANTING_TICKET_PREFIX
-        + ")-\\d+-)([\\w.-]+)");
+    /**
+     * Prefixes of ticket ids that are sanitized, in the order in which they are matched.
+     */
+    private static final String[] TICKET_ID_PREFIXES = {
+        TicketGrantingTicket.PREFIX + '-',
+        ProxyGrantingTicket.PROXY_GRANTING_TICKET_IOU_PREFIX + '-',
+        ProxyGrantingTicket.PROXY_GRANTING_TICKET_PREFIX + '-'
+    };
+
+    private static final char MASK = '*';
 
     /**
      * Specifies the ending tail length of the ticket id that would still be visible in the output
@@ -35,29 +40,114 @@ public class TicketIdSanitizationUtils {
      */
     private static final int HOST_NAME_LENGTH = InetAddressUtils.getCasServerHostName().length();
 
-
     /**
      * Remove ticket id from the message.
+     * Ticket ids are located in a single pass over the message, and the message is only copied if it contains any.
      *
      * @param msg the message
      * @return the modified message with tgt id removed
      */
     public static String sanitize(final String msg) {
-        var modifiedMessage = msg;
-        if (StringUtils.isNotBlank(msg) && !Boolean.getBoolean("CAS_TICKET_ID_SANITIZE_SKIP")) {
-            val matcher = TICKET_ID_PATTERN.matcher(msg);
-            while (matcher.find()) {
-                val match = matcher.group();
-                val group = matcher.group(1);
-                val length = group.length();
-                var replaceLength = length - VISIBLE_TAIL_LENGTH - (HOST_NAME_LENGTH + 1);
-                if (replaceLength <= 0) {
-                    replaceLength = length;
+        if (StringUtils.isEmpty(msg) || isSanitizationSkipped()) {
+            return msg;
+        }
+        val modifiedMessage = mask(msg, 0, null);
+        return modifiedMessage == null ? msg : modifiedMessage.toString();
+    }
+
+    /**
+     * Remove ticket ids from the given buffer in place, starting at the given index.
+     * Ticket ids are masked without changing the length of the buffer.
+     *
+     * @param buffer the buffer
+     * @param from   the index at which ticket ids are looked up
+     */
+    public static void sanitize(final StringBuilder buffer, final int from) {
+        if (!isSanitizationSkipped()) {
+            mask(buffer, from, buffer);
+        }
+    }
+
+    private static boolean isSanitizationSkipped() {
+        return Boolean.getBoolean("CAS_TICKET_ID_SANITIZE_SKIP");
+    }
+
+    /**
+     * Masks ticket ids found in the source into the target buffer, which is created from the source
+     * when the first ticket id is found if not provided.
+     */
+    private static StringBuilder mask(final CharSequence source, final int from, final StringBuilder target) {
+        var result = target;
+        val length = source.length();
+        var index = from;
+        while (index < length) {
+            val idStart = matchTicketIdPrefix(source, index, length);
+            if (idStart < 0) {
+                index++;
+            } else {
+                var idEnd = idStart;
+                while (idEnd < length && isTicketIdCharacter(source.charAt(idEnd))) {
+                    idEnd++;
+                }
+                if (result == null) {
+                    result = new StringBuilder(source);
+                }
+                val idLength = idEnd - idStart;
+                var maskLength = idLength - VISIBLE_TAIL_LENGTH - (HOST_NAME_LENGTH + 1);
+                if (maskLength <= 0) {
+                    maskLength = idLength;
+                }
+                for (var i = idStart; i < idStart + maskLength; i++) {
+                    result.setCharAt(i, MASK);
+                }
+                index = idEnd;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Matches a ticket id prefix, followed by a numeric sequence and a separator, at the given index,
+     * and returns the index at which the rest of the ticket id starts, or -1 if there is no ticket id.
+     */
+    private static int matchTicketIdPrefix(final CharSequence source, final int index, final int length) {
+        val first = source.charAt(index);
+        if (first != 'T' && first != 'P') {
+            return -1;
+        }
+        for (val prefix : TICKET_ID_PREFIXES) {
+            if (regionMatches(source, index, length, prefix)) {
+                var position = index + prefix.length();
+                val digits = position;
+                while (position < length && isDigit(source.charAt(position))) {
+                    position++;
+                }
+                if (position > digits && position + 1 < length && source.charAt(position) == '-'
+                    && isTicketIdCharacter(source.charAt(position + 1))) {
+                    return position + 1;
                 }
-                val newId = match.replace(group.substring(0, replaceLength), StringUtils.repeat("*", replaceLength));
-                modifiedMessage = modifiedMessage.replaceAll(match, newId);
             }
         }
-        return modifiedMessage;
+        return -1;
+    }
+
+    private static boolean regionMatches(final CharSequence source, final int index, final int length, final String prefix) {
+        if (index + prefix.length() > length) {
+            return false;
+        }
+        for (var i = 0; i < prefix.length(); i++) {
+            if (source.charAt(index + i) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isDigit(final char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isTicketIdCharacter(final char c) {
+        return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || isDigit(c) || c == '_' || c == '.' || c == '-';
     }
 }
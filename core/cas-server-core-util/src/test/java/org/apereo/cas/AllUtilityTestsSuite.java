@@ -24,6 +24,7 @@ import org.apereo.cas.util.http.HttpMessageTests;
 import org.apereo.cas.util.http.SimpleHttpClientTests;
 import org.apereo.cas.util.io.CommunicationsManagerTests;
 import org.apereo.cas.util.io.CopyServletOutputStreamTests;
+import org.apereo.cas.util.serialization.TicketIdSanitizationUtilsTests;
 
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
@@ -60,6 +61,7 @@ import org.junit.runners.Suite;
     BinaryCipherExecutorTests.class,
     ResourceUtilsTests.class,
     ScriptingUtilsTests.class,
+    TicketIdSanitizationUtilsTests.class,
     CopyServletOutputStreamTests.class
 })
 public class AllUtilityTestsSuite {
@@ -0,0 +1,43 @@
+package org.apereo.cas.util.serialization;
+
+import lombok.val;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link TicketIdSanitizationUtilsTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class TicketIdSanitizationUtilsTests {
+    private static final String TGT_ID = "TGT-1-bBfNqeH4sdjc1DEUdO2p9Gv4nGxz1EaQI5ITf2FMkR8dHtnpBK-cas01";
+
+    @Test
+    public void verifyMessageWithoutTicketIdIsUnchanged() {
+        val message = "Authentication of casuser succeeded with TGT- and PGT-x ids that are incomplete";
+        assertSame(message, TicketIdSanitizationUtils.sanitize(message));
+        assertNull(TicketIdSanitizationUtils.sanitize(null));
+    }
+
+    @Test
+    public void verifyTicketIdsAreMasked() {
+        val message = "Created [" + TGT_ID + "] and [PGT-12-shortid] for [PGTIOU-3-a.b_c-d]";
+        val result = TicketIdSanitizationUtils.sanitize(message);
+        assertEquals(message.length(), result.length());
+        assertFalse(result.contains(TGT_ID));
+        assertTrue(result.contains("[TGT-1-****"));
+        assertTrue(result.endsWith("and [PGT-12-*******] for [PGTIOU-3-*******]"));
+    }
+
+    @Test
+    public void verifyBufferIsMaskedInPlace() {
+        val buffer = new StringBuilder("[" + TGT_ID + "] ");
+        val start = buffer.length();
+        buffer.append("destroyed ").append(TGT_ID);
+        TicketIdSanitizationUtils.sanitize(buffer, start);
+        assertTrue(buffer.toString().startsWith("[" + TGT_ID + "] destroyed TGT-1-****"));
+        assertEquals(start + "destroyed ".length() + TGT_ID.length(), buffer.length());
+    }
+}
@@ -273,6 +273,17 @@ public abstract class AbstractCasView extends AbstractView {
         return (Service) model.get(CasViewConstants.MODEL_ATTRIBUTE_NAME_SERVICE);
     }
 
+    /**
+     * Gets the registered service that was matched for the validated service,
+     * if the controller has already resolved it.
+     *
+     * @param model the model
+     * @return the registered service, or null
+     */
+    protected RegisteredService getRegisteredServiceFrom(final Map<String, Object> model) {
+        return (RegisteredService) model.get(CasViewConstants.MODEL_ATTRIBUTE_NAME_REGISTERED_SERVICE);
+    }
+
     /**
      * Gets chained authentications.
      * Note that the last index in the list always describes the primary authentication
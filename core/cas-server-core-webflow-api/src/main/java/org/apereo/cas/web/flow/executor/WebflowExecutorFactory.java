@@ -30,9 +30,14 @@ import org.springframework.webflow.executor.FlowExecutorImpl;
 public class WebflowExecutorFactory {
     private final WebflowProperties webflowProperties;
     private final FlowDefinitionRegistry flowDefinitionRegistry;
-    private final CipherExecutor webflowCipherExecutor;
+    private final Transcoder webflowStateTranscoder;
     private final FlowExecutionListener[] executionListeners;
 
+    public WebflowExecutorFactory(final WebflowProperties webflowProperties, final FlowDefinitionRegistry flowDefinitionRegistry,
+                                  final CipherExecutor webflowCipherExecutor, final FlowExecutionListener[] executionListeners) {
+        this(webflowProperties, flowDefinitionRegistry, getWebflowStateTranscoder(webflowCipherExecutor), executionListeners);
+    }
+
     /**
      * Build flow executor.
      *
@@ -66,7 +71,7 @@ public class WebflowExecutorFactory {
     private FlowExecutor buildFlowExecutorViaClientFlowExecution() {
         val repository = new ClientFlowExecutionRepository();
         repository.setFlowDefinitionLocator(this.flowDefinitionRegistry);
-        repository.setTranscoder(getWebflowStateTranscoder());
+        repository.setTranscoder(this.webflowStateTranscoder);
 
         val factory = new FlowExecutionImplFactory();
         factory.setExecutionKeyFactory(repository);
@@ -77,8 +82,8 @@ public class WebflowExecutorFactory {
     }
 
     @SneakyThrows
-    private Transcoder getWebflowStateTranscoder() {
-        val cipherBean = new WebflowCipherBean(this.webflowCipherExecutor);
+    private static Transcoder getWebflowStateTranscoder(final CipherExecutor webflowCipherExecutor) {
+        val cipherBean = new WebflowCipherBean(webflowCipherExecutor);
         return new EncryptedTranscoder(cipherBean);
     }
 }
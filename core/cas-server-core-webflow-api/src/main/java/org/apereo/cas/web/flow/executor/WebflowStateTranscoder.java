@@ -0,0 +1,241 @@
+package org.apereo.cas.web.flow.executor;
+
+import org.apereo.cas.services.RegisteredService;
+import org.apereo.cas.services.ServicesManager;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apereo.spring.webflow.plugin.Transcoder;
+import org.cryptacular.bean.CipherBean;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
+
+/**
+ * This is {@link WebflowStateTranscoder} that encodes flow execution state that is kept on the client.
+ * <p>In its compact format, the state is written as a short header that carries the version of the format,
+ * followed by the Java serialization stream of the state deflated against a preset dictionary of names that
+ * commonly appear in CAS flow state. Registered services found in the state are not written; only their
+ * identifier is, and the service is looked up again from the services manager when the state is read.
+ * Otherwise, the state is written as a compressed serialization stream, which is the format used by
+ * earlier CAS versions. State in either format is always read back, so that nodes of a cluster can be upgraded
+ * one at a time before they all switch to the compact format.</p>
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class WebflowStateTranscoder implements Transcoder {
+    /**
+     * Version of the compact format that is written by this transcoder.
+     */
+    public static final byte VERSION = 1;
+
+    private static final byte[] MAGIC = {'C', 'W'};
+
+    private static final int HEADER_LENGTH = MAGIC.length + 1;
+
+    private static final int BUFFER_SIZE = 4096;
+
+    /**
+     * Names that commonly appear in serialized CAS flow state, with the most frequent ones last.
+     * The dictionary is part of version 1 of the compact format and must not change;
+     * a different dictionary requires a new version.
+     */
+    private static final byte[] DICTIONARY_V1 = String.join(";",
+        "java.lang.Boolean", "java.lang.Integer", "java.lang.Long", "java.lang.Number",
+        "java.time.ZonedDateTime", "java.time.Ser", "java.util.ArrayList", "java.util.LinkedHashMap",
+        "java.util.LinkedHashSet", "java.util.HashSet", "java.util.HashMap", "loadFactor", "threshold", "accessOrder",
+        "org.apereo.cas.authentication.BasicCredentialMetaData", "credentialClass",
+        "org.apereo.cas.authentication.DefaultAuthenticationHandlerExecutionResult", "handlerName", "warnings",
+        "org.apereo.cas.authentication.DefaultAuthentication", "authenticationDate", "successes", "failures",
+        "org.apereo.cas.authentication.DefaultAuthenticationResult", "org.apereo.cas.authentication.DefaultAuthenticationResultBuilder",
+        "authentications", "providedCredentials", "credentialsProvided", "credentialSatisfied",
+        "org.apereo.cas.authentication.principal.SimplePrincipal", "principal",
+        "org.apereo.cas.authentication.RememberMeUsernamePasswordCredential", "rememberMe",
+        "org.apereo.cas.authentication.UsernamePasswordCredential", "username", "password", "source",
+        "org.apereo.cas.authentication.principal.AbstractWebApplicationService",
+        "org.apereo.cas.authentication.principal.SimpleWebApplicationServiceImpl",
+        "originalUrl", "artifactId", "format", "loggedOutAlready",
+        "org.apereo.cas.web.flow.executor.WebflowStateTranscoder$RegisteredServiceReference",
+        "org.springframework.webflow.core.collection.LocalAttributeMap",
+        "org.springframework.webflow.core.collection.CollectionUtils$SharedMapDecorator",
+        "org.springframework.webflow.engine.impl.FlowSessionImpl", "flowId", "stateId", "scope",
+        "org.apereo.spring.webflow.plugin.SerializedFlowExecutionState", "executionId", "sessions", "attributes",
+        "flowScope", "viewScope", "conversationScope", "serviceTicketId", "ticketGrantingTicketId",
+        "authenticationResultBuilder", "authenticationResult", "authentication",
+        "registeredService", "service", "credential", "login", "logout", "id", "map", "value")
+        .getBytes(StandardCharsets.UTF_8);
+
+    private final CipherBean cipherBean;
+
+    private final ServicesManager servicesManager;
+
+    private final boolean compact;
+
+    public WebflowStateTranscoder(final CipherBean cipherBean, final ServicesManager servicesManager) {
+        this(cipherBean, servicesManager, true);
+    }
+
+    @Override
+    public byte[] encode(final Object o) throws IOException {
+        val bytes = new ByteArrayOutputStream(BUFFER_SIZE);
+        if (this.compact) {
+            bytes.write(MAGIC);
+            bytes.write(VERSION);
+            val deflater = new Deflater();
+            deflater.setDictionary(DICTIONARY_V1);
+            try (val out = new StateObjectOutputStream(new DeflaterOutputStream(bytes, deflater), this.servicesManager != null)) {
+                out.writeObject(o);
+            } finally {
+                deflater.end();
+            }
+        } else {
+            try (val out = new ObjectOutputStream(new GZIPOutputStream(bytes))) {
+                out.writeObject(o);
+            }
+        }
+        return this.cipherBean.encrypt(bytes.toByteArray());
+    }
+
+    @Override
+    public Object decode(final byte[] encoded) throws IOException {
+        val bytes = this.cipherBean.decrypt(encoded);
+        try {
+            if (isCompactFormat(bytes)) {
+                return decodeCompact(bytes);
+            }
+            if (isCompressedFormat(bytes)) {
+                try (val in = new ObjectInputStream(new GZIPInputStream(new ByteArrayInputStream(bytes)))) {
+                    return in.readObject();
+                }
+            }
+            try (val in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+                return in.readObject();
+            }
+        } catch (final ClassNotFoundException e) {
+            throw new IOException("Unable to deserialize flow execution state", e);
+        }
+    }
+
+    private Object decodeCompact(final byte[] bytes) throws IOException, ClassNotFoundException {
+        val version = bytes[MAGIC.length];
+        if (version != VERSION) {
+            throw new IOException("Flow execution state is encoded with version " + version
+                + " of the compact format, which is not supported by this version of CAS");
+        }
+        try (val in = new StateObjectInputStream(new ByteArrayInputStream(inflate(bytes)), this.servicesManager)) {
+            return in.readObject();
+        }
+    }
+
+    private static byte[] inflate(final byte[] bytes) throws IOException {
+        val inflater = new Inflater();
+        try {
+            inflater.setInput(bytes, HEADER_LENGTH, bytes.length - HEADER_LENGTH);
+            val out = new ByteArrayOutputStream(bytes.length * 4);
+            val buffer = new byte[BUFFER_SIZE];
+            while (!inflater.finished()) {
+                val count = inflater.inflate(buffer);
+                if (count == 0) {
+                    if (inflater.needsDictionary()) {
+                        inflater.setDictionary(DICTIONARY_V1);
+                    } else if (inflater.needsInput()) {
+                        throw new IOException("Flow execution state is truncated");
+                    }
+                }
+                out.write(buffer, 0, count);
+            }
+            return out.toByteArray();
+        } catch (final DataFormatException | IllegalArgumentException e) {
+            throw new IOException("Unable to inflate flow execution state", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static boolean isCompactFormat(final byte[] bytes) {
+        return bytes.length >= HEADER_LENGTH && bytes[0] == MAGIC[0] && bytes[1] == MAGIC[1];
+    }
+
+    private static boolean isCompressedFormat(final byte[] bytes) {
+        return bytes.length >= 2 && bytes[0] == (byte) GZIPInputStream.GZIP_MAGIC && bytes[1] == (byte) (GZIPInputStream.GZIP_MAGIC >> 8);
+    }
+
+    /**
+     * Stands in for a registered service in the serialized state.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    private static class RegisteredServiceReference implements Serializable {
+        private static final long serialVersionUID = -3278217371394637561L;
+
+        private final long id;
+    }
+
+    /**
+     * Writes registered services that are known to the registry by their identifier.
+     */
+    private static class StateObjectOutputStream extends ObjectOutputStream {
+        StateObjectOutputStream(final OutputStream out, final boolean replaceRegisteredServices) throws IOException {
+            super(out);
+            enableReplaceObject(replaceRegisteredServices);
+        }
+
+        @Override
+        protected Object replaceObject(final Object obj) {
+            if (obj instanceof RegisteredService) {
+                val id = ((RegisteredService) obj).getId();
+                if (id != RegisteredService.INITIAL_IDENTIFIER_VALUE) {
+                    return new RegisteredServiceReference(id);
+                }
+            }
+            return obj;
+        }
+    }
+
+    /**
+     * Looks up registered services that are written by their identifier.
+     */
+    private static class StateObjectInputStream extends ObjectInputStream {
+        private final ServicesManager servicesManager;
+
+        StateObjectInputStream(final InputStream in, final ServicesManager servicesManager) throws IOException {
+            super(in);
+            this.servicesManager = servicesManager;
+            enableResolveObject(true);
+        }
+
+        @Override
+        protected Object resolveObject(final Object obj) throws IOException {
+            if (obj instanceof RegisteredServiceReference) {
+                val id = ((RegisteredServiceReference) obj).getId();
+                if (this.servicesManager == null) {
+                    throw new IOException("Registered service " + id + " in flow execution state cannot be resolved without a services manager");
+                }
+                val registeredService = this.servicesManager.findServiceBy(id);
+                if (registeredService == null) {
+                    LOGGER.warn("Registered service [{}] in flow execution state can no longer be found", id);
+                }
+                return registeredService;
+            }
+            return obj;
+        }
+    }
+}
@@ -2,6 +2,8 @@ package org.apereo.cas.web.flow.config;
 
 import org.apereo.cas.CipherExecutor;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.model.webapp.WebflowSessionManagementProperties;
+import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.util.CollectionUtils;
 import org.apereo.cas.web.flow.CasFlowHandlerAdapter;
 import org.apereo.cas.web.flow.CasWebflowConfigurer;
@@ -13,10 +15,13 @@ import org.apereo.cas.web.flow.configurer.DefaultLoginWebflowConfigurer;
 import org.apereo.cas.web.flow.configurer.DefaultLogoutWebflowConfigurer;
 import org.apereo.cas.web.flow.configurer.GroovyWebflowConfigurer;
 import org.apereo.cas.web.flow.configurer.plan.DefaultCasWebflowExecutionPlan;
+import org.apereo.cas.web.flow.executor.WebflowCipherBean;
 import org.apereo.cas.web.flow.executor.WebflowExecutorFactory;
+import org.apereo.cas.web.flow.executor.WebflowStateTranscoder;
 import org.apereo.cas.web.support.AuthenticationThrottlingExecutionPlan;
 
 import lombok.val;
+import org.apereo.spring.webflow.plugin.Transcoder;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -86,6 +91,10 @@ public class CasWebflowContextConfiguration {
     @Qualifier("webflowCipherExecutor")
     private CipherExecutor webflowCipherExecutor;
 
+    @Autowired
+    @Qualifier("servicesManager")
+    private ObjectProvider<ServicesManager> servicesManager;
+
     @Bean
     public ExpressionParser expressionParser() {
         return new WebFlowSpringELExpressionParser(new SpelExpressionParser(), logoutConversionService());
@@ -200,11 +209,20 @@ public class CasWebflowContextConfiguration {
         return builder.build();
     }
 
+    @RefreshScope
+    @Bean
+    @ConditionalOnMissingBean(name = "webflowStateTranscoder")
+    public Transcoder webflowStateTranscoder() {
+        val format = casProperties.getWebflow().getSession().getClientStateFormat();
+        return new WebflowStateTranscoder(new WebflowCipherBean(this.webflowCipherExecutor), servicesManager.getIfAvailable(),
+            format == WebflowSessionManagementProperties.ClientStateFormats.COMPACT);
+    }
+
     @RefreshScope
     @Bean
     public FlowExecutor logoutFlowExecutor() {
         val factory = new WebflowExecutorFactory(casProperties.getWebflow(),
-            logoutFlowRegistry(), this.webflowCipherExecutor, new FlowExecutionListener[0]);
+            logoutFlowRegistry(), webflowStateTranscoder(), new FlowExecutionListener[0]);
         return factory.build();
     }
 
@@ -212,7 +230,7 @@ public class CasWebflowContextConfiguration {
     @Bean
     public FlowExecutor loginFlowExecutor() {
         val factory = new WebflowExecutorFactory(casProperties.getWebflow(),
-            loginFlowRegistry(), this.webflowCipherExecutor,
+            loginFlowRegistry(), webflowStateTranscoder(),
             new FlowExecutionListener[0]);
 
         return factory.build();
@@ -0,0 +1,98 @@
+package org.apereo.cas.web.flow.executor;
+
+import org.apereo.cas.CipherExecutor;
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.services.RegexRegisteredService;
+import org.apereo.cas.services.RegisteredService;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.services.ServicesManager;
+
+import lombok.val;
+import org.apereo.spring.webflow.plugin.EncryptedTranscoder;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.webflow.core.collection.LocalAttributeMap;
+
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link WebflowStateTranscoderTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class WebflowStateTranscoderTests {
+    private final WebflowCipherBean cipherBean = new WebflowCipherBean(CipherExecutor.noOp());
+
+    private RegexRegisteredService registeredService;
+
+    private ServicesManager servicesManager;
+
+    private LocalAttributeMap<Object> state;
+
+    @Before
+    public void initialize() {
+        this.registeredService = new RegexRegisteredService();
+        this.registeredService.setId(1000);
+        this.registeredService.setName("Example");
+        this.registeredService.setServiceId("^https://app.example.org/.*");
+        this.registeredService.setDescription("Example application");
+
+        this.servicesManager = mock(ServicesManager.class);
+        when(servicesManager.findServiceBy(1000)).thenReturn(this.registeredService);
+
+        this.state = new LocalAttributeMap<>();
+        state.put("service", RegisteredServiceTestUtils.getService("https://app.example.org/login"));
+        state.put("registeredService", this.registeredService);
+        state.put("credential", CoreAuthenticationTestUtils.getCredentialsWithSameUsernameAndPassword());
+    }
+
+    @Test
+    public void verifyCompactStateResolvesRegisteredService() throws Exception {
+        val transcoder = new WebflowStateTranscoder(cipherBean, servicesManager);
+        val decoded = (LocalAttributeMap) transcoder.decode(transcoder.encode(state));
+        assertEquals(state.get("service"), decoded.get("service"));
+        assertEquals(state.get("credential"), decoded.get("credential"));
+        assertSame(this.registeredService, decoded.get("registeredService"));
+        verify(servicesManager).findServiceBy(1000);
+    }
+
+    @Test
+    public void verifyCompactStateIsSmaller() throws Exception {
+        val compact = new WebflowStateTranscoder(cipherBean, servicesManager).encode(state);
+        val serialized = new WebflowStateTranscoder(cipherBean, servicesManager, false).encode(state);
+        assertTrue(compact.length < serialized.length);
+    }
+
+    @Test
+    public void verifyUnsavedRegisteredServiceIsKept() throws Exception {
+        this.registeredService.setId(RegisteredService.INITIAL_IDENTIFIER_VALUE);
+        val transcoder = new WebflowStateTranscoder(cipherBean, servicesManager);
+        val decoded = (LocalAttributeMap) transcoder.decode(transcoder.encode(state));
+        assertEquals(this.registeredService, decoded.get("registeredService"));
+        verifyZeroInteractions(servicesManager);
+    }
+
+    @Test
+    public void verifySerializedStateIsDecoded() throws Exception {
+        val transcoder = new WebflowStateTranscoder(cipherBean, servicesManager);
+        val legacy = new EncryptedTranscoder(cipherBean);
+        val decoded = (LocalAttributeMap) transcoder.decode(legacy.encode(state));
+        assertEquals(state.get("service"), decoded.get("service"));
+        assertEquals(this.registeredService, decoded.get("registeredService"));
+
+        val serialized = new WebflowStateTranscoder(cipherBean, servicesManager, false);
+        assertEquals(state.get("credential"), ((LocalAttributeMap) legacy.decode(serialized.encode(state))).get("credential"));
+    }
+
+    @Test(expected = IOException.class)
+    public void verifyUnknownVersionIsRejected() throws Exception {
+        val transcoder = new WebflowStateTranscoder(cipherBean, servicesManager);
+        val encoded = transcoder.encode(state);
+        encoded[2] = WebflowStateTranscoder.VERSION + 1;
+        transcoder.decode(encoded);
+    }
+}
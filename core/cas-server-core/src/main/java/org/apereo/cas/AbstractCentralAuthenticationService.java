@@ -17,6 +17,7 @@ import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketFactory;
 import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.ticket.UnsatisfiedAuthenticationPolicyException;
+import org.apereo.cas.ticket.registry.TicketHeaderCriteria;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 
 import lombok.AllArgsConstructor;
@@ -146,6 +147,12 @@ public abstract class AbstractCentralAuthenticationService implements CentralAut
         return this.ticketRegistry.getTickets().stream().filter(predicate).collect(Collectors.toSet());
     }
 
+    @Transactional(transactionManager = "ticketTransactionManager")
+    @Override
+    public Collection<Ticket> getTickets(final TicketHeaderCriteria criteria, final Predicate<Ticket> predicate) {
+        return this.ticketRegistry.getTickets(criteria).filter(predicate).collect(Collectors.toSet());
+    }
+
     @Transactional(transactionManager = "ticketTransactionManager")
     @Override
     public void deleteTicket(final String ticketId) {
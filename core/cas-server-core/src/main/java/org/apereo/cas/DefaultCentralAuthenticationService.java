@@ -52,6 +52,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Concrete implementation of a {@link CentralAuthenticationService}, and also the
@@ -159,12 +160,17 @@ public class DefaultCentralAuthenticationService extends AbstractCentralAuthenti
         AuthenticationCredentialsThreadLocalBinder.bindCurrent(latestAuthentication);
         val principal = latestAuthentication.getPrincipal();
         val factory = (ServiceTicketFactory) this.ticketFactory.get(ServiceTicket.class);
-        val serviceTicket = factory.create(ticketGrantingTicket, service, credentialProvided, ServiceTicket.class);
-        this.ticketRegistry.updateTicket(ticketGrantingTicket);
+        val grantedServiceTicket = new AtomicReference<ServiceTicket>();
+        val updatedTicketGrantingTicket = this.ticketRegistry.updateTicket(ticketGrantingTicket,
+            tgt -> grantedServiceTicket.set(factory.create(tgt, service, credentialProvided, ServiceTicket.class)));
+        if (updatedTicketGrantingTicket == null) {
+            throw new InvalidTicketException(ticketGrantingTicketId);
+        }
+        val serviceTicket = grantedServiceTicket.get();
         this.ticketRegistry.addTicket(serviceTicket);
 
         LOGGER.info("Granted ticket [{}] for service [{}] and principal [{}]", serviceTicket.getId(), DigestUtils.abbreviate(service.getId()), principal.getId());
-        doPublishEvent(new CasServiceTicketGrantedEvent(this, ticketGrantingTicket, serviceTicket));
+        doPublishEvent(new CasServiceTicketGrantedEvent(this, updatedTicketGrantingTicket, serviceTicket));
         return serviceTicket;
     }
 
@@ -204,15 +210,19 @@ public class DefaultCentralAuthenticationService extends AbstractCentralAuthenti
 
         val principal = authentication.getPrincipal();
         val factory = (ProxyTicketFactory) this.ticketFactory.get(ProxyTicket.class);
-        val proxyTicket = factory.create(proxyGrantingTicketObject, service, ProxyTicket.class);
-
-        this.ticketRegistry.updateTicket(proxyGrantingTicketObject);
+        val grantedProxyTicket = new AtomicReference<ProxyTicket>();
+        val updatedProxyGrantingTicket = this.ticketRegistry.updateTicket(proxyGrantingTicketObject,
+            pgt -> grantedProxyTicket.set(factory.create(pgt, service, ProxyTicket.class)));
+        if (updatedProxyGrantingTicket == null) {
+            throw new InvalidTicketException(proxyGrantingTicket);
+        }
+        val proxyTicket = grantedProxyTicket.get();
         this.ticketRegistry.addTicket(proxyTicket);
 
         LOGGER.info("Granted ticket [{}] for service [{}] for user [{}]",
             proxyTicket.getId(), service.getId(), principal.getId());
 
-        doPublishEvent(new CasProxyTicketGrantedEvent(this, proxyGrantingTicketObject, proxyTicket));
+        doPublishEvent(new CasProxyTicketGrantedEvent(this, updatedProxyGrantingTicket, proxyTicket));
         return proxyTicket;
     }
 
@@ -42,7 +42,7 @@ public class DynamoDbTicketRegistryConfiguration {
 
     @Autowired
     @RefreshScope
-    @Bean
+    @Bean(destroyMethod = "close")
     public DynamoDbTicketRegistryFacilitator dynamoDbTicketRegistryFacilitator(@Qualifier("ticketCatalog") final TicketCatalog ticketCatalog) {
         val db = casProperties.getTicket().getRegistry().getDynamoDb();
         val f = new DynamoDbTicketRegistryFacilitator(ticketCatalog, db, amazonDynamoDbClient());
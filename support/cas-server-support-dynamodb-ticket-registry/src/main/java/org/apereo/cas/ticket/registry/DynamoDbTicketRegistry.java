@@ -2,12 +2,15 @@ package org.apereo.cas.ticket.registry;
 
 import org.apereo.cas.CipherExecutor;
 import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
 
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.stream.Stream;
 
 /**
  * This is {@link DynamoDbTicketRegistry}.
@@ -62,6 +65,57 @@ public class DynamoDbTicketRegistry extends AbstractTicketRegistry {
         return decodeTickets(this.dbTableService.getAll());
     }
 
+    /**
+     * Gets tickets that match the criteria.
+     * When the criteria name a principal, tickets are located through
+     * the principal index of each table rather than a full scan.
+     *
+     * @param criteria the criteria
+     * @return the tickets
+     */
+    @Override
+    public Stream<Ticket> getTickets(final TicketHeaderCriteria criteria) {
+        if (StringUtils.isBlank(criteria.getPrincipal())) {
+            return super.getTickets(criteria);
+        }
+        try {
+            val encodedCriteria = encodeTicketHeaderCriteria(criteria);
+            return decodeTickets(this.dbTableService.getAllByPrincipal(encodedCriteria.getPrincipal(), criteria.getPrefixes()))
+                .stream()
+                .filter(ticket -> criteria.test(TicketHeader.of(ticket)));
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to query tickets by principal [{}]; falling back to a full scan: [{}]", criteria.getPrincipal(), e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+            return super.getTickets(criteria);
+        }
+    }
+
+    @Override
+    public Stream<TicketHeader> getTicketHeaders(final TicketHeaderCriteria criteria) {
+        if (StringUtils.isBlank(criteria.getPrincipal())) {
+            return super.getTicketHeaders(criteria);
+        }
+        return getTickets(criteria).map(TicketHeader::of);
+    }
+
+    /**
+     * Delete the service tickets of the ticket-granting ticket
+     * using batched write requests.
+     *
+     * @param ticket the ticket
+     * @return the count of tickets submitted for deletion
+     */
+    @Override
+    protected int deleteChildren(final TicketGrantingTicket ticket) {
+        val services = ticket.getServices();
+        if (services == null || services.isEmpty()) {
+            return 0;
+        }
+        val ticketIds = new LinkedHashMap<String, String>();
+        services.keySet().forEach(ticketId -> ticketIds.put(ticketId, encodeTicketId(ticketId)));
+        return this.dbTableService.delete(ticketIds);
+    }
+
     @Override
     public Ticket updateTicket(final Ticket ticket) {
         addTicket(ticket);
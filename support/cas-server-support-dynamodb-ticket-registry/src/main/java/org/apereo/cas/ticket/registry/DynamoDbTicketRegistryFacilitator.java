@@ -8,23 +8,39 @@ import org.apereo.cas.util.CollectionUtils;
 import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
 import com.amazonaws.services.dynamodbv2.model.AttributeDefinition;
 import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.BatchGetItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemRequest;
 import com.amazonaws.services.dynamodbv2.model.CreateTableRequest;
 import com.amazonaws.services.dynamodbv2.model.DeleteItemRequest;
+import com.amazonaws.services.dynamodbv2.model.DeleteRequest;
 import com.amazonaws.services.dynamodbv2.model.DeleteTableRequest;
 import com.amazonaws.services.dynamodbv2.model.DescribeTableRequest;
 import com.amazonaws.services.dynamodbv2.model.GetItemRequest;
+import com.amazonaws.services.dynamodbv2.model.GlobalSecondaryIndex;
 import com.amazonaws.services.dynamodbv2.model.KeySchemaElement;
 import com.amazonaws.services.dynamodbv2.model.KeyType;
+import com.amazonaws.services.dynamodbv2.model.KeysAndAttributes;
+import com.amazonaws.services.dynamodbv2.model.Projection;
+import com.amazonaws.services.dynamodbv2.model.ProjectionType;
 import com.amazonaws.services.dynamodbv2.model.ProvisionedThroughput;
 import com.amazonaws.services.dynamodbv2.model.PutItemRequest;
+import com.amazonaws.services.dynamodbv2.model.QueryRequest;
 import com.amazonaws.services.dynamodbv2.model.ScalarAttributeType;
 import com.amazonaws.services.dynamodbv2.model.ScanRequest;
+import com.amazonaws.services.dynamodbv2.model.ScanResult;
+import com.amazonaws.services.dynamodbv2.model.Select;
+import com.amazonaws.services.dynamodbv2.model.TimeToLiveSpecification;
+import com.amazonaws.services.dynamodbv2.model.UpdateTimeToLiveRequest;
+import com.amazonaws.services.dynamodbv2.model.WriteRequest;
 import com.amazonaws.services.dynamodbv2.util.TableUtils;
+import com.google.common.collect.Lists;
+import lombok.AccessLevel;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.SerializationUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.jooq.lambda.Unchecked;
 
 import java.io.ByteArrayInputStream;
@@ -32,24 +48,92 @@ import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * This is {@link DynamoDbTicketRegistryFacilitator}.
+ * Tables are scanned in parallel segments on a dedicated pool of threads, following every page of results.
+ * Unprocessed items and keys of batched requests are resubmitted with exponential backoff and jitter.
+ * Items carry a time-to-live attribute so DynamoDb removes expired tickets on its own,
+ * and a lower-cased principal attribute that is indexed to look up tickets of a principal.
  *
  * @author Misagh Moayyed
  * @since 5.1.0
  */
 @Slf4j
 @Getter
-@RequiredArgsConstructor
-public class DynamoDbTicketRegistryFacilitator {
+public class DynamoDbTicketRegistryFacilitator implements AutoCloseable {
+    /**
+     * Name of the global secondary index on the principal attribute.
+     */
+    public static final String PRINCIPAL_INDEX_NAME = "principalIndex";
+
+    private static final int BATCH_WRITE_MAX_ITEMS = 25;
+
+    private static final int BATCH_GET_MAX_ITEMS = 100;
+
+    private static final int BATCH_MAX_ATTEMPTS = 10;
+
+    private static final long BATCH_BACKOFF_BASE_MILLIS = 50;
+
+    private static final long BATCH_BACKOFF_MAX_MILLIS = 5_000;
+
     private final TicketCatalog ticketCatalog;
     private final DynamoDbTicketRegistryProperties dynamoDbProperties;
     private final AmazonDynamoDB amazonDynamoDBClient;
 
+    @Getter(AccessLevel.NONE)
+    private final ExecutorService scanExecutor;
+
+    public DynamoDbTicketRegistryFacilitator(final TicketCatalog ticketCatalog,
+                                             final DynamoDbTicketRegistryProperties dynamoDbProperties,
+                                             final AmazonDynamoDB amazonDynamoDBClient) {
+        this.ticketCatalog = ticketCatalog;
+        this.dynamoDbProperties = dynamoDbProperties;
+        this.amazonDynamoDBClient = amazonDynamoDBClient;
+        val segments = Math.max(1, dynamoDbProperties.getScanTotalSegments());
+        val executor = new ThreadPoolExecutor(segments, segments, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+            new BasicThreadFactory.Builder().namingPattern("cas-dynamodb-scan-%d").daemon(true).build());
+        executor.allowCoreThreadTimeOut(true);
+        this.scanExecutor = executor;
+    }
+
+    /**
+     * Wait before resubmitting the unprocessed part of a batched request.
+     * The wait grows exponentially with the attempt, up to a maximum, and a random
+     * portion of it is used so that concurrent requests do not retry in lockstep.
+     *
+     * @param attempt the attempt that left items unprocessed, starting at 1
+     * @return true if the request may be resubmitted; false once the attempts are exhausted
+     */
+    private static boolean backoff(final int attempt) {
+        if (attempt >= BATCH_MAX_ATTEMPTS) {
+            return false;
+        }
+        val ceiling = Math.min(BATCH_BACKOFF_MAX_MILLIS, BATCH_BACKOFF_BASE_MILLIS << Math.min(attempt - 1, 16));
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+            return true;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
     private static Ticket deserializeTicket(final Map<String, AttributeValue> returnItem) {
         val bb = returnItem.get(ColumnNames.ENCODED.getColumnName()).getB();
         LOGGER.debug("Located binary encoding of ticket item [{}]. Transforming item into ticket object", returnItem);
@@ -81,21 +165,58 @@ public class DynamoDbTicketRegistryFacilitator {
         return false;
     }
 
+    /**
+     * Delete the given tickets using batched write requests.
+     * Unprocessed items reported by DynamoDb are resubmitted with backoff, a limited number of times;
+     * items that remain unprocessed are left for the table time-to-live or the registry cleaner to remove.
+     *
+     * @param ticketIds the ticket ids, mapped to their encoded ids
+     * @return the number of tickets submitted for deletion
+     */
+    public int delete(final Map<String, String> ticketIds) {
+        val requests = new HashMap<String, List<WriteRequest>>();
+        ticketIds.forEach((ticketId, encodedTicketId) -> {
+            val metadata = this.ticketCatalog.find(ticketId);
+            if (metadata != null) {
+                val delete = new DeleteRequest(CollectionUtils.wrap(ColumnNames.ID.getColumnName(), new AttributeValue(encodedTicketId)));
+                requests.computeIfAbsent(metadata.getProperties().getStorageName(), k -> new ArrayList<>()).add(new WriteRequest(delete));
+            }
+        });
+        requests.forEach((tableName, writes) -> Lists.partition(writes, BATCH_WRITE_MAX_ITEMS).forEach(batch -> {
+            Map<String, List<WriteRequest>> items = CollectionUtils.wrap(tableName, new ArrayList<>(batch));
+            for (var attempt = 1; ; attempt++) {
+                LOGGER.debug("Submitting batch write request with [{}] item(s) to table [{}]", items.get(tableName).size(), tableName);
+                items = amazonDynamoDBClient.batchWriteItem(new BatchWriteItemRequest(items)).getUnprocessedItems();
+                if (items == null || items.isEmpty()) {
+                    break;
+                }
+                if (!backoff(attempt)) {
+                    LOGGER.warn("[{}] item(s) of table [{}] remain unprocessed after [{}] batch write attempt(s)",
+                        items.get(tableName).size(), tableName, attempt);
+                    break;
+                }
+            }
+        }));
+        return requests.values().stream().mapToInt(List::size).sum();
+    }
+
     /**
      * Delete all.
      *
      * @return the int
      */
     public int deleteAll() {
-        val count = new AtomicInteger();
-        val metadata = this.ticketCatalog.findAll();
-        metadata.forEach(r -> {
-            val scan = new ScanRequest(r.getProperties().getStorageName());
-            LOGGER.debug("Submitting scan request [{}] to table [{}]", scan, r.getProperties().getStorageName());
-            count.addAndGet(this.amazonDynamoDBClient.scan(scan).getCount());
-        });
+        val count = this.ticketCatalog.findAll()
+            .stream()
+            .mapToInt(r -> {
+                val tableName = r.getProperties().getStorageName();
+                val total = new AtomicInteger();
+                scan(tableName, new ScanRequest(tableName).withSelect(Select.COUNT), result -> total.addAndGet(result.getCount()));
+                return total.get();
+            })
+            .sum();
         createTicketTables(true);
-        return count.get();
+        return count;
     }
 
     /**
@@ -104,14 +225,75 @@ public class DynamoDbTicketRegistryFacilitator {
      * @return the all
      */
     public Collection<Ticket> getAll() {
-        val tickets = new ArrayList<Ticket>();
-        val metadata = this.ticketCatalog.findAll();
-        metadata.forEach(r -> {
-            val scan = new ScanRequest(r.getProperties().getStorageName());
-            LOGGER.debug("Scanning table with request [{}]", scan);
-            val result = this.amazonDynamoDBClient.scan(scan);
-            LOGGER.debug("Scanned table with result [{}]", scan);
-            tickets.addAll(result.getItems().stream().map(DynamoDbTicketRegistryFacilitator::deserializeTicket).collect(Collectors.toList()));
+        return this.ticketCatalog.findAll()
+            .stream()
+            .map(r -> scanTable(r.getProperties().getStorageName()))
+            .flatMap(Collection::stream)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Gets tickets that belong to the given principal, using the principal index
+     * of each table to find the ticket ids and batched requests to read the tickets.
+     *
+     * @param principal the principal
+     * @param prefixes  the ticket prefixes whose tables should be queried; all if empty
+     * @return the tickets
+     */
+    public Collection<Ticket> getAllByPrincipal(final String principal, final Collection<String> prefixes) {
+        return this.ticketCatalog.findAll()
+            .stream()
+            .filter(r -> prefixes.isEmpty() || prefixes.contains(r.getPrefix()))
+            .map(r -> r.getProperties().getStorageName())
+            .distinct()
+            .map(tableName -> {
+                val keys = new ArrayList<Map<String, AttributeValue>>();
+                val request = new QueryRequest(tableName)
+                    .withIndexName(PRINCIPAL_INDEX_NAME)
+                    .withKeyConditionExpression("#p = :principal")
+                    .withExpressionAttributeNames(CollectionUtils.wrap("#p", ColumnNames.PRINCIPAL.getColumnName()))
+                    .withExpressionAttributeValues(CollectionUtils.wrap(":principal", new AttributeValue(principal.toLowerCase(Locale.ENGLISH))));
+                Map<String, AttributeValue> lastKey = null;
+                do {
+                    val result = amazonDynamoDBClient.query(request.withExclusiveStartKey(lastKey));
+                    result.getItems().forEach(item -> keys.add(CollectionUtils.wrap(ColumnNames.ID.getColumnName(), item.get(ColumnNames.ID.getColumnName()))));
+                    lastKey = result.getLastEvaluatedKey();
+                } while (lastKey != null && !lastKey.isEmpty());
+                LOGGER.debug("Located [{}] ticket(s) for principal [{}] in table [{}]", keys.size(), principal, tableName);
+                return getAll(tableName, keys);
+            })
+            .flatMap(Collection::stream)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Read the items with the given keys from the table using batched get requests.
+     * Unprocessed keys reported by DynamoDb are resubmitted with backoff, a limited number of times.
+     *
+     * @param tableName the table name
+     * @param keys      the item keys
+     * @return the tickets
+     */
+    public Collection<Ticket> getAll(final String tableName, final List<Map<String, AttributeValue>> keys) {
+        val tickets = new ArrayList<Ticket>(keys.size());
+        Lists.partition(keys, BATCH_GET_MAX_ITEMS).forEach(batch -> {
+            Map<String, KeysAndAttributes> request = CollectionUtils.wrap(tableName, new KeysAndAttributes().withKeys(batch));
+            for (var attempt = 1; ; attempt++) {
+                LOGGER.debug("Submitting batch get request for [{}] item(s) to table [{}]", request.get(tableName).getKeys().size(), tableName);
+                val result = amazonDynamoDBClient.batchGetItem(new BatchGetItemRequest(request));
+                result.getResponses().values().forEach(items -> items.stream()
+                    .map(DynamoDbTicketRegistryFacilitator::deserializeTicket)
+                    .filter(Objects::nonNull)
+                    .forEach(tickets::add));
+                request = result.getUnprocessedKeys();
+                if (request == null || request.isEmpty()) {
+                    break;
+                }
+                if (!backoff(attempt)) {
+                    throw new IllegalStateException(String.format("%s item(s) of table %s remain unprocessed after %s batch get attempt(s)",
+                        request.get(tableName).getKeys().size(), tableName, attempt));
+                }
+            }
         });
         return tickets;
     }
@@ -160,7 +342,6 @@ public class DynamoDbTicketRegistryFacilitator {
         LOGGER.debug("Submitting put request [{}] for ticket id [{}]", putItemRequest, encodedTicket.getId());
         val putItemResult = amazonDynamoDBClient.putItem(putItemRequest);
         LOGGER.debug("Ticket added with result [{}]", putItemResult);
-        getAll();
     }
 
     /**
@@ -171,11 +352,18 @@ public class DynamoDbTicketRegistryFacilitator {
     public void createTicketTables(final boolean deleteTables) {
         val metadata = this.ticketCatalog.findAll();
         metadata.forEach(Unchecked.consumer(r -> {
+            val throughput = new ProvisionedThroughput(dynamoDbProperties.getReadCapacity(), dynamoDbProperties.getWriteCapacity());
+            val principalIndex = new GlobalSecondaryIndex()
+                .withIndexName(PRINCIPAL_INDEX_NAME)
+                .withKeySchema(new KeySchemaElement(ColumnNames.PRINCIPAL.getColumnName(), KeyType.HASH))
+                .withProjection(new Projection().withProjectionType(ProjectionType.KEYS_ONLY))
+                .withProvisionedThroughput(throughput);
             val request = new CreateTableRequest()
-                .withAttributeDefinitions(new AttributeDefinition(ColumnNames.ID.getColumnName(), ScalarAttributeType.S))
+                .withAttributeDefinitions(new AttributeDefinition(ColumnNames.ID.getColumnName(), ScalarAttributeType.S),
+                    new AttributeDefinition(ColumnNames.PRINCIPAL.getColumnName(), ScalarAttributeType.S))
                 .withKeySchema(new KeySchemaElement(ColumnNames.ID.getColumnName(), KeyType.HASH))
-                .withProvisionedThroughput(new ProvisionedThroughput(dynamoDbProperties.getReadCapacity(),
-                    dynamoDbProperties.getWriteCapacity())).withTableName(r.getProperties().getStorageName());
+                .withGlobalSecondaryIndexes(principalIndex)
+                .withProvisionedThroughput(throughput).withTableName(r.getProperties().getStorageName());
             if (deleteTables) {
                 val delete = new DeleteTableRequest(r.getProperties().getStorageName());
                 LOGGER.debug("Sending delete request [{}] to remove table if necessary", delete);
@@ -189,6 +377,9 @@ public class DynamoDbTicketRegistryFacilitator {
             LOGGER.debug("Sending request [{}] to obtain table description...", describeTableRequest);
             val tableDescription = amazonDynamoDBClient.describeTable(describeTableRequest).getTable();
             LOGGER.debug("Located newly created table with description: [{}]", tableDescription);
+            if (dynamoDbProperties.isTimeToLiveEnabled()) {
+                enableTimeToLive(request.getTableName());
+            }
         }));
     }
 
@@ -208,10 +399,85 @@ public class DynamoDbTicketRegistryFacilitator {
         values.put(ColumnNames.TIME_TO_LIVE.getColumnName(), new AttributeValue().withN(Long.toString(ticket.getExpirationPolicy().getTimeToLive())));
         values.put(ColumnNames.TIME_TO_IDLE.getColumnName(), new AttributeValue().withN(Long.toString(ticket.getExpirationPolicy().getTimeToIdle())));
         values.put(ColumnNames.ENCODED.getColumnName(), new AttributeValue().withB(ByteBuffer.wrap(SerializationUtils.serialize(encTicket))));
+        val header = encTicket instanceof EncodedTicket && ((EncodedTicket) encTicket).getHeader() != null
+            ? ((EncodedTicket) encTicket).getHeader()
+            : TicketHeader.of(ticket);
+        if (StringUtils.isNotBlank(header.getPrincipal())) {
+            values.put(ColumnNames.PRINCIPAL.getColumnName(), new AttributeValue(header.getPrincipal().toLowerCase(Locale.ENGLISH)));
+        }
+        if (header.getExpirationTime() != null) {
+            values.put(ColumnNames.EXPIRE_AT.getColumnName(),
+                new AttributeValue().withN(Long.toString(header.getExpirationTime().toEpochSecond())));
+        }
         LOGGER.debug("Created attribute values [{}] based on provided ticket [{}]", values, encTicket.getId());
         return values;
     }
 
+    private void enableTimeToLive(final String tableName) {
+        try {
+            val specification = new TimeToLiveSpecification()
+                .withAttributeName(ColumnNames.EXPIRE_AT.getColumnName())
+                .withEnabled(Boolean.TRUE);
+            amazonDynamoDBClient.updateTimeToLive(new UpdateTimeToLiveRequest().withTableName(tableName).withTimeToLiveSpecification(specification));
+            LOGGER.debug("Enabled time-to-live on attribute [{}] for table [{}]", specification.getAttributeName(), tableName);
+        } catch (final Exception e) {
+            LOGGER.debug("Unable to enable time-to-live for table [{}]: [{}]", tableName, e.getMessage());
+        }
+    }
+
+    private Collection<Ticket> scanTable(final String tableName) {
+        val tickets = new ArrayList<Ticket>();
+        scan(tableName, new ScanRequest(tableName), result -> {
+            val page = result.getItems().stream().map(DynamoDbTicketRegistryFacilitator::deserializeTicket).collect(Collectors.toList());
+            synchronized (tickets) {
+                tickets.addAll(page);
+            }
+        });
+        return tickets;
+    }
+
+    /**
+     * Scan the table in parallel segments, and hand every page of results to the consumer.
+     * Segments are scanned on the scan executor of this facilitator, and
+     * the consumer may be invoked concurrently for different segments.
+     */
+    private void scan(final String tableName, final ScanRequest template,
+                      final Consumer<ScanResult> consumer) {
+        val segments = Math.max(1, dynamoDbProperties.getScanTotalSegments());
+        if (segments == 1) {
+            scanSegment(tableName, template.clone(), 0, consumer);
+            return;
+        }
+        val futures = IntStream.range(0, segments)
+            .mapToObj(segment -> CompletableFuture.runAsync(() -> scanSegment(tableName,
+                template.clone().withSegment(segment).withTotalSegments(segments), segment, consumer), this.scanExecutor))
+            .toArray(CompletableFuture[]::new);
+        try {
+            CompletableFuture.allOf(futures).join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private void scanSegment(final String tableName, final ScanRequest request, final int segment,
+                             final Consumer<ScanResult> consumer) {
+        Map<String, AttributeValue> lastKey = null;
+        do {
+            LOGGER.debug("Scanning segment [{}] of table [{}]", segment, tableName);
+            val result = amazonDynamoDBClient.scan(request.withExclusiveStartKey(lastKey));
+            consumer.accept(result);
+            lastKey = result.getLastEvaluatedKey();
+        } while (lastKey != null && !lastKey.isEmpty());
+    }
+
+    @Override
+    public void close() {
+        this.scanExecutor.shutdownNow();
+    }
+
     /**
      * Column names for tables holding tickets.
      */
@@ -245,7 +511,15 @@ public class DynamoDbTicketRegistryFacilitator {
         /**
          * encoded column.
          */
-        ENCODED("encoded");
+        ENCODED("encoded"),
+        /**
+         * principal column, lower-cased.
+         */
+        PRINCIPAL("principal"),
+        /**
+         * expiration column, in epoch seconds, used as the table time-to-live attribute.
+         */
+        EXPIRE_AT("expireAt");
 
         private final String columnName;
 
@@ -23,11 +23,18 @@ import org.apereo.cas.config.DynamoDbTicketRegistryTicketCatalogConfiguration;
 import org.apereo.cas.config.support.CasWebApplicationServiceFactoryConfiguration;
 import org.apereo.cas.logout.config.CasCoreLogoutConfiguration;
 import org.apereo.cas.mock.MockTicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.util.CollectionUtils;
 import org.apereo.cas.util.junit.ConditionalIgnore;
 import org.apereo.cas.util.junit.ConditionalIgnoreRule;
 import org.apereo.cas.util.junit.RunningContinuousIntegrationCondition;
 
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemResult;
+import com.amazonaws.services.dynamodbv2.model.DeleteRequest;
+import com.amazonaws.services.dynamodbv2.model.WriteRequest;
 import lombok.val;
 import org.junit.ClassRule;
 import org.junit.Rule;
@@ -43,8 +50,12 @@ import org.springframework.test.context.junit4.rules.SpringClassRule;
 import org.springframework.test.context.junit4.rules.SpringMethodRule;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.stream.IntStream;
 
 import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
 
 /**
  * This is {@link DynamoDbTicketRegistryFacilitatorTests}.
@@ -121,4 +132,45 @@ public class DynamoDbTicketRegistryFacilitatorTests {
         assertTrue(dynamoDbTicketRegistryFacilitator.deleteAll() > 0);
 
     }
+
+    @Test
+    public void verifyBatchOperationsAndPrincipalLookup() {
+        dynamoDbTicketRegistryFacilitator.createTicketTables(true);
+        val ids = new LinkedHashMap<String, String>();
+        IntStream.range(0, 60).forEach(i -> {
+            val ticket = new MockTicketGrantingTicket(i % 2 == 0 ? "CASUSER" : "otheruser");
+            dynamoDbTicketRegistryFacilitator.put(ticket, ticket);
+            ids.put(ticket.getId(), ticket.getId());
+        });
+        assertEquals(60, dynamoDbTicketRegistryFacilitator.getAll().size());
+
+        val tickets = dynamoDbTicketRegistryFacilitator.getAllByPrincipal("casuser", Arrays.asList(TicketGrantingTicket.PREFIX));
+        assertEquals(30, tickets.size());
+        tickets.forEach(t -> assertEquals("CASUSER", t.getAuthentication().getPrincipal().getId()));
+
+        val map = dynamoDbTicketRegistryFacilitator.buildTableAttributeValuesMapFromTicket(tickets.iterator().next(), tickets.iterator().next());
+        assertEquals("casuser", map.get(DynamoDbTicketRegistryFacilitator.ColumnNames.PRINCIPAL.getColumnName()).getS());
+
+        assertEquals(60, dynamoDbTicketRegistryFacilitator.delete(ids));
+        assertTrue(dynamoDbTicketRegistryFacilitator.getAll().isEmpty());
+    }
+
+    @Test
+    public void verifyUnprocessedItemsAreResubmitted() {
+        val ticket = new MockTicketGrantingTicket("casuser");
+        val tableName = dynamoDbTicketRegistryFacilitator.getTicketCatalog().find(ticket).getProperties().getStorageName();
+        val delete = new DeleteRequest(CollectionUtils.wrap(DynamoDbTicketRegistryFacilitator.ColumnNames.ID.getColumnName(),
+            new AttributeValue(ticket.getId())));
+        val client = mock(AmazonDynamoDB.class);
+        when(client.batchWriteItem(any(BatchWriteItemRequest.class)))
+            .thenReturn(new BatchWriteItemResult().withUnprocessedItems(
+                CollectionUtils.wrap(tableName, Collections.singletonList(new WriteRequest(delete)))))
+            .thenReturn(new BatchWriteItemResult().withUnprocessedItems(Collections.emptyMap()));
+
+        try (DynamoDbTicketRegistryFacilitator facilitator = new DynamoDbTicketRegistryFacilitator(
+            dynamoDbTicketRegistryFacilitator.getTicketCatalog(), dynamoDbTicketRegistryFacilitator.getDynamoDbProperties(), client)) {
+            assertEquals(1, facilitator.delete(CollectionUtils.wrap(ticket.getId(), ticket.getId())));
+        }
+        verify(client, times(2)).batchWriteItem(any(BatchWriteItemRequest.class));
+    }
 }
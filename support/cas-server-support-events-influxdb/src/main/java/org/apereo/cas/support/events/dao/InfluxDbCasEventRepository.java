@@ -33,6 +33,26 @@ public class InfluxDbCasEventRepository extends AbstractCasEventRepository imple
 
     @Override
     public void save(final CasEvent event) {
+        influxDbConnectionFactory.writeBatch(buildPoint(event, 0));
+    }
+
+    @Override
+    public void saveAll(final Collection<CasEvent> events) {
+        val points = new ArrayList<Point>(events.size());
+        events.forEach(event -> points.add(buildPoint(event, points.size())));
+        influxDbConnectionFactory.writeBatch(points.toArray(new Point[0]));
+    }
+
+    /**
+     * Build the measurement point for the event.
+     * Points that share the same timestamp would overwrite one another,
+     * so the sequence of the event in the batch is added as a nanosecond offset.
+     *
+     * @param event    the event
+     * @param sequence the sequence of the event in the batch
+     * @return the point
+     */
+    private static Point buildPoint(final CasEvent event, final int sequence) {
         val builder = Point.measurement(MEASUREMENT);
         ReflectionUtils.doWithFields(CasEvent.class, field -> {
             if (!Modifier.isStatic(field.getModifiers())) {
@@ -45,8 +65,8 @@ public class InfluxDbCasEventRepository extends AbstractCasEventRepository imple
             }
         });
 
-        val point = builder.time(System.currentTimeMillis(), TimeUnit.MILLISECONDS).build();
-        influxDbConnectionFactory.writeBatch(point);
+        val time = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis()) + sequence;
+        return builder.time(time, TimeUnit.NANOSECONDS).build();
     }
 
     @Override
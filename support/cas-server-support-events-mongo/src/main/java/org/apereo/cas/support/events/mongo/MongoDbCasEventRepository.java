@@ -6,11 +6,13 @@ import org.apereo.cas.support.events.dao.CasEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.ToString;
 import lombok.val;
+import org.springframework.data.mongodb.core.BulkOperations;
 import org.springframework.data.mongodb.core.MongoOperations;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
 
 /**
@@ -31,6 +33,13 @@ public class MongoDbCasEventRepository extends AbstractCasEventRepository {
         this.mongoTemplate.save(event, this.collectionName);
     }
 
+    @Override
+    public void saveAll(final Collection<CasEvent> events) {
+        val operations = this.mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CasEvent.class, this.collectionName);
+        operations.insert(new ArrayList<>(events));
+        operations.execute();
+    }
+
     @Override
     public Collection<CasEvent> load() {
         return this.mongoTemplate.findAll(CasEvent.class, this.collectionName);
@@ -3,6 +3,7 @@ package org.apereo.cas.config;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.hz.HazelcastConfigurationFactory;
 import org.apereo.cas.ticket.TicketCatalog;
+import org.apereo.cas.ticket.registry.HazelcastTicketDocument;
 import org.apereo.cas.ticket.registry.HazelcastTicketRegistry;
 import org.apereo.cas.ticket.registry.NoOpTicketRegistryCleaner;
 import org.apereo.cas.ticket.registry.TicketRegistry;
@@ -10,7 +11,10 @@ import org.apereo.cas.ticket.registry.TicketRegistryCleaner;
 import org.apereo.cas.util.CoreTicketUtils;
 
 import com.hazelcast.config.Config;
+import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.MapIndexConfig;
+import com.hazelcast.config.NearCacheConfig;
 import com.hazelcast.core.Hazelcast;
 import com.hazelcast.core.HazelcastInstance;
 import lombok.extern.slf4j.Slf4j;
@@ -72,7 +76,9 @@ public class HazelcastTicketRegistryConfiguration {
         val hz = casProperties.getTicket().getRegistry().getHazelcast();
         val configs = buildHazelcastMapConfigurations(ticketCatalog);
         val factory = new HazelcastConfigurationFactory();
-        return factory.build(hz, configs);
+        val config = factory.build(hz, configs);
+        config.getSerializationConfig().addDataSerializableFactory(HazelcastTicketDocument.FACTORY_ID, HazelcastTicketDocument.getFactory());
+        return config;
     }
 
     private Map<String, MapConfig> buildHazelcastMapConfigurations(final TicketCatalog ticketCatalog) {
@@ -84,6 +90,17 @@ public class HazelcastTicketRegistryConfiguration {
         val definitions = ticketCatalog.findAll();
         definitions.forEach(t -> {
             val mapConfig = factory.buildMapConfig(hz, t.getProperties().getStorageName(), t.getProperties().getStorageTimeout());
+            mapConfig.addMapIndexConfig(new MapIndexConfig(HazelcastTicketDocument.FIELD_NAME_PREFIX, false));
+            mapConfig.addMapIndexConfig(new MapIndexConfig(HazelcastTicketDocument.FIELD_NAME_PRINCIPAL, false));
+            mapConfig.addMapIndexConfig(new MapIndexConfig(HazelcastTicketDocument.FIELD_NAME_PARENT_ID, false));
+            if (hz.getNearCacheTicketPrefixes().contains(t.getPrefix())) {
+                LOGGER.debug("Enabling near cache for map [{}] of [{}]", t.getProperties().getStorageName(), t.getPrefix());
+                val nearCacheConfig = new NearCacheConfig(t.getProperties().getStorageName())
+                    .setInMemoryFormat(InMemoryFormat.BINARY)
+                    .setInvalidateOnChange(true)
+                    .setMaxIdleSeconds((int) t.getProperties().getStorageTimeout());
+                mapConfig.setNearCacheConfig(nearCacheConfig);
+            }
             LOGGER.debug("Created Hazelcast map configuration for [{}]", t);
             mapConfigs.put(t.getProperties().getStorageName(), mapConfig);
         });
@@ -0,0 +1,124 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.Ticket;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializableFactory;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.apache.commons.lang3.SerializationUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * This is {@link HazelcastTicketDocument} that holds a ticket in a Hazelcast map.
+ * The ticket itself is kept as serialized bytes and is only deserialized when read by CAS,
+ * while the ticket header is written as native fields that cluster members are able to index,
+ * query and aggregate without touching the ticket.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Getter
+@ToString(of = {"ticketId", "prefix"})
+@NoArgsConstructor
+public class HazelcastTicketDocument implements IdentifiedDataSerializable {
+    /**
+     * The factory id for ticket registry types.
+     */
+    public static final int FACTORY_ID = 1_001;
+
+    /**
+     * The type id of this document.
+     */
+    public static final int TYPE_ID = 1;
+
+    /**
+     * Field name that holds the ticket prefix.
+     */
+    public static final String FIELD_NAME_PREFIX = "prefix";
+
+    /**
+     * Field name that holds the principal id, lower-cased.
+     */
+    public static final String FIELD_NAME_PRINCIPAL = "principal";
+
+    /**
+     * Field name that holds the parent ticket id.
+     */
+    public static final String FIELD_NAME_PARENT_ID = "parentId";
+
+    private String ticketId;
+
+    private String prefix;
+
+    private String principal;
+
+    private String parentId;
+
+    private TicketHeader header;
+
+    private byte[] ticket;
+
+    public HazelcastTicketDocument(final Ticket ticket, final TicketHeader header) {
+        this.ticketId = ticket.getId();
+        this.prefix = header.getPrefix();
+        this.principal = StringUtils.isNotBlank(header.getPrincipal()) ? header.getPrincipal().toLowerCase(Locale.ENGLISH) : null;
+        this.parentId = header.getParentId();
+        this.header = header;
+        this.ticket = SerializationUtils.serialize(ticket);
+    }
+
+    /**
+     * Gets the data serializable factory that creates ticket documents.
+     *
+     * @return the factory
+     */
+    public static DataSerializableFactory getFactory() {
+        return typeId -> typeId == TYPE_ID ? new HazelcastTicketDocument() : null;
+    }
+
+    /**
+     * Deserialize and return the ticket held by this document.
+     *
+     * @return the ticket
+     */
+    public Ticket toTicket() {
+        return SerializationUtils.deserialize(this.ticket);
+    }
+
+    @Override
+    public int getFactoryId() {
+        return FACTORY_ID;
+    }
+
+    @Override
+    public int getId() {
+        return TYPE_ID;
+    }
+
+    @Override
+    public void writeData(final ObjectDataOutput out) throws IOException {
+        out.writeUTF(this.ticketId);
+        out.writeUTF(this.prefix);
+        out.writeUTF(this.principal);
+        out.writeUTF(this.parentId);
+        out.writeObject(this.header);
+        out.writeByteArray(this.ticket);
+    }
+
+    @Override
+    public void readData(final ObjectDataInput in) throws IOException {
+        this.ticketId = in.readUTF();
+        this.prefix = in.readUTF();
+        this.principal = in.readUTF();
+        this.parentId = in.readUTF();
+        this.header = in.readObject();
+        this.ticket = in.readByteArray();
+    }
+}
@@ -1,21 +1,32 @@
 package org.apereo.cas.ticket.registry;
 
+import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketCatalog;
 import org.apereo.cas.ticket.TicketDefinition;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketState;
 
+import com.hazelcast.aggregation.Aggregators;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.IMap;
+import com.hazelcast.projection.Projection;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.DisposableBean;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Hazelcast-based implementation of a {@link TicketRegistry}.
@@ -23,6 +34,9 @@ import java.util.stream.Collectors;
  * which is an extension of the standard Java's {@code ConcurrentMap}.</p>
  * <p>The heavy lifting of distributed data partitioning, network cluster discovery and
  * join, data replication, etc. is done by Hazelcast's Map implementation.</p>
+ * <p>Tickets are stored as {@link HazelcastTicketDocument} entries whose header fields are indexed,
+ * so that lookups by criteria and counts are evaluated by the cluster members that own the data.
+ * Entries that hold plain tickets, as written by earlier versions, are still read by id.</p>
  *
  * @author Dmitriy Kopylenko
  * @author Jonathan Johnson
@@ -35,6 +49,49 @@ public class HazelcastTicketRegistry extends AbstractTicketRegistry implements A
     private final TicketCatalog ticketCatalog;
     private final long pageSize;
 
+    /**
+     * Calculate the time-to-live of the map entry that holds the ticket.
+     * Ticket-granting tickets are updated every time they are used, so their entries
+     * live for the idle timeout of the expiration policy and are extended with each update;
+     * other tickets live for the time-to-live of the policy. Both are taken from the policy
+     * that applies to the state of the ticket, such as the remember-me policy of a delegating policy.
+     *
+     * @param ticket the ticket
+     * @return the time-to-live in seconds
+     */
+    private static long getTimeToLive(final Ticket ticket) {
+        val policy = ticket.getExpirationPolicy();
+        val ttl = ticket instanceof TicketState
+            ? policy.getTimeToLive((TicketState) ticket)
+            : policy.getTimeToLive();
+        if (ticket instanceof TicketGrantingTicket) {
+            val tti = ticket instanceof TicketState
+                ? policy.getTimeToIdle((TicketState) ticket)
+                : policy.getTimeToIdle();
+            if (tti != null && tti > 0 && tti < ttl) {
+                return tti;
+            }
+        }
+        return ttl;
+    }
+
+    private static Predicate buildTicketHeaderPredicate(final TicketHeaderCriteria criteria) {
+        val predicates = new ArrayList<Predicate>();
+        if (!criteria.getPrefixes().isEmpty()) {
+            predicates.add(Predicates.in(HazelcastTicketDocument.FIELD_NAME_PREFIX, criteria.getPrefixes().toArray(new String[]{})));
+        }
+        if (StringUtils.isNotBlank(criteria.getPrincipal())) {
+            predicates.add(Predicates.equal(HazelcastTicketDocument.FIELD_NAME_PRINCIPAL, criteria.getPrincipal().toLowerCase(Locale.ENGLISH)));
+        }
+        if (StringUtils.isNotBlank(criteria.getParentId())) {
+            predicates.add(Predicates.equal(HazelcastTicketDocument.FIELD_NAME_PARENT_ID, criteria.getParentId()));
+        }
+        if (predicates.isEmpty()) {
+            return Predicates.alwaysTrue();
+        }
+        return Predicates.and(predicates.toArray(new Predicate[]{}));
+    }
+
     @Override
     public Ticket updateTicket(final Ticket ticket) {
         addTicket(ticket);
@@ -43,7 +100,7 @@ public class HazelcastTicketRegistry extends AbstractTicketRegistry implements A
 
     @Override
     public void addTicket(final Ticket ticket) {
-        val ttl = ticket.getExpirationPolicy().getTimeToLive();
+        val ttl = getTimeToLive(ticket);
         if (ttl < 0) {
             throw new IllegalArgumentException("The expiration policy of ticket " + ticket.getId() + "is set to use a negative ttl");
         }
@@ -54,11 +111,11 @@ public class HazelcastTicketRegistry extends AbstractTicketRegistry implements A
         val metadata = this.ticketCatalog.find(ticket);
         val ticketMap = getTicketMapInstanceByMetadata(metadata);
 
-        ticketMap.set(encTicket.getId(), encTicket, ttl, TimeUnit.SECONDS);
+        ticketMap.set(encTicket.getId(), new HazelcastTicketDocument(encTicket, buildTicketHeader(ticket)), ttl, TimeUnit.SECONDS);
         LOGGER.debug("Added ticket [{}] with ttl [{}s]", encTicket.getId(), ttl);
     }
 
-    private IMap<String, Ticket> getTicketMapInstanceByMetadata(final TicketDefinition metadata) {
+    private IMap<String, Object> getTicketMapInstanceByMetadata(final TicketDefinition metadata) {
         val mapName = metadata.getProperties().getStorageName();
         LOGGER.debug("Locating map name [{}] for ticket definition [{}]", mapName, metadata);
         return getTicketMapInstance(mapName);
@@ -73,8 +130,7 @@ public class HazelcastTicketRegistry extends AbstractTicketRegistry implements A
         val metadata = this.ticketCatalog.find(ticketId);
         if (metadata != null) {
             val map = getTicketMapInstanceByMetadata(metadata);
-            val ticket = map.get(encTicketId);
-            val result = decodeTicket(ticket);
+            val result = toTicket(map.get(encTicketId));
             if (result != null && result.isExpired()) {
                 LOGGER.debug("Ticket [{}] has expired and is now removed from the cache", result.getId());
                 map.remove(encTicketId);
@@ -119,10 +175,43 @@ public class HazelcastTicketRegistry extends AbstractTicketRegistry implements A
                 }
                 return tickets.stream().collect(Collectors.toList()).stream();
             })
-            .map(this::decodeTicket)
+            .map(this::toTicket)
+            .filter(Objects::nonNull)
             .collect(Collectors.toSet());
     }
 
+    @Override
+    public Stream<Ticket> getTickets(final TicketHeaderCriteria criteria) {
+        val encodedCriteria = encodeTicketHeaderCriteria(criteria);
+        val predicate = buildTicketHeaderPredicate(encodedCriteria);
+        return getTicketMapsByCriteria(encodedCriteria)
+            .flatMap(map -> map.values(predicate).stream())
+            .map(this::toTicket)
+            .filter(Objects::nonNull);
+    }
+
+    @Override
+    public Stream<TicketHeader> getTicketHeaders(final TicketHeaderCriteria criteria) {
+        if (isCipherExecutorEnabled()) {
+            return getDecodedTicketHeaders(criteria);
+        }
+        val encodedCriteria = encodeTicketHeaderCriteria(criteria);
+        val predicate = buildTicketHeaderPredicate(encodedCriteria);
+        return getTicketMapsByCriteria(encodedCriteria)
+            .flatMap(map -> map.project(new TicketHeaderProjection(), predicate).stream())
+            .filter(Objects::nonNull);
+    }
+
+    @Override
+    public long sessionCount() {
+        return countTicketsOfType(TicketGrantingTicket.class);
+    }
+
+    @Override
+    public long serviceTicketCount() {
+        return countTicketsOfType(ServiceTicket.class);
+    }
+
     /**
      * Make sure we shutdown HazelCast when the context is destroyed.
      */
@@ -145,9 +234,57 @@ public class HazelcastTicketRegistry extends AbstractTicketRegistry implements A
         shutdown();
     }
 
-    private IMap<String, Ticket> getTicketMapInstance(final String mapName) {
+    /**
+     * Decode the ticket held by a map entry.
+     * Entries written by versions of the registry that did not store ticket documents
+     * hold the ticket itself, and are read as is until they are updated or expire.
+     */
+    private Ticket toTicket(final Object value) {
+        if (value instanceof HazelcastTicketDocument) {
+            return decodeTicket(HazelcastTicketDocument.class.cast(value).toTicket());
+        }
+        if (value instanceof Ticket) {
+            LOGGER.trace("Ticket [{}] is not stored as a ticket document and is read as is", Ticket.class.cast(value).getId());
+            return decodeTicket((Ticket) value);
+        }
+        if (value != null) {
+            LOGGER.warn("Unable to read map entry of type [{}] as a ticket", value.getClass().getName());
+        }
+        return null;
+    }
+
+    /**
+     * Count tickets of the given type with an aggregation that runs on the cluster members.
+     */
+    private long countTicketsOfType(final Class<? extends Ticket> type) {
+        val definitions = this.ticketCatalog.findAll()
+            .stream()
+            .filter(definition -> type.isAssignableFrom(definition.getImplementationClass()))
+            .collect(Collectors.toList());
+        val prefixes = definitions.stream().map(TicketDefinition::getPrefix).toArray(String[]::new);
+        val predicate = Predicates.in(HazelcastTicketDocument.FIELD_NAME_PREFIX, prefixes);
+        return definitions.stream()
+            .map(definition -> definition.getProperties().getStorageName())
+            .distinct()
+            .map(this::getTicketMapInstance)
+            .filter(Objects::nonNull)
+            .mapToLong(map -> map.aggregate(Aggregators.<Map.Entry<String, Object>>count(), predicate))
+            .sum();
+    }
+
+    private Stream<IMap<String, Object>> getTicketMapsByCriteria(final TicketHeaderCriteria criteria) {
+        return this.ticketCatalog.findAll()
+            .stream()
+            .filter(definition -> criteria.getPrefixes().isEmpty() || criteria.getPrefixes().contains(definition.getPrefix()))
+            .map(definition -> definition.getProperties().getStorageName())
+            .distinct()
+            .map(this::getTicketMapInstance)
+            .filter(Objects::nonNull);
+    }
+
+    private IMap<String, Object> getTicketMapInstance(final String mapName) {
         try {
-            val inst = hazelcastInstance.<String, Ticket>getMap(mapName);
+            val inst = hazelcastInstance.<String, Object>getMap(mapName);
             LOGGER.debug("Located Hazelcast map instance [{}]", mapName);
             return inst;
         } catch (final Exception e) {
@@ -155,4 +292,19 @@ public class HazelcastTicketRegistry extends AbstractTicketRegistry implements A
         }
         return null;
     }
+
+    /**
+     * Projects ticket documents onto their headers on the cluster members,
+     * so that only headers travel back to CAS. Entries that do not hold
+     * ticket documents have no header and are projected to nothing.
+     */
+    private static class TicketHeaderProjection extends Projection<Map.Entry<String, Object>, TicketHeader> {
+        private static final long serialVersionUID = -3418473659342129764L;
+
+        @Override
+        public TicketHeader transform(final Map.Entry<String, Object> input) {
+            val value = input.getValue();
+            return value instanceof HazelcastTicketDocument ? HazelcastTicketDocument.class.cast(value).getHeader() : null;
+        }
+    }
 }
@@ -0,0 +1,206 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.authentication.RememberMeCredential;
+import org.apereo.cas.config.CasCoreAuthenticationConfiguration;
+import org.apereo.cas.config.CasCoreAuthenticationHandlersConfiguration;
+import org.apereo.cas.config.CasCoreAuthenticationMetadataConfiguration;
+import org.apereo.cas.config.CasCoreAuthenticationPolicyConfiguration;
+import org.apereo.cas.config.CasCoreAuthenticationPrincipalConfiguration;
+import org.apereo.cas.config.CasCoreAuthenticationServiceSelectionStrategyConfiguration;
+import org.apereo.cas.config.CasCoreAuthenticationSupportConfiguration;
+import org.apereo.cas.config.CasCoreConfiguration;
+import org.apereo.cas.config.CasCoreHttpConfiguration;
+import org.apereo.cas.config.CasCoreServicesAuthenticationConfiguration;
+import org.apereo.cas.config.CasCoreServicesConfiguration;
+import org.apereo.cas.config.CasCoreTicketCatalogConfiguration;
+import org.apereo.cas.config.CasCoreTicketsConfiguration;
+import org.apereo.cas.config.CasCoreUtilConfiguration;
+import org.apereo.cas.config.CasCoreWebConfiguration;
+import org.apereo.cas.config.CasPersonDirectoryConfiguration;
+import org.apereo.cas.config.HazelcastTicketRegistryConfiguration;
+import org.apereo.cas.config.HazelcastTicketRegistryTicketCatalogConfiguration;
+import org.apereo.cas.config.support.CasWebApplicationServiceFactoryConfiguration;
+import org.apereo.cas.logout.config.CasCoreLogoutConfiguration;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.TicketCatalog;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
+import org.apereo.cas.ticket.support.RememberMeDelegatingExpirationPolicy;
+import org.apereo.cas.ticket.support.TicketGrantingTicketExpirationPolicy;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import lombok.val;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link HazelcastTicketRegistryClusterTests} that runs criteria queries and counts
+ * against a second embedded member that joins the cluster of the registry.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = {
+    HazelcastTicketRegistryConfiguration.class,
+    CasCoreTicketsConfiguration.class,
+    CasCoreTicketCatalogConfiguration.class,
+    HazelcastTicketRegistryTicketCatalogConfiguration.class,
+    CasCoreUtilConfiguration.class,
+    CasPersonDirectoryConfiguration.class,
+    CasCoreLogoutConfiguration.class,
+    CasCoreAuthenticationConfiguration.class,
+    CasCoreServicesAuthenticationConfiguration.class,
+    CasCoreAuthenticationPrincipalConfiguration.class,
+    CasCoreAuthenticationPolicyConfiguration.class,
+    CasCoreAuthenticationMetadataConfiguration.class,
+    CasCoreAuthenticationSupportConfiguration.class,
+    CasCoreAuthenticationHandlersConfiguration.class,
+    CasCoreHttpConfiguration.class,
+    RefreshAutoConfiguration.class,
+    CasCoreConfiguration.class,
+    CasCoreAuthenticationServiceSelectionStrategyConfiguration.class,
+    CasCoreServicesConfiguration.class,
+    CasCoreWebConfiguration.class,
+    CasWebApplicationServiceFactoryConfiguration.class
+})
+@TestPropertySource(properties = {
+    "cas.ticket.registry.hazelcast.cluster.instanceName=testclusterinstance",
+    "cas.ticket.registry.hazelcast.nearCacheTicketPrefixes=TGT"
+})
+public class HazelcastTicketRegistryClusterTests {
+    @Autowired
+    @Qualifier("ticketRegistry")
+    private TicketRegistry ticketRegistry;
+
+    @Autowired
+    @Qualifier("ticketCatalog")
+    private TicketCatalog ticketCatalog;
+
+    @Autowired
+    @Qualifier("hazelcast")
+    private HazelcastInstance hazelcastInstance;
+
+    private HazelcastInstance secondMember;
+
+    private HazelcastTicketRegistry secondRegistry;
+
+    @Before
+    public void initialize() {
+        val config = hazelcastInstance.getConfig();
+        val memberConfig = new Config()
+            .setInstanceName("testclustersecondinstance")
+            .setGroupConfig(config.getGroupConfig())
+            .setNetworkConfig(config.getNetworkConfig())
+            .setMapConfigs(config.getMapConfigs())
+            .setSerializationConfig(config.getSerializationConfig())
+            .setProperties(config.getProperties());
+        secondMember = Hazelcast.newHazelcastInstance(memberConfig);
+        secondRegistry = new HazelcastTicketRegistry(secondMember, ticketCatalog, 0);
+        ticketRegistry.deleteAll();
+    }
+
+    @After
+    public void shutdown() {
+        ticketRegistry.deleteAll();
+        secondRegistry.shutdown();
+    }
+
+    @Test
+    public void verifyQueriesAcrossMembers() {
+        assertEquals(2, secondMember.getCluster().getMembers().size());
+
+        val tgt1 = new TicketGrantingTicketImpl("TGT-CLUSTER-1", CoreAuthenticationTestUtils.getAuthentication("casuser"),
+            new NeverExpiresExpirationPolicy());
+        val tgt2 = new TicketGrantingTicketImpl("TGT-CLUSTER-2", CoreAuthenticationTestUtils.getAuthentication("otheruser"),
+            new NeverExpiresExpirationPolicy());
+        val st = tgt1.grantServiceTicket("ST-CLUSTER-1", RegisteredServiceTestUtils.getService(),
+            new NeverExpiresExpirationPolicy(), false, true);
+        ticketRegistry.addTicket(tgt1);
+        ticketRegistry.addTicket(tgt2);
+        ticketRegistry.addTicket(st);
+        ticketRegistry.updateTicket(tgt1);
+
+        assertEquals(tgt1, secondRegistry.getTicket(tgt1.getId(), TicketGrantingTicket.class));
+        assertEquals(st, secondRegistry.getTicket(st.getId(), ServiceTicket.class));
+        assertEquals(2, secondRegistry.sessionCount());
+        assertEquals(1, secondRegistry.serviceTicketCount());
+
+        val byPrincipal = secondRegistry.getTickets(TicketHeaderCriteria.builder()
+            .prefix(TicketGrantingTicket.PREFIX)
+            .principal("CASUSER")
+            .build())
+            .collect(Collectors.toList());
+        assertEquals(1, byPrincipal.size());
+        assertEquals(tgt1, byPrincipal.get(0));
+
+        val byParent = secondRegistry.getTicketHeaders(TicketHeaderCriteria.builder()
+            .parentId(tgt1.getId())
+            .build())
+            .collect(Collectors.toList());
+        assertEquals(1, byParent.size());
+        assertEquals(st.getId(), byParent.get(0).getId());
+
+        assertTrue(secondRegistry.deleteSingleTicket(tgt2.getId()));
+        assertNull(ticketRegistry.getTicket(tgt2.getId()));
+        assertEquals(1, ticketRegistry.sessionCount());
+    }
+
+    @Test
+    public void verifyPlainTicketEntriesAreRead() {
+        val tgt = new TicketGrantingTicketImpl("TGT-CLUSTER-PLAIN", CoreAuthenticationTestUtils.getAuthentication("casuser"),
+            new NeverExpiresExpirationPolicy());
+        val map = mock(IMap.class);
+        when(map.get(tgt.getId())).thenReturn(tgt);
+        when(map.values()).thenReturn(Collections.singletonList(tgt));
+        val instance = mock(HazelcastInstance.class);
+        doReturn(map).when(instance).getMap(anyString());
+
+        val registry = new HazelcastTicketRegistry(instance, ticketCatalog, 0);
+        assertEquals(tgt, registry.getTicket(tgt.getId(), TicketGrantingTicket.class));
+        assertTrue(registry.getTickets().contains(tgt));
+    }
+
+    @Test
+    public void verifyRememberMeTicketExpiresAfterRememberMeIdleTimeout() {
+        val rememberMe = new TicketGrantingTicketExpirationPolicy(1209600, 604800);
+        val policy = new RememberMeDelegatingExpirationPolicy(rememberMe);
+        policy.addPolicy(RememberMeDelegatingExpirationPolicy.PolicyTypes.REMEMBER_ME, rememberMe);
+        policy.addPolicy(RememberMeDelegatingExpirationPolicy.PolicyTypes.DEFAULT,
+            new TicketGrantingTicketExpirationPolicy(28800, 7200));
+
+        val authentication = CoreAuthenticationTestUtils.getAuthentication(
+            CoreAuthenticationTestUtils.getPrincipal("casuser"),
+            Collections.singletonMap(RememberMeCredential.AUTHENTICATION_ATTRIBUTE_REMEMBER_ME, true));
+        val rememberMeTgt = new TicketGrantingTicketImpl("TGT-CLUSTER-REMEMBER-ME", authentication, policy);
+        val tgt = new TicketGrantingTicketImpl("TGT-CLUSTER-DEFAULT", CoreAuthenticationTestUtils.getAuthentication("casuser"), policy);
+        ticketRegistry.addTicket(rememberMeTgt);
+        ticketRegistry.addTicket(tgt);
+
+        val mapName = ticketCatalog.find(rememberMeTgt).getProperties().getStorageName();
+        val map = hazelcastInstance.getMap(mapName);
+        assertEquals(TimeUnit.SECONDS.toMillis(604800), map.getEntryView(rememberMeTgt.getId()).getTtl());
+        assertEquals(TimeUnit.SECONDS.toMillis(7200), map.getEntryView(tgt.getId()).getTtl());
+    }
+}
@@ -1,6 +1,9 @@
 package org.apereo.cas.monitor;
 
+import org.apereo.cas.configuration.support.SharedDataSourceLease;
+
 import lombok.extern.slf4j.Slf4j;
+import lombok.val;
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.jdbc.core.JdbcTemplate;
 
@@ -9,6 +12,8 @@ import java.util.concurrent.ExecutorService;
 
 /**
  * Monitors a data source that describes a single connection or connection pool to a database.
+ * Data sources leased from a shared connection pool also report the statistics of the pool
+ * and the number of connections in use through the lease.
  *
  * @author Marvin S. Addison
  * @since 3.5.1
@@ -19,6 +24,7 @@ public class JdbcDataSourceHealthIndicator extends AbstractPoolHealthIndicator {
 
     private final JdbcTemplate jdbcTemplate;
     private final String validationQuery;
+    private final DataSource dataSource;
 
     public JdbcDataSourceHealthIndicator(final long maxWait,
                                          final DataSource dataSource,
@@ -27,10 +33,18 @@ public class JdbcDataSourceHealthIndicator extends AbstractPoolHealthIndicator {
         super(maxWait, executor);
         this.jdbcTemplate = new JdbcTemplate(dataSource);
         this.validationQuery = validationQuery;
+        this.dataSource = dataSource;
     }
 
     @Override
     protected Health.Builder checkPool(final Health.Builder builder) {
+        if (this.dataSource instanceof SharedDataSourceLease) {
+            val lease = (SharedDataSourceLease) this.dataSource;
+            builder.withDetail("pool", lease.getDataSource().getPoolName())
+                .withDetail("threadsAwaitingConnection", lease.getThreadsAwaitingConnection())
+                .withDetail("leaseConnectionsInUse", lease.getConnectionsInUse())
+                .withDetail("leaseMaximumConnections", lease.getMaximumConnections());
+        }
         try {
             return this.jdbcTemplate.query(this.validationQuery, rs -> {
                 if (rs.next()) {
@@ -43,4 +57,20 @@ public class JdbcDataSourceHealthIndicator extends AbstractPoolHealthIndicator {
             return builder.outOfService().withException(e);
         }
     }
+
+    @Override
+    protected int getActiveCount() {
+        if (this.dataSource instanceof SharedDataSourceLease) {
+            return ((SharedDataSourceLease) this.dataSource).getActiveConnections();
+        }
+        return super.getActiveCount();
+    }
+
+    @Override
+    protected int getIdleCount() {
+        if (this.dataSource instanceof SharedDataSourceLease) {
+            return ((SharedDataSourceLease) this.dataSource).getIdleConnections();
+        }
+        return super.getIdleCount();
+    }
 }
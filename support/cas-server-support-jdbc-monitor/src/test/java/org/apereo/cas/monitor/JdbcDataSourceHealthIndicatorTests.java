@@ -2,6 +2,10 @@ package org.apereo.cas.monitor;
 
 import org.apereo.cas.config.support.EnvironmentConversionServiceInitializer;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.model.core.monitor.MonitorProperties;
+import org.apereo.cas.configuration.support.JpaBeans;
+import org.apereo.cas.configuration.support.SharedDataSourceLease;
+import org.apereo.cas.configuration.support.SharedDataSourceRegistry;
 
 import lombok.val;
 import org.junit.Before;
@@ -17,6 +21,7 @@ import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringRunner;
 
 import javax.sql.DataSource;
+import java.sql.SQLTransientConnectionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
@@ -54,4 +59,46 @@ public class JdbcDataSourceHealthIndicatorTests {
         val status = monitor.health();
         assertEquals(Status.UP, status.getStatus());
     }
+
+    @Test
+    public void verifySharedPool() throws Exception {
+        val count = SharedDataSourceRegistry.getInstance().getPoolCount();
+        val first = new MonitorProperties.Jdbc();
+        first.setUrl("jdbc:hsqldb:mem:cas-shared-pool");
+        first.getPool().setMaxSize(2);
+        first.getPool().setMaxWait("PT0.1S");
+        val second = new MonitorProperties.Jdbc();
+        second.setUrl(" jdbc:hsqldb:mem:cas-shared-pool ");
+        second.getPool().setMaxSize(1);
+        second.getPool().setMaxWait("PT0.1S");
+
+        val firstLease = (SharedDataSourceLease) JpaBeans.newDataSource(first);
+        val secondLease = (SharedDataSourceLease) JpaBeans.newDataSource(second);
+        assertSame(firstLease.getDataSource(), secondLease.getDataSource());
+        assertEquals(count + 1, SharedDataSourceRegistry.getInstance().getPoolCount());
+
+        try (val connection = secondLease.getConnection()) {
+            assertFalse(connection.isClosed());
+            assertEquals(1, secondLease.getConnectionsInUse());
+            try {
+                secondLease.getConnection();
+                fail("Expected lease to be exhausted");
+            } catch (final SQLTransientConnectionException e) {
+                assertNotNull(e.getMessage());
+            }
+            val monitor = new JdbcDataSourceHealthIndicator(5000, firstLease, this.executor,
+                "SELECT 1 FROM INFORMATION_SCHEMA.SYSTEM_USERS");
+            val health = monitor.health();
+            assertEquals(Status.UP, health.getStatus());
+            assertEquals(firstLease.getDataSource().getPoolName(), health.getDetails().get("pool"));
+            assertEquals(2, health.getDetails().get("leaseMaximumConnections"));
+        }
+        assertEquals(0, secondLease.getConnectionsInUse());
+
+        secondLease.close();
+        assertFalse(firstLease.getDataSource().isClosed());
+        firstLease.close();
+        assertTrue(firstLease.getDataSource().isClosed());
+        assertEquals(count, SharedDataSourceRegistry.getInstance().getPoolCount());
+    }
 }
@@ -16,6 +16,7 @@ import org.apereo.cas.util.InetAddressUtils;
 
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
+import org.hibernate.cfg.Environment;
 import org.reflections.Reflections;
 import org.reflections.scanners.SubTypesScanner;
 import org.reflections.util.ClasspathHelper;
@@ -68,13 +69,18 @@ public class JpaTicketRegistryConfiguration {
     @Lazy
     @Bean
     public LocalContainerEntityManagerFactoryBean ticketEntityManagerFactory() {
-        return JpaBeans.newHibernateEntityManagerFactoryBean(
+        val bean = JpaBeans.newHibernateEntityManagerFactoryBean(
             new JpaConfigDataHolder(
                 JpaBeans.newHibernateJpaVendorAdapter(casProperties.getJdbc()),
                 "jpaTicketRegistryContext",
                 ticketPackagesToScan(),
                 dataSourceTicket()),
             casProperties.getTicket().getRegistry().getJpa());
+        val properties = bean.getJpaPropertyMap();
+        properties.putIfAbsent(Environment.ORDER_INSERTS, Boolean.TRUE);
+        properties.putIfAbsent(Environment.ORDER_UPDATES, Boolean.TRUE);
+        properties.putIfAbsent(Environment.BATCH_VERSIONED_DATA, Boolean.TRUE);
+        return bean;
     }
 
     @Bean
@@ -93,9 +99,11 @@ public class JpaTicketRegistryConfiguration {
     @Autowired
     @Bean
     @RefreshScope
-    public TicketRegistry ticketRegistry(@Qualifier("ticketCatalog") final TicketCatalog ticketCatalog) {
+    public TicketRegistry ticketRegistry(@Qualifier("ticketCatalog") final TicketCatalog ticketCatalog,
+                                         @Qualifier("ticketTransactionManager") final PlatformTransactionManager ticketTransactionManager) {
         val jpa = casProperties.getTicket().getRegistry().getJpa();
-        val bean = new JpaTicketRegistry(jpa.getTicketLockType(), ticketCatalog);
+        val bean = new JpaTicketRegistry(jpa.getTicketLockType(), ticketCatalog,
+            ticketTransactionManager, jpa.getTicketUpdateAttempts());
         bean.setCipherExecutor(CoreTicketUtils.newTicketRegistryCipherExecutor(jpa.getCrypto(), "jpa"));
         return bean;
     }
@@ -1,5 +1,6 @@
 package org.apereo.cas.ticket.registry;
 
+import org.apereo.cas.ticket.AbstractTicket;
 import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketCatalog;
@@ -9,23 +10,37 @@ import org.apereo.cas.ticket.TicketGrantingTicket;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.hibernate.LockOptions;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import javax.persistence.EntityManager;
 import javax.persistence.EntityNotFoundException;
 import javax.persistence.LockModeType;
+import javax.persistence.OptimisticLockException;
 import javax.persistence.PersistenceContext;
+import javax.persistence.PersistenceException;
 import javax.persistence.Query;
 import javax.persistence.TypedQuery;
 import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
  * JPA implementation of a CAS {@link TicketRegistry}. This implementation of
  * ticket registry is suitable for HA environments.
+ * <p>
+ * Tickets carry a version column that is checked on every update. When the lock type is {@link LockModeType#NONE},
+ * reads do not lock any rows and single tickets are loaded by their primary key; concurrent updates
+ * to the same ticket are detected by the version check, and changes passed to
+ * {@link #updateTicket(Ticket, Consumer)} are applied again to the latest state of the ticket.
  *
  * @author Scott Battaglia
  * @author Marvin S. Addison
@@ -39,13 +54,27 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
 
     private final TicketCatalog ticketCatalog;
     private final LockModeType lockType;
+    private final TransactionTemplate transactionTemplate;
+    private final int updateAttempts;
 
     @PersistenceContext(unitName = "ticketEntityManagerFactory")
     private transient EntityManager entityManager;
 
     public JpaTicketRegistry(final LockModeType lockType, final TicketCatalog ticketCatalog) {
+        this(lockType, ticketCatalog, null, 1);
+    }
+
+    public JpaTicketRegistry(final LockModeType lockType, final TicketCatalog ticketCatalog,
+                             final PlatformTransactionManager transactionManager, final int updateAttempts) {
         this.lockType = lockType;
         this.ticketCatalog = ticketCatalog;
+        if (transactionManager != null) {
+            this.transactionTemplate = new TransactionTemplate(transactionManager);
+            this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        } else {
+            this.transactionTemplate = null;
+        }
+        this.updateAttempts = Math.max(1, updateAttempts);
     }
 
     private static String getTicketEntityName(final TicketDefinition tk) {
@@ -56,13 +85,105 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
         return ((Number) result).longValue();
     }
 
+    private static boolean isOptimisticLockFailure(final Exception e) {
+        return e instanceof OptimisticLockingFailureException
+            || e instanceof OptimisticLockException
+            || e instanceof PersistenceException && e.getCause() instanceof org.hibernate.StaleStateException;
+    }
+
+    /**
+     * Update the ticket.
+     * When called outside an existing transaction, the update runs in its own transaction and
+     * the ticket is handed the new version once the update is flushed. An update made from stale
+     * ticket state fails the version check and is rejected; use {@link #updateTicket(Ticket, Consumer)}
+     * to have the change applied again to the latest state of the ticket.
+     *
+     * @param ticket the ticket
+     * @return the ticket
+     */
     @Override
+    @Transactional(transactionManager = "ticketTransactionManager", propagation = Propagation.SUPPORTS)
     public Ticket updateTicket(final Ticket ticket) {
-        this.entityManager.merge(ticket);
-        LOGGER.debug("Updated ticket [{}].", ticket);
+        if (this.transactionTemplate == null || TransactionSynchronizationManager.isActualTransactionActive()) {
+            this.entityManager.merge(ticket);
+            LOGGER.debug("Updated ticket [{}].", ticket);
+            return ticket;
+        }
+        try {
+            this.transactionTemplate.execute(status -> mergeTicket(ticket));
+            LOGGER.debug("Updated ticket [{}].", ticket);
+            return ticket;
+        } catch (final Exception e) {
+            if (isOptimisticLockFailure(e)) {
+                LOGGER.warn("Ticket [{}] was modified concurrently and cannot be updated from stale state", ticket.getId());
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Update the ticket by applying the given change to it.
+     * No rows are locked: each attempt applies the change and updates the ticket in its own transaction,
+     * checked against the version column. When the version check fails, the latest state of the ticket is read
+     * and the change is applied to it again in a new transaction, up to the configured number of attempts.
+     * Within an existing transaction, the ticket is detached from the current persistence context and
+     * the attempts run in transactions of their own, so a conflict does not roll back the surrounding transaction.
+     *
+     * @param <T>    the ticket type
+     * @param ticket the ticket
+     * @param update the change to apply to the ticket
+     * @return the updated ticket, or null if the ticket no longer exists
+     */
+    @Override
+    @Transactional(transactionManager = "ticketTransactionManager", propagation = Propagation.SUPPORTS)
+    public <T extends Ticket> T updateTicket(final T ticket, final Consumer<T> update) {
+        if (this.transactionTemplate == null) {
+            update.accept(ticket);
+            updateTicket(ticket);
+            return ticket;
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive() && this.entityManager.contains(ticket)) {
+            this.entityManager.detach(ticket);
+        }
+        var current = ticket;
+        for (var attempt = 1; ; attempt++) {
+            try {
+                val target = current;
+                this.transactionTemplate.execute(status -> {
+                    update.accept(target);
+                    return mergeTicket(target);
+                });
+                LOGGER.debug("Updated ticket [{}].", target);
+                return target;
+            } catch (final Exception e) {
+                if (!isOptimisticLockFailure(e) || attempt >= this.updateAttempts) {
+                    throw e;
+                }
+                LOGGER.debug("Ticket [{}] was concurrently modified; applying the update to its latest state, attempt [{}] of [{}]",
+                    ticket.getId(), attempt + 1, this.updateAttempts);
+                current = this.transactionTemplate.execute(status -> findLatestTicket(ticket));
+                if (current == null) {
+                    LOGGER.debug("Ticket [{}] no longer exists and cannot be updated", ticket.getId());
+                    return null;
+                }
+            }
+        }
+    }
+
+    private Ticket mergeTicket(final Ticket ticket) {
+        val merged = this.entityManager.merge(ticket);
+        this.entityManager.flush();
+        if (ticket instanceof AbstractTicket && merged instanceof AbstractTicket) {
+            AbstractTicket.class.cast(ticket).setVersion(AbstractTicket.class.cast(merged).getVersion());
+        }
         return ticket;
     }
 
+    @SuppressWarnings("unchecked")
+    private <T extends Ticket> T findLatestTicket(final T ticket) {
+        return (T) this.entityManager.find(ticket.getClass(), ticket.getId());
+    }
+
     @Override
     public void addTicket(final Ticket ticket) {
         this.entityManager.persist(ticket);
@@ -82,11 +203,7 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
     public Ticket getTicket(final String ticketId) {
         try {
             val tkt = ticketCatalog.find(ticketId);
-            val sql = String.format("select t from %s t where t.id = :id", getTicketEntityName(tkt));
-            val query = entityManager.createQuery(sql, tkt.getImplementationClass());
-            query.setParameter("id", ticketId);
-            query.setLockMode(this.lockType);
-            val result = query.getSingleResult();
+            val result = findTicket(tkt, ticketId);
             if (result != null && result.isExpired()) {
                 LOGGER.debug("Ticket [{}] has expired and will be removed from the database", result.getId());
                 return null;
@@ -98,15 +215,29 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
         return null;
     }
 
+    private Ticket findTicket(final TicketDefinition definition, final String ticketId) {
+        if (this.lockType == LockModeType.NONE) {
+            return entityManager.find(definition.getImplementationClass(), ticketId);
+        }
+        val sql = String.format("select t from %s t where t.id = :id", getTicketEntityName(definition));
+        val query = entityManager.createQuery(sql, definition.getImplementationClass());
+        query.setParameter("id", ticketId);
+        query.setLockMode(this.lockType);
+        return query.getSingleResult();
+    }
+
+    /**
+     * Gets all tickets. Rows are not locked; see {@link #getTicketsStream()}.
+     *
+     * @return the tickets
+     */
     @Override
     public Collection<Ticket> getTickets() {
         return this.ticketCatalog.findAll()
             .stream()
             .map(t -> {
                 val sql = String.format("select t from %s t", getTicketEntityName(t));
-                val query = entityManager.createQuery(sql, t.getImplementationClass());
-                query.setLockMode(this.lockType);
-                return query;
+                return entityManager.createQuery(sql, t.getImplementationClass());
             })
             .map(TypedQuery::getResultList)
             .flatMap(List::stream)
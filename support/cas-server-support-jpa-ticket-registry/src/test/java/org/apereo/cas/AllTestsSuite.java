@@ -1,6 +1,7 @@
 package org.apereo.cas;
 
 import org.apereo.cas.monitor.SessionHealthIndicatorJpaTests;
+import org.apereo.cas.ticket.registry.JpaTicketRegistryConcurrencyTests;
 import org.apereo.cas.ticket.registry.JpaTicketRegistryTests;
 import org.apereo.cas.ticket.registry.support.JpaLockingStrategyTests;
 
@@ -15,6 +16,6 @@ import org.junit.runners.Suite;
  */
 @RunWith(Suite.class)
 @Suite.SuiteClasses({SessionHealthIndicatorJpaTests.class, JpaTicketRegistryTests.class,
-    JpaLockingStrategyTests.class})
+    JpaLockingStrategyTests.class, JpaTicketRegistryConcurrencyTests.class})
 public class AllTestsSuite {
 }
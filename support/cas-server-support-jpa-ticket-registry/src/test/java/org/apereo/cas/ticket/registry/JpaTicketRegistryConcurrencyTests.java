@@ -0,0 +1,289 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.CentralAuthenticationService;
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.authentication.DefaultAuthenticationResult;
+import org.apereo.cas.config.CasCoreAuthenticationConfiguration;
+import org.apereo.cas.config.CasCoreAuthenticationHandlersConfiguration;
+import org.apereo.cas.config.CasCoreAuthenticationMetadataConfiguration;
+import org.apereo.cas.config.CasCoreAuthenticationPolicyConfiguration;
+import org.apereo.cas.config.CasCoreAuthenticationPrincipalConfiguration;
+import org.apereo.cas.config.CasCoreAuthenticationServiceSelectionStrategyConfiguration;
+import org.apereo.cas.config.CasCoreAuthenticationSupportConfiguration;
+import org.apereo.cas.config.CasCoreConfiguration;
+import org.apereo.cas.config.CasCoreHttpConfiguration;
+import org.apereo.cas.config.CasCoreServicesAuthenticationConfiguration;
+import org.apereo.cas.config.CasCoreServicesConfiguration;
+import org.apereo.cas.config.CasCoreTicketCatalogConfiguration;
+import org.apereo.cas.config.CasCoreTicketsConfiguration;
+import org.apereo.cas.config.CasCoreUtilConfiguration;
+import org.apereo.cas.config.CasCoreWebConfiguration;
+import org.apereo.cas.config.CasPersonDirectoryConfiguration;
+import org.apereo.cas.config.JpaTicketRegistryConfiguration;
+import org.apereo.cas.config.JpaTicketRegistryTicketCatalogConfiguration;
+import org.apereo.cas.config.support.CasWebApplicationServiceFactoryConfiguration;
+import org.apereo.cas.config.support.EnvironmentConversionServiceInitializer;
+import org.apereo.cas.logout.config.CasCoreLogoutConfiguration;
+import org.apereo.cas.services.RegexRegisteredService;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.services.ServicesManager;
+import org.apereo.cas.ticket.AbstractTicket;
+import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
+import org.apereo.cas.util.CollectionUtils;
+
+import lombok.val;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link JpaTicketRegistryConcurrencyTests} that runs concurrent updates
+ * of the same ticket-granting ticket against an embedded database, outside of any test transaction
+ * and through the transactional boundary of the {@link CentralAuthenticationService}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = {
+    RefreshAutoConfiguration.class,
+    AopAutoConfiguration.class,
+    CasCoreUtilConfiguration.class,
+    CasCoreAuthenticationConfiguration.class,
+    CasCoreServicesAuthenticationConfiguration.class,
+    CasCoreAuthenticationPrincipalConfiguration.class,
+    CasCoreAuthenticationPolicyConfiguration.class,
+    CasCoreAuthenticationMetadataConfiguration.class,
+    CasCoreAuthenticationSupportConfiguration.class,
+    CasCoreAuthenticationHandlersConfiguration.class,
+    CasCoreHttpConfiguration.class,
+    CasCoreServicesConfiguration.class,
+    CasPersonDirectoryConfiguration.class,
+    CasCoreLogoutConfiguration.class,
+    CasCoreConfiguration.class,
+    CasCoreAuthenticationServiceSelectionStrategyConfiguration.class,
+    CasCoreTicketsConfiguration.class,
+    CasCoreTicketCatalogConfiguration.class,
+    JpaTicketRegistryTicketCatalogConfiguration.class,
+    JpaTicketRegistryConfiguration.class,
+    CasCoreWebConfiguration.class,
+    CasWebApplicationServiceFactoryConfiguration.class})
+@ContextConfiguration(initializers = EnvironmentConversionServiceInitializer.class)
+@TestPropertySource(properties = {
+    "cas.ticket.registry.jpa.url=jdbc:hsqldb:mem:cas-ticket-registry-concurrency;hsqldb.tx=mvcc",
+    "cas.ticket.registry.jpa.ticketUpdateAttempts=100"
+})
+public class JpaTicketRegistryConcurrencyTests {
+    private static final int THREADS = 8;
+
+    private static final int TICKETS_PER_THREAD = 10;
+
+    @Autowired
+    @Qualifier("ticketRegistry")
+    private TicketRegistry ticketRegistry;
+
+    @Autowired
+    @Qualifier("ticketTransactionManager")
+    private PlatformTransactionManager ticketTransactionManager;
+
+    @Autowired
+    @Qualifier("centralAuthenticationService")
+    private CentralAuthenticationService centralAuthenticationService;
+
+    @Autowired
+    @Qualifier("servicesManager")
+    private ServicesManager servicesManager;
+
+    @Test
+    public void verifyStaleUpdateIsApplied() {
+        val tgt = new TicketGrantingTicketImpl("TGT-STALE-1", CoreAuthenticationTestUtils.getAuthentication(),
+            new NeverExpiresExpirationPolicy());
+        ticketRegistry.addTicket(tgt);
+
+        val first = ticketRegistry.getTicket(tgt.getId(), TicketGrantingTicket.class);
+        val second = ticketRegistry.getTicket(tgt.getId(), TicketGrantingTicket.class);
+        assertNotSame(first, second);
+
+        ticketRegistry.updateTicket(first, ticket -> ticket.grantServiceTicket("ST-STALE-1",
+            RegisteredServiceTestUtils.getService("first"), new NeverExpiresExpirationPolicy(), false, true));
+        val updated = ticketRegistry.updateTicket(second, ticket -> ticket.grantServiceTicket("ST-STALE-2",
+            RegisteredServiceTestUtils.getService("second"), new NeverExpiresExpirationPolicy(), false, true));
+        assertNotNull(updated);
+
+        val result = ticketRegistry.getTicket(tgt.getId(), TicketGrantingTicket.class);
+        assertEquals(CollectionUtils.wrapSet("ST-STALE-1", "ST-STALE-2"), result.getServices().keySet());
+        assertEquals(AbstractTicket.class.cast(updated).getVersion(), AbstractTicket.class.cast(result).getVersion());
+    }
+
+    @Test
+    public void verifyStaleUpdateIsAppliedWithinTransaction() throws Exception {
+        val tgt = new TicketGrantingTicketImpl("TGT-STALE-3", CoreAuthenticationTestUtils.getAuthentication(),
+            new NeverExpiresExpirationPolicy());
+        ticketRegistry.addTicket(tgt);
+
+        val executor = Executors.newSingleThreadExecutor();
+        try {
+            val updated = new TransactionTemplate(ticketTransactionManager).execute(status -> {
+                val current = ticketRegistry.getTicket(tgt.getId(), TicketGrantingTicket.class);
+                try {
+                    executor.submit(() -> ticketRegistry.updateTicket(
+                        ticketRegistry.getTicket(tgt.getId(), TicketGrantingTicket.class),
+                        ticket -> ticket.grantServiceTicket("ST-STALE-5", RegisteredServiceTestUtils.getService("first"),
+                            new NeverExpiresExpirationPolicy(), false, true))).get(1, TimeUnit.MINUTES);
+                } catch (final Exception e) {
+                    throw new IllegalStateException(e);
+                }
+                val st = new AtomicReference<ServiceTicket>();
+                val result = ticketRegistry.updateTicket(current, ticket -> st.set(ticket.grantServiceTicket("ST-STALE-6",
+                    RegisteredServiceTestUtils.getService("second"), new NeverExpiresExpirationPolicy(), false, true)));
+                ticketRegistry.addTicket(st.get());
+                return result;
+            });
+            assertNotNull(updated);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        val result = ticketRegistry.getTicket(tgt.getId(), TicketGrantingTicket.class);
+        assertEquals(CollectionUtils.wrapSet("ST-STALE-5", "ST-STALE-6"), result.getServices().keySet());
+        assertNotNull(ticketRegistry.getTicket("ST-STALE-6", ServiceTicket.class));
+    }
+
+    @Test
+    public void verifyStaleUpdateIsRejected() {
+        val tgt = new TicketGrantingTicketImpl("TGT-STALE-2", CoreAuthenticationTestUtils.getAuthentication(),
+            new NeverExpiresExpirationPolicy());
+        ticketRegistry.addTicket(tgt);
+
+        val first = ticketRegistry.getTicket(tgt.getId(), TicketGrantingTicket.class);
+        val second = ticketRegistry.getTicket(tgt.getId(), TicketGrantingTicket.class);
+        first.grantServiceTicket("ST-STALE-3", RegisteredServiceTestUtils.getService("first"),
+            new NeverExpiresExpirationPolicy(), false, true);
+        ticketRegistry.updateTicket(first);
+
+        second.grantServiceTicket("ST-STALE-4", RegisteredServiceTestUtils.getService("second"),
+            new NeverExpiresExpirationPolicy(), false, true);
+        try {
+            ticketRegistry.updateTicket(second);
+            fail("Updating a ticket from stale state should fail");
+        } catch (final RuntimeException e) {
+            assertNotNull(e.getMessage());
+        }
+        val result = ticketRegistry.getTicket(tgt.getId(), TicketGrantingTicket.class);
+        assertEquals(Collections.singleton("ST-STALE-3"), result.getServices().keySet());
+    }
+
+    @Test
+    public void verifyConcurrentServiceTicketsGrantedByCas() throws Exception {
+        val registeredService = new RegexRegisteredService();
+        registeredService.setId(1000);
+        registeredService.setName("ConcurrentService");
+        registeredService.setServiceId("https://concurrent.example.org/.*");
+        servicesManager.save(registeredService);
+
+        val authentication = CoreAuthenticationTestUtils.getAuthentication();
+        val tgt = new TicketGrantingTicketImpl("TGT-CONCURRENT-CAS", authentication, new NeverExpiresExpirationPolicy());
+        ticketRegistry.addTicket(tgt);
+
+        val tasks = new ArrayList<Callable<Set<String>>>();
+        for (var i = 0; i < THREADS; i++) {
+            val thread = i;
+            tasks.add(() -> {
+                val granted = new HashSet<String>();
+                for (var j = 0; j < TICKETS_PER_THREAD; j++) {
+                    val service = RegisteredServiceTestUtils.getService("https://concurrent.example.org/" + thread + '/' + j);
+                    val st = centralAuthenticationService.grantServiceTicket(tgt.getId(), service,
+                        new DefaultAuthenticationResult(authentication, service));
+                    granted.add(st.getId());
+                }
+                return granted;
+            });
+        }
+
+        val granted = new HashSet<String>();
+        val executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (val future : executor.invokeAll(tasks, 2, TimeUnit.MINUTES)) {
+                granted.addAll(future.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(THREADS * TICKETS_PER_THREAD, granted.size());
+        val result = ticketRegistry.getTicket(tgt.getId(), TicketGrantingTicket.class);
+        assertEquals(granted, result.getServices().keySet());
+        granted.forEach(id -> assertNotNull(ticketRegistry.getTicket(id, ServiceTicket.class)));
+    }
+
+    @Test
+    public void verifyConcurrentServiceTicketsForSameSession() throws Exception {
+        val tgt = new TicketGrantingTicketImpl("TGT-CONCURRENT-1", CoreAuthenticationTestUtils.getAuthentication(),
+            new NeverExpiresExpirationPolicy());
+        ticketRegistry.addTicket(tgt);
+
+        val tasks = new ArrayList<Callable<Void>>();
+        for (var i = 0; i < THREADS; i++) {
+            val thread = i;
+            tasks.add(() -> {
+                for (var j = 0; j < TICKETS_PER_THREAD; j++) {
+                    val current = ticketRegistry.getTicket(tgt.getId(), TicketGrantingTicket.class);
+                    assertNotNull(current);
+                    val st = new AtomicReference<ServiceTicket>();
+                    val ticketId = "ST-" + thread + '-' + j;
+                    ticketRegistry.updateTicket(current, ticket -> st.set(ticket.grantServiceTicket(ticketId,
+                        RegisteredServiceTestUtils.getService("service" + thread),
+                        new NeverExpiresExpirationPolicy(), false, false)));
+                    ticketRegistry.addTicket(st.get());
+                }
+                return null;
+            });
+        }
+
+        val executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (val future : executor.invokeAll(tasks, 2, TimeUnit.MINUTES)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (var i = 0; i < THREADS; i++) {
+            for (var j = 0; j < TICKETS_PER_THREAD; j++) {
+                val st = ticketRegistry.getTicket("ST-" + i + '-' + j, ServiceTicket.class);
+                assertNotNull(st);
+                assertEquals(tgt.getId(), st.getTicketGrantingTicket().getId());
+            }
+        }
+        val result = ticketRegistry.getTicket(tgt.getId(), TicketGrantingTicket.class);
+        assertNotNull(result);
+        assertEquals(THREADS * TICKETS_PER_THREAD, result.getServices().size());
+        assertTrue(AbstractTicket.class.cast(result).getVersion() > 0);
+        assertTrue(ticketRegistry.deleteTicket(tgt.getId()) > 0);
+        assertNull(ticketRegistry.getTicket("ST-0-0"));
+    }
+}
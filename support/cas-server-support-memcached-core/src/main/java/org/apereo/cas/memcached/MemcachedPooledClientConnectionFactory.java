@@ -33,10 +33,22 @@ public class MemcachedPooledClientConnectionFactory extends BasePooledObjectFact
     private final Transcoder transcoder;
 
     @Override
-    @SneakyThrows
     public MemcachedClientIF create() {
+        return create(memcachedProperties.getServers());
+    }
+
+    /**
+     * Create a memcached client connected to the given servers,
+     * configured with the remaining memcached settings of this factory.
+     * Clients multiplex all operations over their connections and may be shared between threads.
+     *
+     * @param servers the servers
+     * @return the memcached client
+     */
+    @SneakyThrows
+    public MemcachedClientIF create(final String servers) {
         val factoryBean = new MemcachedClientFactoryBean();
-        factoryBean.setServers(memcachedProperties.getServers());
+        factoryBean.setServers(servers);
         factoryBean.setTranscoder(this.transcoder);
 
         if (StringUtils.isNotBlank(memcachedProperties.getLocatorType())) {
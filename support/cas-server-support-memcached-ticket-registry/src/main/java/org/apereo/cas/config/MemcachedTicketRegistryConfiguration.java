@@ -4,7 +4,9 @@ import org.apereo.cas.ComponentSerializationPlan;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.memcached.MemcachedPooledClientConnectionFactory;
 import org.apereo.cas.memcached.MemcachedUtils;
+import org.apereo.cas.ticket.TicketCatalog;
 import org.apereo.cas.ticket.registry.MemcachedTicketRegistry;
+import org.apereo.cas.ticket.registry.MemcachedTicketRegistryCleaner;
 import org.apereo.cas.ticket.registry.NoOpTicketRegistryCleaner;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.ticket.registry.TicketRegistryCleaner;
@@ -12,6 +14,7 @@ import org.apereo.cas.util.CoreTicketUtils;
 
 import lombok.val;
 import net.spy.memcached.transcoders.Transcoder;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -53,18 +56,27 @@ public class MemcachedTicketRegistryConfiguration {
         return new MemcachedPooledClientConnectionFactory(memcached, memcachedTicketRegistryTranscoder());
     }
 
+    @Autowired
     @Bean
-    public TicketRegistry ticketRegistry() {
+    public TicketRegistry ticketRegistry(@Qualifier("ticketCatalog") final TicketCatalog ticketCatalog) {
         val memcached = casProperties.getTicket().getRegistry().getMemcached();
         val factory = new MemcachedPooledClientConnectionFactory(memcached, memcachedTicketRegistryTranscoder());
-        val registry = new MemcachedTicketRegistry(factory.getObjectPool());
+        val replicaClient = StringUtils.isNotBlank(memcached.getReplicaServers())
+            ? factory.create(memcached.getReplicaServers())
+            : null;
+        val registry = new MemcachedTicketRegistry(factory.create(), replicaClient, ticketCatalog, memcached.getTicketIndexShards());
         val cipherExecutor = CoreTicketUtils.newTicketRegistryCipherExecutor(memcached.getCrypto(), "memcached");
         registry.setCipherExecutor(cipherExecutor);
         return registry;
     }
 
+    @Autowired
     @Bean
-    public TicketRegistryCleaner ticketRegistryCleaner() {
+    public TicketRegistryCleaner ticketRegistryCleaner(@Qualifier("ticketRegistry") final TicketRegistry ticketRegistry) {
+        val isCleanerEnabled = casProperties.getTicket().getRegistry().getCleaner().getSchedule().isEnabled();
+        if (isCleanerEnabled && ticketRegistry instanceof MemcachedTicketRegistry) {
+            return new MemcachedTicketRegistryCleaner((MemcachedTicketRegistry) ticketRegistry);
+        }
         return NoOpTicketRegistryCleaner.getInstance();
     }
 }
@@ -1,20 +1,45 @@
 package org.apereo.cas.ticket.registry;
 
+import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketCatalog;
+import org.apereo.cas.ticket.TicketDefinition;
+import org.apereo.cas.ticket.TicketGrantingTicket;
 
 import lombok.RequiredArgsConstructor;
-import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import net.spy.memcached.CachedData;
 import net.spy.memcached.MemcachedClientIF;
-import org.apache.commons.pool2.ObjectPool;
+import net.spy.memcached.internal.OperationFuture;
+import net.spy.memcached.transcoders.Transcoder;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.DisposableBean;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * Key-value ticket registry implementation that stores tickets in memcached keyed on the ticket ID.
+ * <p>Memcached clients multiplex all operations over their connections, so a single client is shared
+ * by all threads. Writes and deletes are pipelined without waiting on their results. Tickets are optionally
+ * written to a second set of replica servers which are consulted when a ticket cannot be found on the primary.</p>
+ * <p>Memcached cannot list its keys. For every ticket type the registry keeps a small number of index items
+ * to which ticket ids are appended as tickets are added. Enumerating tickets reads the index items,
+ * fetches the tickets in bulk and drops ids that no longer resolve to a ticket from the index. Index items are
+ * also compacted periodically by {@link MemcachedTicketRegistryCleaner}, and whenever a ticket id cannot be appended
+ * to an index item.</p>
  *
  * @author Scott Battaglia
  * @author Marvin S. Addison
@@ -24,11 +49,25 @@ import java.util.Collection;
 @Slf4j
 @RequiredArgsConstructor
 public class MemcachedTicketRegistry extends AbstractTicketRegistry implements DisposableBean {
+    private static final String INDEX_KEY_PREFIX = "cas-ticket-index:";
+
+    private static final String INDEX_SEPARATOR = " ";
+
+    private static final Transcoder<String> INDEX_TRANSCODER = new TicketIndexTranscoder();
 
     /**
      * Memcached client.
      */
-    private final ObjectPool<MemcachedClientIF> connectionPool;
+    private final MemcachedClientIF client;
+
+    /**
+     * Memcached client connected to replica servers; may be null.
+     */
+    private final MemcachedClientIF replicaClient;
+
+    private final TicketCatalog ticketCatalog;
+
+    private final int indexShards;
 
     /**
      * If not time out value is specified, expire the ticket immediately.
@@ -44,82 +83,121 @@ public class MemcachedTicketRegistry extends AbstractTicketRegistry implements D
         return ttl;
     }
 
+    private static List<String> parseIndex(final String index) {
+        return Arrays.stream(StringUtils.split(StringUtils.defaultString(index), INDEX_SEPARATOR))
+            .filter(StringUtils::isNotBlank)
+            .distinct()
+            .collect(Collectors.toList());
+    }
+
+    private static Ticket getTicketFromCache(final MemcachedClientIF client, final String ticketId) {
+        try {
+            return (Ticket) client.get(ticketId);
+        } catch (final Exception e) {
+            LOGGER.error("Failed fetching [{}] ", ticketId, e);
+        }
+        return null;
+    }
+
     @Override
     public Ticket updateTicket(final Ticket ticketToUpdate) {
         val ticket = encodeTicket(ticketToUpdate);
         LOGGER.debug("Updating ticket [{}]", ticket);
-        val clientFromPool = getClientFromPool();
-        try {
-            clientFromPool.replace(ticket.getId(), getTimeout(ticketToUpdate), ticket);
-        } catch (final Exception e) {
-            LOGGER.error("Failed updating [{}]", ticket, e);
-        } finally {
-            returnClientToPool(clientFromPool);
-        }
+        val timeout = getTimeout(ticketToUpdate);
+        forEachClient(c -> c.replace(ticket.getId(), timeout, ticket));
         return ticket;
     }
 
     @Override
     public void addTicket(final Ticket ticketToAdd) {
-        val clientFromPool = getClientFromPool();
-        try {
-            val ticket = encodeTicket(ticketToAdd);
-            LOGGER.debug("Adding ticket [{}]", ticket);
-            clientFromPool.set(ticket.getId(), getTimeout(ticketToAdd), ticket);
-        } catch (final Exception e) {
-            LOGGER.error("Failed adding [{}]", ticketToAdd, e);
-        } finally {
-            returnClientToPool(clientFromPool);
-        }
+        val ticket = encodeTicket(ticketToAdd);
+        LOGGER.debug("Adding ticket [{}]", ticket);
+        val timeout = getTimeout(ticketToAdd);
+        val indexKey = getIndexKey(ticketToAdd.getPrefix(), ticket.getId());
+        forEachClient(c -> {
+            c.set(ticket.getId(), timeout, ticket);
+            c.add(indexKey, 0, StringUtils.EMPTY, INDEX_TRANSCODER);
+            val appended = c.append(indexKey, INDEX_SEPARATOR + ticket.getId(), INDEX_TRANSCODER);
+            if (appended instanceof OperationFuture) {
+                ((OperationFuture<?>) appended).addListener(future -> {
+                    if (!future.getStatus().isSuccess()) {
+                        reindexTicket(c, indexKey, ticket.getId());
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Compact the index items of all ticket types on the primary and replica servers,
+     * dropping ids of tickets that are removed or expired.
+     *
+     * @return the number of tickets that remain indexed on the primary servers
+     */
+    public long compactIndex() {
+        val indexKeys = getIndexKeys(getTicketPrefixes());
+        val count = new AtomicLong();
+        forEachClient(c -> {
+            val indexed = indexKeys.stream().mapToLong(indexKey -> getIndexedTickets(c, indexKey).size()).sum();
+            if (c == this.client) {
+                count.set(indexed);
+            }
+        });
+        LOGGER.debug("Compacted [{}] index items that list [{}] tickets", indexKeys.size(), count.get());
+        return count.get();
     }
 
     @Override
     public long deleteAll() {
-        LOGGER.debug("deleteAll() isn't supported. Returning empty list");
-        return 0;
+        val indexKeys = getIndexKeys(getTicketPrefixes());
+        val tickets = getIndexedTickets(indexKeys);
+        forEachClient(c -> {
+            tickets.keySet().forEach(c::delete);
+            indexKeys.forEach(c::delete);
+        });
+        return tickets.size();
     }
 
     @Override
     public boolean deleteSingleTicket(final String ticketIdToDelete) {
-        val clientFromPool = getClientFromPool();
         val ticketId = encodeTicketId(ticketIdToDelete);
-        try {
-            clientFromPool.delete(ticketId);
-        } catch (final Exception e) {
-            LOGGER.error("Ticket not found or is already removed. Failed deleting [{}]", ticketId, e);
-        } finally {
-            returnClientToPool(clientFromPool);
-        }
+        forEachClient(c -> c.delete(ticketId));
         return true;
     }
 
     @Override
     public Ticket getTicket(final String ticketIdToGet) {
-        val clientFromPool = getClientFromPool();
         val ticketId = encodeTicketId(ticketIdToGet);
-        try {
-            val ticketFromCache = (Ticket) clientFromPool.get(ticketId);
-            if (ticketFromCache != null) {
-                val result = decodeTicket(ticketFromCache);
-                if (result != null && result.isExpired()) {
-                    LOGGER.debug("Ticket [{}] has expired and is now removed from the memcached", result.getId());
-                    deleteSingleTicket(ticketId);
-                    return null;
-                }
-                return result;
+        var ticketFromCache = getTicketFromCache(this.client, ticketId);
+        if (ticketFromCache == null && this.replicaClient != null) {
+            LOGGER.trace("Ticket [{}] is not found on the primary servers; checking replicas", ticketId);
+            ticketFromCache = getTicketFromCache(this.replicaClient, ticketId);
+        }
+        if (ticketFromCache != null) {
+            val result = decodeTicket(ticketFromCache);
+            if (result != null && result.isExpired()) {
+                LOGGER.debug("Ticket [{}] has expired and is now removed from the memcached", result.getId());
+                deleteSingleTicket(ticketIdToGet);
+                return null;
             }
-        } catch (final Exception e) {
-            LOGGER.error("Failed fetching [{}] ", ticketId, e);
-        } finally {
-            returnClientToPool(clientFromPool);
+            return result;
         }
         return null;
     }
 
     @Override
     public Collection<Ticket> getTickets() {
-        LOGGER.debug("getTickets() isn't supported. Returning empty list");
-        return new ArrayList<>(0);
+        return decodeTickets(getIndexedTickets(getIndexKeys(getTicketPrefixes())).values());
+    }
+
+    @Override
+    public long sessionCount() {
+        return countTicketsOfType(TicketGrantingTicket.class);
+    }
+
+    @Override
+    public long serviceTicketCount() {
+        return countTicketsOfType(ServiceTicket.class);
     }
 
     /**
@@ -127,21 +205,129 @@ public class MemcachedTicketRegistry extends AbstractTicketRegistry implements D
      */
     @Override
     public void destroy() {
-        this.connectionPool.close();
+        forEachClient(MemcachedClientIF::shutdown);
+    }
+
+    private long countTicketsOfType(final Class<? extends Ticket> type) {
+        val prefixes = this.ticketCatalog.findAll()
+            .stream()
+            .filter(definition -> type.isAssignableFrom(definition.getImplementationClass()))
+            .map(TicketDefinition::getPrefix)
+            .collect(Collectors.toSet());
+        return getIndexedTickets(getIndexKeys(prefixes)).size();
+    }
+
+    private Collection<String> getTicketPrefixes() {
+        return this.ticketCatalog.findAll()
+            .stream()
+            .map(TicketDefinition::getPrefix)
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    private String getIndexKey(final String prefix, final String ticketId) {
+        return INDEX_KEY_PREFIX + prefix + ':' + Math.floorMod(ticketId.hashCode(), this.indexShards);
+    }
+
+    private List<String> getIndexKeys(final Collection<String> prefixes) {
+        return prefixes.stream()
+            .flatMap(prefix -> IntStream.range(0, this.indexShards).mapToObj(shard -> INDEX_KEY_PREFIX + prefix + ':' + shard))
+            .collect(Collectors.toList());
     }
 
-    @SneakyThrows
-    private MemcachedClientIF getClientFromPool() {
-        return this.connectionPool.borrowObject();
+    /**
+     * Fetch all tickets listed in the given index items on the primary servers.
+     */
+    private Map<String, Object> getIndexedTickets(final Collection<String> indexKeys) {
+        val results = new LinkedHashMap<String, Object>();
+        indexKeys.forEach(indexKey -> results.putAll(getIndexedTickets(this.client, indexKey)));
+        return results;
     }
 
-    private void returnClientToPool(final MemcachedClientIF clientFromPool) {
+    /**
+     * Fetch all tickets listed in the given index item with one bulk request.
+     * Ids that no longer resolve to a ticket are removed from the index, unless the index item
+     * was modified concurrently in which case it is left for the next pass.
+     */
+    private static Map<String, Object> getIndexedTickets(final MemcachedClientIF client, final String indexKey) {
         try {
-            if (clientFromPool != null) {
-                this.connectionPool.returnObject(clientFromPool);
+            val index = client.gets(indexKey, INDEX_TRANSCODER);
+            if (index == null) {
+                return new LinkedHashMap<>(0);
             }
+            val ticketIds = parseIndex(index.getValue());
+            if (ticketIds.isEmpty()) {
+                return new LinkedHashMap<>(0);
+            }
+            val tickets = client.getBulk(ticketIds);
+            if (tickets.size() < ticketIds.size()) {
+                val compacted = ticketIds.stream()
+                    .filter(tickets::containsKey)
+                    .map(id -> INDEX_SEPARATOR + id)
+                    .collect(Collectors.joining());
+                val response = client.cas(indexKey, index.getCas(), compacted, INDEX_TRANSCODER);
+                LOGGER.trace("Compacted index [{}] from [{}] to [{}] entries: [{}]", indexKey, ticketIds.size(), tickets.size(), response);
+            }
+            return tickets;
         } catch (final Exception e) {
-            LOGGER.error(e.getMessage(), e);
+            LOGGER.error("Failed fetching tickets indexed under [{}]", indexKey, e);
+        }
+        return new LinkedHashMap<>(0);
+    }
+
+    /**
+     * Add the ticket id to the index item once more, after appending it failed because the index item
+     * was evicted or has reached the item size limit of memcached. The index item is compacted first.
+     */
+    private static void reindexTicket(final MemcachedClientIF client, final String indexKey, final String ticketId) {
+        try {
+            getIndexedTickets(client, indexKey);
+            val entry = INDEX_SEPARATOR + ticketId;
+            if (client.append(indexKey, entry, INDEX_TRANSCODER).get() || client.add(indexKey, 0, entry, INDEX_TRANSCODER).get()) {
+                LOGGER.debug("Ticket [{}] is added to index [{}] after the index is compacted", ticketId, indexKey);
+                return;
+            }
+            LOGGER.warn("Ticket [{}] cannot be added to index [{}], which may have reached the item size limit of memcached. "
+                + "Consider increasing the number of index items via ticketIndexShards", ticketId, indexKey);
+        } catch (final Exception e) {
+            LOGGER.error("Failed to add ticket [{}] to index [{}]", ticketId, indexKey, e);
+        }
+    }
+
+    private void forEachClient(final Consumer<MemcachedClientIF> operation) {
+        val clients = new ArrayList<MemcachedClientIF>(2);
+        clients.add(this.client);
+        clients.add(this.replicaClient);
+        clients.stream().filter(Objects::nonNull).forEach(c -> {
+            try {
+                operation.accept(c);
+            } catch (final Exception e) {
+                LOGGER.error("Failed to execute memcached operation: [{}]", e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * Stores index items as plain UTF-8 text, so that memcached is able to append ticket ids to them.
+     */
+    private static class TicketIndexTranscoder implements Transcoder<String> {
+        @Override
+        public boolean asyncDecode(final CachedData d) {
+            return false;
+        }
+
+        @Override
+        public CachedData encode(final String o) {
+            return new CachedData(0, o.getBytes(StandardCharsets.UTF_8), getMaxSize());
+        }
+
+        @Override
+        public String decode(final CachedData d) {
+            return new String(d.getData(), StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public int getMaxSize() {
+            return CachedData.MAX_SIZE;
         }
     }
 }
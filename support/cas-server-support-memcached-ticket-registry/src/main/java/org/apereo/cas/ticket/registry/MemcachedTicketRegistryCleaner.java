@@ -0,0 +1,29 @@
+package org.apereo.cas.ticket.registry;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+/**
+ * This is {@link MemcachedTicketRegistryCleaner}. Memcached expires tickets on its own,
+ * so the cleaner only compacts the index items of the registry, dropping ids of tickets
+ * that are removed or expired.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class MemcachedTicketRegistryCleaner implements TicketRegistryCleaner {
+    private final MemcachedTicketRegistry ticketRegistry;
+
+    @Override
+    public void clean() {
+        try {
+            val count = this.ticketRegistry.compactIndex();
+            LOGGER.debug("Ticket index is compacted; [{}] tickets remain indexed", count);
+        } catch (final Exception e) {
+            LOGGER.error(e.getMessage(), e);
+        }
+    }
+}
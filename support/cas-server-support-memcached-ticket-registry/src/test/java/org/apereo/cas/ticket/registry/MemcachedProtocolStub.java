@@ -0,0 +1,236 @@
+package org.apereo.cas.ticket.registry;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This is {@link MemcachedProtocolStub}, an in-memory server that speaks enough of the memcached
+ * text protocol to back the ticket registry in tests: storage, retrieval, cas and delete commands.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+public class MemcachedProtocolStub implements AutoCloseable {
+    private static final long MAX_RELATIVE_EXPIRATION = 60 * 60 * 24 * 30;
+
+    @Getter
+    private final Map<String, Item> items = new ConcurrentHashMap<>();
+
+    private final AtomicLong casSequence = new AtomicLong();
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    private final ServerSocket serverSocket;
+
+    @SneakyThrows
+    public MemcachedProtocolStub(final int port) {
+        this.serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        this.executor.execute(this::accept);
+    }
+
+    @Override
+    @SneakyThrows
+    public void close() {
+        this.serverSocket.close();
+        this.executor.shutdownNow();
+    }
+
+    private static String readLine(final InputStream in) throws IOException {
+        val line = new ByteArrayOutputStream();
+        var c = in.read();
+        while (c != -1 && c != '\n') {
+            if (c != '\r') {
+                line.write(c);
+            }
+            c = in.read();
+        }
+        if (c == -1 && line.size() == 0) {
+            return null;
+        }
+        return new String(line.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] readData(final InputStream in, final int length) throws IOException {
+        val data = new byte[length];
+        in.readNBytes(data, 0, length);
+        in.readNBytes(new byte[2], 0, 2);
+        return data;
+    }
+
+    private static void write(final OutputStream out, final String line) throws IOException {
+        out.write(line.getBytes(StandardCharsets.UTF_8));
+        out.write("\r\n".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void accept() {
+        try {
+            while (!this.serverSocket.isClosed()) {
+                val socket = this.serverSocket.accept();
+                this.executor.execute(() -> serve(socket));
+            }
+        } catch (final SocketException e) {
+            LOGGER.trace("Memcached stub is closed");
+        } catch (final Exception e) {
+            LOGGER.error(e.getMessage(), e);
+        }
+    }
+
+    private void serve(final Socket socket) {
+        try (socket) {
+            val in = new BufferedInputStream(socket.getInputStream());
+            val out = socket.getOutputStream();
+            var line = readLine(in);
+            while (line != null) {
+                handle(line.split(" "), in, out);
+                out.flush();
+                line = readLine(in);
+            }
+        } catch (final Exception e) {
+            LOGGER.trace(e.getMessage(), e);
+        }
+    }
+
+    private void handle(final String[] command, final InputStream in, final OutputStream out) throws IOException {
+        switch (command[0]) {
+            case "get":
+            case "gets":
+                for (var i = 1; i < command.length; i++) {
+                    val item = getItem(command[i]);
+                    if (item != null) {
+                        val header = "VALUE " + command[i] + ' ' + item.getFlags() + ' ' + item.getData().length;
+                        write(out, "gets".equals(command[0]) ? header + ' ' + item.getCas() : header);
+                        out.write(item.getData());
+                        write(out, "");
+                    }
+                }
+                write(out, "END");
+                break;
+            case "set":
+            case "add":
+            case "replace":
+            case "append":
+            case "prepend":
+            case "cas":
+                val data = readData(in, Integer.parseInt(command[4]));
+                val result = store(command, data);
+                if (!"noreply".equals(command[command.length - 1])) {
+                    write(out, result);
+                }
+                break;
+            case "delete":
+                val removed = getItem(command[1]) != null && this.items.remove(command[1]) != null;
+                if (!"noreply".equals(command[command.length - 1])) {
+                    write(out, removed ? "DELETED" : "NOT_FOUND");
+                }
+                break;
+            case "flush_all":
+                this.items.clear();
+                write(out, "OK");
+                break;
+            case "version":
+                write(out, "VERSION 1.5.0");
+                break;
+            default:
+                write(out, "ERROR");
+                break;
+        }
+    }
+
+    private synchronized String store(final String[] command, final byte[] data) {
+        val key = command[1];
+        val flags = Integer.parseInt(command[2]);
+        val expiration = getExpiration(Long.parseLong(command[3]));
+        val existing = getItem(key);
+        switch (command[0]) {
+            case "add":
+                if (existing != null) {
+                    return "NOT_STORED";
+                }
+                break;
+            case "replace":
+                if (existing == null) {
+                    return "NOT_STORED";
+                }
+                break;
+            case "append":
+            case "prepend":
+                if (existing == null) {
+                    return "NOT_STORED";
+                }
+                val combined = new ByteArrayOutputStream();
+                val first = "append".equals(command[0]) ? existing.getData() : data;
+                val second = "append".equals(command[0]) ? data : existing.getData();
+                combined.write(first, 0, first.length);
+                combined.write(second, 0, second.length);
+                this.items.put(key, new Item(existing.getFlags(), combined.toByteArray(),
+                    this.casSequence.incrementAndGet(), existing.getExpiration()));
+                return "STORED";
+            case "cas":
+                if (existing == null) {
+                    return "NOT_FOUND";
+                }
+                if (existing.getCas() != Long.parseLong(command[5])) {
+                    return "EXISTS";
+                }
+                break;
+            default:
+                break;
+        }
+        this.items.put(key, new Item(flags, data, this.casSequence.incrementAndGet(), expiration));
+        return "STORED";
+    }
+
+    private Item getItem(final String key) {
+        val item = this.items.get(key);
+        if (item != null && item.getExpiration() > 0 && item.getExpiration() <= System.currentTimeMillis()) {
+            this.items.remove(key, item);
+            return null;
+        }
+        return item;
+    }
+
+    private static long getExpiration(final long expiration) {
+        if (expiration <= 0) {
+            return 0;
+        }
+        if (expiration <= MAX_RELATIVE_EXPIRATION) {
+            return System.currentTimeMillis() + expiration * 1000;
+        }
+        return expiration * 1000;
+    }
+
+    /**
+     * Stored item.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Item {
+        private final int flags;
+
+        private final byte[] data;
+
+        private final long cas;
+
+        private final long expiration;
+    }
+}
@@ -0,0 +1,136 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.config.CasCoreTicketCatalogConfiguration;
+import org.apereo.cas.config.CasCoreTicketsConfiguration;
+import org.apereo.cas.config.CasCoreUtilSerializationConfiguration;
+import org.apereo.cas.config.MemcachedTicketRegistryConfiguration;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
+
+import lombok.val;
+import org.junit.AfterClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.rules.SpringClassRule;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link MemcachedTicketRegistryStubTests} that runs the registry against
+ * embedded {@link MemcachedProtocolStub} servers, one of which acts as a replica.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@RunWith(Parameterized.class)
+@SpringBootTest(classes = {
+    MemcachedTicketRegistryConfiguration.class,
+    RefreshAutoConfiguration.class,
+    CasCoreUtilSerializationConfiguration.class,
+    CasCoreTicketsConfiguration.class,
+    CasCoreTicketCatalogConfiguration.class
+})
+@TestPropertySource(properties = {
+    "cas.ticket.registry.memcached.servers=localhost:11311",
+    "cas.ticket.registry.memcached.replicaServers=localhost:11312",
+    "cas.ticket.registry.memcached.ticketIndexShards=4"
+})
+public class MemcachedTicketRegistryStubTests extends BaseSpringRunnableTicketRegistryTests {
+
+    @ClassRule
+    public static final SpringClassRule SPRING_CLASS_RULE = new SpringClassRule();
+
+    private static final MemcachedProtocolStub PRIMARY = new MemcachedProtocolStub(11311);
+
+    private static final MemcachedProtocolStub REPLICA = new MemcachedProtocolStub(11312);
+
+    @Autowired
+    @Qualifier("ticketRegistry")
+    private TicketRegistry registry;
+
+    @Autowired
+    @Qualifier("ticketRegistryCleaner")
+    private TicketRegistryCleaner ticketRegistryCleaner;
+
+    public MemcachedTicketRegistryStubTests(final boolean useEncryption) {
+        super(useEncryption);
+    }
+
+    @Parameterized.Parameters
+    public static Collection<Object> getTestParameters() {
+        return Arrays.asList(false, true);
+    }
+
+    @AfterClass
+    public static void shutdown() {
+        PRIMARY.close();
+        REPLICA.close();
+    }
+
+    @Override
+    public TicketRegistry getNewTicketRegistry() {
+        return registry;
+    }
+
+    @Test
+    public void verifyTicketIsReadFromReplica() {
+        val tgt = new TicketGrantingTicketImpl("TGT-REPLICA-1", CoreAuthenticationTestUtils.getAuthentication(),
+            new NeverExpiresExpirationPolicy());
+        registry.addTicket(tgt);
+        assertNotNull(registry.getTicket(tgt.getId(), TicketGrantingTicket.class));
+
+        PRIMARY.getItems().clear();
+        assertEquals(tgt, registry.getTicket(tgt.getId(), TicketGrantingTicket.class));
+    }
+
+    @Test
+    public void verifyIndexIsCompacted() {
+        val tgt = new TicketGrantingTicketImpl("TGT-INDEX-1", CoreAuthenticationTestUtils.getAuthentication(),
+            new NeverExpiresExpirationPolicy());
+        val st = tgt.grantServiceTicket("ST-INDEX-1", RegisteredServiceTestUtils.getService(),
+            new NeverExpiresExpirationPolicy(), false, true);
+        registry.addTicket(tgt);
+        registry.addTicket(st);
+        assertEquals(1, registry.sessionCount());
+        assertEquals(1, registry.serviceTicketCount());
+        assertEquals(2, registry.getTickets().size());
+
+        registry.deleteSingleTicket(st.getId());
+        assertEquals(0, registry.serviceTicketCount());
+        assertEquals(1, registry.getTickets().size());
+        assertTrue(PRIMARY.getItems().keySet().stream()
+            .filter(key -> key.startsWith("cas-ticket-index:ST:"))
+            .map(key -> new String(PRIMARY.getItems().get(key).getData(), StandardCharsets.UTF_8))
+            .allMatch(String::isEmpty));
+    }
+
+    @Test
+    public void verifyIndexIsCompactedByCleaner() {
+        val tgt = new TicketGrantingTicketImpl("TGT-CLEANER-1", CoreAuthenticationTestUtils.getAuthentication(),
+            new NeverExpiresExpirationPolicy());
+        registry.addTicket(tgt);
+        assertEquals(1, registry.sessionCount());
+
+        registry.deleteSingleTicket(tgt.getId());
+        ticketRegistryCleaner.clean();
+        assertTrue(Arrays.asList(PRIMARY, REPLICA).stream()
+            .flatMap(server -> server.getItems().entrySet().stream())
+            .filter(entry -> entry.getKey().startsWith("cas-ticket-index:TGT:"))
+            .map(entry -> new String(entry.getValue().getData(), StandardCharsets.UTF_8))
+            .allMatch(String::isEmpty));
+    }
+}
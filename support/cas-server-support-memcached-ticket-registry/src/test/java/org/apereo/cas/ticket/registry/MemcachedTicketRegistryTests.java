@@ -58,9 +58,4 @@ public class MemcachedTicketRegistryTests extends BaseSpringRunnableTicketRegist
     public TicketRegistry getNewTicketRegistry() {
         return registry;
     }
-
-    @Override
-    protected boolean isIterableRegistry() {
-        return false;
-    }
 }
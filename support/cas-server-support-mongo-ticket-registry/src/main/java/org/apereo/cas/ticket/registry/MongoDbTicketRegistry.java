@@ -2,10 +2,13 @@ package org.apereo.cas.ticket.registry;
 
 import org.apereo.cas.mongo.MongoDbConnectionFactory;
 import org.apereo.cas.ticket.BaseTicketSerializers;
+import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketCatalog;
 import org.apereo.cas.ticket.TicketDefinition;
+import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.ticket.TicketState;
+import org.apereo.cas.util.DateTimeUtils;
 
 import com.google.common.collect.ImmutableSet;
 import com.mongodb.client.ListIndexesIterable;
@@ -22,11 +25,15 @@ import org.springframework.data.mongodb.core.index.Index;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.StreamUtils;
 
+import java.time.ZonedDateTime;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * A Ticket Registry storage backend based on MongoDB.
@@ -36,8 +43,6 @@ import java.util.stream.Collectors;
  */
 @Slf4j
 public class MongoDbTicketRegistry extends AbstractTicketRegistry {
-    private static final Query SELECT_ALL_NAMES_QUERY = new Query(Criteria.where(TicketHolder.FIELD_NAME_ID).regex(".+"));
-
     private static final ImmutableSet<String> MONGO_INDEX_KEYS = ImmutableSet.of("v", "key", "name", "ns");
 
     private final TicketCatalog ticketCatalog;
@@ -94,6 +99,11 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
         val index = new Index().on(TicketHolder.FIELD_NAME_EXPIRE_AT, Sort.Direction.ASC).expire(ticket.getProperties().getStorageTimeout());
         removeDifferingIndexIfAny(collection, index);
         mongoTemplate.indexOps(TicketHolder.class).ensureIndex(index);
+
+        LOGGER.debug("Creating indices on collection [{}] to query ticket headers...", collectionName);
+        mongoTemplate.indexOps(collectionName).ensureIndex(new Index().on(TicketHolder.FIELD_NAME_PREFIX, Sort.Direction.ASC));
+        mongoTemplate.indexOps(collectionName).ensureIndex(new Index().on(TicketHolder.FIELD_NAME_PARENT_ID, Sort.Direction.ASC));
+        mongoTemplate.indexOps(collectionName).ensureIndex(new Index().on(TicketHolder.FIELD_NAME_PRINCIPAL, Sort.Direction.ASC));
         return collection;
     }
 
@@ -146,7 +156,15 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
                 return null;
             }
             val query = new Query(Criteria.where(TicketHolder.FIELD_NAME_ID).is(holder.getTicketId()));
-            val update = Update.update(TicketHolder.FIELD_NAME_JSON, holder.getJson());
+            val update = Update.update(TicketHolder.FIELD_NAME_JSON, holder.getJson())
+                .set(TicketHolder.FIELD_NAME_TYPE, holder.getType())
+                .set(TicketHolder.FIELD_NAME_EXPIRE_AT, holder.getExpireAt())
+                .set(TicketHolder.FIELD_NAME_PREFIX, holder.getPrefix())
+                .set(TicketHolder.FIELD_NAME_PRINCIPAL, holder.getPrincipal())
+                .set(TicketHolder.FIELD_NAME_PARENT_ID, holder.getParentId())
+                .set(TicketHolder.FIELD_NAME_CREATION_TIME, holder.getCreationTime())
+                .set(TicketHolder.FIELD_NAME_LAST_TIME_USED, holder.getLastTimeUsed())
+                .set(TicketHolder.FIELD_NAME_EXPIRATION_TIME, holder.getExpirationTime());
             this.mongoTemplate.upsert(query, update, collectionName);
             LOGGER.debug("Updated ticket [{}]", ticket);
         } catch (final Exception e) {
@@ -223,6 +241,62 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
             .collect(Collectors.toSet());
     }
 
+    /**
+     * Gets a stream of tickets that are read from each collection through a cursor,
+     * in batches, instead of loading all documents at once.
+     *
+     * @return the tickets
+     */
+    @Override
+    public Stream<Ticket> getTicketsStream() {
+        return this.ticketCatalog.findAll().stream()
+            .map(this::getTicketCollectionInstanceByMetadata)
+            .distinct()
+            .flatMap(collectionName -> StreamUtils.createStreamFromIterator(mongoTemplate.stream(new Query(), TicketHolder.class, collectionName)))
+            .map(holder -> decodeTicket(deserializeTicketFromMongoDocument(holder)))
+            .filter(Objects::nonNull);
+    }
+
+    @Override
+    public long sessionCount() {
+        return countTicketsOfType(TicketGrantingTicket.class);
+    }
+
+    @Override
+    public long serviceTicketCount() {
+        return countTicketsOfType(ServiceTicket.class);
+    }
+
+    @Override
+    public Stream<TicketHeader> getTicketHeaders(final TicketHeaderCriteria criteria) {
+        if (isCipherExecutorEnabled()) {
+            return getDecodedTicketHeaders(criteria);
+        }
+        val encodedCriteria = encodeTicketHeaderCriteria(criteria);
+        return getTicketCollectionsByCriteria(encodedCriteria)
+            .flatMap(collectionName -> {
+                val query = buildTicketHeaderQuery(encodedCriteria);
+                query.fields().exclude(TicketHolder.FIELD_NAME_JSON);
+                val headers = mongoTemplate.find(query, TicketHolder.class, collectionName)
+                    .stream()
+                    .map(TicketHolder::toTicketHeader);
+                return Stream.concat(headers, findTicketsWithoutHeaders(collectionName, encodedCriteria).map(this::buildTicketHeader));
+            });
+    }
+
+    @Override
+    public Stream<Ticket> getTickets(final TicketHeaderCriteria criteria) {
+        val encodedCriteria = encodeTicketHeaderCriteria(criteria);
+        return getTicketCollectionsByCriteria(encodedCriteria)
+            .flatMap(collectionName -> {
+                val tickets = mongoTemplate.find(buildTicketHeaderQuery(encodedCriteria), TicketHolder.class, collectionName)
+                    .stream()
+                    .map(holder -> decodeTicket(deserializeTicketFromMongoDocument(holder)))
+                    .filter(Objects::nonNull);
+                return Stream.concat(tickets, findTicketsWithoutHeaders(collectionName, encodedCriteria));
+            });
+    }
+
     @Override
     public boolean deleteSingleTicket(final String ticketIdToDelete) {
         val ticketId = encodeTicketId(ticketIdToDelete);
@@ -245,11 +319,8 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
         return this.ticketCatalog.findAll().stream()
             .map(this::getTicketCollectionInstanceByMetadata)
             .filter(StringUtils::isNotBlank)
-            .mapToLong(collectionName -> {
-                val countTickets = this.mongoTemplate.count(SELECT_ALL_NAMES_QUERY, collectionName);
-                mongoTemplate.remove(SELECT_ALL_NAMES_QUERY, collectionName);
-                return countTickets;
-            })
+            .distinct()
+            .mapToLong(collectionName -> mongoTemplate.remove(new Query(), collectionName).getDeletedCount())
             .sum();
     }
 
@@ -257,13 +328,105 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
         val encTicket = encodeTicket(ticket);
         val json = serializeTicketForMongoDocument(encTicket);
         if (StringUtils.isNotBlank(json)) {
-            LOGGER.trace("Serialized ticket into a JSON document as \n [{}]", JsonValue.readJSON(json).toString(Stringify.FORMATTED));
+            if (LOGGER.isTraceEnabled()) {
+                LOGGER.trace("Serialized ticket into a JSON document as \n [{}]", JsonValue.readJSON(json).toString(Stringify.FORMATTED));
+            }
             val expireAt = getExpireAt(ticket);
-            return new TicketHolder(json, encTicket.getId(), encTicket.getClass().getName(), expireAt);
+            val header = buildTicketHeader(ticket);
+            return new TicketHolder(json, encTicket.getId(), encTicket.getClass().getName(), expireAt,
+                header.getPrefix(), header.getPrincipal(), header.getParentId(),
+                toDate(header.getCreationTime()), toDate(header.getLastTimeUsed()), toDate(header.getExpirationTime()));
         }
         throw new IllegalArgumentException("Ticket " + ticket.getId() + " cannot be serialized to JSON");
     }
 
+    /**
+     * Build a query that selects ticket documents whose header fields match the criteria.
+     * Documents that were stored without a header are excluded, and are instead
+     * examined and given their header via {@link #findTicketsWithoutHeaders(String, TicketHeaderCriteria)}.
+     */
+    private static Query buildTicketHeaderQuery(final TicketHeaderCriteria criteria) {
+        val where = Criteria.where(TicketHolder.FIELD_NAME_PREFIX).exists(true);
+        if (!criteria.getPrefixes().isEmpty()) {
+            where.in(criteria.getPrefixes());
+        }
+        if (StringUtils.isNotBlank(criteria.getPrincipal())) {
+            where.and(TicketHolder.FIELD_NAME_PRINCIPAL).is(criteria.getPrincipal());
+        }
+        if (StringUtils.isNotBlank(criteria.getParentId())) {
+            where.and(TicketHolder.FIELD_NAME_PARENT_ID).is(criteria.getParentId());
+        }
+        return new Query(where);
+    }
+
+    private static Date toDate(final ZonedDateTime time) {
+        return time != null ? DateTimeUtils.dateOf(time) : null;
+    }
+
+    private Stream<Ticket> findTicketsWithoutHeaders(final String collectionName, final TicketHeaderCriteria criteria) {
+        return findTicketsWithoutHeaders(collectionName)
+            .filter(ticket -> criteria.test(buildTicketHeader(ticket)));
+    }
+
+    /**
+     * Find tickets whose documents were stored without a header, such as documents written before
+     * header fields were introduced. The header of each ticket found is stored in its document,
+     * so that later queries and counts select the ticket by its header fields on the server.
+     */
+    private Stream<Ticket> findTicketsWithoutHeaders(final String collectionName) {
+        val query = new Query(Criteria.where(TicketHolder.FIELD_NAME_PREFIX).is(null));
+        return mongoTemplate.find(query, TicketHolder.class, collectionName)
+            .stream()
+            .map(holder -> {
+                val ticket = decodeTicket(deserializeTicketFromMongoDocument(holder));
+                if (ticket != null) {
+                    storeTicketHeader(holder, buildTicketHeader(ticket), collectionName);
+                }
+                return ticket;
+            })
+            .filter(Objects::nonNull);
+    }
+
+    private void storeTicketHeader(final TicketHolder holder, final TicketHeader header, final String collectionName) {
+        LOGGER.debug("Storing header fields in the document of ticket [{}]", holder.getTicketId());
+        val query = new Query(Criteria.where(TicketHolder.FIELD_NAME_ID).is(holder.getTicketId()));
+        val update = Update.update(TicketHolder.FIELD_NAME_PREFIX, header.getPrefix())
+            .set(TicketHolder.FIELD_NAME_PRINCIPAL, header.getPrincipal())
+            .set(TicketHolder.FIELD_NAME_PARENT_ID, header.getParentId())
+            .set(TicketHolder.FIELD_NAME_CREATION_TIME, toDate(header.getCreationTime()))
+            .set(TicketHolder.FIELD_NAME_LAST_TIME_USED, toDate(header.getLastTimeUsed()))
+            .set(TicketHolder.FIELD_NAME_EXPIRATION_TIME, toDate(header.getExpirationTime()));
+        this.mongoTemplate.updateFirst(query, update, collectionName);
+    }
+
+    /**
+     * Count tickets of the given type on the server, using the prefix kept in each document.
+     * Documents stored without a header are decoded and counted here, and are given their header
+     * so that they are counted on the server from then on.
+     */
+    private long countTicketsOfType(final Class<? extends Ticket> type) {
+        val definitions = this.ticketCatalog.findAll()
+            .stream()
+            .filter(definition -> type.isAssignableFrom(definition.getImplementationClass()))
+            .collect(Collectors.toList());
+        val prefixes = definitions.stream().map(TicketDefinition::getPrefix).collect(Collectors.toSet());
+        val query = new Query(Criteria.where(TicketHolder.FIELD_NAME_PREFIX).in(prefixes));
+        return definitions.stream()
+            .map(this::getTicketCollectionInstanceByMetadata)
+            .distinct()
+            .mapToLong(collectionName -> mongoTemplate.count(query, collectionName)
+                + findTicketsWithoutHeaders(collectionName).filter(type::isInstance).count())
+            .sum();
+    }
+
+    private Stream<String> getTicketCollectionsByCriteria(final TicketHeaderCriteria criteria) {
+        return this.ticketCatalog.findAll()
+            .stream()
+            .filter(definition -> criteria.getPrefixes().isEmpty() || criteria.getPrefixes().contains(definition.getPrefix()))
+            .map(this::getTicketCollectionInstanceByMetadata)
+            .distinct();
+    }
+
     private String getTicketCollectionInstanceByMetadata(final TicketDefinition metadata) {
         val mapName = metadata.getProperties().getStorageName();
         LOGGER.debug("Locating collection name [{}] for ticket definition [{}]", mapName, metadata);
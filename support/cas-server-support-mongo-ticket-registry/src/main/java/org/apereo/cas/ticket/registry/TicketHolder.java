@@ -1,5 +1,7 @@
 package org.apereo.cas.ticket.registry;
 
+import org.apereo.cas.util.DateTimeUtils;
+
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.ToString;
@@ -7,6 +9,7 @@ import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.io.Serializable;
+import java.time.ZonedDateTime;
 import java.util.Date;
 
 /**
@@ -31,11 +34,46 @@ public class TicketHolder implements Serializable {
      */
     public static final String FIELD_NAME_EXPIRE_AT = "expireAt";
 
+    /**
+     * Field name to hold the ticket type.
+     */
+    public static final String FIELD_NAME_TYPE = "type";
+
     /**
      * Field name to hold ticket id.
      */
     public static final String FIELD_NAME_ID = "ticketId";
 
+    /**
+     * Field name to hold ticket prefix.
+     */
+    public static final String FIELD_NAME_PREFIX = "prefix";
+
+    /**
+     * Field name to hold the encoded ticket principal id.
+     */
+    public static final String FIELD_NAME_PRINCIPAL = "principal";
+
+    /**
+     * Field name to hold parent ticket id.
+     */
+    public static final String FIELD_NAME_PARENT_ID = "parentId";
+
+    /**
+     * Field name to hold ticket creation time.
+     */
+    public static final String FIELD_NAME_CREATION_TIME = "creationTime";
+
+    /**
+     * Field name to hold the last time the ticket was used.
+     */
+    public static final String FIELD_NAME_LAST_TIME_USED = "lastTimeUsed";
+
+    /**
+     * Field name to hold the estimated ticket expiration time.
+     */
+    public static final String FIELD_NAME_EXPIRATION_TIME = "expirationTime";
+
     private static final long serialVersionUID = -4843440028617071224L;
 
     private final String json;
@@ -46,4 +84,30 @@ public class TicketHolder implements Serializable {
 
     @Indexed
     private final Date expireAt;
+
+    private final String prefix;
+
+    private final String principal;
+
+    private final String parentId;
+
+    private final Date creationTime;
+
+    private final Date lastTimeUsed;
+
+    private final Date expirationTime;
+
+    /**
+     * Build the ticket header from the fields kept in this document.
+     *
+     * @return the ticket header
+     */
+    public TicketHeader toTicketHeader() {
+        return new TicketHeader(ticketId, prefix, principal, toZonedDateTime(creationTime),
+            toZonedDateTime(lastTimeUsed), toZonedDateTime(expirationTime), parentId);
+    }
+
+    private static ZonedDateTime toZonedDateTime(final Date date) {
+        return date != null ? DateTimeUtils.zonedDateTimeOf(date) : null;
+    }
 }
@@ -1,5 +1,6 @@
 package org.apereo.cas.ticket.registry;
 
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
 import org.apereo.cas.category.MongoDbCategory;
 import org.apereo.cas.config.CasCoreAuthenticationConfiguration;
 import org.apereo.cas.config.CasCoreAuthenticationHandlersConfiguration;
@@ -21,8 +22,14 @@ import org.apereo.cas.config.MongoDbTicketRegistryConfiguration;
 import org.apereo.cas.config.MongoDbTicketRegistryTicketCatalogConfiguration;
 import org.apereo.cas.config.support.CasWebApplicationServiceFactoryConfiguration;
 import org.apereo.cas.logout.config.CasCoreLogoutConfiguration;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.TicketCatalog;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
 
+import lombok.val;
 import org.junit.Before;
+import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
@@ -31,6 +38,10 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.TestPropertySource;
@@ -38,6 +49,8 @@ import org.springframework.test.context.TestPropertySource;
 import java.util.Arrays;
 import java.util.Collection;
 
+import static org.junit.Assert.*;
+
 /**
  * This is {@link MongoDbTicketRegistryTests}.
  *
@@ -78,6 +91,14 @@ public class MongoDbTicketRegistryTests extends BaseSpringRunnableTicketRegistry
     @Qualifier("ticketRegistry")
     private TicketRegistry ticketRegistry;
 
+    @Autowired
+    @Qualifier("mongoDbTicketRegistryTemplate")
+    private MongoTemplate mongoDbTicketRegistryTemplate;
+
+    @Autowired
+    @Qualifier("ticketCatalog")
+    private TicketCatalog ticketCatalog;
+
     public MongoDbTicketRegistryTests(final boolean useEncryption) {
         super(useEncryption);
     }
@@ -97,4 +118,43 @@ public class MongoDbTicketRegistryTests extends BaseSpringRunnableTicketRegistry
         return this.ticketRegistry;
     }
 
+    @Test
+    public void verifyServerSideCountsAndStream() {
+        val tgt = new TicketGrantingTicketImpl("TGT-MONGO-COUNT-1", CoreAuthenticationTestUtils.getAuthentication(),
+            new NeverExpiresExpirationPolicy());
+        ticketRegistry.addTicket(tgt);
+        val st = tgt.grantServiceTicket("ST-MONGO-COUNT-1", RegisteredServiceTestUtils.getService(),
+            new NeverExpiresExpirationPolicy(), false, true);
+        ticketRegistry.addTicket(st);
+        ticketRegistry.updateTicket(tgt);
+
+        assertEquals(1, ticketRegistry.sessionCount());
+        assertEquals(1, ticketRegistry.serviceTicketCount());
+        assertEquals(2, ticketRegistry.getTicketsStream().count());
+        assertEquals(2, ticketRegistry.deleteAll());
+        assertEquals(0, ticketRegistry.sessionCount());
+    }
+
+    @Test
+    public void verifyTicketsStoredWithoutHeadersAreCounted() {
+        val tgt = new TicketGrantingTicketImpl("TGT-MONGO-LEGACY-1", CoreAuthenticationTestUtils.getAuthentication(),
+            new NeverExpiresExpirationPolicy());
+        ticketRegistry.addTicket(tgt);
+        val st = tgt.grantServiceTicket("ST-MONGO-LEGACY-1", RegisteredServiceTestUtils.getService(),
+            new NeverExpiresExpirationPolicy(), false, true);
+        ticketRegistry.addTicket(st);
+
+        val header = new Update()
+            .unset(TicketHolder.FIELD_NAME_PREFIX)
+            .unset(TicketHolder.FIELD_NAME_PRINCIPAL)
+            .unset(TicketHolder.FIELD_NAME_PARENT_ID);
+        Arrays.asList(tgt.getId(), st.getId()).forEach(id -> mongoDbTicketRegistryTemplate.updateMulti(new Query(), header,
+            ticketCatalog.find(id).getProperties().getStorageName()));
+
+        assertEquals(1, ticketRegistry.sessionCount());
+        assertEquals(1, ticketRegistry.serviceTicketCount());
+        val collectionName = ticketCatalog.find(tgt).getProperties().getStorageName();
+        assertEquals(0, mongoDbTicketRegistryTemplate.count(new Query(Criteria.where(TicketHolder.FIELD_NAME_PREFIX).is(null)), collectionName));
+        assertEquals(1, ticketRegistry.sessionCount());
+    }
 }
@@ -0,0 +1,40 @@
+package org.apereo.cas.oidc.jwks;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.time.Instant;
+
+/**
+ * This is {@link OidcJsonWebKeySetDocument} that holds the published
+ * JSON web key set, serialized once along with its entity tag.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Getter
+@RequiredArgsConstructor
+@ToString(exclude = "body")
+public class OidcJsonWebKeySetDocument {
+
+    /**
+     * Serialized public key set.
+     */
+    private final byte[] body;
+
+    /**
+     * Strong entity tag computed from the serialized key set.
+     */
+    private final String entityTag;
+
+    /**
+     * Instant at which the document was assembled.
+     */
+    private final Instant creationTime;
+
+    /**
+     * Last-modified timestamp of the keystore the document was built from.
+     */
+    private final long keystoreLastModified;
+}
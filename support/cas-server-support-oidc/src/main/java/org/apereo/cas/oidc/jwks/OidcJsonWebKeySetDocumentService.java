@@ -0,0 +1,161 @@
+package org.apereo.cas.oidc.jwks;
+
+import org.apereo.cas.services.OidcRegisteredService;
+import org.apereo.cas.services.ServicesManager;
+import org.apereo.cas.support.events.service.CasRegisteredServiceDeletedEvent;
+import org.apereo.cas.support.events.service.CasRegisteredServiceSavedEvent;
+import org.apereo.cas.support.events.service.CasRegisteredServicesLoadedEvent;
+import org.apereo.cas.util.DigestUtils;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.jose4j.jwk.JsonWebKey;
+import org.jose4j.jwk.JsonWebKeySet;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * This is {@link OidcJsonWebKeySetDocumentService} that assembles the public
+ * JSON web key set published by CAS from the default keystore and the keystores
+ * of registered services. The document is built once and reused until the keystore
+ * changes, services are reloaded, saved or deleted, or the document expires.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class OidcJsonWebKeySetDocumentService {
+
+    private final Resource jwksFile;
+
+    private final ServicesManager servicesManager;
+
+    private final ResourceLoader resourceLoader;
+
+    private final Duration timeToLive;
+
+    private volatile OidcJsonWebKeySetDocument document;
+
+    /**
+     * Gets the published JSON web key set document, rebuilding it if necessary.
+     *
+     * @return the document
+     * @throws Exception the exception
+     */
+    public OidcJsonWebKeySetDocument getDocument() throws Exception {
+        val current = this.document;
+        if (current != null && !isStale(current)) {
+            return current;
+        }
+        synchronized (this) {
+            if (this.document == null || isStale(this.document)) {
+                this.document = build();
+            }
+            return this.document;
+        }
+    }
+
+    /**
+     * Discard the current document so it is rebuilt on the next request.
+     */
+    public void invalidate() {
+        LOGGER.debug("Invalidating published JSON web key set");
+        this.document = null;
+    }
+
+    /**
+     * Handle registered services loaded event.
+     *
+     * @param event the event
+     */
+    @EventListener
+    public void handleRegisteredServicesLoadedEvent(final CasRegisteredServicesLoadedEvent event) {
+        invalidate();
+    }
+
+    /**
+     * Handle registered service saved event.
+     *
+     * @param event the event
+     */
+    @EventListener
+    public void handleRegisteredServiceSavedEvent(final CasRegisteredServiceSavedEvent event) {
+        if (event.getRegisteredService() instanceof OidcRegisteredService) {
+            invalidate();
+        }
+    }
+
+    /**
+     * Handle registered service deleted event.
+     *
+     * @param event the event
+     */
+    @EventListener
+    public void handleRegisteredServiceDeletedEvent(final CasRegisteredServiceDeletedEvent event) {
+        if (event.getRegisteredService() instanceof OidcRegisteredService) {
+            invalidate();
+        }
+    }
+
+    private boolean isStale(final OidcJsonWebKeySetDocument current) {
+        if (!timeToLive.isZero() && !timeToLive.isNegative()
+            && current.getCreationTime().plus(timeToLive).isBefore(Instant.now())) {
+            LOGGER.debug("Published JSON web key set has expired");
+            return true;
+        }
+        if (getKeystoreLastModified() != current.getKeystoreLastModified()) {
+            LOGGER.debug("JSON web keystore [{}] has changed", this.jwksFile);
+            return true;
+        }
+        return false;
+    }
+
+    private long getKeystoreLastModified() {
+        try {
+            return this.jwksFile.lastModified();
+        } catch (final Exception e) {
+            LOGGER.trace("Unable to determine last-modified timestamp of [{}]: [{}]", this.jwksFile, e.getMessage());
+            return 0;
+        }
+    }
+
+    private OidcJsonWebKeySetDocument build() throws Exception {
+        val lastModified = getKeystoreLastModified();
+        val jsonWebKeySet = readJsonWebKeySet(this.jwksFile);
+
+        this.servicesManager.getAllServices()
+            .stream()
+            .filter(s -> s instanceof OidcRegisteredService && StringUtils.isNotBlank(((OidcRegisteredService) s).getJwks()))
+            .map(OidcRegisteredService.class::cast)
+            .forEach(service -> {
+                try {
+                    val set = readJsonWebKeySet(this.resourceLoader.getResource(service.getJwks()));
+                    set.getJsonWebKeys().forEach(jsonWebKeySet::addJsonWebKey);
+                } catch (final Exception e) {
+                    LOGGER.error("Unable to load JSON web keys for service [{}] from [{}]: [{}]",
+                        service.getServiceId(), service.getJwks(), e.getMessage());
+                    LOGGER.debug(e.getMessage(), e);
+                }
+            });
+        val body = jsonWebKeySet.toJson(JsonWebKey.OutputControlLevel.PUBLIC_ONLY);
+        val entityTag = '"' + DigestUtils.sha256(body) + '"';
+        LOGGER.debug("Built published JSON web key set with [{}] key(s) and entity tag [{}]",
+            jsonWebKeySet.getJsonWebKeys().size(), entityTag);
+        return new OidcJsonWebKeySetDocument(body.getBytes(StandardCharsets.UTF_8), entityTag, Instant.now(), lastModified);
+    }
+
+    private static JsonWebKeySet readJsonWebKeySet(final Resource resource) throws Exception {
+        try (val input = resource.getInputStream()) {
+            return new JsonWebKeySet(IOUtils.toString(input, StandardCharsets.UTF_8));
+        }
+    }
+}
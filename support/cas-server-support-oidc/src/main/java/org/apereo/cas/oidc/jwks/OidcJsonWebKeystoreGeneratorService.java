@@ -8,9 +8,15 @@ import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.io.FileUtils;
+import org.jose4j.jwk.EcJwkGenerator;
+import org.jose4j.jwk.EllipticCurveJsonWebKey;
 import org.jose4j.jwk.JsonWebKey;
 import org.jose4j.jwk.JsonWebKeySet;
+import org.jose4j.jwk.PublicJsonWebKey;
+import org.jose4j.jwk.RsaJsonWebKey;
 import org.jose4j.jwk.RsaJwkGenerator;
+import org.jose4j.jws.AlgorithmIdentifiers;
+import org.jose4j.keys.EllipticCurves;
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
 
@@ -36,7 +42,7 @@ public class OidcJsonWebKeystoreGeneratorService {
      */
     @SneakyThrows
     public void generate() {
-        generate(oidcProperties.getJwksFile(), DEFAULT_KEYSTORE_BITS);
+        generate(oidcProperties.getJwksFile());
     }
 
     /**
@@ -45,7 +51,8 @@ public class OidcJsonWebKeystoreGeneratorService {
      * @param file the file
      */
     public void generate(final Resource file) {
-        generate(file, DEFAULT_KEYSTORE_BITS);
+        val bits = oidcProperties.getJwksKeySize() > 0 ? oidcProperties.getJwksKeySize() : DEFAULT_KEYSTORE_BITS;
+        generate(file, bits);
     }
 
     /**
@@ -57,8 +64,8 @@ public class OidcJsonWebKeystoreGeneratorService {
     @SneakyThrows
     protected void generate(final Resource file, final int bits) {
         if (!ResourceUtils.doesResourceExist(file)) {
-            val rsaJsonWebKey = RsaJwkGenerator.generateJwk(bits);
-            val jsonWebKeySet = new JsonWebKeySet(rsaJsonWebKey);
+            val jsonWebKey = generateJsonWebKey(oidcProperties.getJwksType(), bits);
+            val jsonWebKeySet = new JsonWebKeySet(jsonWebKey);
             val data = jsonWebKeySet.toJson(JsonWebKey.OutputControlLevel.INCLUDE_PRIVATE);
             val location = (file instanceof FileSystemResource)
                 ? FileSystemResource.class.cast(file).getFile()
@@ -69,4 +76,41 @@ public class OidcJsonWebKeystoreGeneratorService {
             LOGGER.debug("Located JSON web keystore at [{}]", file);
         }
     }
+
+    /**
+     * Generate json web key of the given type.
+     *
+     * @param type the key type, {@code RSA} or {@code EC}
+     * @param bits the key size in bits; for elliptic-curve keys, this selects the curve
+     * @return the json web key
+     * @throws Exception the exception
+     */
+    protected PublicJsonWebKey generateJsonWebKey(final String type, final int bits) throws Exception {
+        if (EllipticCurveJsonWebKey.KEY_TYPE.equalsIgnoreCase(type)) {
+            val jsonWebKey = generateEllipticCurveJsonWebKey(bits);
+            LOGGER.debug("Generated elliptic-curve JSON web key on curve [{}]", jsonWebKey.getCurveName());
+            return jsonWebKey;
+        }
+        if (!RsaJsonWebKey.KEY_TYPE.equalsIgnoreCase(type)) {
+            throw new IllegalArgumentException("Unsupported JSON web key type " + type);
+        }
+        return RsaJwkGenerator.generateJwk(bits);
+    }
+
+    private static EllipticCurveJsonWebKey generateEllipticCurveJsonWebKey(final int bits) throws Exception {
+        switch (bits) {
+            case 521:
+                val p521 = EcJwkGenerator.generateJwk(EllipticCurves.P521);
+                p521.setAlgorithm(AlgorithmIdentifiers.ECDSA_USING_P521_CURVE_AND_SHA512);
+                return p521;
+            case 384:
+                val p384 = EcJwkGenerator.generateJwk(EllipticCurves.P384);
+                p384.setAlgorithm(AlgorithmIdentifiers.ECDSA_USING_P384_CURVE_AND_SHA384);
+                return p384;
+            default:
+                val p256 = EcJwkGenerator.generateJwk(EllipticCurves.P256);
+                p256.setAlgorithm(AlgorithmIdentifiers.ECDSA_USING_P256_CURVE_AND_SHA256);
+                return p256;
+        }
+    }
 }
@@ -204,13 +204,16 @@ public class OidcIdTokenGeneratorService {
         val alg = signingService.getJsonWebKeySigningAlgorithm(service);
         LOGGER.debug("Signing algorithm specified by service [{}] is [{}]", service.getServiceId(), alg);
 
-        if (AlgorithmIdentifiers.RSA_USING_SHA512.equalsIgnoreCase(alg)) {
+        if (AlgorithmIdentifiers.RSA_USING_SHA512.equalsIgnoreCase(alg)
+            || AlgorithmIdentifiers.ECDSA_USING_P521_CURVE_AND_SHA512.equalsIgnoreCase(alg)) {
             return MessageDigestAlgorithms.SHA_512;
         }
-        if (AlgorithmIdentifiers.RSA_USING_SHA384.equalsIgnoreCase(alg)) {
+        if (AlgorithmIdentifiers.RSA_USING_SHA384.equalsIgnoreCase(alg)
+            || AlgorithmIdentifiers.ECDSA_USING_P384_CURVE_AND_SHA384.equalsIgnoreCase(alg)) {
             return MessageDigestAlgorithms.SHA_384;
         }
-        if (AlgorithmIdentifiers.RSA_USING_SHA256.equalsIgnoreCase(alg)) {
+        if (AlgorithmIdentifiers.RSA_USING_SHA256.equalsIgnoreCase(alg)
+            || AlgorithmIdentifiers.ECDSA_USING_P256_CURVE_AND_SHA256.equalsIgnoreCase(alg)) {
             return MessageDigestAlgorithms.SHA_256;
         }
         throw new IllegalArgumentException("Could not determine the hash algorithm for the id token issued to service " + service.getServiceId());
@@ -10,10 +10,12 @@ import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 import org.jose4j.jwa.AlgorithmConstraints;
 import org.jose4j.jwe.JsonWebEncryption;
-import org.jose4j.jwk.RsaJsonWebKey;
+import org.jose4j.jwk.EllipticCurveJsonWebKey;
+import org.jose4j.jwk.PublicJsonWebKey;
 import org.jose4j.jws.AlgorithmIdentifiers;
 import org.jose4j.jws.JsonWebSignature;
 import org.jose4j.jwt.JwtClaims;
+import org.jose4j.keys.EllipticCurves;
 
 import java.util.Optional;
 
@@ -26,8 +28,8 @@ import java.util.Optional;
 @Slf4j
 @RequiredArgsConstructor
 public class OidcIdTokenSigningAndEncryptionService {
-    private final LoadingCache<String, Optional<RsaJsonWebKey>> defaultJsonWebKeystoreCache;
-    private final LoadingCache<OidcRegisteredService, Optional<RsaJsonWebKey>> serviceJsonWebKeystoreCache;
+    private final LoadingCache<String, Optional<PublicJsonWebKey>> defaultJsonWebKeystoreCache;
+    private final LoadingCache<OidcRegisteredService, Optional<PublicJsonWebKey>> serviceJsonWebKeystoreCache;
     private final String issuer;
 
     /**
@@ -98,7 +100,7 @@ public class OidcIdTokenSigningAndEncryptionService {
     }
 
     private void prepareJsonWebSignatureForIdTokenSigning(final OidcRegisteredService svc, final JsonWebSignature jws,
-                                                          final RsaJsonWebKey jsonWebKey) {
+                                                          final PublicJsonWebKey jsonWebKey) {
         LOGGER.debug("Service [{}] is set to sign id tokens", svc);
 
         jws.setKey(jsonWebKey.getPrivateKey());
@@ -107,21 +109,44 @@ public class OidcIdTokenSigningAndEncryptionService {
             jws.setKeyIdHeaderValue(jsonWebKey.getKeyId());
         }
         LOGGER.debug("Signing id token with key id header value [{}]", jws.getKeyIdHeaderValue());
-        jws.setAlgorithmHeaderValue(getJsonWebKeySigningAlgorithm(svc));
+        jws.setAlgorithmHeaderValue(getJsonWebKeySigningAlgorithm(svc, jsonWebKey));
 
         LOGGER.debug("Signing id token with algorithm [{}]", jws.getAlgorithmHeaderValue());
     }
 
     /**
      * Gets json web key signing algorithm.
+     * If the service does not specify an algorithm, elliptic-curve signing keys
+     * determine the algorithm from their curve; otherwise {@code RS256} is used.
      *
      * @param svc the svc
      * @return the json web key signing algorithm
      */
     public String getJsonWebKeySigningAlgorithm(final OidcRegisteredService svc) {
-        if (StringUtils.isBlank(svc.getIdTokenSigningAlg())) {
-            return AlgorithmIdentifiers.RSA_USING_SHA256;
+        if (StringUtils.isNotBlank(svc.getIdTokenSigningAlg())) {
+            return svc.getIdTokenSigningAlg();
         }
-        return svc.getIdTokenSigningAlg();
+        val jwks = defaultJsonWebKeystoreCache.get(this.issuer);
+        return getJsonWebKeySigningAlgorithm(svc, jwks.orElse(null));
+    }
+
+    private static String getJsonWebKeySigningAlgorithm(final OidcRegisteredService svc, final PublicJsonWebKey jsonWebKey) {
+        if (StringUtils.isNotBlank(svc.getIdTokenSigningAlg())) {
+            return svc.getIdTokenSigningAlg();
+        }
+        if (jsonWebKey instanceof EllipticCurveJsonWebKey) {
+            if (StringUtils.isNotBlank(jsonWebKey.getAlgorithm())) {
+                return jsonWebKey.getAlgorithm();
+            }
+            val curve = EllipticCurveJsonWebKey.class.cast(jsonWebKey).getCurveName();
+            if (EllipticCurves.P_521.equals(curve)) {
+                return AlgorithmIdentifiers.ECDSA_USING_P521_CURVE_AND_SHA512;
+            }
+            if (EllipticCurves.P_384.equals(curve)) {
+                return AlgorithmIdentifiers.ECDSA_USING_P384_CURVE_AND_SHA384;
+            }
+            return AlgorithmIdentifiers.ECDSA_USING_P256_CURVE_AND_SHA256;
+        }
+        return AlgorithmIdentifiers.RSA_USING_SHA256;
     }
 }
@@ -2,9 +2,19 @@ package org.apereo.cas.oidc.token;
 
 import org.apereo.cas.oidc.AbstractOidcTests;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.val;
+import org.jose4j.jwe.JsonWebEncryption;
+import org.jose4j.jwe.KeyManagementAlgorithmIdentifiers;
+import org.jose4j.jwk.EcJwkGenerator;
+import org.jose4j.jwk.PublicJsonWebKey;
+import org.jose4j.jws.AlgorithmIdentifiers;
+import org.jose4j.jws.JsonWebSignature;
+import org.jose4j.keys.EllipticCurves;
 import org.junit.Test;
 
+import java.util.Optional;
+
 import static org.junit.Assert.*;
 
 /**
@@ -20,4 +30,29 @@ public class OidcIdTokenSigningAndEncryptionServiceTests extends AbstractOidcTes
         val result = oidcTokenSigningAndEncryptionService.encode(getOidcRegisteredService(), claims);
         assertNotNull(result);
     }
+
+    @Test
+    public void verifyEllipticCurveSigningAndEncryption() throws Exception {
+        val jsonWebKey = EcJwkGenerator.generateJwk(EllipticCurves.P256);
+        val service = new OidcIdTokenSigningAndEncryptionService(
+            Caffeine.newBuilder().build(issuer -> Optional.<PublicJsonWebKey>of(jsonWebKey)),
+            Caffeine.newBuilder().build(svc -> Optional.<PublicJsonWebKey>of(jsonWebKey)),
+            "https://sso.example.org/cas/oidc");
+
+        val registeredService = getOidcRegisteredService();
+        registeredService.setIdTokenSigningAlg(null);
+        registeredService.setIdTokenEncryptionAlg(KeyManagementAlgorithmIdentifiers.ECDH_ES_A128KW);
+        assertEquals(AlgorithmIdentifiers.ECDSA_USING_P256_CURVE_AND_SHA256, service.getJsonWebKeySigningAlgorithm(registeredService));
+
+        val result = service.encode(registeredService, getClaims());
+        val jwe = new JsonWebEncryption();
+        jwe.setCompactSerialization(result);
+        jwe.setKey(jsonWebKey.getPrivateKey());
+
+        val jws = new JsonWebSignature();
+        jws.setCompactSerialization(jwe.getPayload());
+        jws.setKey(jsonWebKey.getPublicKey());
+        assertEquals(AlgorithmIdentifiers.ECDSA_USING_P256_CURVE_AND_SHA256, jws.getAlgorithmHeaderValue());
+        assertTrue(jws.verifySignature());
+    }
 }
@@ -0,0 +1,64 @@
+package org.apereo.cas.oidc.web.controllers;
+
+import org.apereo.cas.oidc.AbstractOidcTests;
+
+import lombok.val;
+import org.jose4j.jwk.JsonWebKeySet;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.ui.ExtendedModelMap;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link OidcJwksEndpointControllerTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class OidcJwksEndpointControllerTests extends AbstractOidcTests {
+
+    @Autowired
+    @Qualifier("oidcJwksController")
+    protected OidcJwksEndpointController oidcJwksController;
+
+    @Test
+    public void verifyKeysArePublishedWithEntityTag() throws Exception {
+        val result = oidcJwksController.handleRequestInternal(new MockHttpServletRequest(),
+            new MockHttpServletResponse(), new ExtendedModelMap());
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        val entityTag = result.getHeaders().getETag();
+        assertNotNull(entityTag);
+        assertNotNull(result.getHeaders().getCacheControl());
+
+        val jwks = new JsonWebKeySet(new String(result.getBody(), StandardCharsets.UTF_8));
+        assertFalse(jwks.getJsonWebKeys().isEmpty());
+        assertFalse(new String(result.getBody(), StandardCharsets.UTF_8).contains("\"d\""));
+
+        val request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, entityTag);
+        val notModified = oidcJwksController.handleRequestInternal(request, new MockHttpServletResponse(), new ExtendedModelMap());
+        assertEquals(HttpStatus.NOT_MODIFIED, notModified.getStatusCode());
+        assertNull(notModified.getBody());
+    }
+
+    @Test
+    public void verifyDocumentIsRebuiltWhenServicesChange() throws Exception {
+        val first = oidcJwksController.handleRequestInternal(new MockHttpServletRequest(),
+            new MockHttpServletResponse(), new ExtendedModelMap());
+        val service = getOidcRegisteredService();
+        service.setClientId("another-client");
+        service.setServiceId("https://another\\.example\\.org.*");
+        servicesManager.save(service);
+        val second = oidcJwksController.handleRequestInternal(new MockHttpServletRequest(),
+            new MockHttpServletResponse(), new ExtendedModelMap());
+        assertNotEquals(first.getHeaders().getETag(), second.getHeaders().getETag());
+    }
+}
@@ -6,6 +6,7 @@ import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apereo.inspektr.audit.spi.support.ReturnValueAsStringResourceResolver;
 import org.aspectj.lang.JoinPoint;
 import org.pac4j.core.client.Client;
+import org.pac4j.core.client.Clients;
 
 import java.util.Objects;
 
@@ -29,6 +30,10 @@ public class DelegatedAuthenticationAuditResourceResolver extends ReturnValueAsS
         if (result.getProperties().containsKey(Client.class.getSimpleName())) {
             builder.append("client", result.getProperties().get(Client.class.getSimpleName()));
         }
+        if (result.getProperties().containsKey(Clients.class.getSimpleName())) {
+            builder.append("clients", result.getProperties().get(Clients.class.getSimpleName()));
+            result.getExecutionResult().ifPresent(allowed -> builder.append("allowedClients", allowed));
+        }
         result.getRegisteredService().ifPresent(service ->
             builder.append("registeredService", service.getName() + ':' + service.getServiceId()));
 
@@ -10,9 +10,17 @@ import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 import org.apereo.inspektr.audit.annotation.Audit;
 import org.pac4j.core.client.Client;
+import org.pac4j.core.client.Clients;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
 
 /**
  * This is {@link RegisteredServiceDelegatedAuthenticationPolicyAuditableEnforcer}.
+ * The policy is enforced either for a single client, or for a collection of client names
+ * at once in which case the allowed client names are returned as the execution result
+ * and a single audit record is produced for the entire decision.
  *
  * @author Misagh Moayyed
  * @since 5.3.0
@@ -27,7 +35,17 @@ public class RegisteredServiceDelegatedAuthenticationPolicyAuditableEnforcer ext
     public AuditableExecutionResult execute(final AuditableContext context) {
         val result = AuditableExecutionResult.of(context);
 
-        if (context.getRegisteredService().isPresent() && context.getProperties().containsKey(Client.class.getSimpleName())) {
+        if (context.getRegisteredService().isPresent() && context.getProperties().containsKey(Clients.class.getSimpleName())) {
+            val registeredService = context.getRegisteredService().get();
+            val clientNames = (Collection<String>) context.getProperties().get(Clients.class.getSimpleName());
+            val policy = registeredService.getAccessStrategy().getDelegatedAuthenticationPolicy();
+            final Set<String> allowed = policy != null ? policy.getAllowedProviders(clientNames, registeredService) : new LinkedHashSet<>(clientNames);
+            LOGGER.debug("Delegated authentication policy for [{}] allows for using clients [{}]", registeredService, allowed);
+            result.setExecutionResult(allowed);
+            if (allowed.isEmpty() && !clientNames.isEmpty()) {
+                result.setException(new UnauthorizedServiceException(UnauthorizedServiceException.CODE_UNAUTHZ_SERVICE, StringUtils.EMPTY));
+            }
+        } else if (context.getRegisteredService().isPresent() && context.getProperties().containsKey(Client.class.getSimpleName())) {
             val registeredService = context.getRegisteredService().get();
             val clientName = context.getProperties().get(Client.class.getSimpleName()).toString();
             val policy = registeredService.getAccessStrategy().getDelegatedAuthenticationPolicy();
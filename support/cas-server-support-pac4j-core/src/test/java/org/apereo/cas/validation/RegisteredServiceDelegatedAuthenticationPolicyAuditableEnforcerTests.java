@@ -0,0 +1,59 @@
+package org.apereo.cas.validation;
+
+import org.apereo.cas.audit.AuditableContext;
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.services.DefaultRegisteredServiceDelegatedAuthenticationPolicy;
+import org.apereo.cas.util.CollectionUtils;
+
+import lombok.val;
+import org.junit.Test;
+import org.pac4j.core.client.Clients;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link RegisteredServiceDelegatedAuthenticationPolicyAuditableEnforcerTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class RegisteredServiceDelegatedAuthenticationPolicyAuditableEnforcerTests {
+
+    @Test
+    public void verifyAllowedClientsSelectedAtOnce() {
+        val registeredService = CoreAuthenticationTestUtils.getRegisteredService();
+        val policy = new DefaultRegisteredServiceDelegatedAuthenticationPolicy(CollectionUtils.wrapList("CasClient", "SAML2Client"));
+        when(registeredService.getAccessStrategy().getDelegatedAuthenticationPolicy()).thenReturn(policy);
+
+        val clientNames = new LinkedHashSet<String>(CollectionUtils.wrapList("FacebookClient", "SAML2Client", "CasClient"));
+        val context = AuditableContext.builder()
+            .registeredService(registeredService)
+            .properties(CollectionUtils.wrap(Clients.class.getSimpleName(), clientNames))
+            .build();
+        val result = new RegisteredServiceDelegatedAuthenticationPolicyAuditableEnforcer().execute(context);
+        assertFalse(result.isExecutionFailure());
+        assertTrue(result.getExecutionResult().isPresent());
+        val allowed = (Collection<String>) result.getExecutionResult().get();
+        assertEquals(CollectionUtils.wrapList("SAML2Client", "CasClient"), new ArrayList<>(allowed));
+    }
+
+    @Test
+    public void verifyNoClientsAllowed() {
+        val registeredService = CoreAuthenticationTestUtils.getRegisteredService();
+        val policy = new DefaultRegisteredServiceDelegatedAuthenticationPolicy(CollectionUtils.wrapList("CasClient"));
+        when(registeredService.getAccessStrategy().getDelegatedAuthenticationPolicy()).thenReturn(policy);
+
+        val context = AuditableContext.builder()
+            .registeredService(registeredService)
+            .properties(CollectionUtils.wrap(Clients.class.getSimpleName(), new LinkedHashSet<>(CollectionUtils.wrapList("FacebookClient"))))
+            .build();
+        val result = new RegisteredServiceDelegatedAuthenticationPolicyAuditableEnforcer().execute(context);
+        assertTrue(result.isExecutionFailure());
+        assertTrue(((Collection) result.getExecutionResult().get()).isEmpty());
+    }
+}
@@ -48,10 +48,15 @@ import org.springframework.webflow.execution.RequestContext;
 
 import javax.servlet.http.HttpServletRequest;
 import java.io.Serializable;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 /**
  * This class represents an action to put at the beginning of the webflow.
@@ -110,6 +115,11 @@ public class DelegatedClientAuthenticationAction extends AbstractAuthenticationA
 
     private final AuthenticationServiceSelectionPlan authenticationRequestServiceSelectionStrategies;
 
+    /**
+     * Provider configurations per client name, without the request-specific redirect parameters.
+     */
+    private final Map<String, ProviderLoginPageConfiguration> providerConfigurations = new ConcurrentHashMap<>();
+
     public DelegatedClientAuthenticationAction(final CasDelegatingWebflowEventResolver initialAuthenticationAttemptWebflowEventResolver,
                                                final CasWebflowEventResolver serviceTicketRequestWebflowEventResolver,
                                                final AdaptiveAuthenticationPolicy adaptiveAuthenticationPolicy,
@@ -266,12 +276,19 @@ public class DelegatedClientAuthenticationAction extends AbstractAuthenticationA
         val response = WebUtils.getHttpServletResponseFromExternalWebflowContext(context);
         val webContext = Pac4jUtils.getPac4jJ2EContext(request, response);
 
-        val urls = new LinkedHashSet<ProviderLoginPageConfiguration>();
-        this.clients
+        val indirectClients = this.clients
             .findAllClients()
             .stream()
-            .filter(client -> client instanceof IndirectClient && isDelegatedClientAuthorizedForService(client, service))
+            .filter(IndirectClient.class::isInstance)
             .map(IndirectClient.class::cast)
+            .collect(Collectors.toList());
+        val authorizedClientNames = findAuthorizedDelegatedClientNames(
+            indirectClients.stream().map(Client::getName).collect(Collectors.toCollection(LinkedHashSet::new)), service);
+
+        val urls = new LinkedHashSet<ProviderLoginPageConfiguration>();
+        indirectClients
+            .stream()
+            .filter(client -> authorizedClientNames.contains(client.getName()))
             .forEach(client -> {
                 try {
                     val provider = buildProviderConfiguration(client, webContext, service);
@@ -304,12 +321,17 @@ public class DelegatedClientAuthenticationAction extends AbstractAuthenticationA
      */
     protected Optional<ProviderLoginPageConfiguration> buildProviderConfiguration(final IndirectClient client, final WebContext webContext,
                                                                                   final WebApplicationService service) {
-        val name = client.getName();
-        val matcher = PAC4J_CLIENT_SUFFIX_PATTERN.matcher(client.getClass().getSimpleName());
-        val type = matcher.replaceAll(StringUtils.EMPTY).toLowerCase();
-        val uriBuilder = UriComponentsBuilder
-            .fromUriString(DelegatedClientNavigationController.ENDPOINT_REDIRECT)
-            .queryParam(Pac4jConstants.DEFAULT_CLIENT_NAME_PARAMETER, name);
+        val provider = this.providerConfigurations.computeIfAbsent(client.getName(), name -> {
+            val matcher = PAC4J_CLIENT_SUFFIX_PATTERN.matcher(client.getClass().getSimpleName());
+            val type = matcher.replaceAll(StringUtils.EMPTY).toLowerCase();
+            val redirectUrl = UriComponentsBuilder
+                .fromUriString(DelegatedClientNavigationController.ENDPOINT_REDIRECT)
+                .queryParam(Pac4jConstants.DEFAULT_CLIENT_NAME_PARAMETER, name)
+                .toUriString();
+            val autoRedirect = (Boolean) client.getCustomProperties().getOrDefault("autoRedirect", Boolean.FALSE);
+            return new ProviderLoginPageConfiguration(name, redirectUrl, type, getCssClass(name), autoRedirect);
+        });
+        val uriBuilder = UriComponentsBuilder.fromUriString(provider.getRedirectUrl());
 
         if (service != null) {
             val sourceParam = service.getSource();
@@ -332,8 +354,8 @@ public class DelegatedClientAuthenticationAction extends AbstractAuthenticationA
             uriBuilder.queryParam(this.themeParamName, themeParam);
         }
         val redirectUrl = uriBuilder.toUriString();
-        val autoRedirect = (Boolean) client.getCustomProperties().getOrDefault("autoRedirect", Boolean.FALSE);
-        val p = new ProviderLoginPageConfiguration(name, redirectUrl, type, getCssClass(name), autoRedirect);
+        val p = new ProviderLoginPageConfiguration(provider.getName(), redirectUrl, provider.getType(),
+            provider.getCssClass(), provider.isAutoRedirect());
         return Optional.of(p);
     }
 
@@ -361,6 +383,45 @@ public class DelegatedClientAuthenticationAction extends AbstractAuthenticationA
         return new Event(this, CasWebflowConstants.TRANSITION_ID_STOP);
     }
 
+    /**
+     * Find the names of delegated clients that are authorized for the service.
+     * The registered service is looked up and the delegated authentication policy
+     * is enforced once for all clients.
+     *
+     * @param clientNames the client names
+     * @param service     the service
+     * @return the authorized client names
+     */
+    protected Set<String> findAuthorizedDelegatedClientNames(final Set<String> clientNames, final Service service) {
+        if (service == null || StringUtils.isBlank(service.getId())) {
+            LOGGER.debug("Can not evaluate delegated authentication policy since no service was provided in the request");
+            return clientNames;
+        }
+        val registeredService = this.servicesManager.findServiceBy(service);
+        if (registeredService == null || !registeredService.getAccessStrategy().isServiceAccessAllowed()) {
+            LOGGER.warn("Service access for [{}] is denied", registeredService);
+            return new LinkedHashSet<>(0);
+        }
+        LOGGER.debug("Located registered service definition [{}] matching [{}]", registeredService, service);
+        val context = AuditableContext.builder()
+            .registeredService(registeredService)
+            .properties(CollectionUtils.wrap(Clients.class.getSimpleName(), clientNames))
+            .build();
+        val result = delegatedAuthenticationPolicyEnforcer.execute(context);
+        val allowed = result.getExecutionResult();
+        if (allowed.isPresent() && allowed.get() instanceof Collection) {
+            val authorized = new LinkedHashSet<String>((Collection<String>) allowed.get());
+            authorized.retainAll(clientNames);
+            LOGGER.debug("Delegated authentication policy for [{}] allows for using clients [{}]", registeredService, authorized);
+            return authorized;
+        }
+        if (result.isExecutionFailure()) {
+            LOGGER.warn("Delegated authentication policy for [{}] refuses access to clients [{}]", registeredService.getServiceId(), clientNames);
+            return new LinkedHashSet<>(0);
+        }
+        return clientNames;
+    }
+
     /**
      * Is delegated client authorized for service boolean.
      *
@@ -6,6 +6,7 @@ import org.apereo.cas.configuration.model.core.authentication.JdbcPrincipalAttri
 import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.configuration.support.JpaBeans;
 import org.apereo.cas.persondir.DefaultPersonDirectoryAttributeRepositoryPlan;
+import org.apereo.cas.persondir.ParallelMergingPersonAttributeDao;
 import org.apereo.cas.persondir.PersonDirectoryAttributeRepositoryPlanConfigurer;
 import org.apereo.cas.util.CollectionUtils;
 import org.apereo.cas.util.LdapUtils;
@@ -22,7 +23,6 @@ import org.apereo.services.persondir.support.CachingPersonAttributeDaoImpl;
 import org.apereo.services.persondir.support.GroovyPersonAttributeDao;
 import org.apereo.services.persondir.support.GrouperPersonAttributeDao;
 import org.apereo.services.persondir.support.JsonBackedComplexStubPersonAttributeDao;
-import org.apereo.services.persondir.support.MergingPersonAttributeDaoImpl;
 import org.apereo.services.persondir.support.RestfulPersonAttributeDao;
 import org.apereo.services.persondir.support.ScriptEnginePersonAttributeDao;
 import org.apereo.services.persondir.support.jdbc.AbstractJdbcPersonAttributeDao;
@@ -48,7 +48,10 @@ import org.springframework.http.HttpMethod;
 import javax.naming.directory.SearchControls;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -70,6 +73,9 @@ public class CasPersonDirectoryConfiguration implements PersonDirectoryAttribute
     @Autowired
     private ObjectProvider<List<PersonDirectoryAttributeRepositoryPlanConfigurer>> attributeRepositoryConfigurers;
 
+    private final Map<IPersonAttributeDao, ParallelMergingPersonAttributeDao.SourcePolicy> attributeRepositoryPolicies =
+        Collections.synchronizedMap(new WeakHashMap<>());
+
     @ConditionalOnMissingBean(name = "attributeRepositories")
     @Bean
     @RefreshScope
@@ -114,6 +120,7 @@ public class CasPersonDirectoryConfiguration implements PersonDirectoryAttribute
                 val dao = new JsonBackedComplexStubPersonAttributeDao(r);
                 dao.setOrder(json.getOrder());
                 dao.init();
+                registerSourcePolicy(dao, json.getTimeout(), json.isRequired());
                 LOGGER.debug("Configured JSON attribute sources from [{}]", r);
                 list.add(dao);
             }
@@ -131,6 +138,7 @@ public class CasPersonDirectoryConfiguration implements PersonDirectoryAttribute
                 val dao = new GroovyPersonAttributeDao(new InternalGroovyScriptDao(applicationContext, casProperties));
                 dao.setCaseInsensitiveUsername(groovy.isCaseInsensitive());
                 dao.setOrder(groovy.getOrder());
+                registerSourcePolicy(dao, groovy.getTimeout(), groovy.isRequired());
 
                 LOGGER.debug("Configured Groovy attribute sources from [{}]", groovy.getLocation());
                 list.add(dao);
@@ -149,6 +157,7 @@ public class CasPersonDirectoryConfiguration implements PersonDirectoryAttribute
         if (gp.isEnabled()) {
             val dao = new GrouperPersonAttributeDao();
             dao.setOrder(gp.getOrder());
+            registerSourcePolicy(dao, gp.getTimeout(), gp.isRequired());
             LOGGER.debug("Configured Grouper attribute source");
             list.add(dao);
         }
@@ -188,6 +197,7 @@ public class CasPersonDirectoryConfiguration implements PersonDirectoryAttribute
                 jdbcDao.setDefaultCaseCanonicalizationMode(jdbc.getCaseCanonicalization());
                 jdbcDao.setQueryType(jdbc.getQueryType());
                 jdbcDao.setOrder(jdbc.getOrder());
+                registerSourcePolicy(jdbcDao, jdbc.getTimeout(), jdbc.isRequired());
                 list.add(jdbcDao);
             }
         });
@@ -248,6 +258,7 @@ public class CasPersonDirectoryConfiguration implements PersonDirectoryAttribute
                 ldapDao.setSearchControls(constraints);
 
                 ldapDao.setOrder(ldap.getOrder());
+                registerSourcePolicy(ldapDao, ldap.getTimeout(), ldap.isRequired());
 
                 LOGGER.debug("Initializing LDAP attribute source for [{}]", ldap.getLdapUrl());
                 ldapDao.initialize();
@@ -271,6 +282,7 @@ public class CasPersonDirectoryConfiguration implements PersonDirectoryAttribute
                 dao.setScriptFile(scriptFile);
                 dao.setCaseInsensitiveUsername(script.isCaseInsensitive());
                 dao.setOrder(script.getOrder());
+                registerSourcePolicy(dao, script.getTimeout(), script.isRequired());
                 LOGGER.debug("Configured scripted attribute sources from [{}]", script.getLocation());
                 list.add(dao);
             }));
@@ -288,6 +300,7 @@ public class CasPersonDirectoryConfiguration implements PersonDirectoryAttribute
                 val dao = new RestfulPersonAttributeDao();
                 dao.setCaseInsensitiveUsername(rest.isCaseInsensitive());
                 dao.setOrder(rest.getOrder());
+                registerSourcePolicy(dao, rest.getTimeout(), rest.isRequired());
                 dao.setUrl(rest.getUrl());
                 dao.setMethod(HttpMethod.resolve(rest.getMethod()).name());
 
@@ -332,21 +345,27 @@ public class CasPersonDirectoryConfiguration implements PersonDirectoryAttribute
     @Bean
     @ConditionalOnMissingBean(name = "aggregatingAttributeRepository")
     public IPersonAttributeDao aggregatingAttributeRepository() {
-        val mergingDao = new MergingPersonAttributeDaoImpl();
-        val merger = StringUtils.defaultIfBlank(casProperties.getAuthn().getAttributeRepository().getMerger(), "replace".trim());
+        val props = casProperties.getAuthn().getAttributeRepository();
+        val merger = StringUtils.defaultIfBlank(props.getMerger(), "replace".trim());
         LOGGER.debug("Configured merging strategy for attribute sources is [{}]", merger);
-        mergingDao.setMerger(getAttributeMerger(merger));
 
         val list = attributeRepositories();
-        mergingDao.setPersonAttributeDaos(list);
-
         if (list.isEmpty()) {
             LOGGER.debug("No attribute repository sources are available/defined to merge together.");
         } else {
             LOGGER.debug("Configured attribute repository sources to merge together: [{}]", list);
         }
 
-        return mergingDao;
+        val timeout = Beans.newDuration(props.getAggregationTimeout()).toMillis();
+        LOGGER.debug("Attribute repository sources are queried in parallel with [{}] thread(s) and a timeout of [{}] ms",
+            props.getAggregationThreads(), timeout);
+        return new ParallelMergingPersonAttributeDao(list, attributeRepositoryPolicies,
+            getAttributeMerger(merger), timeout, props.getAggregationThreads());
+    }
+
+    private void registerSourcePolicy(final IPersonAttributeDao dao, final String timeout, final boolean required) {
+        val timeoutInMillis = StringUtils.isNotBlank(timeout) ? Beans.newDuration(timeout).toMillis() : 0;
+        attributeRepositoryPolicies.put(dao, new ParallelMergingPersonAttributeDao.SourcePolicy(timeoutInMillis, required));
     }
 
     private IAttributeMerger getAttributeMerger(final String merger) {
@@ -0,0 +1,248 @@
+package org.apereo.cas.persondir;
+
+import org.apereo.cas.util.CollectionUtils;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apereo.services.persondir.IPersonAttributeDao;
+import org.apereo.services.persondir.IPersonAttributes;
+import org.apereo.services.persondir.support.BasePersonAttributeDao;
+import org.apereo.services.persondir.support.IUsernameAttributeProvider;
+import org.apereo.services.persondir.support.NamedPersonImpl;
+import org.apereo.services.persondir.support.SimpleUsernameAttributeProvider;
+import org.apereo.services.persondir.support.merger.IAttributeMerger;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.support.DataAccessUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * This is {@link ParallelMergingPersonAttributeDao} that queries a chain of attribute repositories
+ * in parallel, and merges their results in the order of the chain once all have responded
+ * or the aggregation timeout is reached.
+ * Attribute repositories may be assigned their own timeout and may be marked as required, in which
+ * case a failure or a timeout of the repository fails the query; otherwise its results are skipped.
+ * The time taken by each repository is recorded as a timer metric.
+ * Queries wait in a bounded queue for a thread to become available; a query that cannot be queued
+ * is treated as a failure of the repository.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+@ToString(of = "personAttributeDaos")
+public class ParallelMergingPersonAttributeDao extends BasePersonAttributeDao implements DisposableBean {
+    /**
+     * Name of the timer metric that records attribute repository latency.
+     */
+    public static final String METRIC_NAME = "cas.persondir.attributeRepository";
+
+    private static final int QUEUED_QUERIES_PER_THREAD = 64;
+
+    private final IUsernameAttributeProvider usernameAttributeProvider = new SimpleUsernameAttributeProvider();
+
+    @Getter
+    private final List<IPersonAttributeDao> personAttributeDaos;
+
+    private final Map<IPersonAttributeDao, SourcePolicy> sourcePolicies;
+
+    private final IAttributeMerger merger;
+
+    private final long timeout;
+
+    private final ExecutorService executor;
+
+    private final Map<IPersonAttributeDao, Timer> timers = new ConcurrentHashMap<>();
+
+    public ParallelMergingPersonAttributeDao(final List<IPersonAttributeDao> personAttributeDaos,
+                                             final Map<IPersonAttributeDao, SourcePolicy> sourcePolicies,
+                                             final IAttributeMerger merger,
+                                             final long timeout,
+                                             final int threads) {
+        this.personAttributeDaos = personAttributeDaos;
+        this.sourcePolicies = sourcePolicies;
+        this.merger = merger;
+        this.timeout = timeout;
+        val pool = new ThreadPoolExecutor(threads, threads, 1, TimeUnit.MINUTES,
+            new ArrayBlockingQueue<>(threads * QUEUED_QUERIES_PER_THREAD),
+            new BasicThreadFactory.Builder().namingPattern("cas-persondir-%d").daemon(true).build());
+        pool.allowCoreThreadTimeOut(true);
+        this.executor = pool;
+    }
+
+    private static Map<String, List<Object>> stuffAttributesIntoList(final Map<String, Object> query) {
+        return query.entrySet()
+            .stream()
+            .collect(Collectors.toMap(Map.Entry::getKey, entry -> CollectionUtils.toCollection(entry.getValue(), ArrayList.class)));
+    }
+
+    @Override
+    public IPersonAttributes getPerson(final String uid) {
+        val seed = new HashMap<String, List<Object>>();
+        seed.put(this.usernameAttributeProvider.getUsernameAttribute(), CollectionUtils.wrapList(uid));
+        val person = DataAccessUtils.singleResult(getPeopleWithMultivaluedAttributes(seed));
+        if (person == null) {
+            return null;
+        }
+        if (person.getName() == null) {
+            return new NamedPersonImpl(uid, person.getAttributes());
+        }
+        return person;
+    }
+
+    @Override
+    public Set<IPersonAttributes> getPeople(final Map<String, Object> query) {
+        return getPeopleWithMultivaluedAttributes(stuffAttributesIntoList(query));
+    }
+
+    @Override
+    public Set<IPersonAttributes> getPeopleWithMultivaluedAttributes(final Map<String, List<Object>> query) {
+        Set<IPersonAttributes> resultPeople = null;
+        for (val people : queryAttributeRepositories(dao -> dao.getPeopleWithMultivaluedAttributes(query))) {
+            if (people != null) {
+                resultPeople = resultPeople == null ? new LinkedHashSet<>(people) : this.merger.mergeResults(resultPeople, people);
+            }
+        }
+        return resultPeople;
+    }
+
+    @Override
+    public Set<String> getPossibleUserAttributeNames() {
+        Set<String> names = null;
+        for (val dao : this.personAttributeDaos) {
+            val current = dao.getPossibleUserAttributeNames();
+            if (current != null) {
+                names = names == null ? new LinkedHashSet<>(current) : this.merger.mergePossibleUserAttributeNames(names, current);
+            }
+        }
+        return names;
+    }
+
+    @Override
+    public Set<String> getAvailableQueryAttributes() {
+        Set<String> names = null;
+        for (val dao : this.personAttributeDaos) {
+            val current = dao.getAvailableQueryAttributes();
+            if (current != null) {
+                names = names == null ? new LinkedHashSet<>(current) : this.merger.mergeAvailableQueryAttributes(names, current);
+            }
+        }
+        return names;
+    }
+
+    @Override
+    public void destroy() {
+        this.executor.shutdownNow();
+    }
+
+    /**
+     * Run the operation against all attribute repositories in parallel, and collect the results
+     * in the order of the repositories. Results of repositories that fail or time out are {@code null}.
+     * The repositories are read once per call, as the list may change when the context is refreshed.
+     */
+    private <T> List<T> queryAttributeRepositories(final Function<IPersonAttributeDao, T> operation) {
+        val daos = new ArrayList<IPersonAttributeDao>(this.personAttributeDaos);
+        val results = new ArrayList<T>(daos.size());
+        val started = System.nanoTime();
+        val futures = new ArrayList<Future<T>>(daos.size());
+        for (var i = 0; i < daos.size(); i++) {
+            val dao = daos.get(i);
+            val timer = getTimer(dao, i);
+            try {
+                futures.add(this.executor.submit(() -> timer.recordCallable(() -> operation.apply(dao))));
+            } catch (final RejectedExecutionException e) {
+                LOGGER.debug("Query of attribute repository [{}] cannot be queued", dao);
+                futures.add(CompletableFuture.<T>failedFuture(e));
+            }
+        }
+        try {
+            for (var i = 0; i < futures.size(); i++) {
+                val dao = daos.get(i);
+                val future = futures.get(i);
+                val policy = this.sourcePolicies.getOrDefault(dao, SourcePolicy.DEFAULT);
+                val deadline = started + TimeUnit.MILLISECONDS.toNanos(policy.getTimeout() > 0
+                    ? Math.min(policy.getTimeout(), this.timeout) : this.timeout);
+                try {
+                    results.add(future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+                } catch (final TimeoutException e) {
+                    future.cancel(true);
+                    results.add(handleFailure(dao, e));
+                } catch (final ExecutionException e) {
+                    results.add(handleFailure(dao, e.getCause()));
+                }
+            }
+            return results;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.forEach(f -> f.cancel(true));
+            throw new DataAccessResourceFailureException("Interrupted while querying attribute repositories", e);
+        } catch (final RuntimeException e) {
+            futures.forEach(f -> f.cancel(true));
+            throw e;
+        }
+    }
+
+    private Timer getTimer(final IPersonAttributeDao dao, final int index) {
+        return this.timers.computeIfAbsent(dao, key -> Timer.builder(METRIC_NAME)
+            .tag("source", key.getClass().getSimpleName() + '-' + index)
+            .register(Metrics.globalRegistry));
+    }
+
+    private <T> T handleFailure(final IPersonAttributeDao dao, final Throwable e) {
+        val policy = this.sourcePolicies.getOrDefault(dao, SourcePolicy.DEFAULT);
+        if (policy.isRequired()) {
+            throw new DataAccessResourceFailureException("Required attribute repository " + dao + " failed to produce attributes", e);
+        }
+        if (e instanceof TimeoutException) {
+            LOGGER.warn("Attribute repository [{}] did not respond in time and is skipped", dao);
+        } else {
+            LOGGER.warn("Attribute repository [{}] failed and is skipped: [{}]", dao, e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+        }
+        return null;
+    }
+
+    /**
+     * Describes how an attribute repository is treated when queried in parallel.
+     */
+    @Getter
+    @ToString
+    @RequiredArgsConstructor
+    public static class SourcePolicy {
+        /**
+         * Policy for repositories that are not required and have no timeout of their own.
+         */
+        public static final SourcePolicy DEFAULT = new SourcePolicy(0, false);
+
+        /**
+         * Timeout in milliseconds; zero or less uses the aggregation timeout.
+         */
+        private final long timeout;
+
+        private final boolean required;
+    }
+}
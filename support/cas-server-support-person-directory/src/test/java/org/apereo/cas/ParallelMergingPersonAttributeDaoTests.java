@@ -0,0 +1,142 @@
+package org.apereo.cas;
+
+import org.apereo.cas.persondir.ParallelMergingPersonAttributeDao;
+import org.apereo.cas.util.CollectionUtils;
+
+import lombok.SneakyThrows;
+import lombok.val;
+import org.apereo.services.persondir.IPersonAttributeDao;
+import org.apereo.services.persondir.IPersonAttributes;
+import org.apereo.services.persondir.support.StubPersonAttributeDao;
+import org.apereo.services.persondir.support.merger.ReplacingAttributeAdder;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link ParallelMergingPersonAttributeDaoTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class ParallelMergingPersonAttributeDaoTests {
+    private final List<ParallelMergingPersonAttributeDao> repositories = new ArrayList<>();
+
+    private static IPersonAttributeDao newStub(final String name, final String value) {
+        return new StubPersonAttributeDao(CollectionUtils.wrap(name, CollectionUtils.wrapList(value)));
+    }
+
+    private static IPersonAttributeDao newSlowStub(final String name, final String value, final long delay) {
+        return new StubPersonAttributeDao(CollectionUtils.wrap(name, CollectionUtils.wrapList(value))) {
+            @Override
+            @SneakyThrows
+            public Set<IPersonAttributes> getPeopleWithMultivaluedAttributes(final Map<String, List<Object>> query) {
+                Thread.sleep(delay);
+                return super.getPeopleWithMultivaluedAttributes(query);
+            }
+        };
+    }
+
+    private static IPersonAttributeDao newFailingStub() {
+        return new StubPersonAttributeDao() {
+            @Override
+            public Set<IPersonAttributes> getPeopleWithMultivaluedAttributes(final Map<String, List<Object>> query) {
+                throw new IllegalStateException("Attribute repository is unavailable");
+            }
+        };
+    }
+
+    private ParallelMergingPersonAttributeDao newRepository(final List<IPersonAttributeDao> daos,
+                                                            final Map<IPersonAttributeDao, ParallelMergingPersonAttributeDao.SourcePolicy> policies,
+                                                            final long timeout) {
+        val repository = new ParallelMergingPersonAttributeDao(daos, policies, new ReplacingAttributeAdder(), timeout, 4);
+        repositories.add(repository);
+        return repository;
+    }
+
+    @After
+    public void tearDown() {
+        repositories.forEach(ParallelMergingPersonAttributeDao::destroy);
+    }
+
+    @Test
+    public void verifyResultsMergedInOrder() {
+        val daos = CollectionUtils.wrapList(
+            newSlowStub("color", "blue", 200),
+            newStub("color", "red"),
+            newStub("shape", "circle"));
+        val person = newRepository(daos, new HashMap<>(), 5000).getPerson("casuser");
+        assertNotNull(person);
+        assertEquals("casuser", person.getName());
+        assertEquals("red", person.getAttributeValue("color"));
+        assertEquals("circle", person.getAttributeValue("shape"));
+    }
+
+    @Test
+    public void verifySlowOptionalRepositorySkipped() {
+        val slow = newSlowStub("color", "blue", 5000);
+        val policies = new HashMap<IPersonAttributeDao, ParallelMergingPersonAttributeDao.SourcePolicy>();
+        policies.put(slow, new ParallelMergingPersonAttributeDao.SourcePolicy(100, false));
+        val repository = newRepository(CollectionUtils.wrapList(newStub("shape", "circle"), slow), policies, 5000);
+
+        val started = System.currentTimeMillis();
+        val person = repository.getPerson("casuser");
+        assertTrue(System.currentTimeMillis() - started < 2000);
+        assertNotNull(person);
+        assertEquals("circle", person.getAttributeValue("shape"));
+        assertNull(person.getAttributeValue("color"));
+    }
+
+    @Test
+    public void verifyFailingOptionalRepositorySkipped() {
+        val repository = newRepository(CollectionUtils.wrapList(newFailingStub(), newStub("shape", "circle")), new HashMap<>(), 5000);
+        val person = repository.getPerson("casuser");
+        assertNotNull(person);
+        assertEquals("circle", person.getAttributeValue("shape"));
+    }
+
+    @Test(expected = DataAccessResourceFailureException.class)
+    public void verifyFailingRequiredRepository() {
+        val failing = newFailingStub();
+        val policies = new HashMap<IPersonAttributeDao, ParallelMergingPersonAttributeDao.SourcePolicy>();
+        policies.put(failing, new ParallelMergingPersonAttributeDao.SourcePolicy(0, true));
+        newRepository(CollectionUtils.wrapList(newStub("shape", "circle"), failing), policies, 5000).getPerson("casuser");
+    }
+
+    @Test(expected = DataAccessResourceFailureException.class)
+    public void verifySlowRequiredRepository() {
+        val slow = newSlowStub("color", "blue", 5000);
+        val policies = new HashMap<IPersonAttributeDao, ParallelMergingPersonAttributeDao.SourcePolicy>();
+        policies.put(slow, new ParallelMergingPersonAttributeDao.SourcePolicy(0, true));
+        newRepository(CollectionUtils.wrapList(newStub("shape", "circle"), slow), policies, 100).getPerson("casuser");
+    }
+
+    @Test
+    public void verifySlowSingleRepositorySkipped() {
+        val repository = newRepository(CollectionUtils.wrapList(newSlowStub("color", "blue", 5000)), new HashMap<>(), 100);
+        val started = System.currentTimeMillis();
+        assertNull(repository.getPerson("casuser"));
+        assertTrue(System.currentTimeMillis() - started < 2000);
+    }
+
+    @Test
+    public void verifyRepositoriesChangedAfterCreation() {
+        val daos = new ArrayList<IPersonAttributeDao>();
+        daos.add(newStub("color", "red"));
+        val repository = newRepository(daos, new HashMap<>(), 5000);
+        assertEquals("red", repository.getPerson("casuser").getAttributeValue("color"));
+
+        daos.add(newStub("shape", "circle"));
+        val person = repository.getPerson("casuser");
+        assertEquals("red", person.getAttributeValue("color"));
+        assertEquals("circle", person.getAttributeValue("shape"));
+    }
+}
@@ -1,10 +1,10 @@
 package org.apereo.cas.adaptors.radius.authentication;
 
 import org.apereo.cas.adaptors.radius.RadiusServer;
+import org.apereo.cas.adaptors.radius.RadiusServerHealthTracker;
 import org.apereo.cas.authentication.AbstractMultifactorAuthenticationProvider;
 import org.apereo.cas.configuration.model.support.mfa.RadiusMultifactorProperties;
 
-import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
@@ -21,7 +21,6 @@ import java.util.List;
  * @since 5.0.0
  */
 @Slf4j
-@AllArgsConstructor
 @NoArgsConstructor
 public class RadiusMultifactorAuthenticationProvider extends AbstractMultifactorAuthenticationProvider {
 
@@ -29,6 +28,17 @@ public class RadiusMultifactorAuthenticationProvider extends AbstractMultifactor
 
     private List<RadiusServer> servers;
 
+    private transient RadiusServerHealthTracker healthTracker;
+
+    public RadiusMultifactorAuthenticationProvider(final List<RadiusServer> servers) {
+        this(servers, null);
+    }
+
+    public RadiusMultifactorAuthenticationProvider(final List<RadiusServer> servers, final RadiusServerHealthTracker healthTracker) {
+        this.servers = servers;
+        this.healthTracker = healthTracker;
+    }
+
     @Override
     public String getId() {
         return StringUtils.defaultIfBlank(super.getId(), RadiusMultifactorProperties.DEFAULT_IDENTIFIER);
@@ -46,22 +56,32 @@ public class RadiusMultifactorAuthenticationProvider extends AbstractMultifactor
 
     /**
      * Can ping.
+     * Servers are pinged in the order chosen by the health tracker, if any,
+     * so servers that failed repeatedly are tried last and get pinged again once their cooldown elapses.
      *
      * @return true/false
      */
     public boolean canPing() {
         val uidPsw = getClass().getSimpleName();
-        for (val server : this.servers) {
+        val candidates = this.healthTracker != null ? this.healthTracker.select(this.servers) : this.servers;
+        for (val server : candidates) {
             LOGGER.debug("Attempting to ping RADIUS server [{}] via simulating an authentication request. If the server responds "
                 + "successfully, mock authentication will fail correctly.", server);
+            val started = System.currentTimeMillis();
             try {
                 server.authenticate(uidPsw, uidPsw);
             } catch (final TimeoutException | SocketTimeoutException e) {
                 LOGGER.debug("Server [{}] is not available", server);
+                if (this.healthTracker != null) {
+                    this.healthTracker.recordFailure(server);
+                }
                 continue;
             } catch (final Exception e) {
                 LOGGER.debug("Pinging RADIUS server was successful. Response [{}]", e.getMessage());
             }
+            if (this.healthTracker != null) {
+                this.healthTracker.recordSuccess(server, System.currentTimeMillis() - started);
+            }
             return true;
         }
         return false;
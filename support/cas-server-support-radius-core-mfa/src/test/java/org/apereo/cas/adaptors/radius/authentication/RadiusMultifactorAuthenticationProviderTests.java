@@ -0,0 +1,40 @@
+package org.apereo.cas.adaptors.radius.authentication;
+
+import org.apereo.cas.adaptors.radius.RadiusServer;
+import org.apereo.cas.adaptors.radius.RadiusServerHealthTracker;
+
+import lombok.val;
+import net.jradius.exception.TimeoutException;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link RadiusMultifactorAuthenticationProviderTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class RadiusMultifactorAuthenticationProviderTests {
+
+    @Test
+    public void verifyServerPingedAgainAfterCooldown() throws Exception {
+        val tracker = new RadiusServerHealthTracker(1, 100, RadiusServerHealthTracker.SelectionStrategy.ORDERED);
+        val server = mock(RadiusServer.class);
+        when(server.authenticate(anyString(), anyString()))
+            .thenThrow(TimeoutException.class)
+            .thenReturn(null);
+        val provider = new RadiusMultifactorAuthenticationProvider(Collections.singletonList(server), tracker);
+
+        assertFalse(provider.canPing());
+        assertFalse(tracker.isAvailable(server));
+
+        Thread.sleep(150);
+        assertTrue(provider.canPing());
+        assertTrue(tracker.isAvailable(server));
+        verify(server, times(2)).authenticate(anyString(), anyString());
+    }
+}
@@ -26,6 +26,7 @@ import java.security.Security;
 /**
  * Implementation of a RadiusServer that utilizes the JRadius packages available
  * at <a href="http://jradius.sf.net">http://jradius.sf.net</a>.
+ * Clients and their sockets are borrowed from the {@link RadiusClientFactory} and reused across requests.
  *
  * @author Scott Battaglia
  * @author Marvin S. Addison
@@ -134,22 +135,36 @@ public class JRadiusServerImpl implements RadiusServer {
         if (this.nasPortType != -1) {
             attributeList.add(new Attr_NASPortType(this.nasPortType));
         }
-        val client = this.radiusClientFactory.newInstance();
+        val client = this.radiusClientFactory.borrowClient();
+        var failed = true;
         try {
             val request = new AccessRequest(client, attributeList);
             val response = client.authenticate(request, RadiusClient.getAuthProtocol(this.protocol.getName()), this.retries);
-            LOGGER.debug("RADIUS response from [{}]: [{}]", client.getRemoteInetAddress().getCanonicalHostName(), response.getClass().getName());
+            LOGGER.debug("RADIUS response from [{}]: [{}]", client.getRemoteInetAddress().getHostAddress(), response.getClass().getName());
+            RadiusResponse result = null;
             if (response instanceof AccessAccept) {
                 val attributes = response.getAttributes().getAttributeList();
                 LOGGER.debug("Radius response code [{}] accepted with attributes [{}] and identifier [{}]", response.getCode(), attributes, response.getIdentifier());
-                return new RadiusResponse(response.getCode(), response.getIdentifier(), attributes);
+                result = new RadiusResponse(response.getCode(), response.getIdentifier(), attributes);
+            } else {
+                LOGGER.debug("Response is not recognized");
             }
-            LOGGER.debug("Response is not recognized");
+            failed = false;
+            return result;
         } finally {
-            if (client != null) {
-                client.close();
+            if (failed) {
+                this.radiusClientFactory.discardClient(client);
+            } else {
+                this.radiusClientFactory.releaseClient(client);
             }
         }
-        return null;
+    }
+
+    /**
+     * Close the idle clients of the client factory.
+     */
+    @Override
+    public void close() {
+        this.radiusClientFactory.close();
     }
 }
@@ -1,25 +1,38 @@
 package org.apereo.cas.adaptors.radius;
 
-import lombok.AllArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
 import net.jradius.client.RadiusClient;
 
 import java.io.Serializable;
 import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
 
 /**
  * Factory for creating RADIUS client instances.
+ * <p>Clients hold on to an open UDP socket, and may be borrowed from the factory and released back
+ * once a request is done so that their socket is reused by subsequent requests. The address
+ * of the RADIUS server is resolved once and cached until a client is discarded due to an error.
+ * Once the factory is closed, clients that are released back to it are closed as well.</p>
  *
  * @author Marvin S. Addison
  * @since 4.0.0
  */
-@ToString
-@AllArgsConstructor
-public class RadiusClientFactory implements Serializable {
+@Slf4j
+@ToString(exclude = {"resolvedAddress", "idleClients", "closed"})
+public class RadiusClientFactory implements Serializable, AutoCloseable {
 
     private static final int DEFAULT_SOCKET_TIMEOUT = 60;
+    private static final int DEFAULT_MAX_IDLE_CLIENTS = 8;
     private static final long serialVersionUID = 8226097527127614276L;
+    /**
+     * The shared secret to send to the RADIUS server.
+     */
+    private final String sharedSecret;
     /**
      * The port to do accounting on.
      */
@@ -36,11 +49,31 @@ public class RadiusClientFactory implements Serializable {
      * RADIUS server network address.
      */
     private String inetAddress;
-
     /**
-     * The shared secret to send to the RADIUS server.
+     * Maximum number of idle clients kept open for reuse.
      */
-    private final String sharedSecret;
+    private int maxIdleClients = DEFAULT_MAX_IDLE_CLIENTS;
+
+    private transient volatile InetAddress resolvedAddress;
+
+    private transient volatile BlockingDeque<RadiusClient> idleClients;
+
+    private transient volatile boolean closed;
+
+    public RadiusClientFactory(final int accountingPort, final int authenticationPort, final int socketTimeout,
+                               final String inetAddress, final String sharedSecret, final int maxIdleClients) {
+        this.accountingPort = accountingPort;
+        this.authenticationPort = authenticationPort;
+        this.socketTimeout = socketTimeout;
+        this.inetAddress = inetAddress;
+        this.sharedSecret = sharedSecret;
+        this.maxIdleClients = maxIdleClients;
+    }
+
+    public RadiusClientFactory(final int accountingPort, final int authenticationPort, final int socketTimeout,
+                               final String inetAddress, final String sharedSecret) {
+        this(accountingPort, authenticationPort, socketTimeout, inetAddress, sharedSecret, DEFAULT_MAX_IDLE_CLIENTS);
+    }
 
     public RadiusClientFactory(final int accountingPort, final int authenticationPort,
                                final String inetAddress, final String sharedSecret) {
@@ -52,7 +85,6 @@ public class RadiusClientFactory implements Serializable {
             DEFAULT_SOCKET_TIMEOUT, inetAddress, sharedSecret);
     }
 
-
     /**
      * New instance radius client.
      *
@@ -60,7 +92,87 @@ public class RadiusClientFactory implements Serializable {
      */
     @SneakyThrows
     public RadiusClient newInstance() {
-        return new RadiusClient(InetAddress.getByName(this.inetAddress), this.sharedSecret,
+        return new RadiusClient(resolveInetAddress(), this.sharedSecret,
             this.authenticationPort, this.accountingPort, this.socketTimeout);
     }
+
+    /**
+     * Borrow a client with an open socket, creating one if none is idle.
+     * The client must be handed back via {@link #releaseClient(RadiusClient)}
+     * or {@link #discardClient(RadiusClient)} once the request is done.
+     *
+     * @return the radius client
+     */
+    public RadiusClient borrowClient() {
+        val client = getIdleClients().pollFirst();
+        if (client != null) {
+            return client;
+        }
+        LOGGER.trace("No idle RADIUS client is available for [{}]; creating a new client", this.inetAddress);
+        return newInstance();
+    }
+
+    /**
+     * Release a client back to the factory so its socket is reused,
+     * or close the client if enough clients are idle already.
+     *
+     * @param client the client
+     */
+    public void releaseClient(final RadiusClient client) {
+        if (this.closed || this.maxIdleClients <= 0 || !getIdleClients().offerFirst(client)) {
+            client.close();
+            return;
+        }
+        if (this.closed && getIdleClients().remove(client)) {
+            client.close();
+        }
+    }
+
+    /**
+     * Close a client that failed, since late responses to its requests may still arrive on its socket.
+     * The server address is resolved again for the next client.
+     *
+     * @param client the client
+     */
+    public void discardClient(final RadiusClient client) {
+        this.resolvedAddress = null;
+        client.close();
+    }
+
+    /**
+     * Close all idle clients, and any client that is released afterwards.
+     */
+    @Override
+    public void close() {
+        this.closed = true;
+        val clients = getIdleClients();
+        var client = clients.pollFirst();
+        while (client != null) {
+            client.close();
+            client = clients.pollFirst();
+        }
+    }
+
+    private InetAddress resolveInetAddress() throws UnknownHostException {
+        var address = this.resolvedAddress;
+        if (address == null) {
+            address = InetAddress.getByName(this.inetAddress);
+            this.resolvedAddress = address;
+        }
+        return address;
+    }
+
+    private BlockingDeque<RadiusClient> getIdleClients() {
+        var clients = this.idleClients;
+        if (clients == null) {
+            synchronized (this) {
+                clients = this.idleClients;
+                if (clients == null) {
+                    clients = new LinkedBlockingDeque<>(Math.max(1, this.maxIdleClients));
+                    this.idleClients = clients;
+                }
+            }
+        }
+        return clients;
+    }
 }
@@ -36,4 +36,10 @@ public interface RadiusServer extends Serializable {
      */
     RadiusResponse authenticate(String username, String password) throws Exception;
 
+    /**
+     * Release the resources held by the server, such as open sockets.
+     */
+    default void close() {
+    }
+
 }
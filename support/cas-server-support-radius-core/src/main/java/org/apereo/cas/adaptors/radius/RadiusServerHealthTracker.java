@@ -0,0 +1,167 @@
+package org.apereo.cas.adaptors.radius;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * This is {@link RadiusServerHealthTracker} that keeps track of failures and response times of RADIUS servers
+ * and decides the order in which servers are tried.
+ * <p>A server that fails a number of times in a row is considered unavailable, and is tried only after
+ * all available servers, until the failure cooldown elapses and the server is given one more chance.
+ * Available servers are tried in the order in which they are defined, or in the order of
+ * their average response time.</p>
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class RadiusServerHealthTracker {
+    private static final double LATENCY_SMOOTHING_FACTOR = 0.2;
+
+    private final Map<RadiusServer, ServerHealth> servers = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * Number of consecutive failures after which a server is considered unavailable.
+     */
+    private final int failureThreshold;
+
+    /**
+     * Amount of time in milliseconds an unavailable server is skipped.
+     */
+    private final long failureCooldown;
+
+    private final SelectionStrategy selectionStrategy;
+
+    /**
+     * Order the servers in which they should be tried.
+     *
+     * @param candidates the candidate servers
+     * @return the servers in order, with unavailable servers last
+     */
+    public List<RadiusServer> select(final List<RadiusServer> candidates) {
+        val now = System.currentTimeMillis();
+        val available = new ArrayList<RadiusServer>(candidates.size());
+        val unavailable = new ArrayList<RadiusServer>(0);
+        candidates.forEach(server -> {
+            if (getHealth(server).tryAcquire(now)) {
+                available.add(server);
+            } else {
+                LOGGER.debug("RADIUS server [{}] has failed repeatedly and is tried last", server);
+                unavailable.add(server);
+            }
+        });
+        if (this.selectionStrategy == SelectionStrategy.LEAST_LATENCY) {
+            available.sort(Comparator.comparingDouble(server -> getHealth(server).getAverageLatency()));
+        }
+        available.addAll(unavailable);
+        return available;
+    }
+
+    /**
+     * Record that the server responded.
+     *
+     * @param server  the server
+     * @param latency the time it took the server to respond, in milliseconds
+     */
+    public void recordSuccess(final RadiusServer server, final long latency) {
+        getHealth(server).recordSuccess(latency);
+    }
+
+    /**
+     * Record that the server failed to respond.
+     *
+     * @param server the server
+     */
+    public void recordFailure(final RadiusServer server) {
+        if (getHealth(server).recordFailure(System.currentTimeMillis())) {
+            LOGGER.warn("RADIUS server [{}] has failed [{}] time(s) in a row and is considered unavailable for [{}] ms",
+                server, this.failureThreshold, this.failureCooldown);
+        }
+    }
+
+    /**
+     * Is the server considered available.
+     *
+     * @param server the server
+     * @return true if the server is available
+     */
+    public boolean isAvailable(final RadiusServer server) {
+        return getHealth(server).isAvailable(System.currentTimeMillis());
+    }
+
+    private ServerHealth getHealth(final RadiusServer server) {
+        return this.servers.computeIfAbsent(server, s -> new ServerHealth(this.failureThreshold, this.failureCooldown));
+    }
+
+    /**
+     * Strategies to order available servers.
+     */
+    public enum SelectionStrategy {
+        /**
+         * Try servers in the order in which they are defined.
+         */
+        ORDERED,
+        /**
+         * Try servers with the lowest average response time first.
+         */
+        LEAST_LATENCY
+    }
+
+    @RequiredArgsConstructor
+    private static class ServerHealth {
+        private final int failureThreshold;
+
+        private final long failureCooldown;
+
+        private int consecutiveFailures;
+
+        private long unavailableSince;
+
+        @Getter
+        private volatile double averageLatency;
+
+        synchronized boolean isAvailable(final long now) {
+            return this.consecutiveFailures < this.failureThreshold || now - this.unavailableSince >= this.failureCooldown;
+        }
+
+        /**
+         * Once the cooldown of an unavailable server elapses, a single caller is allowed
+         * to try the server before the cooldown starts over.
+         */
+        synchronized boolean tryAcquire(final long now) {
+            if (this.consecutiveFailures < this.failureThreshold) {
+                return true;
+            }
+            if (now - this.unavailableSince >= this.failureCooldown) {
+                this.unavailableSince = now;
+                return true;
+            }
+            return false;
+        }
+
+        synchronized void recordSuccess(final long latency) {
+            this.consecutiveFailures = 0;
+            this.averageLatency = this.averageLatency <= 0
+                ? latency
+                : this.averageLatency + LATENCY_SMOOTHING_FACTOR * (latency - this.averageLatency);
+        }
+
+        synchronized boolean recordFailure(final long now) {
+            this.consecutiveFailures++;
+            if (this.consecutiveFailures >= this.failureThreshold) {
+                this.unavailableSince = now;
+            }
+            return this.consecutiveFailures == this.failureThreshold;
+        }
+    }
+}
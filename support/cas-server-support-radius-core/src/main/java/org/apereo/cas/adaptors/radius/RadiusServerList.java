@@ -0,0 +1,24 @@
+package org.apereo.cas.adaptors.radius;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * This is {@link RadiusServerList} that closes the servers it holds when the list itself is closed,
+ * so that a list of servers defined as a bean releases the sockets of its servers once the bean is destroyed.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class RadiusServerList extends ArrayList<RadiusServer> implements AutoCloseable {
+    private static final long serialVersionUID = 3715960233869741352L;
+
+    public RadiusServerList(final Collection<? extends RadiusServer> servers) {
+        super(servers);
+    }
+
+    @Override
+    public void close() {
+        forEach(RadiusServer::close);
+    }
+}
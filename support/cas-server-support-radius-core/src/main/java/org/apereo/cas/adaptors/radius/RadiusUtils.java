@@ -36,10 +36,44 @@ public class RadiusUtils {
                                                                             final List<RadiusServer> servers,
                                                                             final boolean failoverOnAuthenticationFailure,
                                                                             final boolean failoverOnException) throws Exception {
-        for (val radiusServer : servers) {
+        return authenticate(username, password, servers, failoverOnAuthenticationFailure, failoverOnException, null);
+    }
+
+    /**
+     * Authenticate pair, trying servers in the order determined by the health tracker
+     * and recording the outcome of each attempt.
+     *
+     * @param username                        the username
+     * @param password                        the password
+     * @param servers                         the servers
+     * @param failoverOnAuthenticationFailure the failover on authentication failure
+     * @param failoverOnException             the failover on exception
+     * @param healthTracker                   the health tracker; may be null
+     * @return the pair
+     * @throws Exception the exception
+     */
+    public static Pair<Boolean, Optional<Map<String, Object>>> authenticate(final String username, final String password,
+                                                                            final List<RadiusServer> servers,
+                                                                            final boolean failoverOnAuthenticationFailure,
+                                                                            final boolean failoverOnException,
+                                                                            final RadiusServerHealthTracker healthTracker) throws Exception {
+        val candidates = healthTracker != null ? healthTracker.select(servers) : servers;
+        for (val radiusServer : candidates) {
             LOGGER.debug("Attempting to authenticate [{}] at [{}]", username, radiusServer);
             try {
-                val response = radiusServer.authenticate(username, password);
+                val started = System.currentTimeMillis();
+                final RadiusResponse response;
+                try {
+                    response = radiusServer.authenticate(username, password);
+                } catch (final Exception e) {
+                    if (healthTracker != null) {
+                        healthTracker.recordFailure(radiusServer);
+                    }
+                    throw e;
+                }
+                if (healthTracker != null) {
+                    healthTracker.recordSuccess(radiusServer, System.currentTimeMillis() - started);
+                }
                 if (response != null) {
                     val attributes = new HashMap<String, Object>();
                     response.getAttributes().forEach(attribute -> attributes.put(attribute.getAttributeName(), attribute.getValue().toString()));
@@ -0,0 +1,41 @@
+package org.apereo.cas.adaptors.radius;
+
+import lombok.val;
+import net.jradius.client.RadiusClient;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link RadiusClientFactoryTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class RadiusClientFactoryTests {
+
+    @Test
+    public void verifyIdleClientsClosed() {
+        val factory = new RadiusClientFactory("localhost", "secret");
+        val client = mock(RadiusClient.class);
+        factory.releaseClient(client);
+        verify(client, never()).close();
+        assertSame(client, factory.borrowClient());
+
+        factory.releaseClient(client);
+        new RadiusServerList(Collections.singletonList(new JRadiusServerImpl(RadiusProtocol.PAP, factory))).close();
+        verify(client).close();
+    }
+
+    @Test
+    public void verifyClientReleasedAfterCloseIsClosed() {
+        val factory = new RadiusClientFactory("localhost", "secret");
+        factory.close();
+        val client = mock(RadiusClient.class);
+        factory.releaseClient(client);
+        verify(client).close();
+    }
+}
@@ -0,0 +1,107 @@
+package org.apereo.cas.adaptors.radius;
+
+import org.apereo.cas.util.CollectionUtils;
+
+import lombok.val;
+import net.jradius.dictionary.Attr_ReplyMessage;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link RadiusServerHealthTrackerTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class RadiusServerHealthTrackerTests {
+    private static final String SECRET = "testing123";
+
+    private static final Map<String, String> USERS = CollectionUtils.wrap("casuser", "Mellon");
+
+    private RadiusServerStub primary;
+
+    private RadiusServerStub secondary;
+
+    private static JRadiusServerImpl newServer(final RadiusServerStub stub) {
+        val factory = new RadiusClientFactory(stub.getPort() + 1, stub.getPort(), 1, "localhost", SECRET);
+        return new JRadiusServerImpl(RadiusProtocol.PAP, factory, 0, null, null, -1, -1, null, -1);
+    }
+
+    @Before
+    public void setup() {
+        primary = new RadiusServerStub(SECRET, USERS);
+        secondary = new RadiusServerStub(SECRET, USERS);
+    }
+
+    @After
+    public void tearDown() {
+        primary.close();
+        secondary.close();
+    }
+
+    @Test
+    public void verifyAuthenticationReusesSocket() throws Exception {
+        val server = newServer(primary);
+        for (var i = 0; i < 3; i++) {
+            val response = server.authenticate("casuser", "Mellon");
+            assertNotNull(response);
+            assertEquals(2, response.getCode());
+            assertTrue(response.getAttributes().stream().anyMatch(a -> a.getAttributeName().equals(Attr_ReplyMessage.NAME)));
+        }
+        assertNull(server.authenticate("casuser", "badpsw"));
+        assertEquals(4, primary.getRequestCount().get());
+        assertEquals(1, primary.getClientPorts().size());
+    }
+
+    @Test
+    public void verifyUnavailableServerSkipped() throws Exception {
+        val tracker = new RadiusServerHealthTracker(1, 60_000, RadiusServerHealthTracker.SelectionStrategy.ORDERED);
+        val servers = CollectionUtils.<RadiusServer>wrapList(newServer(primary), newServer(secondary));
+        primary.setResponding(false);
+
+        var result = RadiusUtils.authenticate("casuser", "Mellon", servers, false, true, tracker);
+        assertTrue(result.getKey());
+        assertFalse(tracker.isAvailable(servers.get(0)));
+        val requestsToPrimary = primary.getRequestCount().get();
+
+        val started = System.currentTimeMillis();
+        result = RadiusUtils.authenticate("casuser", "Mellon", servers, false, true, tracker);
+        assertTrue(result.getKey());
+        assertTrue(System.currentTimeMillis() - started < 1000);
+        assertEquals(requestsToPrimary, primary.getRequestCount().get());
+        assertEquals(2, secondary.getRequestCount().get());
+    }
+
+    @Test
+    public void verifyLeastLatencyOrder() {
+        val tracker = new RadiusServerHealthTracker(3, 60_000, RadiusServerHealthTracker.SelectionStrategy.LEAST_LATENCY);
+        val slow = mock(RadiusServer.class);
+        val fast = mock(RadiusServer.class);
+        tracker.recordSuccess(slow, 500);
+        tracker.recordSuccess(fast, 20);
+        assertEquals(CollectionUtils.wrapList(fast, slow), tracker.select(CollectionUtils.wrapList(slow, fast)));
+    }
+
+    @Test
+    public void verifyServerRetriedAfterCooldown() throws Exception {
+        val tracker = new RadiusServerHealthTracker(2, 100, RadiusServerHealthTracker.SelectionStrategy.ORDERED);
+        val first = mock(RadiusServer.class);
+        val second = mock(RadiusServer.class);
+        tracker.recordFailure(first);
+        assertTrue(tracker.isAvailable(first));
+        tracker.recordFailure(first);
+        assertFalse(tracker.isAvailable(first));
+        assertEquals(CollectionUtils.wrapList(second, first), tracker.select(CollectionUtils.wrapList(first, second)));
+
+        Thread.sleep(150);
+        assertEquals(CollectionUtils.wrapList(first, second), tracker.select(CollectionUtils.wrapList(first, second)));
+        tracker.recordSuccess(first, 10);
+        assertTrue(tracker.isAvailable(first));
+    }
+}
@@ -0,0 +1,186 @@
+package org.apereo.cas.adaptors.radius;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayOutputStream;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This is {@link RadiusServerStub}, an in-process RADIUS server that answers PAP access requests
+ * for a fixed set of users. It keeps track of the requests it receives and of the client ports they
+ * were sent from, and may be told to stop responding to simulate a server that is down.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+public class RadiusServerStub implements AutoCloseable {
+    private static final int ACCESS_REQUEST = 1;
+    private static final int ACCESS_ACCEPT = 2;
+    private static final int ACCESS_REJECT = 3;
+    private static final int ATTR_USER_NAME = 1;
+    private static final int ATTR_USER_PASSWORD = 2;
+    private static final int ATTR_REPLY_MESSAGE = 18;
+    private static final int ATTR_MESSAGE_AUTHENTICATOR = 80;
+    private static final int HEADER_LENGTH = 20;
+    private static final int AUTHENTICATOR_LENGTH = 16;
+
+    private final DatagramSocket socket;
+
+    private final byte[] secret;
+
+    private final Map<String, String> users;
+
+    @Getter
+    private final AtomicInteger requestCount = new AtomicInteger();
+
+    @Getter
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+
+    @Setter
+    private volatile boolean responding = true;
+
+    @SneakyThrows
+    public RadiusServerStub(final String secret, final Map<String, String> users) {
+        this.socket = new DatagramSocket(0, InetAddress.getLoopbackAddress());
+        this.secret = secret.getBytes(StandardCharsets.UTF_8);
+        this.users = users;
+        val thread = new Thread(this::serve, "radius-stub-" + this.socket.getLocalPort());
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public int getPort() {
+        return this.socket.getLocalPort();
+    }
+
+    @Override
+    public void close() {
+        this.socket.close();
+    }
+
+    private static byte[] md5(final byte[]... parts) throws Exception {
+        val digest = MessageDigest.getInstance("MD5");
+        for (val part : parts) {
+            digest.update(part);
+        }
+        return digest.digest();
+    }
+
+    private void serve() {
+        val buffer = new byte[4096];
+        try {
+            while (!this.socket.isClosed()) {
+                val packet = new DatagramPacket(buffer, buffer.length);
+                this.socket.receive(packet);
+                this.requestCount.incrementAndGet();
+                this.clientPorts.add(packet.getPort());
+                if (this.responding) {
+                    val response = handle(Arrays.copyOf(packet.getData(), packet.getLength()));
+                    if (response != null) {
+                        this.socket.send(new DatagramPacket(response, response.length, packet.getAddress(), packet.getPort()));
+                    }
+                }
+            }
+        } catch (final SocketException e) {
+            LOGGER.trace("RADIUS stub is closed");
+        } catch (final Exception e) {
+            LOGGER.error(e.getMessage(), e);
+        }
+    }
+
+    private byte[] handle(final byte[] request) throws Exception {
+        if ((request[0] & 0xFF) != ACCESS_REQUEST) {
+            return null;
+        }
+        val requestAuthenticator = Arrays.copyOfRange(request, 4, HEADER_LENGTH);
+        val length = ((request[2] & 0xFF) << 8) | (request[3] & 0xFF);
+        String username = null;
+        byte[] password = null;
+        var messageAuthenticator = false;
+        var offset = HEADER_LENGTH;
+        while (offset + 2 <= length) {
+            val type = request[offset] & 0xFF;
+            val attributeLength = request[offset + 1] & 0xFF;
+            val value = Arrays.copyOfRange(request, offset + 2, offset + attributeLength);
+            if (type == ATTR_USER_NAME) {
+                username = new String(value, StandardCharsets.UTF_8);
+            } else if (type == ATTR_USER_PASSWORD) {
+                password = decodePassword(value, requestAuthenticator);
+            } else if (type == ATTR_MESSAGE_AUTHENTICATOR) {
+                messageAuthenticator = true;
+            }
+            offset += attributeLength;
+        }
+        val accepted = username != null && password != null
+            && this.users.containsKey(username)
+            && Arrays.equals(this.users.get(username).getBytes(StandardCharsets.UTF_8), password);
+        return buildResponse(accepted ? ACCESS_ACCEPT : ACCESS_REJECT, request[1], requestAuthenticator, messageAuthenticator);
+    }
+
+    private byte[] decodePassword(final byte[] encoded, final byte[] requestAuthenticator) throws Exception {
+        val decoded = new byte[encoded.length];
+        var previous = requestAuthenticator;
+        for (var i = 0; i < encoded.length; i += AUTHENTICATOR_LENGTH) {
+            val hash = md5(this.secret, previous);
+            for (var j = 0; j < AUTHENTICATOR_LENGTH && i + j < encoded.length; j++) {
+                decoded[i + j] = (byte) (encoded[i + j] ^ hash[j]);
+            }
+            previous = Arrays.copyOfRange(encoded, i, Math.min(encoded.length, i + AUTHENTICATOR_LENGTH));
+        }
+        var end = decoded.length;
+        while (end > 0 && decoded[end - 1] == 0) {
+            end--;
+        }
+        return Arrays.copyOf(decoded, end);
+    }
+
+    private byte[] buildResponse(final int code, final byte identifier, final byte[] requestAuthenticator,
+                                 final boolean messageAuthenticator) throws Exception {
+        val attributes = new ByteArrayOutputStream();
+        if (code == ACCESS_ACCEPT) {
+            val message = "Welcome".getBytes(StandardCharsets.UTF_8);
+            attributes.write(ATTR_REPLY_MESSAGE);
+            attributes.write(message.length + 2);
+            attributes.write(message, 0, message.length);
+        }
+        val messageAuthenticatorOffset = HEADER_LENGTH + attributes.size() + 2;
+        if (messageAuthenticator) {
+            attributes.write(ATTR_MESSAGE_AUTHENTICATOR);
+            attributes.write(AUTHENTICATOR_LENGTH + 2);
+            attributes.write(new byte[AUTHENTICATOR_LENGTH], 0, AUTHENTICATOR_LENGTH);
+        }
+        val length = HEADER_LENGTH + attributes.size();
+        val response = new byte[length];
+        response[0] = (byte) code;
+        response[1] = identifier;
+        response[2] = (byte) (length >> 8);
+        response[3] = (byte) length;
+        System.arraycopy(requestAuthenticator, 0, response, 4, AUTHENTICATOR_LENGTH);
+        System.arraycopy(attributes.toByteArray(), 0, response, HEADER_LENGTH, attributes.size());
+        if (messageAuthenticator) {
+            val mac = Mac.getInstance("HmacMD5");
+            mac.init(new SecretKeySpec(this.secret, "HmacMD5"));
+            System.arraycopy(mac.doFinal(response), 0, response, messageAuthenticatorOffset, AUTHENTICATOR_LENGTH);
+        }
+        val responseAuthenticator = md5(response, this.secret);
+        System.arraycopy(responseAuthenticator, 0, response, 4, AUTHENTICATOR_LENGTH);
+        return response;
+    }
+}
@@ -1,6 +1,7 @@
 package org.apereo.cas.adaptors.radius.authentication;
 
 import org.apereo.cas.adaptors.radius.RadiusServer;
+import org.apereo.cas.adaptors.radius.RadiusServerHealthTracker;
 import org.apereo.cas.adaptors.radius.RadiusUtils;
 import org.apereo.cas.authentication.AuthenticationHandlerExecutionResult;
 import org.apereo.cas.authentication.Credential;
@@ -30,16 +31,19 @@ public class RadiusTokenAuthenticationHandler extends AbstractPreAndPostProcessi
     private final List<RadiusServer> servers;
     private final boolean failoverOnException;
     private final boolean failoverOnAuthenticationFailure;
+    private final RadiusServerHealthTracker healthTracker;
 
     public RadiusTokenAuthenticationHandler(final String name, final ServicesManager servicesManager,
                                             final PrincipalFactory principalFactory,
                                             final List<RadiusServer> servers,
                                             final boolean failoverOnException,
-                                            final boolean failoverOnAuthenticationFailure) {
+                                            final boolean failoverOnAuthenticationFailure,
+                                            final RadiusServerHealthTracker healthTracker) {
         super(name, servicesManager, principalFactory, null);
         this.servers = servers;
         this.failoverOnException = failoverOnException;
         this.failoverOnAuthenticationFailure = failoverOnAuthenticationFailure;
+        this.healthTracker = healthTracker;
 
         LOGGER.debug("Using [{}]", getClass().getSimpleName());
     }
@@ -64,7 +68,7 @@ public class RadiusTokenAuthenticationHandler extends AbstractPreAndPostProcessi
 
             val result =
                 RadiusUtils.authenticate(username, password, this.servers,
-                    this.failoverOnAuthenticationFailure, this.failoverOnException);
+                    this.failoverOnAuthenticationFailure, this.failoverOnException, this.healthTracker);
             if (result.getKey()) {
                 val finalPrincipal = this.principalFactory.createPrincipal(username, result.getValue().get());
                 return createHandlerResult(credential, finalPrincipal, new ArrayList<>());
@@ -4,6 +4,8 @@ import org.apereo.cas.adaptors.radius.JRadiusServerImpl;
 import org.apereo.cas.adaptors.radius.RadiusClientFactory;
 import org.apereo.cas.adaptors.radius.RadiusProtocol;
 import org.apereo.cas.adaptors.radius.RadiusServer;
+import org.apereo.cas.adaptors.radius.RadiusServerHealthTracker;
+import org.apereo.cas.adaptors.radius.RadiusServerList;
 import org.apereo.cas.adaptors.radius.authentication.RadiusMultifactorAuthenticationProvider;
 import org.apereo.cas.adaptors.radius.authentication.RadiusTokenAuthenticationHandler;
 import org.apereo.cas.adaptors.radius.authentication.RadiusTokenCredential;
@@ -16,6 +18,7 @@ import org.apereo.cas.authentication.metadata.AuthenticationContextAttributeMeta
 import org.apereo.cas.authentication.principal.PrincipalFactory;
 import org.apereo.cas.authentication.principal.PrincipalFactoryUtils;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.services.MultifactorAuthenticationProvider;
 import org.apereo.cas.services.ServicesManager;
 
@@ -28,7 +31,7 @@ import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -52,7 +55,7 @@ public class RadiusTokenAuthenticationEventExecutionPlanConfiguration {
     @RefreshScope
     @Bean
     public MultifactorAuthenticationProvider radiusAuthenticationProvider() {
-        val p = new RadiusMultifactorAuthenticationProvider(radiusTokenServers());
+        val p = new RadiusMultifactorAuthenticationProvider(radiusTokenServers(), radiusTokenServerHealthTracker());
         p.setBypassEvaluator(radiusBypassEvaluator());
         p.setGlobalFailureMode(casProperties.getAuthn().getMfa().getGlobalFailureMode());
         p.setOrder(casProperties.getAuthn().getMfa().getRadius().getRank());
@@ -67,22 +70,29 @@ public class RadiusTokenAuthenticationEventExecutionPlanConfiguration {
     }
 
     @RefreshScope
-    @Bean
+    @Bean(destroyMethod = "close")
     public List<RadiusServer> radiusTokenServers() {
-        val list = new ArrayList<RadiusServer>();
         val client = casProperties.getAuthn().getMfa().getRadius().getClient();
         val server = casProperties.getAuthn().getMfa().getRadius().getServer();
 
         val factory = new RadiusClientFactory(client.getAccountingPort(), client.getAuthenticationPort(), client.getSocketTimeout(),
-            client.getInetAddress(), client.getSharedSecret());
+            client.getInetAddress(), client.getSharedSecret(), client.getMaxIdleSockets());
 
         val protocol = RadiusProtocol.valueOf(server.getProtocol());
         val impl = new JRadiusServerImpl(protocol, factory, server.getRetries(),
             server.getNasIpAddress(), server.getNasIpv6Address(),
             server.getNasPort(), server.getNasPortId(), server.getNasIdentifier(), server.getNasRealPort());
 
-        list.add(impl);
-        return list;
+        return new RadiusServerList(Collections.singletonList(impl));
+    }
+
+    @ConditionalOnMissingBean(name = "radiusTokenServerHealthTracker")
+    @Bean
+    public RadiusServerHealthTracker radiusTokenServerHealthTracker() {
+        val client = casProperties.getAuthn().getMfa().getRadius().getClient();
+        return new RadiusServerHealthTracker(client.getFailureThreshold(),
+            Beans.newDuration(client.getFailureCooldown()).toMillis(),
+            RadiusServerHealthTracker.SelectionStrategy.valueOf(client.getSelectionStrategy().toUpperCase()));
     }
 
     @ConditionalOnMissingBean(name = "radiusTokenPrincipalFactory")
@@ -96,7 +106,7 @@ public class RadiusTokenAuthenticationEventExecutionPlanConfiguration {
     public RadiusTokenAuthenticationHandler radiusTokenAuthenticationHandler() {
         val radius = casProperties.getAuthn().getMfa().getRadius();
         return new RadiusTokenAuthenticationHandler(radius.getName(), servicesManager, radiusTokenPrincipalFactory(), radiusTokenServers(),
-            radius.isFailoverOnException(), radius.isFailoverOnAuthenticationFailure());
+            radius.isFailoverOnException(), radius.isFailoverOnAuthenticationFailure(), radiusTokenServerHealthTracker());
     }
 
     @Bean
@@ -1,6 +1,7 @@
 package org.apereo.cas.adaptors.radius.authentication.handler.support;
 
 import org.apereo.cas.adaptors.radius.RadiusServer;
+import org.apereo.cas.adaptors.radius.RadiusServerHealthTracker;
 import org.apereo.cas.adaptors.radius.RadiusUtils;
 import org.apereo.cas.authentication.AuthenticationHandlerExecutionResult;
 import org.apereo.cas.authentication.UsernamePasswordCredential;
@@ -43,6 +44,11 @@ public class RadiusAuthenticationHandler extends AbstractUsernamePasswordAuthent
      */
     private final boolean failoverOnAuthenticationFailure;
 
+    /**
+     * Tracks the health of the RADIUS servers to determine the order in which they are tried.
+     */
+    private final RadiusServerHealthTracker healthTracker;
+
     /**
      * Instantiates a new Radius authentication handler.
      *
@@ -52,15 +58,18 @@ public class RadiusAuthenticationHandler extends AbstractUsernamePasswordAuthent
      * @param servers                         RADIUS servers to authenticate against.
      * @param failoverOnException             boolean on whether to failover or not.
      * @param failoverOnAuthenticationFailure boolean on whether to failover or not.
+     * @param healthTracker                   the health tracker of the RADIUS servers.
      */
     public RadiusAuthenticationHandler(final String name, final ServicesManager servicesManager, final PrincipalFactory principalFactory,
-                                       final List<RadiusServer> servers, final boolean failoverOnException, final boolean failoverOnAuthenticationFailure) {
+                                       final List<RadiusServer> servers, final boolean failoverOnException, final boolean failoverOnAuthenticationFailure,
+                                       final RadiusServerHealthTracker healthTracker) {
         super(name, servicesManager, principalFactory, null);
         LOGGER.debug("Using [{}]", getClass().getSimpleName());
 
         this.servers = servers;
         this.failoverOnException = failoverOnException;
         this.failoverOnAuthenticationFailure = failoverOnAuthenticationFailure;
+        this.healthTracker = healthTracker;
     }
 
     @Override
@@ -71,7 +80,7 @@ public class RadiusAuthenticationHandler extends AbstractUsernamePasswordAuthent
             val username = credential.getUsername();
             val result =
                 RadiusUtils.authenticate(username, credential.getPassword(), this.servers,
-                    this.failoverOnAuthenticationFailure, this.failoverOnException);
+                    this.failoverOnAuthenticationFailure, this.failoverOnException, this.healthTracker);
             if (result.getKey()) {
                 return createHandlerResult(credential,
                     this.principalFactory.createPrincipal(username, result.getValue().get()),
@@ -4,6 +4,8 @@ import org.apereo.cas.adaptors.radius.JRadiusServerImpl;
 import org.apereo.cas.adaptors.radius.RadiusClientFactory;
 import org.apereo.cas.adaptors.radius.RadiusProtocol;
 import org.apereo.cas.adaptors.radius.RadiusServer;
+import org.apereo.cas.adaptors.radius.RadiusServerHealthTracker;
+import org.apereo.cas.adaptors.radius.RadiusServerList;
 import org.apereo.cas.adaptors.radius.authentication.handler.support.RadiusAuthenticationHandler;
 import org.apereo.cas.authentication.AuthenticationEventExecutionPlanConfigurer;
 import org.apereo.cas.authentication.AuthenticationHandler;
@@ -15,6 +17,7 @@ import org.apereo.cas.authentication.support.password.PasswordPolicyConfiguratio
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.model.support.radius.RadiusClientProperties;
 import org.apereo.cas.configuration.model.support.radius.RadiusServerProperties;
+import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.services.ServicesManager;
 
 import lombok.extern.slf4j.Slf4j;
@@ -67,7 +70,7 @@ public class RadiusConfiguration {
      * @return the j radius server
      */
     @RefreshScope
-    @Bean
+    @Bean(destroyMethod = "close")
     public JRadiusServerImpl radiusServer() {
         val client = casProperties.getAuthn().getRadius().getClient();
         val server = casProperties.getAuthn().getRadius().getServer();
@@ -78,7 +81,7 @@ public class RadiusConfiguration {
 
     private JRadiusServerImpl getSingleRadiusServer(final RadiusClientProperties client, final RadiusServerProperties server, final String clientInetAddress) {
         val factory = new RadiusClientFactory(client.getAccountingPort(), client.getAuthenticationPort(), client.getSocketTimeout(),
-            clientInetAddress, client.getSharedSecret());
+            clientInetAddress, client.getSharedSecret(), client.getMaxIdleSockets());
 
         val protocol = RadiusProtocol.valueOf(server.getProtocol());
 
@@ -95,20 +98,29 @@ public class RadiusConfiguration {
      * @return the list
      */
     @RefreshScope
-    @Bean
+    @Bean(destroyMethod = "close")
     public List<RadiusServer> radiusServers() {
         val client = casProperties.getAuthn().getRadius().getClient();
         val server = casProperties.getAuthn().getRadius().getServer();
 
         val ips = getClientIps(casProperties.getAuthn().getRadius().getClient());
-        return ips.stream().map(ip -> getSingleRadiusServer(client, server, ip)).collect(Collectors.toList());
+        return new RadiusServerList(ips.stream().map(ip -> getSingleRadiusServer(client, server, ip)).collect(Collectors.toList()));
+    }
+
+    @ConditionalOnMissingBean(name = "radiusServerHealthTracker")
+    @Bean
+    public RadiusServerHealthTracker radiusServerHealthTracker() {
+        val client = casProperties.getAuthn().getRadius().getClient();
+        return new RadiusServerHealthTracker(client.getFailureThreshold(),
+            Beans.newDuration(client.getFailureCooldown()).toMillis(),
+            RadiusServerHealthTracker.SelectionStrategy.valueOf(client.getSelectionStrategy().toUpperCase()));
     }
 
     @Bean
     public AuthenticationHandler radiusAuthenticationHandler() {
         val radius = casProperties.getAuthn().getRadius();
         val h = new RadiusAuthenticationHandler(radius.getName(), servicesManager, radiusPrincipalFactory(), radiusServers(),
-            radius.isFailoverOnException(), radius.isFailoverOnAuthenticationFailure());
+            radius.isFailoverOnException(), radius.isFailoverOnAuthenticationFailure(), radiusServerHealthTracker());
 
         h.setPasswordEncoder(PasswordEncoderUtils.newPasswordEncoder(radius.getPasswordEncoder()));
         h.setPrincipalNameTransformer(PrincipalNameTransformerUtils.newPrincipalNameTransformer(radius.getPrincipalTransformation()));
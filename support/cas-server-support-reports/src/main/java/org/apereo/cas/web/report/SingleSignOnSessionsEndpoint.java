@@ -4,6 +4,8 @@ import org.apereo.cas.CentralAuthenticationService;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.proxy.ProxyGrantingTicket;
+import org.apereo.cas.ticket.registry.TicketHeaderCriteria;
 import org.apereo.cas.util.DateTimeUtils;
 import org.apereo.cas.util.ISOStandardDateFormat;
 import org.apereo.cas.web.BaseCasMvcEndpoint;
@@ -92,7 +94,11 @@ public class SingleSignOnSessionsEndpoint extends BaseCasMvcEndpoint {
      * @return the non expired ticket granting tickets
      */
     private Collection<Ticket> getNonExpiredTicketGrantingTickets() {
-        return this.centralAuthenticationService.getTickets(ticket -> ticket instanceof TicketGrantingTicket && !ticket.isExpired());
+        val criteria = TicketHeaderCriteria.builder()
+            .prefix(TicketGrantingTicket.PREFIX)
+            .prefix(ProxyGrantingTicket.PROXY_GRANTING_TICKET_PREFIX)
+            .build();
+        return this.centralAuthenticationService.getTickets(criteria, ticket -> ticket instanceof TicketGrantingTicket && !ticket.isExpired());
     }
 
     /**
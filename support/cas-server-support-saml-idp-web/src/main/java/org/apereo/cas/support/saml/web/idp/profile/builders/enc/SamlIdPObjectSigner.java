@@ -11,7 +11,11 @@ import org.apereo.cas.support.saml.services.idp.metadata.SamlRegisteredServiceSe
 import org.apereo.cas.util.crypto.CertUtils;
 import org.apereo.cas.util.crypto.PrivateKeyFactoryBean;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.common.collect.Sets;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
@@ -50,8 +54,16 @@ import org.springframework.core.io.FileSystemResource;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.security.PrivateKey;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * This is {@link SamlIdPObjectSigner}.
@@ -62,6 +74,12 @@ import java.util.List;
 @Slf4j
 @RequiredArgsConstructor
 public class SamlIdPObjectSigner {
+    private static final long DEFAULT_CACHE_MAXIMUM_SIZE = 10_000;
+
+    private static final Duration DEFAULT_CREDENTIALS_CHECK_INTERVAL = Duration.ofSeconds(30);
+
+    private static final Duration DEFAULT_CACHE_EXPIRATION = Duration.ofHours(1);
+
     /**
      * The Override signature reference digest methods.
      */
@@ -88,6 +106,18 @@ public class SamlIdPObjectSigner {
 
     private final SamlIdPMetadataLocator samlIdPMetadataLocator;
 
+    /**
+     * Signature signing parameters resolved for each service provider, keyed by everything that goes into resolving them.
+     */
+    private final Cache<SignatureSigningParametersKey, SignatureSigningParameters> signatureSigningParametersCache = Caffeine.newBuilder()
+        .maximumSize(DEFAULT_CACHE_MAXIMUM_SIZE)
+        .expireAfterAccess(DEFAULT_CACHE_EXPIRATION)
+        .build();
+
+    private final Object signingCredentialsLock = new Object();
+
+    private volatile SigningCredentials signingCredentials;
+
     /**
      * Encode a given saml object by invoking a number of outbound security handlers on the context.
      *
@@ -178,7 +208,7 @@ public class SamlIdPObjectSigner {
         @NonNull
         val secParametersContext = outboundContext.getSubcontext(SecurityParametersContext.class, true);
         val roleDesc = adaptor.getSsoDescriptor();
-        val signingParameters = buildSignatureSigningParameters(roleDesc, service);
+        val signingParameters = getSignatureSigningParameters(adaptor.getEntityId(), roleDesc, service);
         secParametersContext.setSignatureSigningParameters(signingParameters);
     }
 
@@ -205,17 +235,45 @@ public class SamlIdPObjectSigner {
     }
 
     /**
-     * Build signature signing parameters signature signing parameters.
+     * Gets signature signing parameters for the service provider.
+     * The signature signing configuration is built for every call, so that settings that are
+     * specific to the service are always taken into account. The parameters resolved from it are
+     * reused for as long as the service provider metadata, the signature signing configuration
+     * and the signing credentials of the identity provider remain the same.
      *
+     * @param entityId   the service provider entity id
      * @param descriptor the descriptor
      * @param service    the service
      * @return the signature signing parameters
      */
     @SneakyThrows
+    protected SignatureSigningParameters getSignatureSigningParameters(final String entityId,
+                                                                       final RoleDescriptor descriptor,
+                                                                       final SamlRegisteredService service) {
+        val credentials = getSigningCredentials();
+        val configuration = getSignatureSigningConfiguration(descriptor, service);
+        val key = new SignatureSigningParametersKey(entityId, descriptor, service, credentials, configuration);
+        val cached = signatureSigningParametersCache.getIfPresent(key);
+        if (cached != null) {
+            LOGGER.trace("Using cached signature signing parameters for [{}]", entityId);
+            return cached;
+        }
+        val parameters = buildSignatureSigningParameters(descriptor, configuration);
+        signatureSigningParametersCache.put(key, parameters);
+        return parameters;
+    }
+
+    /**
+     * Build signature signing parameters signature signing parameters.
+     *
+     * @param descriptor                    the descriptor
+     * @param signatureSigningConfiguration the signature signing configuration
+     * @return the signature signing parameters
+     */
+    @SneakyThrows
     protected SignatureSigningParameters buildSignatureSigningParameters(final RoleDescriptor descriptor,
-                                                                         final SamlRegisteredService service) {
+                                                                         final SignatureSigningConfiguration signatureSigningConfiguration) {
         val criteria = new CriteriaSet();
-        val signatureSigningConfiguration = getSignatureSigningConfiguration(descriptor, service);
         criteria.add(new SignatureSigningConfigurationCriterion(signatureSigningConfiguration));
         criteria.add(new RoleDescriptorCriterion(descriptor));
         val resolver = new SAMLMetadataSignatureSigningParametersResolver();
@@ -274,25 +332,10 @@ public class SamlIdPObjectSigner {
         LOGGER.debug("Signature signing whitelisted algorithms: [{}]", config.getWhitelistedAlgorithms());
         LOGGER.debug("Signature signing reference digest methods: [{}]", config.getSignatureReferenceDigestMethods());
 
-        val privateKey = getSigningPrivateKey();
-        val idp = casProperties.getAuthn().getSamlIdp();
-
-        val kekCredentialResolver = new MetadataCredentialResolver();
-        val roleDescriptorResolver = SamlIdPUtils.getRoleDescriptorResolver(casSamlIdPMetadataResolver, idp.getMetadata().isRequireValidMetadata());
-        kekCredentialResolver.setRoleDescriptorResolver(roleDescriptorResolver);
-        kekCredentialResolver.setKeyInfoCredentialResolver(DefaultSecurityConfigurationBootstrap.buildBasicInlineKeyInfoCredentialResolver());
-        kekCredentialResolver.initialize();
-        val criteriaSet = new CriteriaSet();
-        criteriaSet.add(new SignatureSigningConfigurationCriterion(config));
-        criteriaSet.add(new UsageCriterion(UsageType.SIGNING));
-        criteriaSet.add(new EntityIdCriterion(casProperties.getAuthn().getSamlIdp().getEntityId()));
-        criteriaSet.add(new EntityRoleCriterion(IDPSSODescriptor.DEFAULT_ELEMENT_NAME));
-
-        val credentials = Sets.<Credential>newLinkedHashSet(kekCredentialResolver.resolve(criteriaSet));
+        val signingCredentials = getSigningCredentials();
         val creds = new ArrayList<Credential>();
-
-        credentials.forEach(c -> {
-            val cred = getResolvedSigningCredential(c, privateKey, service);
+        signingCredentials.getCredentials().forEach(c -> {
+            val cred = getResolvedSigningCredential(c, signingCredentials, service);
             if (cred != null) {
                 creds.add(cred);
             }
@@ -304,8 +347,9 @@ public class SamlIdPObjectSigner {
         return config;
     }
 
-    private AbstractCredential getResolvedSigningCredential(final Credential c, final PrivateKey privateKey,
+    private AbstractCredential getResolvedSigningCredential(final Credential c, final SigningCredentials signingCredentials,
                                                             final SamlRegisteredService service) {
+        val privateKey = signingCredentials.getPrivateKey();
         val samlIdp = casProperties.getAuthn().getSamlIdp();
 
         try {
@@ -324,10 +368,8 @@ public class SamlIdPObjectSigner {
                         LOGGER.debug("Locating signature signing certificate from credential [{}]", CertUtils.toString(certificate));
                         return new BasicX509Credential(certificate, privateKey);
                     }
-                    val signingCert = samlIdPMetadataLocator.getSigningCertificate();
-                    LOGGER.debug("Locating signature signing certificate file from [{}]", signingCert);
-                    val certificate = SamlUtils.readCertificate(signingCert);
-                    return new BasicX509Credential(certificate, privateKey);
+                    LOGGER.debug("Using signature signing certificate from [{}]", samlIdPMetadataLocator.getSigningCertificate());
+                    return new BasicX509Credential(signingCredentials.getSigningCertificate(), privateKey);
             }
         } catch (final Exception e) {
             LOGGER.error(e.getMessage(), e);
@@ -335,6 +377,85 @@ public class SamlIdPObjectSigner {
         return null;
     }
 
+    /**
+     * Gets the signing credentials of the identity provider.
+     * Credentials are loaded once, and reloaded when the signing key, the signing
+     * certificate or the identity provider metadata change. Resources are checked
+     * for changes at most once per check interval.
+     *
+     * @return the signing credentials
+     */
+    @SneakyThrows
+    protected SigningCredentials getSigningCredentials() {
+        val current = this.signingCredentials;
+        val now = Instant.now();
+        if (current != null && current.getCheckedAt().plus(DEFAULT_CREDENTIALS_CHECK_INTERVAL).isAfter(now)) {
+            return current;
+        }
+        synchronized (this.signingCredentialsLock) {
+            val existing = this.signingCredentials;
+            if (existing != null && existing.getCheckedAt().plus(DEFAULT_CREDENTIALS_CHECK_INTERVAL).isAfter(now)) {
+                return existing;
+            }
+            val fingerprint = getSigningCredentialsFingerprint();
+            if (existing != null && existing.getFingerprint().equals(fingerprint)) {
+                this.signingCredentials = existing.checkedAt(now);
+                return this.signingCredentials;
+            }
+            LOGGER.debug("Loading identity provider signing credentials");
+            val version = existing != null ? existing.getVersion() + 1 : 0;
+            this.signingCredentials = new SigningCredentials(getSigningPrivateKey(), resolveSigningCredentials(),
+                readSigningCertificate(), fingerprint, version, now);
+            return this.signingCredentials;
+        }
+    }
+
+    /**
+     * Resolve identity provider signing credentials from metadata.
+     *
+     * @return the credentials
+     * @throws Exception the exception
+     */
+    protected Collection<Credential> resolveSigningCredentials() throws Exception {
+        val idp = casProperties.getAuthn().getSamlIdp();
+        val kekCredentialResolver = new MetadataCredentialResolver();
+        val roleDescriptorResolver = SamlIdPUtils.getRoleDescriptorResolver(casSamlIdPMetadataResolver, idp.getMetadata().isRequireValidMetadata());
+        kekCredentialResolver.setRoleDescriptorResolver(roleDescriptorResolver);
+        kekCredentialResolver.setKeyInfoCredentialResolver(DefaultSecurityConfigurationBootstrap.buildBasicInlineKeyInfoCredentialResolver());
+        kekCredentialResolver.initialize();
+        val criteriaSet = new CriteriaSet();
+        criteriaSet.add(new SignatureSigningConfigurationCriterion(DefaultSecurityConfigurationBootstrap.buildDefaultSignatureSigningConfiguration()));
+        criteriaSet.add(new UsageCriterion(UsageType.SIGNING));
+        criteriaSet.add(new EntityIdCriterion(idp.getEntityId()));
+        criteriaSet.add(new EntityRoleCriterion(IDPSSODescriptor.DEFAULT_ELEMENT_NAME));
+        return Sets.<Credential>newLinkedHashSet(kekCredentialResolver.resolve(criteriaSet));
+    }
+
+    private X509Certificate readSigningCertificate() {
+        val signingCert = samlIdPMetadataLocator.getSigningCertificate();
+        try {
+            LOGGER.debug("Locating signature signing certificate file from [{}]", signingCert);
+            return SamlUtils.readCertificate(signingCert);
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to read signature signing certificate from [{}]: [{}]", signingCert, e.getMessage());
+            return null;
+        }
+    }
+
+    private String getSigningCredentialsFingerprint() {
+        return Stream.of(samlIdPMetadataLocator.getSigningKey(),
+            samlIdPMetadataLocator.getSigningCertificate(),
+            samlIdPMetadataLocator.getMetadata())
+            .map(resource -> {
+                try {
+                    return resource + "@" + resource.lastModified();
+                } catch (final Exception e) {
+                    return String.valueOf(resource);
+                }
+            })
+            .collect(Collectors.joining("|"));
+    }
+
     /**
      * Gets signing private key.
      *
@@ -351,4 +472,69 @@ public class SamlIdPObjectSigner {
         LOGGER.debug("Locating signature signing key file from [{}]", signingKey);
         return privateKeyFactoryBean.getObject();
     }
+
+    /**
+     * Signing credentials of the identity provider.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    protected static class SigningCredentials {
+        private final PrivateKey privateKey;
+
+        private final Collection<Credential> credentials;
+
+        private final X509Certificate signingCertificate;
+
+        private final String fingerprint;
+
+        private final long version;
+
+        private final Instant checkedAt;
+
+        private SigningCredentials checkedAt(final Instant instant) {
+            return new SigningCredentials(privateKey, credentials, signingCertificate, fingerprint, version, instant);
+        }
+    }
+
+    /**
+     * Key of the signature signing parameters cache. Metadata descriptors do not override {@code equals},
+     * so parameters are resolved again once the service provider metadata is refreshed.
+     */
+    @EqualsAndHashCode
+    private static class SignatureSigningParametersKey {
+        private final String entityId;
+
+        private final RoleDescriptor descriptor;
+
+        private final long serviceId;
+
+        private final String signingCredentialType;
+
+        private final long signingCredentialsVersion;
+
+        private final List<String> signatureAlgorithms;
+
+        private final List<String> signatureReferenceDigestMethods;
+
+        private final String signatureCanonicalizationAlgorithm;
+
+        private final Set<String> whitelistedAlgorithms;
+
+        private final Set<String> blacklistedAlgorithms;
+
+        SignatureSigningParametersKey(final String entityId, final RoleDescriptor descriptor,
+                                      final SamlRegisteredService service, final SigningCredentials credentials,
+                                      final SignatureSigningConfiguration configuration) {
+            this.entityId = entityId;
+            this.descriptor = descriptor;
+            this.serviceId = service.getId();
+            this.signingCredentialType = service.getSigningCredentialType();
+            this.signingCredentialsVersion = credentials.getVersion();
+            this.signatureAlgorithms = new ArrayList<>(configuration.getSignatureAlgorithms());
+            this.signatureReferenceDigestMethods = new ArrayList<>(configuration.getSignatureReferenceDigestMethods());
+            this.signatureCanonicalizationAlgorithm = configuration.getSignatureCanonicalizationAlgorithm();
+            this.whitelistedAlgorithms = new HashSet<>(configuration.getWhitelistedAlgorithms());
+            this.blacklistedAlgorithms = new HashSet<>(configuration.getBlacklistedAlgorithms());
+        }
+    }
 }
@@ -7,6 +7,9 @@ import org.apereo.cas.support.saml.services.SamlRegisteredService;
 import org.apereo.cas.support.saml.services.idp.metadata.SamlRegisteredServiceServiceProviderMetadataFacade;
 import org.apereo.cas.util.EncodingUtils;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.EqualsAndHashCode;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
@@ -21,11 +24,13 @@ import org.opensaml.saml.security.impl.MetadataCredentialResolver;
 import org.opensaml.security.credential.Credential;
 import org.opensaml.security.credential.UsageType;
 import org.opensaml.security.criteria.UsageCriterion;
+import org.opensaml.xmlsec.EncryptionConfiguration;
 import org.opensaml.xmlsec.config.DefaultSecurityConfigurationBootstrap;
 import org.opensaml.xmlsec.criterion.EncryptionConfigurationCriterion;
 import org.opensaml.xmlsec.encryption.support.DataEncryptionParameters;
 import org.opensaml.xmlsec.encryption.support.EncryptionConstants;
 import org.opensaml.xmlsec.encryption.support.KeyEncryptionParameters;
+import org.opensaml.xmlsec.keyinfo.KeyInfoCredentialResolver;
 import org.opensaml.xmlsec.keyinfo.impl.BasicProviderKeyInfoCredentialResolver;
 import org.opensaml.xmlsec.keyinfo.impl.KeyInfoProvider;
 import org.opensaml.xmlsec.keyinfo.impl.provider.DEREncodedKeyValueProvider;
@@ -37,8 +42,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * This is {@link SamlObjectEncrypter}.
@@ -48,6 +56,9 @@ import java.util.List;
  */
 @Slf4j
 public class SamlObjectEncrypter {
+    private static final long DEFAULT_CACHE_MAXIMUM_SIZE = 10_000;
+
+    private static final Duration DEFAULT_CACHE_EXPIRATION = Duration.ofHours(1);
 
     /**
      * The Override data encryption algorithms.
@@ -69,6 +80,16 @@ public class SamlObjectEncrypter {
      */
     protected List overrideWhiteListedAlgorithms;
 
+    /**
+     * Key encryption credentials resolved for each service provider, keyed by everything that goes into resolving them.
+     */
+    private final Cache<EncryptionCredentialKey, Credential> encryptionCredentialsCache = Caffeine.newBuilder()
+        .maximumSize(DEFAULT_CACHE_MAXIMUM_SIZE)
+        .expireAfterAccess(DEFAULT_CACHE_EXPIRATION)
+        .build();
+
+    private final KeyInfoCredentialResolver keyInfoCredentialResolver = buildKeyInfoCredentialResolver();
+
     @Autowired
     private CasConfigurationProperties casProperties;
 
@@ -101,7 +122,7 @@ public class SamlObjectEncrypter {
         val className = samlObject.getClass().getName();
         val entityId = adaptor.getEntityId();
         LOGGER.debug("Attempting to encrypt [{}] for [{}]", className, entityId);
-        val credential = getKeyEncryptionCredential(entityId, adaptor, service);
+        val credential = getCachedKeyEncryptionCredential(entityId, adaptor, service);
         LOGGER.info("Found encryption public key: [{}]", EncodingUtils.encodeBase64(credential.getPublicKey().getEncoded()));
 
         val keyEncParams = getKeyEncryptionParameters(samlObject, service, adaptor, credential);
@@ -118,6 +139,36 @@ public class SamlObjectEncrypter {
 
     }
 
+    /**
+     * Gets the key encryption credential of the service provider.
+     * The encryption configuration is built for every call, so that settings that are
+     * specific to the service are always taken into account. Credentials resolved with it
+     * are reused for as long as the service provider metadata and the encryption configuration
+     * remain the same.
+     *
+     * @param peerEntityId the peer entity id
+     * @param adaptor      the adaptor
+     * @param service      the service
+     * @return the key encryption credential
+     * @throws Exception the exception
+     */
+    protected Credential getCachedKeyEncryptionCredential(final String peerEntityId,
+                                                          final SamlRegisteredServiceServiceProviderMetadataFacade adaptor,
+                                                          final SamlRegisteredService service) throws Exception {
+        val config = getEncryptionConfiguration(service);
+        val key = new EncryptionCredentialKey(peerEntityId, adaptor.getSsoDescriptor(), service, config);
+        val cached = encryptionCredentialsCache.getIfPresent(key);
+        if (cached != null) {
+            LOGGER.trace("Using cached key encryption credential for [{}]", peerEntityId);
+            return cached;
+        }
+        val credential = getKeyEncryptionCredential(peerEntityId, adaptor, config);
+        if (credential != null) {
+            encryptionCredentialsCache.put(key, credential);
+        }
+        return credential;
+    }
+
     /**
      * Gets encrypter.
      *
@@ -183,7 +234,16 @@ public class SamlObjectEncrypter {
     protected Credential getKeyEncryptionCredential(final String peerEntityId,
                                                     final SamlRegisteredServiceServiceProviderMetadataFacade adaptor,
                                                     final SamlRegisteredService service) throws Exception {
-        val idp = casProperties.getAuthn().getSamlIdp();
+        return getKeyEncryptionCredential(peerEntityId, adaptor, getEncryptionConfiguration(service));
+    }
+
+    /**
+     * Gets encryption configuration.
+     *
+     * @param service the service
+     * @return the encryption configuration
+     */
+    protected EncryptionConfiguration getEncryptionConfiguration(final SamlRegisteredService service) {
         val config =
             DefaultSecurityConfigurationBootstrap.buildDefaultEncryptionConfiguration();
 
@@ -207,18 +267,24 @@ public class SamlObjectEncrypter {
         LOGGER.debug("Encryption key algorithms: [{}]", config.getKeyTransportEncryptionAlgorithms());
         LOGGER.debug("Signature data algorithms: [{}]", config.getDataEncryptionAlgorithms());
         LOGGER.debug("Encryption whitelisted algorithms: [{}]", config.getWhitelistedAlgorithms());
+        return config;
+    }
 
+    /**
+     * Gets key encryption credential.
+     *
+     * @param peerEntityId the peer entity id
+     * @param adaptor      the adaptor
+     * @param config       the encryption configuration
+     * @return the key encryption credential
+     * @throws Exception the exception
+     */
+    protected Credential getKeyEncryptionCredential(final String peerEntityId,
+                                                    final SamlRegisteredServiceServiceProviderMetadataFacade adaptor,
+                                                    final EncryptionConfiguration config) throws Exception {
+        val idp = casProperties.getAuthn().getSamlIdp();
         val kekCredentialResolver = new MetadataCredentialResolver();
-
-        val providers = new ArrayList<KeyInfoProvider>();
-        providers.add(new RSAKeyValueProvider());
-        providers.add(new DSAKeyValueProvider());
-        providers.add(new InlineX509DataProvider());
-        providers.add(new DEREncodedKeyValueProvider());
-        providers.add(new KeyInfoReferenceProvider());
-
-        val keyInfoResolver = new BasicProviderKeyInfoCredentialResolver(providers);
-        kekCredentialResolver.setKeyInfoCredentialResolver(keyInfoResolver);
+        kekCredentialResolver.setKeyInfoCredentialResolver(this.keyInfoCredentialResolver);
 
         val roleDescriptorResolver = SamlIdPUtils.getRoleDescriptorResolver(adaptor,
             idp.getMetadata().isRequireValidMetadata());
@@ -236,5 +302,45 @@ public class SamlObjectEncrypter {
         return kekCredentialResolver.resolveSingle(criteriaSet);
     }
 
+    private static KeyInfoCredentialResolver buildKeyInfoCredentialResolver() {
+        val providers = new ArrayList<KeyInfoProvider>();
+        providers.add(new RSAKeyValueProvider());
+        providers.add(new DSAKeyValueProvider());
+        providers.add(new InlineX509DataProvider());
+        providers.add(new DEREncodedKeyValueProvider());
+        providers.add(new KeyInfoReferenceProvider());
+        return new BasicProviderKeyInfoCredentialResolver(providers);
+    }
+
+    /**
+     * Key of the encryption credentials cache. Metadata descriptors do not override {@code equals},
+     * so credentials are resolved again once the service provider metadata is refreshed.
+     */
+    @EqualsAndHashCode
+    private static class EncryptionCredentialKey {
+        private final String entityId;
+
+        private final SPSSODescriptor descriptor;
 
+        private final long serviceId;
+
+        private final List<String> dataEncryptionAlgorithms;
+
+        private final List<String> keyTransportEncryptionAlgorithms;
+
+        private final Set<String> whitelistedAlgorithms;
+
+        private final Set<String> blacklistedAlgorithms;
+
+        EncryptionCredentialKey(final String entityId, final SPSSODescriptor descriptor,
+                                final SamlRegisteredService service, final EncryptionConfiguration configuration) {
+            this.entityId = entityId;
+            this.descriptor = descriptor;
+            this.serviceId = service.getId();
+            this.dataEncryptionAlgorithms = new ArrayList<>(configuration.getDataEncryptionAlgorithms());
+            this.keyTransportEncryptionAlgorithms = new ArrayList<>(configuration.getKeyTransportEncryptionAlgorithms());
+            this.whitelistedAlgorithms = new HashSet<>(configuration.getWhitelistedAlgorithms());
+            this.blacklistedAlgorithms = new HashSet<>(configuration.getBlacklistedAlgorithms());
+        }
+    }
 }
@@ -0,0 +1,88 @@
+package org.apereo.cas.support.saml.web.idp.profile.builders.enc;
+
+import org.apereo.cas.category.FileSystemCategory;
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.support.saml.BaseSamlIdPConfigurationTests;
+import org.apereo.cas.support.saml.idp.metadata.locator.SamlIdPMetadataLocator;
+import org.apereo.cas.support.saml.services.SamlRegisteredService;
+import org.apereo.cas.support.saml.services.idp.metadata.SamlRegisteredServiceServiceProviderMetadataFacade;
+
+import lombok.val;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.opensaml.saml.saml2.metadata.RoleDescriptor;
+import org.opensaml.xmlsec.SignatureSigningConfiguration;
+import org.opensaml.xmlsec.impl.BasicSignatureSigningConfiguration;
+import org.opensaml.xmlsec.signature.support.SignatureConstants;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link SamlIdPObjectSignerTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Category(FileSystemCategory.class)
+public class SamlIdPObjectSignerTests extends BaseSamlIdPConfigurationTests {
+    @Autowired
+    private CasConfigurationProperties casProperties;
+
+    @Autowired
+    @Qualifier("samlIdPMetadataLocator")
+    private SamlIdPMetadataLocator samlIdPMetadataLocator;
+
+    @Test
+    public void verifySigningCredentialsAreCached() {
+        val credentials = samlIdPObjectSigner.getSigningCredentials();
+        assertNotNull(credentials.getPrivateKey());
+        assertFalse(credentials.getCredentials().isEmpty());
+        assertEquals(credentials.getVersion(), samlIdPObjectSigner.getSigningCredentials().getVersion());
+    }
+
+    @Test
+    public void verifySignatureSigningParametersAreCached() {
+        val service = getSamlRegisteredServiceForTestShib(true, true);
+        val adaptor = SamlRegisteredServiceServiceProviderMetadataFacade.get(samlRegisteredServiceCachingMetadataResolver,
+            service, service.getServiceId()).get();
+
+        val parameters = samlIdPObjectSigner.getSignatureSigningParameters(adaptor.getEntityId(), adaptor.getSsoDescriptor(), service);
+        assertNotNull(parameters);
+        assertSame(parameters, samlIdPObjectSigner.getSignatureSigningParameters(adaptor.getEntityId(), adaptor.getSsoDescriptor(), service));
+
+        service.setSigningCredentialType("X509");
+        assertNotSame(parameters, samlIdPObjectSigner.getSignatureSigningParameters(adaptor.getEntityId(), adaptor.getSsoDescriptor(), service));
+    }
+
+    @Test
+    public void verifySignatureSigningParametersArePerService() {
+        val signer = new SamlIdPObjectSigner(null, null, null, null,
+            casSamlIdPMetadataResolver, casProperties, samlIdPMetadataLocator) {
+            @Override
+            protected SignatureSigningConfiguration getSignatureSigningConfiguration(final RoleDescriptor roleDescriptor,
+                                                                                     final SamlRegisteredService service) throws Exception {
+                val config = (BasicSignatureSigningConfiguration) super.getSignatureSigningConfiguration(roleDescriptor, service);
+                config.setSignatureAlgorithms(Collections.singletonList(service.getId() == 100
+                    ? SignatureConstants.ALGO_ID_SIGNATURE_RSA_SHA256
+                    : SignatureConstants.ALGO_ID_SIGNATURE_RSA_SHA512));
+                return config;
+            }
+        };
+
+        val service = getSamlRegisteredServiceForTestShib(true, true);
+        val otherService = getSamlRegisteredServiceForTestShib(true, true);
+        otherService.setId(200);
+        val adaptor = SamlRegisteredServiceServiceProviderMetadataFacade.get(samlRegisteredServiceCachingMetadataResolver,
+            service, service.getServiceId()).get();
+
+        val parameters = signer.getSignatureSigningParameters(adaptor.getEntityId(), adaptor.getSsoDescriptor(), service);
+        assertEquals(SignatureConstants.ALGO_ID_SIGNATURE_RSA_SHA256, parameters.getSignatureAlgorithm());
+        val otherParameters = signer.getSignatureSigningParameters(adaptor.getEntityId(), adaptor.getSsoDescriptor(), otherService);
+        assertEquals(SignatureConstants.ALGO_ID_SIGNATURE_RSA_SHA512, otherParameters.getSignatureAlgorithm());
+        assertSame(parameters, signer.getSignatureSigningParameters(adaptor.getEntityId(), adaptor.getSsoDescriptor(), service));
+    }
+}
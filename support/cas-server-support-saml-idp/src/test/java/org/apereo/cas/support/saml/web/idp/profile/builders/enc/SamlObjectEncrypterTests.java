@@ -0,0 +1,74 @@
+package org.apereo.cas.support.saml.web.idp.profile.builders.enc;
+
+import org.apereo.cas.category.FileSystemCategory;
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.support.saml.BaseSamlIdPConfigurationTests;
+import org.apereo.cas.support.saml.services.SamlRegisteredService;
+import org.apereo.cas.support.saml.services.idp.metadata.SamlRegisteredServiceServiceProviderMetadataFacade;
+
+import lombok.val;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.opensaml.security.credential.Credential;
+import org.opensaml.xmlsec.EncryptionConfiguration;
+import org.opensaml.xmlsec.encryption.support.EncryptionConstants;
+import org.opensaml.xmlsec.impl.BasicEncryptionConfiguration;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link SamlObjectEncrypterTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Category(FileSystemCategory.class)
+public class SamlObjectEncrypterTests extends BaseSamlIdPConfigurationTests {
+    @Autowired
+    private CasConfigurationProperties casProperties;
+
+    @Test
+    public void verifyKeyEncryptionCredentialsArePerService() throws Exception {
+        val resolved = new ArrayList<List<String>>();
+        val encrypter = new SamlObjectEncrypter(null, null, null, null) {
+            @Override
+            protected EncryptionConfiguration getEncryptionConfiguration(final SamlRegisteredService service) {
+                val config = (BasicEncryptionConfiguration) super.getEncryptionConfiguration(service);
+                config.setKeyTransportEncryptionAlgorithms(Collections.singletonList(service.getId() == 100
+                    ? EncryptionConstants.ALGO_ID_KEYTRANSPORT_RSAOAEP
+                    : EncryptionConstants.ALGO_ID_KEYTRANSPORT_RSAOAEP11));
+                return config;
+            }
+
+            @Override
+            protected Credential getKeyEncryptionCredential(final String peerEntityId,
+                                                            final SamlRegisteredServiceServiceProviderMetadataFacade adaptor,
+                                                            final EncryptionConfiguration config) {
+                resolved.add(config.getKeyTransportEncryptionAlgorithms());
+                return mock(Credential.class);
+            }
+        };
+        ReflectionTestUtils.setField(encrypter, "casProperties", casProperties);
+
+        val service = getSamlRegisteredServiceForTestShib(true, true, true);
+        val otherService = getSamlRegisteredServiceForTestShib(true, true, true);
+        otherService.setId(200);
+        val adaptor = SamlRegisteredServiceServiceProviderMetadataFacade.get(samlRegisteredServiceCachingMetadataResolver,
+            service, service.getServiceId()).get();
+
+        val credential = encrypter.getCachedKeyEncryptionCredential(adaptor.getEntityId(), adaptor, service);
+        val otherCredential = encrypter.getCachedKeyEncryptionCredential(adaptor.getEntityId(), adaptor, otherService);
+        assertNotSame(credential, otherCredential);
+        assertSame(credential, encrypter.getCachedKeyEncryptionCredential(adaptor.getEntityId(), adaptor, service));
+        assertEquals(2, resolved.size());
+        assertEquals(Collections.singletonList(EncryptionConstants.ALGO_ID_KEYTRANSPORT_RSAOAEP), resolved.get(0));
+        assertEquals(Collections.singletonList(EncryptionConstants.ALGO_ID_KEYTRANSPORT_RSAOAEP11), resolved.get(1));
+    }
+}
@@ -2,29 +2,28 @@ package org.apereo.cas.web.support;
 
 import org.apereo.cas.audit.AuditTrailExecutionPlan;
 
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 
 import javax.servlet.http.HttpServletRequest;
-import java.time.ZoneOffset;
-import java.time.ZonedDateTime;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 
 /**
  * Implementation of a HandlerInterceptorAdapter that keeps track of a mapping
  * of IP Addresses to number of failures to authenticate.
+ * Failures are counted per key over a sliding window of {@code failureRangeInSeconds} seconds
+ * by a {@link ThrottledSubmissionStore}, which by default keeps its counters in memory.
+ * Submissions are throttled once the number of failures within the window reaches the failure threshold.
  *
  * @author Scott Battaglia
  * @since 3.0.0
  */
 @Slf4j
+@Getter
 public abstract class AbstractInMemoryThrottledSubmissionHandlerInterceptorAdapter extends AbstractThrottledSubmissionHandlerInterceptorAdapter
     implements InMemoryThrottledSubmissionHandlerInterceptor {
 
-    private static final double SUBMISSION_RATE_DIVIDEND = 1000.0;
-
-    private final ConcurrentMap<String, ZonedDateTime> ipMap = new ConcurrentHashMap<>();
+    private final ThrottledSubmissionStore throttledSubmissionStore;
 
     public AbstractInMemoryThrottledSubmissionHandlerInterceptorAdapter(final int failureThreshold,
                                                                         final int failureRangeInSeconds,
@@ -32,41 +31,43 @@ public abstract class AbstractInMemoryThrottledSubmissionHandlerInterceptorAdapt
                                                                         final String authenticationFailureCode,
                                                                         final AuditTrailExecutionPlan auditTrailExecutionPlan,
                                                                         final String applicationCode) {
-        super(failureThreshold, failureRangeInSeconds, usernameParameter,
-            authenticationFailureCode, auditTrailExecutionPlan, applicationCode);
+        this(failureThreshold, failureRangeInSeconds, usernameParameter, authenticationFailureCode,
+            auditTrailExecutionPlan, applicationCode, new InMemoryThrottledSubmissionStore(failureRangeInSeconds));
     }
 
-    /**
-     * Computes the instantaneous rate in between two given dates corresponding to two submissions.
-     *
-     * @param a First date.
-     * @param b Second date.
-     * @return Instantaneous submission rate in submissions/sec, e.g. {@code a - b}.
-     */
-    private static double submissionRate(final ZonedDateTime a, final ZonedDateTime b) {
-        return SUBMISSION_RATE_DIVIDEND / (a.toInstant().toEpochMilli() - b.toInstant().toEpochMilli());
+    public AbstractInMemoryThrottledSubmissionHandlerInterceptorAdapter(final int failureThreshold,
+                                                                        final int failureRangeInSeconds,
+                                                                        final String usernameParameter,
+                                                                        final String authenticationFailureCode,
+                                                                        final AuditTrailExecutionPlan auditTrailExecutionPlan,
+                                                                        final String applicationCode,
+                                                                        final ThrottledSubmissionStore throttledSubmissionStore) {
+        super(failureThreshold, failureRangeInSeconds, usernameParameter,
+            authenticationFailureCode, auditTrailExecutionPlan, applicationCode);
+        this.throttledSubmissionStore = throttledSubmissionStore;
     }
 
     @Override
     public boolean exceedsThreshold(final HttpServletRequest request) {
-        val last = this.ipMap.get(constructKey(request));
-        return last != null && submissionRate(ZonedDateTime.now(ZoneOffset.UTC), last) > getThresholdRate();
+        val key = constructKey(request);
+        val failures = this.throttledSubmissionStore.getFailures(key, System.currentTimeMillis());
+        LOGGER.trace("Found [{}] failed submissions for [{}] within the last [{}] seconds", failures, key, getFailureRangeInSeconds());
+        return failures > 0 && failures >= getFailureThreshold();
     }
 
     @Override
     public void recordSubmissionFailure(final HttpServletRequest request) {
-        this.ipMap.put(constructKey(request), ZonedDateTime.now(ZoneOffset.UTC));
+        this.throttledSubmissionStore.recordFailure(constructKey(request), System.currentTimeMillis());
     }
 
     /**
      * This class relies on an external configuration to clean it up.
-     * It ignores the threshold data in the parent class.
+     * Keys whose failures have all fallen out of the window are removed from the store.
      */
     @Override
     public void decrement() {
         LOGGER.info("Beginning audit cleanup...");
-        val now = ZonedDateTime.now(ZoneOffset.UTC);
-        this.ipMap.entrySet().removeIf(entry -> submissionRate(now, entry.getValue()) < getThresholdRate());
+        this.throttledSubmissionStore.expire(System.currentTimeMillis());
         LOGGER.debug("Done decrementing count for throttler.");
     }
 }
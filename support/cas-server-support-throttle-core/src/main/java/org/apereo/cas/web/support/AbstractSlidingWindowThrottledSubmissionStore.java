@@ -0,0 +1,49 @@
+package org.apereo.cas.web.support;
+
+import lombok.Getter;
+import lombok.val;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link AbstractSlidingWindowThrottledSubmissionStore}. Failures are counted in fixed windows of time,
+ * and the number of failures in the sliding window that ends at a given time is estimated from the counts
+ * of the fixed window that contains it and of the window before it. Only two counters are kept per key, and
+ * recording or checking failures takes constant time regardless of how many failures are recorded.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Getter
+public abstract class AbstractSlidingWindowThrottledSubmissionStore implements ThrottledSubmissionStore {
+
+    private final long windowInMilliseconds;
+
+    protected AbstractSlidingWindowThrottledSubmissionStore(final long windowInSeconds) {
+        this.windowInMilliseconds = TimeUnit.SECONDS.toMillis(Math.max(1, windowInSeconds));
+    }
+
+    /**
+     * Gets the index of the fixed window that contains the given time.
+     *
+     * @param timestamp the timestamp in milliseconds
+     * @return the window index
+     */
+    protected long getWindowIndex(final long timestamp) {
+        return Math.floorDiv(timestamp, this.windowInMilliseconds);
+    }
+
+    /**
+     * Estimate the number of failures in the sliding window that ends at the given time.
+     * Failures of the previous fixed window are weighted by the part of that window the sliding window still covers.
+     *
+     * @param current   the failures counted in the fixed window that contains the given time
+     * @param previous  the failures counted in the fixed window before it
+     * @param timestamp the timestamp in milliseconds
+     * @return the estimated number of failures
+     */
+    protected double estimateFailures(final long current, final long previous, final long timestamp) {
+        val elapsed = Math.floorMod(timestamp, this.windowInMilliseconds);
+        return current + previous * (double) (this.windowInMilliseconds - elapsed) / this.windowInMilliseconds;
+    }
+}
@@ -28,6 +28,17 @@ public class InMemoryThrottledSubmissionByIpAddressAndUsernameHandlerInterceptor
             authenticationFailureCode, auditTrailExecutionPlan, applicationCode);
     }
 
+    public InMemoryThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter(final int failureThreshold,
+                                                                                      final int failureRangeInSeconds,
+                                                                                      final String usernameParameter,
+                                                                                      final String authenticationFailureCode,
+                                                                                      final AuditTrailExecutionPlan auditTrailExecutionPlan,
+                                                                                      final String applicationCode,
+                                                                                      final ThrottledSubmissionStore throttledSubmissionStore) {
+        super(failureThreshold, failureRangeInSeconds, usernameParameter,
+            authenticationFailureCode, auditTrailExecutionPlan, applicationCode, throttledSubmissionStore);
+    }
+
     @Override
     public String constructKey(final HttpServletRequest request) {
         val username = request.getParameter(getUsernameParameter());
@@ -25,6 +25,17 @@ public class InMemoryThrottledSubmissionByIpAddressHandlerInterceptorAdapter ext
             authenticationFailureCode, auditTrailExecutionPlan, applicationCode);
     }
 
+    public InMemoryThrottledSubmissionByIpAddressHandlerInterceptorAdapter(final int failureThreshold,
+                                                                           final int failureRangeInSeconds,
+                                                                           final String usernameParameter,
+                                                                           final String authenticationFailureCode,
+                                                                           final AuditTrailExecutionPlan auditTrailExecutionPlan,
+                                                                           final String applicationCode,
+                                                                           final ThrottledSubmissionStore throttledSubmissionStore) {
+        super(failureThreshold, failureRangeInSeconds, usernameParameter,
+            authenticationFailureCode, auditTrailExecutionPlan, applicationCode, throttledSubmissionStore);
+    }
+
     @Override
     public String constructKey(final HttpServletRequest request) {
         return ClientInfoHolder.getClientInfo().getClientIpAddress();
@@ -0,0 +1,173 @@
+package org.apereo.cas.web.support;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * This is {@link InMemoryThrottledSubmissionStore} that keeps sliding window counters in memory.
+ * Counters are updated without locking. Keys are filed by the window in which they last recorded a failure,
+ * so that expiring keys only visits those whose windows have passed rather than every key that is tracked.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+public class InMemoryThrottledSubmissionStore extends AbstractSlidingWindowThrottledSubmissionStore {
+
+    private final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<>();
+
+    private final ConcurrentNavigableMap<Long, Set<String>> expirations = new ConcurrentSkipListMap<>();
+
+    public InMemoryThrottledSubmissionStore(final long windowInSeconds) {
+        super(windowInSeconds);
+    }
+
+    @Override
+    public void recordFailure(final String key, final long timestamp) {
+        val window = getWindowIndex(timestamp);
+        while (true) {
+            val counter = this.counters.computeIfAbsent(key, k -> new Counter());
+            val previous = counter.increment(window);
+            if (previous != Window.EXPIRED) {
+                if (previous.getIndex() < window) {
+                    scheduleExpiration(key, window);
+                }
+                return;
+            }
+            LOGGER.trace("Counter for [{}] has expired concurrently; recording failure with a new counter", key);
+            this.counters.remove(key, counter);
+        }
+    }
+
+    @Override
+    public double getFailures(final String key, final long timestamp) {
+        val counter = this.counters.get(key);
+        if (counter == null) {
+            return 0;
+        }
+        val state = counter.get();
+        val window = getWindowIndex(timestamp);
+        if (state.getIndex() >= window) {
+            return estimateFailures(state.getCurrent(), state.getPrevious(), timestamp);
+        }
+        if (state.getIndex() == window - 1) {
+            return estimateFailures(0, state.getCurrent(), timestamp);
+        }
+        return 0;
+    }
+
+    @Override
+    public void expire(final long timestamp) {
+        val limit = getWindowIndex(timestamp) - 1;
+        var entry = this.expirations.firstEntry();
+        while (entry != null && entry.getKey() < limit) {
+            if (this.expirations.remove(entry.getKey(), entry.getValue())) {
+                entry.getValue().forEach(key -> {
+                    val counter = this.counters.get(key);
+                    if (counter != null && counter.expire(limit)) {
+                        LOGGER.trace("Removing expired counter for [{}]", key);
+                        this.counters.remove(key, counter);
+                    }
+                });
+            }
+            entry = this.expirations.firstEntry();
+        }
+        LOGGER.debug("Tracking failed submissions for [{}] keys", this.counters.size());
+    }
+
+    /**
+     * Gets the number of keys tracked.
+     *
+     * @return the size
+     */
+    public int size() {
+        return this.counters.size();
+    }
+
+    /**
+     * File the key under the window. Should the window be swept concurrently, the key is filed again
+     * under a new entry for the same window so that it is not lost.
+     */
+    private void scheduleExpiration(final String key, final long window) {
+        while (true) {
+            val keys = this.expirations.computeIfAbsent(window, w -> ConcurrentHashMap.newKeySet());
+            keys.add(key);
+            if (this.expirations.get(window) == keys) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Failures counted in the fixed window with the given index and in the window before it.
+     */
+    @RequiredArgsConstructor
+    @Getter
+    private static class Window {
+        /**
+         * Marks a counter that has been removed; failures must be recorded with a new counter.
+         */
+        static final Window EXPIRED = new Window(Long.MIN_VALUE, 0, 0);
+
+        private final long index;
+
+        private final long current;
+
+        private final long previous;
+
+        Window increment(final long window) {
+            if (this.index == window) {
+                return new Window(window, this.current + 1, this.previous);
+            }
+            if (this.index == window - 1) {
+                return new Window(window, 1, this.current);
+            }
+            return new Window(window, 1, 0);
+        }
+    }
+
+    private static class Counter extends AtomicReference<Window> {
+        private static final long serialVersionUID = 4213402227580545617L;
+
+        Counter() {
+            super(new Window(Long.MIN_VALUE, 0, 0));
+        }
+
+        Window increment(final long window) {
+            while (true) {
+                val state = get();
+                if (state == Window.EXPIRED) {
+                    return state;
+                }
+                val next = state.increment(Math.max(window, state.getIndex()));
+                if (compareAndSet(state, next)) {
+                    return state;
+                }
+            }
+        }
+
+        boolean expire(final long limit) {
+            while (true) {
+                val state = get();
+                if (state == Window.EXPIRED) {
+                    return true;
+                }
+                if (state.getIndex() >= limit) {
+                    return false;
+                }
+                if (compareAndSet(state, Window.EXPIRED)) {
+                    return true;
+                }
+            }
+        }
+    }
+}
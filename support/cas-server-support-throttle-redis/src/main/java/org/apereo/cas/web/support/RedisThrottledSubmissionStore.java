@@ -0,0 +1,58 @@
+package org.apereo.cas.web.support;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * This is {@link RedisThrottledSubmissionStore} that keeps sliding window counters in Redis,
+ * so that failures are counted across all CAS nodes. Each key is counted per fixed window with
+ * an atomic increment, and counters expire on their own once they fall out of the sliding window.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+public class RedisThrottledSubmissionStore extends AbstractSlidingWindowThrottledSubmissionStore {
+    private static final String KEY_PREFIX = "CAS_THROTTLE:";
+
+    private static final RedisScript<Long> INCREMENT_SCRIPT = new DefaultRedisScript<>(
+        "local count = redis.call('INCR', KEYS[1]) "
+            + "if count == 1 then redis.call('PEXPIRE', KEYS[1], ARGV[1]) end "
+            + "return count", Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public RedisThrottledSubmissionStore(final StringRedisTemplate redisTemplate, final long windowInSeconds) {
+        super(windowInSeconds);
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public void recordFailure(final String key, final long timestamp) {
+        val counterKey = getCounterKey(key, getWindowIndex(timestamp));
+        val expiration = String.valueOf(2 * getWindowInMilliseconds());
+        val count = this.redisTemplate.execute(INCREMENT_SCRIPT, Collections.singletonList(counterKey), expiration);
+        LOGGER.trace("Recorded failure [{}] for [{}]", count, counterKey);
+    }
+
+    @Override
+    public double getFailures(final String key, final long timestamp) {
+        val window = getWindowIndex(timestamp);
+        val counts = this.redisTemplate.opsForValue().multiGet(Arrays.asList(getCounterKey(key, window), getCounterKey(key, window - 1)));
+        if (counts == null || counts.size() < 2) {
+            return 0;
+        }
+        return estimateFailures(NumberUtils.toLong(counts.get(0)), NumberUtils.toLong(counts.get(1)), timestamp);
+    }
+
+    private static String getCounterKey(final String key, final long window) {
+        return KEY_PREFIX + key + ':' + window;
+    }
+}
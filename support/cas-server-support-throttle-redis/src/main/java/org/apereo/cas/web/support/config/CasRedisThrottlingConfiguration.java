@@ -0,0 +1,56 @@
+package org.apereo.cas.web.support.config;
+
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.redis.core.RedisObjectFactory;
+import org.apereo.cas.web.support.RedisThrottledSubmissionStore;
+import org.apereo.cas.web.support.ThrottledSubmissionStore;
+
+import lombok.val;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.AutoConfigureBefore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.context.config.annotation.RefreshScope;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * This is {@link CasRedisThrottlingConfiguration}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Configuration("casRedisThrottlingConfiguration")
+@EnableConfigurationProperties(CasConfigurationProperties.class)
+@AutoConfigureBefore(CasThrottlingConfiguration.class)
+public class CasRedisThrottlingConfiguration {
+
+    @Autowired
+    private CasConfigurationProperties casProperties;
+
+    @Bean
+    @ConditionalOnMissingBean(name = "redisThrottleConnectionFactory")
+    public RedisConnectionFactory redisThrottleConnectionFactory() {
+        val redis = casProperties.getAuthn().getThrottle().getRedis();
+        val obj = new RedisObjectFactory();
+        return obj.newRedisConnectionFactory(redis);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(name = "throttleRedisTemplate")
+    public StringRedisTemplate throttleRedisTemplate() {
+        return new StringRedisTemplate(redisThrottleConnectionFactory());
+    }
+
+    @Autowired
+    @RefreshScope
+    @Bean
+    @ConditionalOnMissingBean(name = "throttledSubmissionStore")
+    public ThrottledSubmissionStore throttledSubmissionStore(@Qualifier("throttleRedisTemplate") final StringRedisTemplate throttleRedisTemplate) {
+        val throttle = casProperties.getAuthn().getThrottle();
+        return new RedisThrottledSubmissionStore(throttleRedisTemplate, throttle.getFailure().getRangeSeconds());
+    }
+}
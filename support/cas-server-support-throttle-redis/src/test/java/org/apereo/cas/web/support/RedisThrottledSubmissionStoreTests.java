@@ -0,0 +1,75 @@
+package org.apereo.cas.web.support;
+
+import org.apereo.cas.category.RedisCategory;
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.web.support.config.CasRedisThrottlingConfiguration;
+
+import lombok.val;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+import redis.embedded.RedisServer;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link RedisThrottledSubmissionStoreTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = {CasRedisThrottlingConfiguration.class, RefreshAutoConfiguration.class})
+@TestPropertySource(locations = {"classpath:/throttle-redis.properties"})
+@EnableConfigurationProperties(CasConfigurationProperties.class)
+@Category(RedisCategory.class)
+public class RedisThrottledSubmissionStoreTests {
+    private static final long WINDOW = TimeUnit.SECONDS.toMillis(60);
+
+    private static RedisServer REDIS_SERVER;
+
+    @Autowired
+    @Qualifier("throttledSubmissionStore")
+    private ThrottledSubmissionStore throttledSubmissionStore;
+
+    @BeforeClass
+    public static void startRedis() throws Exception {
+        REDIS_SERVER = new RedisServer(6381);
+        REDIS_SERVER.start();
+    }
+
+    @AfterClass
+    public static void stopRedis() {
+        REDIS_SERVER.stop();
+    }
+
+    @Test
+    public void verifyFailuresCountedAcrossWindows() {
+        assertTrue(throttledSubmissionStore instanceof RedisThrottledSubmissionStore);
+        val key = UUID.randomUUID().toString();
+        val start = (System.currentTimeMillis() / WINDOW) * WINDOW;
+
+        assertEquals(0, throttledSubmissionStore.getFailures(key, start), 0);
+        for (var i = 0; i < 4; i++) {
+            throttledSubmissionStore.recordFailure(key, start);
+        }
+        assertEquals(4, throttledSubmissionStore.getFailures(key, start + WINDOW - 1), 0);
+        assertEquals(2, throttledSubmissionStore.getFailures(key, start + WINDOW + WINDOW / 2), 0);
+
+        throttledSubmissionStore.recordFailure(key, start + WINDOW + WINDOW / 2);
+        assertEquals(3, throttledSubmissionStore.getFailures(key, start + WINDOW + WINDOW / 2), 0);
+        assertEquals(0, throttledSubmissionStore.getFailures(key, start + 3 * WINDOW), 0);
+    }
+}
@@ -9,8 +9,10 @@ import org.apereo.cas.web.support.DefaultAuthenticationThrottlingExecutionPlan;
 import org.apereo.cas.web.support.InMemoryThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapter;
 import org.apereo.cas.web.support.InMemoryThrottledSubmissionByIpAddressHandlerInterceptorAdapter;
 import org.apereo.cas.web.support.InMemoryThrottledSubmissionCleaner;
+import org.apereo.cas.web.support.InMemoryThrottledSubmissionStore;
 import org.apereo.cas.web.support.NoOpThrottledSubmissionHandlerInterceptor;
 import org.apereo.cas.web.support.ThrottledSubmissionHandlerInterceptor;
+import org.apereo.cas.web.support.ThrottledSubmissionStore;
 
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
@@ -45,9 +47,21 @@ public class CasThrottlingConfiguration {
     @Qualifier("auditTrailExecutionPlan")
     private ObjectProvider<AuditTrailExecutionPlan> auditTrailExecutionPlan;
 
+    @Autowired
+    @Qualifier("throttledSubmissionStore")
+    private ObjectProvider<ThrottledSubmissionStore> throttledSubmissionStore;
+
     @Autowired
     private CasConfigurationProperties casProperties;
 
+    @RefreshScope
+    @ConditionalOnMissingBean(name = "throttledSubmissionStore")
+    @Bean
+    public ThrottledSubmissionStore throttledSubmissionStore() {
+        val throttle = casProperties.getAuthn().getThrottle();
+        return new InMemoryThrottledSubmissionStore(throttle.getFailure().getRangeSeconds());
+    }
+
     @RefreshScope
     @ConditionalOnMissingBean(name = "authenticationThrottle")
     @Bean
@@ -67,7 +81,8 @@ public class CasThrottlingConfiguration {
                 throttle.getUsernameParameter(),
                 throttle.getFailure().getCode(),
                 auditTrailExecutionPlan.getIfAvailable(),
-                throttle.getAppcode());
+                throttle.getAppcode(),
+                throttledSubmissionStore.getIfAvailable());
         }
         LOGGER.debug("Activating authentication throttling based on IP address...");
         return new InMemoryThrottledSubmissionByIpAddressHandlerInterceptorAdapter(throttle.getFailure().getThreshold(),
@@ -75,7 +90,8 @@ public class CasThrottlingConfiguration {
             throttle.getUsernameParameter(),
             throttle.getFailure().getCode(),
             auditTrailExecutionPlan.getIfAvailable(),
-            throttle.getAppcode());
+            throttle.getAppcode(),
+            throttledSubmissionStore.getIfAvailable());
     }
 
     @Autowired
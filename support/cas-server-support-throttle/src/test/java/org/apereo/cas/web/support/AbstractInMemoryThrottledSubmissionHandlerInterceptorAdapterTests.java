@@ -2,12 +2,15 @@ package org.apereo.cas.web.support;
 
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
+import org.junit.Test;
 import org.springframework.http.HttpStatus;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.webflow.execution.Event;
 import org.springframework.webflow.test.MockRequestContext;
 
+import static org.junit.Assert.*;
+
 /**
  * Base class for in-memory throttled submission handlers.
  *
@@ -17,6 +20,22 @@ import org.springframework.webflow.test.MockRequestContext;
 public abstract class AbstractInMemoryThrottledSubmissionHandlerInterceptorAdapterTests
     extends AbstractThrottledSubmissionHandlerInterceptorAdapterTests {
 
+    /**
+     * Failures are counted over a sliding window rather than by the time elapsed since the last failure,
+     * so the throttle engages once the failure threshold is reached however far apart the failures are.
+     */
+    @Override
+    @Test
+    public void verifyThrottle() throws Exception {
+        for (var i = 0; i < 3; i++) {
+            assertEquals(HttpStatus.UNAUTHORIZED.value(), loginUnsuccessfully("mog", IP_ADDRESS).getStatus());
+        }
+        assertEquals(HttpStatus.LOCKED.value(), loginUnsuccessfully("mog", IP_ADDRESS).getStatus());
+
+        throttle.decrement();
+        assertEquals(HttpStatus.LOCKED.value(), loginUnsuccessfully("mog", IP_ADDRESS).getStatus());
+    }
+
     @Override
     protected MockHttpServletResponse loginUnsuccessfully(final String username, final String fromAddress) throws Exception {
         val request = new MockHttpServletRequest();
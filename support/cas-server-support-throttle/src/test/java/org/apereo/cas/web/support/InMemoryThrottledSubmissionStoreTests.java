@@ -0,0 +1,82 @@
+package org.apereo.cas.web.support;
+
+import lombok.val;
+import org.junit.Test;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link InMemoryThrottledSubmissionStoreTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class InMemoryThrottledSubmissionStoreTests {
+    private static final long WINDOW = TimeUnit.SECONDS.toMillis(60);
+
+    private static final long START = WINDOW * 1_000;
+
+    @Test
+    public void verifyFailuresCountedWithinWindow() {
+        val store = new InMemoryThrottledSubmissionStore(60);
+        store.recordFailure("casuser", START);
+        store.recordFailure("casuser", START + 1_000);
+        store.recordFailure("casuser", START + 2_000);
+        assertEquals(3, store.getFailures("casuser", START + 3_000), 0);
+        assertEquals(0, store.getFailures("unknown", START + 3_000), 0);
+    }
+
+    @Test
+    public void verifyFailuresSlideOutOfWindow() {
+        val store = new InMemoryThrottledSubmissionStore(60);
+        for (var i = 0; i < 4; i++) {
+            store.recordFailure("casuser", START);
+        }
+        assertEquals(4, store.getFailures("casuser", START + WINDOW - 1), 0);
+        assertEquals(2, store.getFailures("casuser", START + WINDOW + WINDOW / 2), 0);
+        store.recordFailure("casuser", START + WINDOW + WINDOW / 2);
+        assertEquals(3, store.getFailures("casuser", START + WINDOW + WINDOW / 2), 0);
+        assertEquals(0.5, store.getFailures("casuser", START + 2 * WINDOW + WINDOW / 2), 0);
+        assertEquals(0, store.getFailures("casuser", START + 3 * WINDOW), 0);
+    }
+
+    @Test
+    public void verifyExpiredKeysRemoved() {
+        val store = new InMemoryThrottledSubmissionStore(60);
+        store.recordFailure("first", START);
+        store.recordFailure("second", START + WINDOW);
+        assertEquals(2, store.size());
+
+        store.expire(START + 2 * WINDOW - 1);
+        assertEquals(2, store.size());
+
+        store.expire(START + 2 * WINDOW);
+        assertEquals(1, store.size());
+        assertEquals(0, store.getFailures("first", START + 2 * WINDOW), 0);
+        assertEquals(0.5, store.getFailures("second", START + 2 * WINDOW + WINDOW / 2), 0);
+
+        store.expire(START + 3 * WINDOW);
+        assertEquals(0, store.size());
+
+        store.recordFailure("first", START + 3 * WINDOW);
+        assertEquals(1, store.getFailures("first", START + 3 * WINDOW), 0);
+    }
+
+    @Test
+    public void verifyConcurrentFailuresCounted() throws Exception {
+        val store = new InMemoryThrottledSubmissionStore(60);
+        val executor = Executors.newFixedThreadPool(8);
+        try {
+            for (var i = 0; i < 8_000; i++) {
+                executor.execute(() -> store.recordFailure("casuser", START));
+            }
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        }
+        assertEquals(8_000, store.getFailures("casuser", START), 0);
+    }
+}
@@ -142,8 +142,21 @@ public abstract class AbstractServiceValidateController extends AbstractDelegate
      * @return the pair
      */
     protected Pair<Boolean, Optional<MultifactorAuthenticationProvider>> validateAuthenticationContext(final Assertion assertion, final HttpServletRequest request) {
+        return validateAuthenticationContext(assertion, request, this.servicesManager.findServiceBy(assertion.getService()));
+    }
+
+    /**
+     * Validate authentication context pair.
+     *
+     * @param assertion the assertion
+     * @param request   the request
+     * @param service   the registered service matched for the assertion service
+     * @return the pair
+     */
+    protected Pair<Boolean, Optional<MultifactorAuthenticationProvider>> validateAuthenticationContext(final Assertion assertion,
+                                                                                                      final HttpServletRequest request,
+                                                                                                      final RegisteredService service) {
         LOGGER.debug("Locating the primary authentication associated with this service request [{}]", assertion.getService());
-        val service = this.servicesManager.findServiceBy(assertion.getService());
         RegisteredServiceAccessStrategyUtils.ensureServiceAccessIsAllowed(assertion.getService(), service);
         val providers = this.applicationContext.getBeansOfType(MultifactorAuthenticationProvider.class, false, true);
         val authentication = assertion.getPrimaryAuthentication();
@@ -249,7 +262,8 @@ public abstract class AbstractServiceValidateController extends AbstractDelegate
         if (!validateAssertion(request, serviceTicketId, assertion, service)) {
             return generateErrorView(CasProtocolConstants.ERROR_CODE_INVALID_TICKET, new Object[]{serviceTicketId}, request, service);
         }
-        val ctxResult = validateAuthenticationContext(assertion, request);
+        val registeredService = this.servicesManager.findServiceBy(assertion.getService());
+        val ctxResult = validateAuthenticationContext(assertion, request, registeredService);
         if (!ctxResult.getKey()) {
             throw new UnsatisfiedAuthenticationContextTicketValidationException(assertion.getService());
         }
@@ -264,7 +278,7 @@ public abstract class AbstractServiceValidateController extends AbstractDelegate
         }
         onSuccessfulValidation(serviceTicketId, assertion);
         LOGGER.debug("Successfully validated service ticket [{}] for service [{}]", serviceTicketId, service.getId());
-        return generateSuccessView(assertion, proxyIou, service, request, ctxResult.getValue(), proxyGrantingTicketId);
+        return generateSuccessView(assertion, proxyIou, service, request, ctxResult.getValue(), proxyGrantingTicketId, registeredService);
     }
 
     /**
@@ -357,15 +371,20 @@ public abstract class AbstractServiceValidateController extends AbstractDelegate
      * @param service             the validated service
      * @param contextProvider     the context provider
      * @param proxyGrantingTicket the proxy granting ticket
+     * @param registeredService   the registered service matched for the validated service
      * @return the model and view, pointed to the view name set by
      */
     private ModelAndView generateSuccessView(final Assertion assertion, final String proxyIou,
                                              final WebApplicationService service, final HttpServletRequest request,
                                              final Optional<MultifactorAuthenticationProvider> contextProvider,
-                                             final TicketGrantingTicket proxyGrantingTicket) {
+                                             final TicketGrantingTicket proxyGrantingTicket,
+                                             final RegisteredService registeredService) {
         val modelAndView = getModelAndView(request, true, service);
         modelAndView.addObject(CasViewConstants.MODEL_ATTRIBUTE_NAME_ASSERTION, assertion);
         modelAndView.addObject(CasViewConstants.MODEL_ATTRIBUTE_NAME_SERVICE, service);
+        if (registeredService != null) {
+            modelAndView.addObject(CasViewConstants.MODEL_ATTRIBUTE_NAME_REGISTERED_SERVICE, registeredService);
+        }
         if (StringUtils.isNotBlank(proxyIou)) {
             modelAndView.addObject(CasViewConstants.MODEL_ATTRIBUTE_NAME_PROXY_GRANTING_TICKET_IOU, proxyIou);
         }
@@ -25,6 +25,7 @@ import org.apereo.cas.web.v3.V3ServiceValidateController;
 import org.apereo.cas.web.view.Cas10ResponseView;
 import org.apereo.cas.web.view.Cas20ResponseView;
 import org.apereo.cas.web.view.Cas30ResponseView;
+import org.apereo.cas.web.view.CasValidationResponseXmlView;
 import org.apereo.cas.web.view.attributes.DefaultCas30ProtocolAttributesRenderer;
 import org.apereo.cas.web.view.attributes.InlinedCas30ProtocolAttributesRenderer;
 import org.apereo.cas.web.view.json.Cas30JsonResponseView;
@@ -172,7 +173,7 @@ public class CasValidationConfiguration {
             protocolAttributeEncoder.getIfAvailable(),
             servicesManager,
             casProperties.getAuthn().getMfa().getAuthenticationContextAttribute(),
-            cas2SuccessView,
+            getValidationResponseView(cas2SuccessView, true),
             authenticationAttributeReleasePolicy,
             authenticationServiceSelectionPlan.getIfAvailable());
     }
@@ -213,7 +214,7 @@ public class CasValidationConfiguration {
             protocolAttributeEncoder.getIfAvailable(),
             servicesManager,
             authenticationContextAttribute,
-            cas3SuccessView,
+            getValidationResponseView(cas3SuccessView, true),
             isReleaseProtocolAttributes,
             authenticationAttributeReleasePolicy,
             authenticationServiceSelectionPlan.getIfAvailable(),
@@ -246,7 +247,7 @@ public class CasValidationConfiguration {
             authenticationContextValidator,
             cas3ServiceJsonView(),
             cas3ServiceSuccessView(),
-            cas3ServiceFailureView,
+            getValidationResponseView(cas3ServiceFailureView, false),
             casProperties.getAuthn().getMfa().getAuthenticationContextAttribute(),
             serviceValidationAuthorizers,
             casProperties.getSso().isRenewAuthnEnabled()
@@ -268,7 +269,7 @@ public class CasValidationConfiguration {
             authenticationContextValidator,
             cas3ServiceJsonView(),
             cas3ServiceSuccessView(),
-            cas3ServiceFailureView,
+            getValidationResponseView(cas3ServiceFailureView, false),
             casProperties.getAuthn().getMfa().getAuthenticationContextAttribute(),
             serviceValidationAuthorizers,
             casProperties.getSso().isRenewAuthnEnabled()
@@ -290,7 +291,7 @@ public class CasValidationConfiguration {
                 authenticationContextValidator,
                 cas3ServiceJsonView(),
                 cas3ServiceSuccessView(),
-                cas3ServiceFailureView,
+                getValidationResponseView(cas3ServiceFailureView, false),
                 casProperties.getAuthn().getMfa().getAuthenticationContextAttribute(),
                 serviceValidationAuthorizers,
                 casProperties.getSso().isRenewAuthnEnabled()
@@ -308,7 +309,7 @@ public class CasValidationConfiguration {
             authenticationContextValidator,
             cas3ServiceJsonView(),
             cas2ServiceSuccessView(),
-            cas2ServiceFailureView,
+            getValidationResponseView(cas2ServiceFailureView, false),
             casProperties.getAuthn().getMfa().getAuthenticationContextAttribute(),
             serviceValidationAuthorizers,
             casProperties.getSso().isRenewAuthnEnabled()
@@ -351,7 +352,7 @@ public class CasValidationConfiguration {
                 authenticationContextValidator,
                 cas3ServiceJsonView(),
                 cas3ServiceSuccessView(),
-                cas3ServiceFailureView,
+                getValidationResponseView(cas3ServiceFailureView, false),
                 casProperties.getAuthn().getMfa().getAuthenticationContextAttribute(),
                 serviceValidationAuthorizers,
                 casProperties.getSso().isRenewAuthnEnabled()
@@ -369,10 +370,17 @@ public class CasValidationConfiguration {
             authenticationContextValidator,
             cas3ServiceJsonView(),
             cas2ServiceSuccessView(),
-            cas2ServiceFailureView,
+            getValidationResponseView(cas2ServiceFailureView, false),
             casProperties.getAuthn().getMfa().getAuthenticationContextAttribute(),
             serviceValidationAuthorizers,
             casProperties.getSso().isRenewAuthnEnabled()
         );
     }
+
+    private View getValidationResponseView(final View templateView, final boolean successResponse) {
+        if (casProperties.getView().isTemplateFreeValidationResponses()) {
+            return new CasValidationResponseXmlView(successResponse);
+        }
+        return templateView;
+    }
 }
@@ -54,8 +54,7 @@ public class Cas30ResponseView extends Cas20ResponseView {
                                             final HttpServletResponse response) throws Exception {
         super.prepareMergedOutputModel(model, request, response);
 
-        val service = authenticationRequestServiceSelectionStrategies.resolveService(getServiceFrom(model));
-        val registeredService = this.servicesManager.findServiceBy(service);
+        val registeredService = getRegisteredServiceFrom(model);
 
         val principalAttributes = getCasPrincipalAttributes(model, registeredService);
         val attributes = new HashMap<String, Object>(principalAttributes);
@@ -75,6 +74,28 @@ public class Cas30ResponseView extends Cas20ResponseView {
         putCasResponseAttributesIntoModel(model, attributes, registeredService);
     }
 
+    /**
+     * Gets the registered service for the validated service.
+     * The validated service is always resolved via the service selection strategies first, so that
+     * callback services are answered with the policies of the service that initiated the request.
+     * The registered service the controller matched for the assertion is only reused when the
+     * strategies select that same service; otherwise, the selected service is located in the registry.
+     *
+     * @param model the model
+     * @return the registered service
+     */
+    @Override
+    protected RegisteredService getRegisteredServiceFrom(final Map<String, Object> model) {
+        val service = authenticationRequestServiceSelectionStrategies.resolveService(getServiceFrom(model));
+        val registeredService = super.getRegisteredServiceFrom(model);
+        if (registeredService != null && service != null
+            && StringUtils.equals(service.getId(), getAssertionFrom(model).getService().getId())) {
+            LOGGER.trace("Using registered service [{}] matched for the validated service [{}]", registeredService.getName(), service.getId());
+            return registeredService;
+        }
+        return this.servicesManager.findServiceBy(service);
+    }
+
     /**
      * Put cas authentication attributes into model.
      *
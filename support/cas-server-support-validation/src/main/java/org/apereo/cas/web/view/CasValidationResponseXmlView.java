@@ -0,0 +1,150 @@
+package org.apereo.cas.web.view;
+
+import org.apereo.cas.CasProtocolConstants;
+import org.apereo.cas.CasViewConstants;
+import org.apereo.cas.authentication.Authentication;
+import org.apereo.cas.authentication.principal.Principal;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.text.StringEscapeUtils;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.View;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * This is {@link CasValidationResponseXmlView} that writes CAS2 and CAS3 service validation
+ * responses directly into the response, without going through a template engine.
+ * The output follows the structure of the default {@code protocol/2.0} and {@code protocol/3.0}
+ * validation templates, and is rendered from the model prepared by {@link Cas20ResponseView}
+ * and {@link Cas30ResponseView}. Attributes are written as formatted by the
+ * configured {@link org.apereo.cas.validation.CasProtocolAttributesRenderer}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+@Getter
+@RequiredArgsConstructor
+public class CasValidationResponseXmlView implements View {
+    private static final String CONTENT_TYPE = MediaType.APPLICATION_XML_VALUE + ";charset=UTF-8";
+
+    private static final String INDENT = "    ";
+
+    private final boolean successResponse;
+
+    private static void writeElement(final Writer writer, final int depth, final String name, final String value) throws IOException {
+        indent(writer, depth);
+        writer.write("<cas:");
+        writer.write(name);
+        writer.write('>');
+        writer.write(StringEscapeUtils.escapeXml10(value));
+        writer.write("</cas:");
+        writer.write(name);
+        writer.write(">\n");
+    }
+
+    private static void indent(final Writer writer, final int depth) throws IOException {
+        for (var i = 0; i < depth; i++) {
+            writer.write(INDENT);
+        }
+    }
+
+    @Override
+    public String getContentType() {
+        return CONTENT_TYPE;
+    }
+
+    @Override
+    public void render(final Map<String, ?> model, final HttpServletRequest request, final HttpServletResponse response) throws Exception {
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setContentType(getContentType());
+        val writer = response.getWriter();
+        writer.write("<cas:serviceResponse xmlns:cas='http://www.yale.edu/tp/cas'>\n");
+        if (this.successResponse) {
+            writeAuthenticationSuccess(model, writer);
+        } else {
+            writeAuthenticationFailure(model, writer);
+        }
+        writer.write("</cas:serviceResponse>\n");
+        writer.flush();
+    }
+
+    /**
+     * Write authentication success.
+     *
+     * @param model  the model
+     * @param writer the writer
+     * @throws IOException the exception
+     */
+    protected void writeAuthenticationSuccess(final Map<String, ?> model, final Writer writer) throws IOException {
+        indent(writer, 1);
+        writer.write("<cas:authenticationSuccess>\n");
+
+        val principal = (Principal) model.get(CasViewConstants.MODEL_ATTRIBUTE_NAME_PRINCIPAL);
+        writeElement(writer, 2, "user", principal.getId());
+
+        val pgtIou = (String) model.get(CasViewConstants.MODEL_ATTRIBUTE_NAME_PROXY_GRANTING_TICKET_IOU);
+        if (StringUtils.isNotBlank(pgtIou)) {
+            writeElement(writer, 2, "proxyGrantingTicket", pgtIou);
+        }
+
+        val proxies = (Collection<Authentication>) model.get(CasViewConstants.MODEL_ATTRIBUTE_NAME_CHAINED_AUTHENTICATIONS);
+        if (proxies != null && !proxies.isEmpty()) {
+            indent(writer, 2);
+            writer.write("<cas:proxies>\n");
+            for (val proxy : proxies) {
+                writeElement(writer, 3, "proxy", proxy.getPrincipal().getId());
+            }
+            indent(writer, 2);
+            writer.write("</cas:proxies>\n");
+        }
+
+        val attributes = (Collection<String>) model.get(CasProtocolConstants.VALIDATION_CAS_MODEL_ATTRIBUTE_NAME_FORMATTED_ATTRIBUTES);
+        if (attributes != null && !attributes.isEmpty()) {
+            indent(writer, 2);
+            writer.write("<cas:attributes>\n");
+            for (val attribute : attributes) {
+                indent(writer, 3);
+                writer.write(attribute);
+                writer.write('\n');
+            }
+            indent(writer, 2);
+            writer.write("</cas:attributes>\n");
+        }
+
+        indent(writer, 1);
+        writer.write("</cas:authenticationSuccess>\n");
+    }
+
+    /**
+     * Write authentication failure.
+     * The error code and description in the model are already HTML-escaped by the validation controller,
+     * and are escaped once more, as the default templates do.
+     *
+     * @param model  the model
+     * @param writer the writer
+     * @throws IOException the exception
+     */
+    protected void writeAuthenticationFailure(final Map<String, ?> model, final Writer writer) throws IOException {
+        val code = String.valueOf(model.get(CasViewConstants.MODEL_ATTRIBUTE_NAME_ERROR_CODE));
+        val description = String.valueOf(model.get(CasViewConstants.MODEL_ATTRIBUTE_NAME_ERROR_DESCRIPTION));
+        LOGGER.trace("Writing authentication failure response with code [{}]", code);
+        indent(writer, 1);
+        writer.write("<cas:authenticationFailure code=\"");
+        writer.write(StringEscapeUtils.escapeXml10(code));
+        writer.write("\">");
+        writer.write(StringEscapeUtils.escapeXml10(description));
+        writer.write("</cas:authenticationFailure>\n");
+    }
+}
@@ -3,6 +3,7 @@ package org.apereo.cas.web.view;
 import org.apereo.cas.CasProtocolConstants;
 import org.apereo.cas.CasViewConstants;
 import org.apereo.cas.CipherExecutor;
+import org.apereo.cas.authentication.AuthenticationServiceSelectionStrategy;
 import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
 import org.apereo.cas.authentication.DefaultAuthenticationAttributeReleasePolicy;
 import org.apereo.cas.authentication.DefaultAuthenticationServiceSelectionPlan;
@@ -11,7 +12,10 @@ import org.apereo.cas.authentication.DefaultMultifactorAuthenticationContextVali
 import org.apereo.cas.authentication.DefaultMultifactorTriggerSelectionStrategy;
 import org.apereo.cas.authentication.ProtocolAttributeEncoder;
 import org.apereo.cas.authentication.support.DefaultCasProtocolAttributeEncoder;
+import org.apereo.cas.authentication.principal.Service;
 import org.apereo.cas.configuration.model.support.mfa.MultifactorAuthenticationProperties;
+import org.apereo.cas.services.RegisteredService;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.services.web.view.AbstractCasView;
 import org.apereo.cas.util.CollectionUtils;
@@ -23,6 +27,7 @@ import org.apereo.cas.web.AbstractServiceValidateControllerTests;
 import org.apereo.cas.web.ServiceValidateController;
 import org.apereo.cas.web.view.attributes.DefaultCas30ProtocolAttributesRenderer;
 
+import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
@@ -50,10 +55,12 @@ import javax.crypto.Cipher;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
 
 /**
  * Unit tests for {@link Cas30ResponseView}.
@@ -204,6 +211,56 @@ public class Cas30ResponseViewTests extends AbstractServiceValidateControllerTes
         assertEquals("binaryAttributeValue", EncodingUtils.decodeBase64ToString(binaryAttr.toString()));
     }
 
+    @Test
+    public void verifyRegisteredServiceIsSelectedForCallbackService() throws Exception {
+        val model = new HashMap<String, Object>(getModelAndViewUponServiceValidationWithSecurePgtUrl().getModel());
+        val matchedService = (RegisteredService) model.get(CasViewConstants.MODEL_ATTRIBUTE_NAME_REGISTERED_SERVICE);
+        assertNotNull(matchedService);
+
+        val manager = mock(ServicesManager.class);
+        val encoder = new DefaultCasProtocolAttributeEncoder(manager, CipherExecutor.noOpOfStringToString());
+        val view = new Cas30ResponseView(true, encoder, manager, "attribute", mock(View.class), true,
+            new DefaultAuthenticationAttributeReleasePolicy(),
+            new DefaultAuthenticationServiceSelectionPlan(new DefaultAuthenticationServiceSelectionStrategy()),
+            new DefaultCas30ProtocolAttributesRenderer());
+        assertSame(matchedService, view.getRegisteredServiceFrom(model));
+        verify(manager, never()).findServiceBy(any(Service.class));
+
+        val callbackService = RegisteredServiceTestUtils.getService("https://app.example.org/callback");
+        val callbackRegisteredService = RegisteredServiceTestUtils.getRegisteredService("https://app.example.org/callback");
+        when(manager.findServiceBy(callbackService)).thenReturn(callbackRegisteredService);
+        val callbackView = new Cas30ResponseView(true, encoder, manager, "attribute", mock(View.class), true,
+            new DefaultAuthenticationAttributeReleasePolicy(),
+            new DefaultAuthenticationServiceSelectionPlan(new CallbackServiceSelectionStrategy(callbackService)),
+            new DefaultCas30ProtocolAttributesRenderer());
+        assertSame(callbackRegisteredService, callbackView.getRegisteredServiceFrom(model));
+    }
+
+    /**
+     * Selects the service carried by a callback, as protocol modules that route requests back to CAS do.
+     */
+    @RequiredArgsConstructor
+    private static class CallbackServiceSelectionStrategy implements AuthenticationServiceSelectionStrategy {
+        private static final long serialVersionUID = -4410591622164536498L;
+
+        private final Service callbackService;
+
+        @Override
+        public Service resolveServiceFrom(final Service service) {
+            return this.callbackService;
+        }
+
+        @Override
+        public boolean supports(final Service service) {
+            return true;
+        }
+
+        @Override
+        public int getOrder() {
+            return 0;
+        }
+    }
+
     @TestConfiguration
     public static class AttributeRepositoryTestConfiguration {
         @Bean
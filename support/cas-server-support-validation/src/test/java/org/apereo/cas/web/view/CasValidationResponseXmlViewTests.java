@@ -0,0 +1,70 @@
+package org.apereo.cas.web.view;
+
+import org.apereo.cas.CasProtocolConstants;
+import org.apereo.cas.CasViewConstants;
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.util.CollectionUtils;
+
+import lombok.val;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.HashMap;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link CasValidationResponseXmlViewTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class CasValidationResponseXmlViewTests {
+
+    @Test
+    public void verifySuccessResponse() throws Exception {
+        val model = new HashMap<String, Object>();
+        model.put(CasViewConstants.MODEL_ATTRIBUTE_NAME_PRINCIPAL, CoreAuthenticationTestUtils.getPrincipal("cas<user>"));
+        model.put(CasViewConstants.MODEL_ATTRIBUTE_NAME_PROXY_GRANTING_TICKET_IOU, "PGTIOU-1");
+        model.put(CasViewConstants.MODEL_ATTRIBUTE_NAME_CHAINED_AUTHENTICATIONS,
+            CollectionUtils.wrapList(CoreAuthenticationTestUtils.getAuthentication("proxy")));
+        model.put(CasProtocolConstants.VALIDATION_CAS_MODEL_ATTRIBUTE_NAME_FORMATTED_ATTRIBUTES,
+            CollectionUtils.wrapList("<cas:mail>cas@example.org</cas:mail>"));
+
+        val response = new MockHttpServletResponse();
+        new CasValidationResponseXmlView(true).render(model, new MockHttpServletRequest(), response);
+        val content = response.getContentAsString();
+        assertTrue(content.contains("<cas:user>cas&lt;user&gt;</cas:user>"));
+        assertTrue(content.contains("<cas:proxyGrantingTicket>PGTIOU-1</cas:proxyGrantingTicket>"));
+        assertTrue(content.contains("<cas:proxy>proxy</cas:proxy>"));
+        assertTrue(content.contains("<cas:mail>cas@example.org</cas:mail>"));
+        assertTrue(response.getContentType().startsWith("application/xml"));
+    }
+
+    @Test
+    public void verifySuccessResponseWithoutAttributes() throws Exception {
+        val model = new HashMap<String, Object>();
+        model.put(CasViewConstants.MODEL_ATTRIBUTE_NAME_PRINCIPAL, CoreAuthenticationTestUtils.getPrincipal("casuser"));
+
+        val response = new MockHttpServletResponse();
+        new CasValidationResponseXmlView(true).render(model, new MockHttpServletRequest(), response);
+        val content = response.getContentAsString();
+        assertTrue(content.contains("<cas:user>casuser</cas:user>"));
+        assertFalse(content.contains("cas:proxyGrantingTicket"));
+        assertFalse(content.contains("cas:proxies"));
+        assertFalse(content.contains("cas:attributes"));
+    }
+
+    @Test
+    public void verifyFailureResponse() throws Exception {
+        val model = new HashMap<String, Object>();
+        model.put(CasViewConstants.MODEL_ATTRIBUTE_NAME_ERROR_CODE, "INVALID_TICKET");
+        model.put(CasViewConstants.MODEL_ATTRIBUTE_NAME_ERROR_DESCRIPTION, "Ticket \"ST-1\" not recognized");
+
+        val response = new MockHttpServletResponse();
+        new CasValidationResponseXmlView(false).render(model, new MockHttpServletRequest(), response);
+        val content = response.getContentAsString();
+        assertTrue(content.contains("<cas:authenticationFailure code=\"INVALID_TICKET\">Ticket &quot;ST-1&quot; not recognized</cas:authenticationFailure>"));
+    }
+}
@@ -0,0 +1,251 @@
+package org.apereo.cas.adaptors.x509.authentication;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import net.sf.ehcache.Cache;
+import net.sf.ehcache.Element;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.net.URI;
+import java.security.cert.X509CRL;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * This is {@link CRLDistributionPointManager} that keeps track of CRLs fetched from distribution points.
+ * <p>CRLs are kept as {@link IndexedX509CRL} instances, and are fetched again in the background
+ * before their next update, or once the refresh interval elapses, whichever comes first.
+ * A CRL is fetched by one caller at a time; concurrent callers that need the same CRL wait for that fetch.
+ * Once past its next update, the last fetched CRL is still served for the duration of the grace period
+ * while a fresh copy is fetched in the background. Distribution points that are not used for the
+ * idle time of the cache are dropped and are no longer refreshed.</p>
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+public class CRLDistributionPointManager implements DisposableBean {
+    private static final long DEFAULT_REFRESH_INTERVAL_SECONDS = 3_600;
+
+    private static final long DEFAULT_PREFETCH_SECONDS = 300;
+
+    private static final long SWEEP_INTERVAL_SECONDS = 30;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        val thread = new Thread(runnable, CRLDistributionPointManager.class.getSimpleName());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Cache crlCache;
+
+    @Getter
+    private final CRLFetcher fetcher;
+
+    private final long refreshInterval;
+
+    private final long prefetch;
+
+    private final long gracePeriod;
+
+    private final long idleTimeout;
+
+    private final long retryDelay;
+
+    public CRLDistributionPointManager(final Cache crlCache, final CRLFetcher fetcher) {
+        this(crlCache, fetcher, DEFAULT_REFRESH_INTERVAL_SECONDS, DEFAULT_PREFETCH_SECONDS, 0);
+    }
+
+    /**
+     * Instantiates a new CRL distribution point manager.
+     *
+     * @param crlCache               the cache that holds distribution points
+     * @param fetcher                the fetcher
+     * @param refreshIntervalSeconds the maximum time in seconds between fetches of a CRL
+     * @param prefetchSeconds        the time in seconds before the next update of a CRL at which it is fetched again
+     * @param gracePeriodSeconds     the time in seconds past the next update of a CRL during which the last fetched CRL is served
+     */
+    @SuppressWarnings("FutureReturnValueIgnored")
+    public CRLDistributionPointManager(final Cache crlCache, final CRLFetcher fetcher, final long refreshIntervalSeconds,
+                                       final long prefetchSeconds, final long gracePeriodSeconds) {
+        this.crlCache = crlCache;
+        this.fetcher = fetcher;
+        this.refreshInterval = TimeUnit.SECONDS.toMillis(refreshIntervalSeconds);
+        this.prefetch = TimeUnit.SECONDS.toMillis(prefetchSeconds);
+        this.gracePeriod = TimeUnit.SECONDS.toMillis(gracePeriodSeconds);
+        this.idleTimeout = TimeUnit.SECONDS.toMillis(crlCache.getCacheConfiguration().getTimeToIdleSeconds());
+        this.retryDelay = Math.min(this.refreshInterval, TimeUnit.SECONDS.toMillis(SWEEP_INTERVAL_SECONDS));
+        this.scheduler.scheduleWithFixedDelay(this::refreshDistributionPoints,
+            SWEEP_INTERVAL_SECONDS, SWEEP_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Gets the CRL published at the given distribution point, fetching it if needed.
+     *
+     * @param uri the distribution point
+     * @return the CRL, or null if the distribution point has none
+     * @throws Exception if the CRL cannot be fetched
+     */
+    public X509CRL getCRL(final URI uri) throws Exception {
+        val now = System.currentTimeMillis();
+        val point = getDistributionPoint(uri);
+        point.setLastAccessed(now);
+
+        val crl = point.getCrl();
+        if (crl == null) {
+            LOGGER.debug("CRL for [{}] is not cached. Fetching and caching...", uri);
+            return fetch(point);
+        }
+        if (isUsable(crl, now)) {
+            if (now >= point.getRefreshAt()) {
+                LOGGER.debug("CRL for [{}] is due for refresh. Fetching in the background...", uri);
+                this.scheduler.execute(() -> refresh(point));
+            }
+            return crl;
+        }
+        if (now < point.getRefreshAt()) {
+            LOGGER.debug("CRL for [{}] has expired and was fetched recently; a fresh copy is not yet available", uri);
+            return crl;
+        }
+        LOGGER.debug("CRL for [{}] expired on [{}] and is past its grace period. Fetching...", uri, crl.getNextUpdate());
+        return fetch(point);
+    }
+
+    /**
+     * Record the CRL published at the given distribution point, or forget the distribution point if there is none.
+     *
+     * @param uri the distribution point
+     * @param crl the crl
+     * @return true if the CRL is recorded
+     */
+    public boolean putCRL(final URI uri, final X509CRL crl) {
+        if (crl == null) {
+            LOGGER.debug("No CRL was passed. Removing [{}] from cache...", uri);
+            return this.crlCache.remove(uri);
+        }
+        val point = getDistributionPoint(uri);
+        update(point, IndexedX509CRL.of(crl), System.currentTimeMillis());
+        return this.crlCache.isKeyInCache(uri);
+    }
+
+    @Override
+    public void destroy() {
+        this.scheduler.shutdownNow();
+    }
+
+    private DistributionPoint getDistributionPoint(final URI uri) {
+        val element = this.crlCache.get(uri);
+        if (element != null) {
+            return (DistributionPoint) element.getObjectValue();
+        }
+        val newElement = new Element(uri, new DistributionPoint(uri));
+        newElement.setEternal(true);
+        val existing = this.crlCache.putIfAbsent(newElement);
+        return (DistributionPoint) (existing == null ? newElement : existing).getObjectValue();
+    }
+
+    private boolean isUsable(final X509CRL crl, final long now) {
+        return crl.getNextUpdate() == null || now < crl.getNextUpdate().getTime() + this.gracePeriod;
+    }
+
+    private X509CRL fetch(final DistributionPoint point) throws Exception {
+        val future = new CompletableFuture<X509CRL>();
+        val pending = point.getInflight().compareAndExchange(null, future);
+        if (pending != null) {
+            LOGGER.debug("Waiting for CRL at [{}] that is being fetched", point.getUri());
+            try {
+                return pending.get();
+            } catch (final ExecutionException e) {
+                throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+            }
+        }
+        try {
+            val crl = IndexedX509CRL.of(this.fetcher.fetch(point.getUri()));
+            if (crl == null) {
+                LOGGER.warn("Could not fetch X509 CRL for [{}]. Returned value is null", point.getUri());
+                point.setRefreshAt(System.currentTimeMillis() + this.retryDelay);
+            } else {
+                LOGGER.info("Success. Caching fetched CRL at [{}].", point.getUri());
+                update(point, crl, System.currentTimeMillis());
+            }
+            future.complete(crl);
+            return crl;
+        } catch (final Exception e) {
+            point.setRefreshAt(System.currentTimeMillis() + this.retryDelay);
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            point.getInflight().set(null);
+        }
+    }
+
+    private void refresh(final DistributionPoint point) {
+        if (System.currentTimeMillis() < point.getRefreshAt()) {
+            LOGGER.trace("CRL at [{}] has been refreshed already", point.getUri());
+            return;
+        }
+        try {
+            fetch(point);
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to refresh CRL at [{}]; the last fetched CRL is kept: [{}]", point.getUri(), e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * A CRL is fetched again before its next update, and at least once per refresh interval.
+     * A CRL that is about to expire or has already expired when it is fetched is retried no more often than
+     * the sweep interval, or the refresh interval if shorter.
+     */
+    private void update(final DistributionPoint point, final X509CRL crl, final long now) {
+        var refreshAt = now + this.refreshInterval;
+        if (crl.getNextUpdate() != null) {
+            val nextUpdate = crl.getNextUpdate().getTime() - this.prefetch;
+            refreshAt = Math.max(Math.min(refreshAt, nextUpdate), now + this.retryDelay);
+        }
+        point.setCrl(crl);
+        point.setRefreshAt(refreshAt);
+    }
+
+    private void refreshDistributionPoints() {
+        try {
+            val now = System.currentTimeMillis();
+            for (val key : this.crlCache.getKeys()) {
+                val element = this.crlCache.getQuiet(key);
+                if (element != null) {
+                    val point = (DistributionPoint) element.getObjectValue();
+                    if (this.idleTimeout > 0 && now - point.getLastAccessed() >= this.idleTimeout) {
+                        LOGGER.debug("CRL distribution point [{}] has not been used recently and is removed", point.getUri());
+                        this.crlCache.remove(key);
+                    } else if (point.getCrl() != null) {
+                        refresh(point);
+                    }
+                }
+            }
+        } catch (final Exception e) {
+            LOGGER.error(e.getMessage(), e);
+        }
+    }
+
+    @Getter
+    @Setter
+    @RequiredArgsConstructor
+    private static class DistributionPoint {
+        private final URI uri;
+
+        private final AtomicReference<CompletableFuture<X509CRL>> inflight = new AtomicReference<>();
+
+        private volatile X509CRL crl;
+
+        private volatile long refreshAt;
+
+        private volatile long lastAccessed = System.currentTimeMillis();
+    }
+}
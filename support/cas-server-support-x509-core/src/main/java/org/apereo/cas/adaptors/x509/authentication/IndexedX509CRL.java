@@ -0,0 +1,408 @@
+package org.apereo.cas.adaptors.x509.authentication;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import javax.security.auth.x500.X500Principal;
+import java.math.BigInteger;
+import java.security.Principal;
+import java.security.PublicKey;
+import java.security.cert.CRLException;
+import java.security.cert.Certificate;
+import java.security.cert.X509CRL;
+import java.security.cert.X509CRLEntry;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * This is {@link IndexedX509CRL}, a compact read-only view of a {@link X509CRL} that retains
+ * what is needed to check revocation: the issuer, the update dates and an index of the revoked serial numbers.
+ * Serial numbers that fit in a {@code long} are kept in a sorted primitive array, and larger serial numbers
+ * in a sorted array of {@link BigInteger}, both of which are looked up by binary search.
+ * The encoded form of the CRL and its list of entries are not retained, and the CRL cannot be verified.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+public class IndexedX509CRL extends X509CRL {
+    private static final byte NO_REASON = -1;
+
+    private static final String CRL_REASON_OID = "2.5.29.21";
+
+    private final X500Principal issuer;
+
+    private final long thisUpdate;
+
+    private final Long nextUpdate;
+
+    private final int version;
+
+    private final String sigAlgName;
+
+    private final String sigAlgOID;
+
+    private final byte[] sigAlgParams;
+
+    private final byte[] signature;
+
+    private final boolean unsupportedCriticalExtension;
+
+    private final Set<String> criticalExtensionOIDs;
+
+    private final Set<String> nonCriticalExtensionOIDs;
+
+    private final Map<String, byte[]> extensionValues = new HashMap<>();
+
+    private final long[] serials;
+
+    private final long[] revocationDates;
+
+    private final byte[] reasons;
+
+    private final BigInteger[] largeSerials;
+
+    private final long[] largeRevocationDates;
+
+    private final byte[] largeReasons;
+
+    private IndexedX509CRL(final X509CRL crl, final Collection<? extends X509CRLEntry> revoked) {
+        this.issuer = crl.getIssuerX500Principal();
+        this.thisUpdate = crl.getThisUpdate().getTime();
+        this.nextUpdate = crl.getNextUpdate() == null ? null : crl.getNextUpdate().getTime();
+        this.version = crl.getVersion();
+        this.sigAlgName = crl.getSigAlgName();
+        this.sigAlgOID = crl.getSigAlgOID();
+        this.sigAlgParams = crl.getSigAlgParams();
+        this.signature = crl.getSignature();
+        this.unsupportedCriticalExtension = crl.hasUnsupportedCriticalExtension();
+        this.criticalExtensionOIDs = crl.getCriticalExtensionOIDs();
+        this.nonCriticalExtensionOIDs = crl.getNonCriticalExtensionOIDs();
+        val extensions = new HashSet<String>();
+        if (this.criticalExtensionOIDs != null) {
+            extensions.addAll(this.criticalExtensionOIDs);
+        }
+        if (this.nonCriticalExtensionOIDs != null) {
+            extensions.addAll(this.nonCriticalExtensionOIDs);
+        }
+        extensions.forEach(oid -> this.extensionValues.put(oid, crl.getExtensionValue(oid)));
+
+        val small = new ArrayList<X509CRLEntry>(revoked.size());
+        val large = new ArrayList<X509CRLEntry>(0);
+        revoked.forEach(entry -> {
+            if (entry.getSerialNumber().bitLength() < Long.SIZE) {
+                small.add(entry);
+            } else {
+                large.add(entry);
+            }
+        });
+        small.sort(Comparator.comparing(X509CRLEntry::getSerialNumber));
+        large.sort(Comparator.comparing(X509CRLEntry::getSerialNumber));
+
+        this.serials = new long[small.size()];
+        this.revocationDates = new long[small.size()];
+        this.reasons = new byte[small.size()];
+        for (var i = 0; i < small.size(); i++) {
+            val entry = small.get(i);
+            this.serials[i] = entry.getSerialNumber().longValue();
+            this.revocationDates[i] = entry.getRevocationDate().getTime();
+            this.reasons[i] = getReasonCode(entry);
+        }
+
+        this.largeSerials = new BigInteger[large.size()];
+        this.largeRevocationDates = new long[large.size()];
+        this.largeReasons = new byte[large.size()];
+        for (var i = 0; i < large.size(); i++) {
+            val entry = large.get(i);
+            this.largeSerials[i] = entry.getSerialNumber();
+            this.largeRevocationDates[i] = entry.getRevocationDate().getTime();
+            this.largeReasons[i] = getReasonCode(entry);
+        }
+    }
+
+    /**
+     * Build a compact view of the given CRL.
+     * Indirect CRLs, whose entries may name a certificate issuer other than the CRL issuer,
+     * are returned as they are.
+     *
+     * @param crl the crl
+     * @return the indexed crl, or the crl itself if it cannot be indexed
+     */
+    public static X509CRL of(final X509CRL crl) {
+        if (crl == null || crl instanceof IndexedX509CRL) {
+            return crl;
+        }
+        val revoked = crl.getRevokedCertificates();
+        if (revoked == null) {
+            return new IndexedX509CRL(crl, new ArrayList<>(0));
+        }
+        if (revoked.stream().anyMatch(entry -> entry.getCertificateIssuer() != null)) {
+            LOGGER.debug("CRL issued by [{}] is an indirect CRL and is not indexed", crl.getIssuerX500Principal());
+            return crl;
+        }
+        return new IndexedX509CRL(crl, revoked);
+    }
+
+    private static byte getReasonCode(final X509CRLEntry entry) {
+        val reason = entry.getRevocationReason();
+        return reason == null ? NO_REASON : (byte) reason.ordinal();
+    }
+
+    /**
+     * Gets the number of revoked serial numbers in the index.
+     *
+     * @return the count
+     */
+    public int getRevokedCount() {
+        return this.serials.length + this.largeSerials.length;
+    }
+
+    @Override
+    public X509CRLEntry getRevokedCertificate(final X509Certificate certificate) {
+        if (!this.issuer.equals(certificate.getIssuerX500Principal())) {
+            return null;
+        }
+        return getRevokedCertificate(certificate.getSerialNumber());
+    }
+
+    @Override
+    public X509CRLEntry getRevokedCertificate(final BigInteger serialNumber) {
+        if (serialNumber.bitLength() < Long.SIZE) {
+            val index = Arrays.binarySearch(this.serials, serialNumber.longValue());
+            return index < 0 ? null : new IndexedX509CRLEntry(serialNumber, this.revocationDates[index], this.reasons[index]);
+        }
+        val index = Arrays.binarySearch(this.largeSerials, serialNumber);
+        return index < 0 ? null : new IndexedX509CRLEntry(serialNumber, this.largeRevocationDates[index], this.largeReasons[index]);
+    }
+
+    @Override
+    public Set<? extends X509CRLEntry> getRevokedCertificates() {
+        if (getRevokedCount() == 0) {
+            return null;
+        }
+        val entries = new LinkedHashSet<X509CRLEntry>(getRevokedCount());
+        for (var i = 0; i < this.serials.length; i++) {
+            entries.add(new IndexedX509CRLEntry(BigInteger.valueOf(this.serials[i]), this.revocationDates[i], this.reasons[i]));
+        }
+        for (var i = 0; i < this.largeSerials.length; i++) {
+            entries.add(new IndexedX509CRLEntry(this.largeSerials[i], this.largeRevocationDates[i], this.largeReasons[i]));
+        }
+        return entries;
+    }
+
+    @Override
+    public boolean isRevoked(final Certificate cert) {
+        return cert instanceof X509Certificate && getRevokedCertificate((X509Certificate) cert) != null;
+    }
+
+    @Override
+    public X500Principal getIssuerX500Principal() {
+        return this.issuer;
+    }
+
+    @Override
+    public Principal getIssuerDN() {
+        return this.issuer;
+    }
+
+    @Override
+    public Date getThisUpdate() {
+        return new Date(this.thisUpdate);
+    }
+
+    @Override
+    public Date getNextUpdate() {
+        return this.nextUpdate == null ? null : new Date(this.nextUpdate);
+    }
+
+    @Override
+    public int getVersion() {
+        return this.version;
+    }
+
+    @Override
+    public String getSigAlgName() {
+        return this.sigAlgName;
+    }
+
+    @Override
+    public String getSigAlgOID() {
+        return this.sigAlgOID;
+    }
+
+    @Override
+    public byte[] getSigAlgParams() {
+        return this.sigAlgParams == null ? null : this.sigAlgParams.clone();
+    }
+
+    @Override
+    public byte[] getSignature() {
+        return this.signature == null ? null : this.signature.clone();
+    }
+
+    @Override
+    public byte[] getEncoded() throws CRLException {
+        throw new CRLException("Encoded form of the CRL is not retained");
+    }
+
+    @Override
+    public byte[] getTBSCertList() throws CRLException {
+        throw new CRLException("Encoded form of the CRL is not retained");
+    }
+
+    @Override
+    public void verify(final PublicKey key) throws CRLException {
+        throw new CRLException("Encoded form of the CRL is not retained and cannot be verified");
+    }
+
+    @Override
+    public void verify(final PublicKey key, final String sigProvider) throws CRLException {
+        throw new CRLException("Encoded form of the CRL is not retained and cannot be verified");
+    }
+
+    @Override
+    public boolean hasUnsupportedCriticalExtension() {
+        return this.unsupportedCriticalExtension;
+    }
+
+    @Override
+    public Set<String> getCriticalExtensionOIDs() {
+        return this.criticalExtensionOIDs;
+    }
+
+    @Override
+    public Set<String> getNonCriticalExtensionOIDs() {
+        return this.nonCriticalExtensionOIDs;
+    }
+
+    @Override
+    public byte[] getExtensionValue(final String oid) {
+        val value = this.extensionValues.get(oid);
+        return value == null ? null : value.clone();
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof IndexedX509CRL)) {
+            return false;
+        }
+        val crl = (IndexedX509CRL) other;
+        return this.issuer.equals(crl.issuer) && this.thisUpdate == crl.thisUpdate
+            && Arrays.equals(this.signature, crl.signature);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * this.issuer.hashCode() + Long.hashCode(this.thisUpdate);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s(issuer=%s, thisUpdate=%s, nextUpdate=%s, revoked=%s)", getClass().getSimpleName(),
+            this.issuer, getThisUpdate(), getNextUpdate(), getRevokedCount());
+    }
+
+    /**
+     * Revoked certificate entry rebuilt from the index.
+     */
+    private static class IndexedX509CRLEntry extends X509CRLEntry {
+        private final BigInteger serialNumber;
+
+        private final long revocationDate;
+
+        private final byte reason;
+
+        IndexedX509CRLEntry(final BigInteger serialNumber, final long revocationDate, final byte reason) {
+            this.serialNumber = serialNumber;
+            this.revocationDate = revocationDate;
+            this.reason = reason;
+        }
+
+        @Override
+        public BigInteger getSerialNumber() {
+            return this.serialNumber;
+        }
+
+        @Override
+        public Date getRevocationDate() {
+            return new Date(this.revocationDate);
+        }
+
+        @Override
+        public byte[] getEncoded() throws CRLException {
+            throw new CRLException("Encoded form of the CRL entry is not retained");
+        }
+
+        @Override
+        public boolean hasExtensions() {
+            return this.reason != NO_REASON;
+        }
+
+        @Override
+        public boolean hasUnsupportedCriticalExtension() {
+            return false;
+        }
+
+        @Override
+        public Set<String> getCriticalExtensionOIDs() {
+            return hasExtensions() ? new HashSet<>(0) : null;
+        }
+
+        @Override
+        public Set<String> getNonCriticalExtensionOIDs() {
+            if (hasExtensions()) {
+                val oids = new HashSet<String>(1);
+                oids.add(CRL_REASON_OID);
+                return oids;
+            }
+            return null;
+        }
+
+        /**
+         * The reason code extension value is returned DER-encoded,
+         * as an octet string that wraps the enumerated reason code.
+         */
+        @Override
+        public byte[] getExtensionValue(final String oid) {
+            if (hasExtensions() && CRL_REASON_OID.equals(oid)) {
+                return new byte[]{0x04, 0x03, 0x0A, 0x01, this.reason};
+            }
+            return null;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof IndexedX509CRLEntry)) {
+                return false;
+            }
+            val entry = (IndexedX509CRLEntry) other;
+            return this.serialNumber.equals(entry.serialNumber) && this.revocationDate == entry.revocationDate;
+        }
+
+        @Override
+        public int hashCode() {
+            return this.serialNumber.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s(serialNumber=%s, revocationDate=%s, reason=%s)", getClass().getSimpleName(),
+                this.serialNumber, getRevocationDate(), this.reason);
+        }
+    }
+}
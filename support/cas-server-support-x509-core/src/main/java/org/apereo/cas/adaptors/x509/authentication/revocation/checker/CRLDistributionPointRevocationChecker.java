@@ -1,5 +1,6 @@
 package org.apereo.cas.adaptors.x509.authentication.revocation.checker;
 
+import org.apereo.cas.adaptors.x509.authentication.CRLDistributionPointManager;
 import org.apereo.cas.adaptors.x509.authentication.CRLFetcher;
 import org.apereo.cas.adaptors.x509.authentication.ResourceCRLFetcher;
 import org.apereo.cas.adaptors.x509.authentication.revocation.policy.RevocationPolicy;
@@ -10,13 +11,12 @@ import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import net.sf.ehcache.Cache;
-import net.sf.ehcache.Element;
 import org.bouncycastle.asn1.ASN1Sequence;
 import org.bouncycastle.asn1.DERIA5String;
 import org.bouncycastle.asn1.x509.DistributionPoint;
 import org.bouncycastle.asn1.x509.GeneralName;
 import org.cryptacular.x509.ExtensionReader;
-import org.springframework.core.io.ByteArrayResource;
+import org.springframework.beans.factory.DisposableBean;
 
 import java.net.MalformedURLException;
 import java.net.URI;
@@ -37,16 +37,15 @@ import java.util.stream.IntStream;
  * expects the name to define an absolute URL, which is the most common
  * implementation.  This implementation caches CRL resources fetched from remote
  * URLs to improve performance by avoiding CRL fetching on every revocation
- * check.
+ * check. Cached CRLs are refreshed in the background via {@link CRLDistributionPointManager}.
  *
  * @author Marvin S. Addison
  * @since 3.4.6
  */
 @Slf4j
-public class CRLDistributionPointRevocationChecker extends AbstractCRLRevocationChecker {
+public class CRLDistributionPointRevocationChecker extends AbstractCRLRevocationChecker implements DisposableBean {
 
-    private final Cache crlCache;
-    private final CRLFetcher fetcher;
+    private final CRLDistributionPointManager crlManager;
     private final boolean throwOnFetchFailure;
 
     /**
@@ -101,9 +100,14 @@ public class CRLDistributionPointRevocationChecker extends AbstractCRLRevocation
     public CRLDistributionPointRevocationChecker(final boolean checkAll, final RevocationPolicy<Void> unavailableCRLPolicy,
                                                  final RevocationPolicy<X509CRL> expiredCRLPolicy, final Cache crlCache,
                                                  final CRLFetcher fetcher, final boolean throwOnFetchFailure) {
+        this(checkAll, unavailableCRLPolicy, expiredCRLPolicy, new CRLDistributionPointManager(crlCache, fetcher), throwOnFetchFailure);
+    }
+
+    public CRLDistributionPointRevocationChecker(final boolean checkAll, final RevocationPolicy<Void> unavailableCRLPolicy,
+                                                 final RevocationPolicy<X509CRL> expiredCRLPolicy,
+                                                 final CRLDistributionPointManager crlManager, final boolean throwOnFetchFailure) {
         super(checkAll, unavailableCRLPolicy, expiredCRLPolicy);
-        this.crlCache = crlCache;
-        this.fetcher = fetcher;
+        this.crlManager = crlManager;
         this.throwOnFetchFailure = throwOnFetchFailure;
     }
 
@@ -173,32 +177,17 @@ public class CRLDistributionPointRevocationChecker extends AbstractCRLRevocation
 
         for (var index = 0; !stopFetching && index < urls.length; index++) {
             val url = urls[index];
-            val item = this.crlCache.get(url);
-
-            if (item != null) {
-                LOGGER.debug("Found CRL in cache for [{}]", CertUtils.toString(cert));
-                val encodedCrl = (byte[]) item.getObjectValue();
-                val crlFetched = this.fetcher.fetch(new ByteArrayResource(encodedCrl));
-
-                if (crlFetched != null) {
-                    listOfLocations.add(crlFetched);
+            try {
+                val crl = this.crlManager.getCRL(url);
+                if (crl != null) {
+                    listOfLocations.add(crl);
                 } else {
                     LOGGER.warn("Could fetch X509 CRL for [{}]. Returned value is null", url);
                 }
-            } else {
-                LOGGER.debug("CRL for [{}] is not cached. Fetching and caching...", CertUtils.toString(cert));
-                try {
-                    val crl = this.fetcher.fetch(url);
-                    if (crl != null) {
-                        LOGGER.info("Success. Caching fetched CRL at [{}].", url);
-                        addCRL(url, crl);
-                        listOfLocations.add(crl);
-                    }
-                } catch (final Exception e) {
-                    LOGGER.error("Error fetching CRL at [{}]", url, e);
-                    if (this.throwOnFetchFailure) {
-                        throw new RuntimeException(e.getMessage(), e);
-                    }
+            } catch (final Exception e) {
+                LOGGER.error("Error fetching CRL at [{}]", url, e);
+                if (this.throwOnFetchFailure) {
+                    throw new RuntimeException(e.getMessage(), e);
                 }
             }
 
@@ -214,15 +203,12 @@ public class CRLDistributionPointRevocationChecker extends AbstractCRLRevocation
     }
 
     @Override
-    @SneakyThrows
     protected boolean addCRL(final Object id, final X509CRL crl) {
-        if (crl == null) {
-            LOGGER.debug("No CRL was passed. Removing [{}] from cache...", id);
-            return this.crlCache.remove(id);
-        }
-
-        this.crlCache.put(new Element(id, crl.getEncoded()));
-        return this.crlCache.get(id) != null;
+        return this.crlManager.putCRL((URI) id, crl);
+    }
 
+    @Override
+    public void destroy() {
+        this.crlManager.destroy();
     }
 }
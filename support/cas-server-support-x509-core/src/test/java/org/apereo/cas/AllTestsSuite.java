@@ -1,5 +1,6 @@
 package org.apereo.cas;
 
+import org.apereo.cas.adaptors.x509.authentication.CRLDistributionPointManagerTests;
 import org.apereo.cas.adaptors.x509.authentication.handler.support.CRLDistributionPointRevocationCheckerTests;
 import org.apereo.cas.adaptors.x509.authentication.handler.support.ResourceCRLRevocationCheckerTests;
 import org.apereo.cas.adaptors.x509.authentication.handler.support.ThresholdExpiredCRLRevocationPolicyTests;
@@ -32,6 +33,7 @@ import org.junit.runners.Suite;
     ResourceCRLRevocationCheckerTests.class,
     ThresholdExpiredCRLRevocationPolicyTests.class,
     X509CredentialsAuthenticationHandlerTests.class,
-    CRLDistributionPointRevocationCheckerTests.class})
+    CRLDistributionPointRevocationCheckerTests.class,
+    CRLDistributionPointManagerTests.class})
 public class AllTestsSuite {
 }
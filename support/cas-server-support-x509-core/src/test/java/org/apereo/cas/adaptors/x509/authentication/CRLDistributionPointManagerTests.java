@@ -0,0 +1,145 @@
+package org.apereo.cas.adaptors.x509.authentication;
+
+import org.apereo.cas.util.crypto.CertUtils;
+
+import lombok.SneakyThrows;
+import lombok.val;
+import net.sf.ehcache.Cache;
+import net.sf.ehcache.CacheManager;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.security.cert.X509CRL;
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link CRLDistributionPointManagerTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class CRLDistributionPointManagerTests {
+    private static final URI DISTRIBUTION_POINT = URI.create("http://localhost:8085/ca.crl");
+
+    private CRLDistributionPointManager manager;
+
+    @SneakyThrows
+    private static X509CRL readCRL(final String name) {
+        return new ResourceCRLFetcher().fetch(new ClassPathResource(name));
+    }
+
+    private static Cache newCache() {
+        val cache = new Cache("crlCache-" + UUID.randomUUID().toString(), 100, false, false, 20, 10);
+        CacheManager.getInstance().addCache(cache);
+        return cache;
+    }
+
+    @After
+    public void tearDown() {
+        if (this.manager != null) {
+            this.manager.destroy();
+        }
+    }
+
+    @Test
+    public void verifyIndexedCrlMatchesRevokedCertificates() {
+        val crl = readCRL("userCA-valid.crl");
+        val indexed = IndexedX509CRL.of(crl);
+        assertTrue(indexed instanceof IndexedX509CRL);
+        assertEquals(crl.getIssuerX500Principal(), indexed.getIssuerX500Principal());
+        assertEquals(crl.getNextUpdate(), indexed.getNextUpdate());
+
+        val revoked = CertUtils.readCertificate(new ClassPathResource("user-revoked-distcrl.crt"));
+        val entry = indexed.getRevokedCertificate(revoked);
+        assertNotNull(entry);
+        assertEquals(crl.getRevokedCertificate(revoked).getSerialNumber(), entry.getSerialNumber());
+        assertEquals(crl.getRevokedCertificate(revoked).getRevocationDate(), entry.getRevocationDate());
+        assertTrue(indexed.isRevoked(revoked));
+
+        val valid = CertUtils.readCertificate(new ClassPathResource("user-valid-distcrl.crt"));
+        assertNull(indexed.getRevokedCertificate(valid));
+        assertEquals(crl.getRevokedCertificates().size(), indexed.getRevokedCertificates().size());
+    }
+
+    @Test
+    public void verifyConcurrentRequestsFetchOnce() throws Exception {
+        val crl = readCRL("userCA-valid.crl");
+        val fetches = new AtomicInteger();
+        val fetcher = mock(CRLFetcher.class);
+        when(fetcher.fetch(any(URI.class))).thenAnswer(invocation -> {
+            fetches.incrementAndGet();
+            Thread.sleep(500);
+            return crl;
+        });
+        this.manager = new CRLDistributionPointManager(newCache(), fetcher);
+
+        val executor = Executors.newFixedThreadPool(5);
+        try {
+            val results = new ArrayList<Future<X509CRL>>();
+            for (var i = 0; i < 5; i++) {
+                results.add(executor.submit((Callable<X509CRL>) () -> this.manager.getCRL(DISTRIBUTION_POINT)));
+            }
+            val first = results.get(0).get();
+            assertNotNull(first);
+            for (val result : results) {
+                assertSame(first, result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, fetches.get());
+        assertSame(this.manager.getCRL(DISTRIBUTION_POINT), this.manager.getCRL(DISTRIBUTION_POINT));
+        assertEquals(1, fetches.get());
+    }
+
+    @Test
+    public void verifyCrlRefreshedInBackground() throws Exception {
+        val fetcher = mock(CRLFetcher.class);
+        when(fetcher.fetch(any(URI.class))).thenReturn(readCRL("userCA-valid.crl"), readCRL("userCA-valid.crl"));
+        this.manager = new CRLDistributionPointManager(newCache(), fetcher, 0, 0, 0);
+
+        val first = this.manager.getCRL(DISTRIBUTION_POINT);
+        assertSame(first, this.manager.getCRL(DISTRIBUTION_POINT));
+
+        var current = first;
+        for (var i = 0; i < 50 && current == first; i++) {
+            Thread.sleep(100);
+            current = this.manager.getCRL(DISTRIBUTION_POINT);
+        }
+        assertNotSame(first, current);
+        verify(fetcher, atLeast(2)).fetch(any(URI.class));
+    }
+
+    @Test
+    public void verifyExpiredCrlServedWithinGracePeriod() throws Exception {
+        val fetcher = mock(CRLFetcher.class);
+        when(fetcher.fetch(any(URI.class))).thenReturn(readCRL("userCA-expired.crl")).thenThrow(new IOException("Unavailable"));
+        this.manager = new CRLDistributionPointManager(newCache(), fetcher, 0, 0, Integer.MAX_VALUE);
+
+        val crl = this.manager.getCRL(DISTRIBUTION_POINT);
+        assertNotNull(crl);
+        assertSame(crl, this.manager.getCRL(DISTRIBUTION_POINT));
+    }
+
+    @Test(expected = IOException.class)
+    public void verifyExpiredCrlFetchedPastGracePeriod() throws Exception {
+        val fetcher = mock(CRLFetcher.class);
+        when(fetcher.fetch(any(URI.class))).thenReturn(readCRL("userCA-expired.crl")).thenThrow(new IOException("Unavailable"));
+        this.manager = new CRLDistributionPointManager(newCache(), fetcher, 0, 0, 0);
+
+        assertNotNull(this.manager.getCRL(DISTRIBUTION_POINT));
+        this.manager.getCRL(DISTRIBUTION_POINT);
+    }
+}
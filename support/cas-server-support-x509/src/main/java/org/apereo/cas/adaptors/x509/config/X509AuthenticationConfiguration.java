@@ -1,5 +1,6 @@
 package org.apereo.cas.adaptors.x509.config;
 
+import org.apereo.cas.adaptors.x509.authentication.CRLDistributionPointManager;
 import org.apereo.cas.adaptors.x509.authentication.CRLFetcher;
 import org.apereo.cas.adaptors.x509.authentication.ResourceCRLFetcher;
 import org.apereo.cas.adaptors.x509.authentication.handler.support.X509CredentialsAuthenticationHandler;
@@ -98,12 +99,16 @@ public class X509AuthenticationConfiguration {
             x509.getCacheTimeToLiveSeconds(),
             x509.getCacheTimeToIdleSeconds());
 
+        val crlManager = new CRLDistributionPointManager(cache, crlFetcher(),
+            x509.getRefreshIntervalSeconds(),
+            x509.getCrlPrefetchSeconds(),
+            x509.getCrlGracePeriodSeconds());
+
         return new CRLDistributionPointRevocationChecker(
             x509.isCheckAll(),
             getRevocationPolicy(x509.getCrlUnavailablePolicy()),
             getRevocationPolicy(x509.getCrlExpiredPolicy()),
-            cache,
-            crlFetcher(),
+            crlManager,
             x509.isThrowOnFetchFailure());
     }
 